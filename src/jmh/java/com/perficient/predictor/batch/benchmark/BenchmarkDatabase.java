@@ -0,0 +1,56 @@
+package com.perficient.predictor.batch.benchmark;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.UUID;
+
+/**
+ * Private in-memory H2 database with the application schema (schema.sql), pooled like
+ * the application's own DataSource so benchmarks don't measure connection setup.
+ */
+final class BenchmarkDatabase implements AutoCloseable {
+
+    static final String[][] COUNTRIES = {
+            {"ENG", "England"}, {"ESP", "Spain"}, {"GER", "Germany"}, {"ITA", "Italy"}, {"FRA", "France"}
+    };
+
+    private final HikariDataSource dataSource;
+
+    private BenchmarkDatabase(int poolSize) {
+        dataSource = new HikariDataSource();
+        // LOCK_TIMEOUT: contended benchmarks queue on the same row lock, don't fail on H2's 1s default
+        dataSource.setJdbcUrl("jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000");
+        dataSource.setUsername("sa");
+        dataSource.setMaximumPoolSize(poolSize);
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+    }
+
+    /**
+     * Creates the schema and loads the COUNTRY rows referenced by the benchmark data.
+     */
+    static BenchmarkDatabase withCountries(int poolSize) {
+        BenchmarkDatabase database = new BenchmarkDatabase(poolSize);
+        JdbcTemplate jdbcTemplate = database.jdbcTemplate();
+        for (String[] country : COUNTRIES) {
+            jdbcTemplate.update("INSERT INTO COUNTRY (CODE, NAME, UPDATED_BY) VALUES (?, ?, 'BENCHMARK')",
+                    country[0], country[1]);
+        }
+        return database;
+    }
+
+    HikariDataSource dataSource() {
+        return dataSource;
+    }
+
+    JdbcTemplate jdbcTemplate() {
+        return new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void close() {
+        dataSource.close();
+    }
+}
@@ -0,0 +1,65 @@
+package com.perficient.predictor.batch.benchmark;
+
+import com.perficient.predictor.batch.service.DataVersionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DataVersionService#getAndIncrementVersion, uncontended and with several jobs starting and asking
+ * for versions of the same entity at once. blockSize=1 goes to the database on every call.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DataVersionBenchmark {
+
+    private static final String ENTITY_NAME = "TEAM";
+
+    @Param({"1", "50"})
+    private int blockSize;
+
+    private BenchmarkDatabase database;
+    private DataVersionService dataVersionService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchmarkDatabase.withCountries(8);
+        dataVersionService = new DataVersionService(database.jdbcTemplate(),
+                new DataSourceTransactionManager(database.dataSource()), blockSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long uncontended() {
+        return dataVersionService.getAndIncrementVersion(ENTITY_NAME);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long contended() {
+        return dataVersionService.getAndIncrementVersion(ENTITY_NAME);
+    }
+}
@@ -0,0 +1,80 @@
+package com.perficient.predictor.batch.benchmark;
+
+import com.perficient.predictor.batch.dto.CountryCsvInput;
+import com.perficient.predictor.batch.dto.CountryDBOutput;
+import com.perficient.predictor.batch.dto.TeamCsvInput;
+import com.perficient.predictor.batch.dto.TeamDBOutput;
+import com.perficient.predictor.batch.processor.CountryItemProcessor;
+import com.perficient.predictor.batch.processor.TeamItemProcessor;
+import com.perficient.predictor.batch.service.lookup.CountryIdLookupService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-item cost of the team and country processors: validation, number parsing and,
+ * for teams, the country code lookup against the in-memory index.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProcessorBenchmark {
+
+    private static final int ITEMS = 1024;
+
+    private BenchmarkDatabase database;
+    private TeamItemProcessor teamProcessor;
+    private CountryItemProcessor countryProcessor;
+    private TeamCsvInput[] teams;
+    private CountryCsvInput[] countries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchmarkDatabase.withCountries(1);
+        CountryIdLookupService lookupService = new CountryIdLookupService(database.jdbcTemplate());
+        lookupService.currentIndex();
+        teamProcessor = new TeamItemProcessor(lookupService);
+        countryProcessor = new CountryItemProcessor();
+
+        teams = new TeamCsvInput[ITEMS];
+        countries = new CountryCsvInput[ITEMS];
+        for (int i = 0; i < ITEMS; i++) {
+            String[] country = BenchmarkDatabase.COUNTRIES[i % BenchmarkDatabase.COUNTRIES.length];
+            // Mixed case and padding, like the raw values the readers hand over
+            String code = i % 2 == 0 ? country[0] : " " + country[0].toLowerCase();
+            teams[i] = new TeamCsvInput("Team " + i, "CLUB", "Stadium " + i, String.valueOf(1850 + i % 150),
+                    "Nick " + i, String.valueOf(10_000 + i * 37), code);
+            countries[i] = new CountryCsvInput(country[0], country[1]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public TeamDBOutput teamProcess() {
+        return teamProcessor.process(teams[next++ & (ITEMS - 1)]);
+    }
+
+    @Benchmark
+    public CountryDBOutput countryProcess() {
+        return countryProcessor.process(countries[next++ & (ITEMS - 1)]);
+    }
+}
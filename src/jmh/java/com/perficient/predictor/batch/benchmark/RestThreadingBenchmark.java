@@ -0,0 +1,133 @@
+package com.perficient.predictor.batch.benchmark;
+
+import com.perficient.springsecurity.jwe.SpringSecurityJweApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Requests against the running application, with Tomcat on its platform-thread pool and on virtual
+ * threads (spring.threads.virtual.enabled; threading=virtual needs a Java 21+ runtime). More client
+ * threads than tomcatThreads, so in platform mode requests queue for a worker. SampleTime mode reports
+ * the p99 next to throughput, e.g. -Djmh.args="RestThreadingBenchmark -bm thrpt,sample".
+ *
+ * createCompetition inserts a new competition per request; enrolTeams re-enrols the same teams, so
+ * after the first request it reads the enrolments and reports every team as already enrolled.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(256)
+@State(Scope.Benchmark)
+public class RestThreadingBenchmark {
+
+    private static final String VIRTUAL = "virtual";
+    private static final String COMPETITION_NAME = "Benchmark League";
+    private static final int TEAMS = 20;
+
+    @Param({"platform", VIRTUAL})
+    private String threading;
+
+    @Param({"50"})
+    private int tomcatThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private URI competitionUri;
+    private URI seasonsUri;
+    private String seasonsBody;
+    private final AtomicLong competitionCounter = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean virtual = VIRTUAL.equals(threading);
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("threading=virtual needs a Java 21+ runtime");
+        }
+        context = new SpringApplicationBuilder(SpringSecurityJweApplication.class)
+                .properties("server.port=0",
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "server.tomcat.threads.max=" + tomcatThreads,
+                        "server.tomcat.accept-count=1000",
+                        "logging.level.root=WARN")
+                .run();
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("INSERT INTO COUNTRY (CODE, NAME, UPDATED_BY) VALUES ('ENG', 'England', 'BENCHMARK')");
+        Long countryId = jdbcTemplate.queryForObject("SELECT COUNTRY_ID FROM COUNTRY WHERE CODE = 'ENG'", Long.class);
+        jdbcTemplate.update("INSERT INTO COMPETITION (NAME, COUNTRY_ID, UPDATED_BY) VALUES (?, ?, 'BENCHMARK')",
+                COMPETITION_NAME, countryId);
+        StringJoiner teamNames = new StringJoiner("\", \"", "[\"", "\"]");
+        for (int i = 0; i < TEAMS; i++) {
+            String name = "Benchmark Team " + i;
+            jdbcTemplate.update("INSERT INTO TEAM (NAME, TEAM_TYPE, COUNTRY_ID, UPDATED_BY) VALUES (?, 'CLUB', ?, 'BENCHMARK')",
+                    name, countryId);
+            teamNames.add(name);
+        }
+        seasonsBody = "{\"competitionName\": \"" + COMPETITION_NAME + "\", \"seasonStartYear\": 2025, "
+                + "\"teamNames\": " + teamNames + ", \"updatedBy\": \"BENCHMARK\"}";
+
+        int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        competitionUri = URI.create("http://localhost:" + port + "/api/v1/competition");
+        seasonsUri = URI.create("http://localhost:" + port + "/api/v1/seasons");
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int createCompetition() throws IOException, InterruptedException {
+        return post(competitionUri, "{\"name\": \"Benchmark Cup " + competitionCounter.incrementAndGet()
+                + "\", \"countryName\": \"England\"}");
+    }
+
+    @Benchmark
+    public int enrolTeams() throws IOException, InterruptedException {
+        return post(seasonsUri, seasonsBody);
+    }
+
+    private int post(URI uri, String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status >= 400) {
+            // An error response is cheaper than the work being measured, don't count it
+            throw new IllegalStateException("POST " + uri.getPath() + " returned " + status);
+        }
+        return status;
+    }
+}
@@ -0,0 +1,98 @@
+package com.perficient.predictor.batch.benchmark;
+
+import com.perficient.predictor.batch.dto.TeamCsvInput;
+import com.perficient.predictor.batch.reader.MappedCsvItemReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokenize + map cost per TeamCsvInput record: the FlatFileItemReader path built exactly
+ * like TeamLoadConfig#teamReader (DelimitedLineTokenizer and record binding) against the
+ * memory-mapped reader. Each invocation reads a whole file; scores are records per microsecond.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TeamReaderBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("team-benchmark", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("Name,TeamType,StadiumName,EstablishedYear,Nickname,StadiumCapacity,CountryCode\n");
+            for (int i = 0; i < ROWS; i++) {
+                String country = BenchmarkDatabase.COUNTRIES[i % BenchmarkDatabase.COUNTRIES.length][0];
+                writer.write("Team " + i + ",CLUB,Stadium " + i + "," + (1850 + i % 150) + ",Nick " + i + ","
+                        + (10_000 + i * 37) + "," + country + "\n");
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void flatFileReader(Blackhole blackhole) throws Exception {
+        readAll(new FlatFileItemReaderBuilder<TeamCsvInput>()
+                .name("teamItemReader")
+                .resource(new FileSystemResource(file))
+                .delimited()
+                .names("name", "teamType", "stadiumName", "establishedYear", "nickname", "stadiumCapacity", "countryCode")
+                .targetType(TeamCsvInput.class)
+                .linesToSkip(1)
+                .build(), blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void mappedReader(Blackhole blackhole) throws Exception {
+        readAll(new MappedCsvItemReader<>("teamItemReader", file, 0, null, 1, ',', 7,
+                fields -> new TeamCsvInput(fields.get(0), fields.get(1), fields.get(2), fields.get(3),
+                        fields.get(4), fields.get(5), fields.get(6))), blackhole);
+    }
+
+    private static void readAll(ItemStreamReader<TeamCsvInput> reader, Blackhole blackhole) throws Exception {
+        reader.open(new ExecutionContext());
+        try {
+            TeamCsvInput item;
+            while ((item = reader.read()) != null) {
+                blackhole.consume(item);
+            }
+        } finally {
+            reader.close();
+        }
+    }
+}
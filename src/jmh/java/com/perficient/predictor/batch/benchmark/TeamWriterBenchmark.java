@@ -0,0 +1,112 @@
+package com.perficient.predictor.batch.benchmark;
+
+import com.perficient.predictor.batch.config.TeamLoadConfig;
+import com.perficient.predictor.batch.dto.TeamDBOutput;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.database.BeanPropertyItemSqlParameterSourceProvider;
+import org.springframework.batch.item.database.JdbcBatchItemWriter;
+import org.springframework.batch.item.database.builder.JdbcBatchItemWriterBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One chunk commit of the team writer: the JdbcBatchItemWriter MERGE used by teamLoadStep,
+ * inside its own transaction, against embedded H2. The primary score is chunks per second;
+ * the 'rows' counter gives rows per second so chunk sizes can be compared directly.
+ * Team names cycle over a fixed set, so after warm-up most rows take the MERGE update path,
+ * as they do on a nightly reload.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TeamWriterBenchmark {
+
+    private static final int DISTINCT_TEAMS = 20_000;
+
+    @Param({"10", "100", "1000", "5000"})
+    private int chunkSize;
+
+    private BenchmarkDatabase database;
+    private JdbcBatchItemWriter<TeamDBOutput> writer;
+    private TransactionTemplate transactionTemplate;
+    private List<Chunk<TeamDBOutput>> chunks;
+    private int next;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class RowCounter {
+        public long rows;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rows = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = BenchmarkDatabase.withCountries(1);
+        JdbcTemplate jdbcTemplate = database.jdbcTemplate();
+        List<Long> countryIds = jdbcTemplate.queryForList("SELECT COUNTRY_ID FROM COUNTRY", Long.class);
+
+        // Chunks are built up front so only the write is measured
+        chunks = new ArrayList<>();
+        List<TeamDBOutput> items = new ArrayList<>(chunkSize);
+        for (int team = 0; team < DISTINCT_TEAMS; team++) {
+            items.add(new TeamDBOutput("Team " + team, "CLUB", "Stadium " + team, 1850 + team % 150,
+                    "Nick " + team, 10_000 + team * 7, countryIds.get(team % countryIds.size()), "TEAM_LOAD_JOB"));
+            if (items.size() == chunkSize) {
+                chunks.add(new Chunk<>(items));
+                items = new ArrayList<>(chunkSize);
+            }
+        }
+
+        writer = new JdbcBatchItemWriterBuilder<TeamDBOutput>()
+                .dataSource(database.dataSource())
+                .sql(TeamLoadConfig.TEAM_UPSERT_SQL)
+                .itemSqlParameterSourceProvider(new BeanPropertyItemSqlParameterSourceProvider<>())
+                .build();
+        writer.afterPropertiesSet();
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(database.dataSource()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public void writeChunk(RowCounter counter) {
+        Chunk<TeamDBOutput> chunk = chunks.get(next++ % chunks.size());
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                writer.write(chunk);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        counter.rows += chunk.size();
+    }
+}
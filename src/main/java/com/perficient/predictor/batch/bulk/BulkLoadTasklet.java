@@ -0,0 +1,125 @@
+package com.perficient.predictor.batch.bulk;
+
+import com.perficient.predictor.batch.reject.RejectedRecordWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Set-based load of a whole CSV file, for trusted feeds that don't need row-by-row processing.
+ *
+ * Runs in the step's single transaction, using H2's CSV functions:
+ * 1. one INSERT ... SELECT over CSVREAD stages every line into a transactional local temporary
+ *    table (dropped on commit), resolving lookups and setting a REJECT_REASON and REJECT_DETAIL for
+ *    invalid rows,
+ * 2. CSVWRITE exports the rejected rows to the error file, in the layout the chunk steps write
+ *    (see RejectedRecordWriter): the CSV columns, the reason code and the detail,
+ * 3. one MERGE ... SELECT upserts the remaining rows into the target table.
+ *
+ * Counts are reported on the step: staged rows as read, accepted rows as written, rejects as
+ * filtered. The number of target rows actually inserted or changed is kept in the step
+ * ExecutionContext under {@link #CHANGED_COUNT_KEY}.
+ */
+public class BulkLoadTasklet implements Tasklet {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkLoadTasklet.class);
+
+    /**
+     * Placeholder in the staging query for the CSV rows: LINE_NO followed by the CSV columns, as VARCHAR.
+     */
+    public static final String CSV_ROWS = "{csvRows}";
+    public static final String CHANGED_COUNT_KEY = "bulk.changed.count";
+
+    // Fields are read untrimmed, as FlatFileItemReader and MappedCsvItemReader read them
+    private static final String CSV_OPTIONS = "charset=UTF-8 preserveWhitespace=true";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String inputFile;
+    private final String errorFile;
+    private final String stagingTable;
+    private final List<String> csvColumns;
+    private final List<String> derivedColumns;
+    private final String stagingSql;
+    private final String mergeSql;
+
+    /**
+     * @param stagingTable Name of the temporary staging table.
+     * @param csvColumns Names for the CSV columns, in file order.
+     * @param derivedColumns Definitions of columns computed while staging (e.g. "COUNTRY_ID BIGINT").
+     * @param stagingSql Query over {@link #CSV_ROWS} returning LINE_NO, the CSV columns,
+     *                   the derived columns and finally REJECT_REASON, a reason code, and REJECT_DETAIL
+     *                   (both NULL for valid rows).
+     * @param mergeSql Statement loading the staging rows with a NULL REJECT_REASON into the target table.
+     */
+    public BulkLoadTasklet(JdbcTemplate jdbcTemplate, String inputFile, String errorFile,
+                           String stagingTable, List<String> csvColumns, List<String> derivedColumns,
+                           String stagingSql, String mergeSql) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.inputFile = inputFile;
+        this.errorFile = errorFile;
+        this.stagingTable = stagingTable;
+        this.csvColumns = csvColumns;
+        this.derivedColumns = derivedColumns;
+        this.stagingSql = stagingSql;
+        this.mergeSql = mergeSql;
+    }
+
+    @Override
+    public RepeatStatus execute(@NonNull StepContribution contribution, @NonNull ChunkContext chunkContext) {
+        List<String> columnDefinitions = new ArrayList<>();
+        columnDefinitions.add("LINE_NO BIGINT");
+        csvColumns.forEach(column -> columnDefinitions.add(column + " VARCHAR"));
+        columnDefinitions.addAll(derivedColumns);
+        columnDefinitions.add(RejectedRecordWriter.REASON_COLUMN + " VARCHAR(255)");
+        columnDefinitions.add(RejectedRecordWriter.DETAIL_COLUMN + " VARCHAR");
+
+        // TRANSACTIONAL: creating the table must not commit the step transaction
+        jdbcTemplate.execute("CREATE LOCAL TEMPORARY TABLE " + stagingTable
+                + " (" + String.join(", ", columnDefinitions) + ") ON COMMIT DROP TRANSACTIONAL");
+
+        // Column names are given explicitly, so CSVREAD returns the header as line 1
+        String csvRows = "(SELECT * FROM (SELECT ROWNUM() AS LINE_NO, * FROM CSVREAD(" + literal(inputFile) + ", "
+                + literal(String.join(",", csvColumns)) + ", " + literal(CSV_OPTIONS) + ")) WHERE LINE_NO > 1)";
+        int staged = jdbcTemplate.update("INSERT INTO " + stagingTable + " " + stagingSql.replace(CSV_ROWS, csvRows));
+
+        Integer rejected = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM " + stagingTable + " WHERE REJECT_REASON IS NOT NULL", Integer.class);
+        int rejects = rejected != null ? rejected : 0;
+
+        // Always written, so a stale error file from an earlier run is never left behind
+        jdbcTemplate.execute("CALL CSVWRITE(" + literal(errorFile) + ", "
+                + literal("SELECT " + String.join(", ", csvColumns) + ", " + RejectedRecordWriter.REASON_COLUMN
+                        + ", " + RejectedRecordWriter.DETAIL_COLUMN + " FROM " + stagingTable
+                        + " WHERE REJECT_REASON IS NOT NULL ORDER BY LINE_NO")
+                + ", " + literal(CSV_OPTIONS) + ")");
+
+        int changed = jdbcTemplate.update(mergeSql);
+
+        StepExecution stepExecution = chunkContext.getStepContext().getStepExecution();
+        stepExecution.setReadCount(staged);
+        contribution.incrementWriteCount(staged - rejects);
+        contribution.incrementFilterCount(rejects);
+        stepExecution.getExecutionContext().putLong(CHANGED_COUNT_KEY, changed);
+
+        log.info("Bulk load of {}: {} rows staged, {} rejected (see {}), {} inserted or changed.",
+                inputFile, staged, rejects, errorFile, changed);
+        return RepeatStatus.FINISHED;
+    }
+
+    /**
+     * H2 evaluates the arguments of its CSV functions when the statement is prepared,
+     * so they cannot be bind parameters and are passed as escaped string literals.
+     */
+    private static String literal(String value) {
+        return "'" + value.replace("'", "''") + "'";
+    }
+}
@@ -0,0 +1,187 @@
+package com.perficient.predictor.batch.chunk;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.policy.SimpleCompletionPolicy;
+import org.springframework.lang.NonNull;
+
+/**
+ * Chunk completion policy whose size is configurable per job and can optionally adapt at runtime.
+ *
+ * In fixed mode it behaves exactly like {@link SimpleCompletionPolicy}. In adaptive mode it measures
+ * the duration (read + process + write + commit) and throughput of every chunk and hill-climbs the
+ * chunk size within [min, max]: it keeps moving in the same direction while items/s improve and
+ * reverses when they drop. Chunks slower than the latency ceiling always shrink the size.
+ * Any skip or rollback halves the size and holds it for a few chunks so a bad stretch of input
+ * is retried in small transactions.
+ *
+ * The current size and a short history of changes are stored in the step ExecutionContext.
+ * Must be step-scoped: one instance per step execution (or partition).
+ */
+public class AdaptiveChunkSizePolicy extends SimpleCompletionPolicy implements ChunkListener, StepExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveChunkSizePolicy.class);
+
+    public static final String CHUNK_SIZE_KEY = "chunk.size";
+    public static final String CHUNK_SIZE_MIN_KEY = "chunk.size.min";
+    public static final String CHUNK_SIZE_MAX_KEY = "chunk.size.max";
+    public static final String CHUNK_SIZE_HISTORY_KEY = "chunk.size.history";
+
+    private static final double GROW_FACTOR = 1.5;
+    private static final double SHRINK_FACTOR = 0.75;
+    // Throughput changes smaller than this are treated as noise
+    private static final double THROUGHPUT_TOLERANCE = 0.05;
+    // Number of chunks the size is held after a back-off
+    private static final int BACK_OFF_CHUNKS = 3;
+    private static final int MAX_HISTORY_LENGTH = 1000;
+
+    private final int minSize;
+    private final int maxSize;
+    private final boolean adaptive;
+    private final long maxChunkMillis;
+
+    private long chunkStartNanos;
+    private long readCountBefore;
+    private long skipCountBefore;
+    private long rollbackCountBefore;
+
+    private double lastThroughput;
+    private boolean growing = true;
+    private int holdChunks;
+    private int smallestUsed;
+    private int largestUsed;
+    private final StringBuilder history = new StringBuilder();
+
+    /**
+     * @param initialSize Chunk size of the first chunk (and of every chunk in fixed mode).
+     * @param minSize Lower bound in adaptive mode.
+     * @param maxSize Upper bound in adaptive mode.
+     * @param adaptive Whether to tune the size at runtime.
+     * @param maxChunkMillis Latency ceiling per chunk in adaptive mode.
+     */
+    public AdaptiveChunkSizePolicy(int initialSize, int minSize, int maxSize, boolean adaptive, long maxChunkMillis) {
+        super(adaptive ? clamp(initialSize, minSize, maxSize) : Math.max(1, initialSize));
+        this.minSize = Math.max(1, minSize);
+        this.maxSize = Math.max(this.minSize, maxSize);
+        this.adaptive = adaptive;
+        this.maxChunkMillis = maxChunkMillis;
+        this.smallestUsed = getChunkSize();
+        this.largestUsed = getChunkSize();
+    }
+
+    @Override
+    public void beforeStep(@NonNull StepExecution stepExecution) {
+        // On restart, continue from the size the previous attempt settled on
+        ExecutionContext context = stepExecution.getExecutionContext();
+        if (adaptive && context.containsKey(CHUNK_SIZE_KEY)) {
+            setChunkSize(clamp(context.getInt(CHUNK_SIZE_KEY), minSize, maxSize));
+        }
+        record(stepExecution, "start");
+    }
+
+    @Override
+    public void beforeChunk(@NonNull ChunkContext context) {
+        StepExecution stepExecution = context.getStepContext().getStepExecution();
+        chunkStartNanos = System.nanoTime();
+        readCountBefore = stepExecution.getReadCount();
+        skipCountBefore = stepExecution.getSkipCount();
+        rollbackCountBefore = stepExecution.getRollbackCount();
+    }
+
+    @Override
+    public void afterChunk(@NonNull ChunkContext context) {
+        if (!adaptive) {
+            return;
+        }
+        StepExecution stepExecution = context.getStepContext().getStepExecution();
+        long items = stepExecution.getReadCount() - readCountBefore;
+        if (items <= 0) {
+            return;
+        }
+        long elapsedNanos = Math.max(1, System.nanoTime() - chunkStartNanos);
+        double throughput = items * 1_000_000_000d / elapsedNanos;
+
+        boolean troubled = stepExecution.getSkipCount() > skipCountBefore
+                || stepExecution.getRollbackCount() > rollbackCountBefore;
+        if (troubled) {
+            backOff(stepExecution);
+            return;
+        }
+        if (holdChunks > 0) {
+            holdChunks--;
+            lastThroughput = throughput;
+            return;
+        }
+
+        if (elapsedNanos / 1_000_000 > maxChunkMillis) {
+            growing = false;
+        } else if (lastThroughput > 0 && throughput < lastThroughput * (1 - THROUGHPUT_TOLERANCE)) {
+            growing = !growing;
+        }
+        lastThroughput = throughput;
+
+        int current = getChunkSize();
+        int next = clamp((int) Math.round(current * (growing ? GROW_FACTOR : SHRINK_FACTOR)), minSize, maxSize);
+        if (next == current) {
+            // Hit a bound: probe the other way next time
+            growing = !growing;
+            return;
+        }
+        setChunkSize(next);
+        record(stepExecution, Math.round(throughput) + "/s");
+    }
+
+    @Override
+    public void afterChunkError(@NonNull ChunkContext context) {
+        if (adaptive) {
+            backOff(context.getStepContext().getStepExecution());
+        }
+    }
+
+    @Override
+    public ExitStatus afterStep(@NonNull StepExecution stepExecution) {
+        record(stepExecution, "end");
+        return null;
+    }
+
+    private void backOff(StepExecution stepExecution) {
+        int next = clamp(getChunkSize() / 2, minSize, maxSize);
+        holdChunks = BACK_OFF_CHUNKS;
+        growing = false;
+        lastThroughput = 0;
+        if (next != getChunkSize()) {
+            setChunkSize(next);
+            record(stepExecution, "backoff");
+        }
+    }
+
+    private void record(StepExecution stepExecution, String reason) {
+        int size = getChunkSize();
+        smallestUsed = Math.min(smallestUsed, size);
+        largestUsed = Math.max(largestUsed, size);
+
+        if (history.length() < MAX_HISTORY_LENGTH) {
+            if (!history.isEmpty()) {
+                history.append(',');
+            }
+            history.append(size).append('@').append(reason);
+        }
+
+        ExecutionContext context = stepExecution.getExecutionContext();
+        context.putInt(CHUNK_SIZE_KEY, size);
+        context.putInt(CHUNK_SIZE_MIN_KEY, smallestUsed);
+        context.putInt(CHUNK_SIZE_MAX_KEY, largestUsed);
+        context.putString(CHUNK_SIZE_HISTORY_KEY, history.toString());
+        log.debug("Step [{}] chunk size {} ({})", stepExecution.getStepName(), size, reason);
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(Math.max(1, min), Math.min(value, Math.max(min, max)));
+    }
+}
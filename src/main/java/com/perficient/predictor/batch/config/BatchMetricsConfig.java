@@ -0,0 +1,65 @@
+package com.perficient.predictor.batch.config;
+
+import com.perficient.predictor.batch.prediction.SelectionMicroBatchWriter;
+import com.perficient.predictor.batch.service.lookup.CountryIdLookupService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Meters for the batch lookups that are not Spring caches (those are bound by Actuator as cache.*).
+ * Also meters for the prediction writer's queue and flushes.
+ * Step and chunk metrics are published by BatchMetricsListener.
+ */
+@Configuration
+public class BatchMetricsConfig {
+
+    /**
+     * Country code resolution in the Team Load processor: predictor.lookup.country.requests
+     * by result (hit / miss) and the resulting predictor.lookup.country.hit.ratio.
+     * Read from the service's counters on scrape, so lookups themselves only bump a LongAdder.
+     */
+    @Bean
+    public MeterBinder countryLookupMetrics(CountryIdLookupService countryIdLookupService) {
+        return registry -> {
+            FunctionCounter.builder("predictor.lookup.country.requests", countryIdLookupService,
+                            CountryIdLookupService::hitCount)
+                    .description("Country code lookups")
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("predictor.lookup.country.requests", countryIdLookupService,
+                            CountryIdLookupService::missCount)
+                    .description("Country code lookups")
+                    .tag("result", "miss")
+                    .register(registry);
+            Gauge.builder("predictor.lookup.country.hit.ratio", countryIdLookupService, service -> {
+                        long total = service.hitCount() + service.missCount();
+                        return total == 0 ? Double.NaN : (double) service.hitCount() / total;
+                    })
+                    .description("Share of country code lookups resolved from the index")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Prediction micro-batching: predictor.prediction.queue.size (picks waiting for a flush),
+     * predictor.prediction.rows (picks committed) and predictor.prediction.flushes (flush transactions).
+     * Rows per flush is the ratio of the last two.
+     */
+    @Bean
+    public MeterBinder predictionWriterMetrics(SelectionMicroBatchWriter writer) {
+        return registry -> {
+            Gauge.builder("predictor.prediction.queue.size", writer, SelectionMicroBatchWriter::queued)
+                    .description("Predictions waiting for the next flush")
+                    .register(registry);
+            FunctionCounter.builder("predictor.prediction.rows", writer, SelectionMicroBatchWriter::writtenRows)
+                    .description("Predictions committed to SELECTION")
+                    .register(registry);
+            FunctionCounter.builder("predictor.prediction.flushes", writer, SelectionMicroBatchWriter::flushes)
+                    .description("Prediction flush transactions")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,97 @@
+package com.perficient.predictor.batch.config;
+
+import com.perficient.predictor.batch.transaction.MetadataLastTransactionManager;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+
+/**
+ * Where the job repository (the BATCH_* tables) lives, and which transaction manager the chunk steps use.
+ *
+ * By default the repository shares the application datasource and transaction manager, so metadata and
+ * business data commit together. With predictor.batch.repository.separate-datasource=true it gets its own
+ * connection pool, configured under predictor.batch.repository.datasource (url, username, password, and
+ * any Hikari setting under .hikari), so step execution and execution context writes stop competing with
+ * the loads for connections and locks. The steps then commit through {@link MetadataLastTransactionManager}.
+ *
+ * None of these beans is a default candidate: injecting a DataSource or PlatformTransactionManager by type
+ * still gets the application's own, and Spring Boot still creates them.
+ */
+@Configuration
+public class BatchRepositoryConfig implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchRepositoryConfig.class);
+
+    private static final String DATASOURCE_PREFIX = "predictor.batch.repository.datasource";
+
+    @Value("${predictor.batch.repository.separate-datasource:false}")
+    private boolean separateDataSource;
+
+    // The pool created for the job repository, if any; the application datasource is closed by Spring Boot
+    private HikariDataSource ownDataSource;
+
+    /**
+     * The job repository's datasource: its own pool, or the application datasource.
+     */
+    @Bean(defaultCandidate = false, destroyMethod = "")
+    public DataSource batchRepositoryDataSource(DataSource dataSource, Environment environment) {
+        if (!separateDataSource) {
+            return dataSource;
+        }
+        Binder binder = Binder.get(environment);
+        HikariDataSource repositoryDataSource = new HikariDataSource();
+        repositoryDataSource.setPoolName("batch-repository");
+        repositoryDataSource.setJdbcUrl(binder.bind(DATASOURCE_PREFIX + ".url", String.class)
+                .orElseThrow(() -> new IllegalStateException(DATASOURCE_PREFIX + ".url must be set for a separate"
+                        + " job repository datasource")));
+        repositoryDataSource.setUsername(binder.bind(DATASOURCE_PREFIX + ".username", String.class).orElse("sa"));
+        repositoryDataSource.setPassword(binder.bind(DATASOURCE_PREFIX + ".password", String.class).orElse(""));
+        binder.bind(DATASOURCE_PREFIX + ".hikari", Bindable.ofInstance(repositoryDataSource));
+        log.info("Job repository on its own datasource {} (pool size {}).",
+                repositoryDataSource.getJdbcUrl(), repositoryDataSource.getMaximumPoolSize());
+        ownDataSource = repositoryDataSource;
+        return repositoryDataSource;
+    }
+
+    /**
+     * Transaction manager of the job repository itself.
+     */
+    @Bean(defaultCandidate = false, destroyMethod = "")
+    public PlatformTransactionManager batchRepositoryTransactionManager(
+            @Qualifier("batchRepositoryDataSource") DataSource batchRepositoryDataSource,
+            PlatformTransactionManager transactionManager) {
+        return separateDataSource ? new JdbcTransactionManager(batchRepositoryDataSource) : transactionManager;
+    }
+
+    /**
+     * Transaction manager of the chunk steps: it covers the business writes and the repository's
+     * chunk bookkeeping alike.
+     */
+    @Bean(defaultCandidate = false, destroyMethod = "")
+    public PlatformTransactionManager batchStepTransactionManager(
+            PlatformTransactionManager transactionManager,
+            @Qualifier("batchRepositoryTransactionManager") PlatformTransactionManager batchRepositoryTransactionManager) {
+        return separateDataSource
+                ? new MetadataLastTransactionManager(transactionManager, batchRepositoryTransactionManager)
+                : transactionManager;
+    }
+
+    @Override
+    public void destroy() {
+        if (ownDataSource != null) {
+            ownDataSource.close();
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.perficient.predictor.batch.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -12,17 +15,21 @@ import javax.sql.DataSource;
 @Configuration
 public class BatchSchemaInitializer {
 
+    private static final Logger log = LoggerFactory.getLogger(BatchSchemaInitializer.class);
+
     // Inject the path to the official H2 schema script provided by Spring Batch
     @Value("classpath:/org/springframework/batch/core/schema-h2.sql")
     private Resource batchScript;
 
     /**
      * Creates a DataSourceInitializer bean to force the execution of the batch schema script.
-     * This runs before the JobRepository attempts to use the tables.
+     * This runs before the JobRepository attempts to use the tables, on whichever datasource
+     * holds them (see BatchRepositoryConfig).
      */
     @Bean
-    public DataSourceInitializer batchDataSourceInitializer(DataSource dataSource) {
-        System.out.println("--- Forcing Spring Batch H2 Schema Initialization ---");
+    public DataSourceInitializer batchDataSourceInitializer(
+            @Qualifier("batchRepositoryDataSource") DataSource dataSource) {
+        log.info("Forcing Spring Batch H2 schema initialization.");
 
         ResourceDatabasePopulator databasePopulator = new ResourceDatabasePopulator();
 
@@ -0,0 +1,94 @@
+package com.perficient.predictor.batch.config;
+
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Thread pools shared by the batch jobs, and the launcher that runs jobs off the request thread.
+ *
+ * With spring.threads.virtual.enabled=true on a Java 21+ runtime, the same switch that moves the
+ * embedded Tomcat's request handling onto virtual threads, partitions and job executions run on
+ * virtual threads too. Their limits stay as configured: they bound the load on the database, not the
+ * cost of threads. A WAR deployed to an external Tomcat takes its request executor from the container
+ * (StandardVirtualThreadExecutor in server.xml), not from this property.
+ */
+@Configuration
+public class BatchTaskExecutorConfig {
+
+    private final boolean virtualThreads;
+
+    public BatchTaskExecutorConfig(Environment environment) {
+        this.virtualThreads = Threading.VIRTUAL.isActive(environment);
+    }
+
+    /**
+     * Runs the worker steps of partitioned loads. Partitions beyond the pool size wait in the queue,
+     * or with virtual threads for a free slot. The default pool size is one thread per available core.
+     */
+    @Bean
+    public TaskExecutor partitionTaskExecutor(
+            @Value("${predictor.batch.partition.threads:0}") int threads) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("load-partition-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(poolSize);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setThreadNamePrefix("load-partition-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    /**
+     * Runs whole job executions launched through {@link #asyncJobLauncher}.
+     * Bounded on both threads and queue: once both are full, further launches are rejected
+     * instead of piling up, and the caller is told to retry later. With virtual threads the bounds
+     * are kept, so a launch is still rejected rather than blocking the request, but each job runs on a
+     * virtual thread of its own.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor jobLaunchTaskExecutor(
+            @Value("${predictor.batch.launch.threads:4}") int threads,
+            @Value("${predictor.batch.launch.queue-capacity:20}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("job-launch-");
+        if (virtualThreads) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor("job-launch-").getVirtualThreadFactory());
+        }
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    /**
+     * Returns as soon as the JobExecution has been created; the job itself runs on
+     * jobLaunchTaskExecutor. A launch rejected by the full executor comes back as a FAILED
+     * execution (see JobLaunchRejectedException).
+     */
+    @Bean
+    public JobLauncher asyncJobLauncher(JobRepository jobRepository,
+                                        ThreadPoolTaskExecutor jobLaunchTaskExecutor) throws Exception {
+        TaskExecutorJobLauncher jobLauncher = new TaskExecutorJobLauncher();
+        jobLauncher.setJobRepository(jobRepository);
+        jobLauncher.setTaskExecutor(jobLaunchTaskExecutor);
+        jobLauncher.afterPropertiesSet();
+        return jobLauncher;
+    }
+}
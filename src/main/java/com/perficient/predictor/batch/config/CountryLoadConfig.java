@@ -1,30 +1,68 @@
 package com.perficient.predictor.batch.config;
 
+import com.perficient.predictor.batch.bulk.BulkLoadTasklet;
+import com.perficient.predictor.batch.chunk.AdaptiveChunkSizePolicy;
 import com.perficient.predictor.batch.dto.CountryCsvInput;
 import com.perficient.predictor.batch.dto.CountryDBOutput;
 import com.perficient.predictor.batch.exception.ValidationException;
+import com.perficient.predictor.batch.listener.BatchMetricsListener;
+import com.perficient.predictor.batch.listener.CountryIndexRefreshListener;
+import com.perficient.predictor.batch.listener.DataVersionAllocationListener;
+import com.perficient.predictor.batch.listener.DataVersionRefreshListener;
+import com.perficient.predictor.batch.partition.FileRangePartitioner;
+import com.perficient.predictor.batch.partition.FileRangeResource;
+import com.perficient.predictor.batch.partition.LoadModeDecider;
+import com.perficient.predictor.batch.partition.MultiFilePartitioner;
 import com.perficient.predictor.batch.processor.CountryItemProcessor;
+import com.perficient.predictor.batch.reader.CompressedFileResource;
+import com.perficient.predictor.batch.reader.Compression;
+import com.perficient.predictor.batch.reader.InputFiles;
+import com.perficient.predictor.batch.reader.MappedCsvItemReader;
+import com.perficient.predictor.batch.reject.RejectedRecordMergeListener;
+import com.perficient.predictor.batch.reject.RejectedRecordSkipListener;
+import com.perficient.predictor.batch.reject.RejectedRecordWriter;
+import com.perficient.predictor.batch.service.DataVersionService;
+import com.perficient.predictor.batch.service.LoadJobParameters;
+import com.perficient.predictor.batch.service.lookup.ReferenceDataVersionService;
+import com.perficient.predictor.batch.upload.UploadStreamService;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ItemWriteListener;
 import org.springframework.batch.core.Job;
+import org.springframework.batch.core.SkipListener;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.partition.support.Partitioner;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.item.database.BeanPropertyItemSqlParameterSourceProvider;
 import org.springframework.batch.item.database.JdbcBatchItemWriter;
 import org.springframework.batch.item.database.builder.JdbcBatchItemWriterBuilder;
-import org.springframework.batch.item.file.FlatFileItemReader;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
 import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.dao.DataAccessException;
 
 import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Configures the Spring Batch job for loading Country master data.
@@ -32,12 +70,23 @@ import javax.sql.DataSource;
 @Configuration
 public class CountryLoadConfig {
 
+    // CSV column order, also the leading columns of the reject file
+    private static final List<String> COUNTRY_CSV_COLUMNS = List.of("CODE", "NAME");
+
     private final JobRepository jobRepository;
     private final PlatformTransactionManager transactionManager;
     private final DataSource dataSource;
 
+    // Default partition count when the launch does not pass a 'partitions' job parameter
+    @Value("${predictor.batch.country.partitions:1}")
+    private int defaultPartitions;
+
+    // Read through the memory-mapped reader instead of FlatFileItemReader
+    @Value("${predictor.batch.reader.mapped:false}")
+    private boolean mappedReader;
+
     public CountryLoadConfig(JobRepository jobRepository,
-                             PlatformTransactionManager transactionManager,
+                             @Qualifier("batchStepTransactionManager") PlatformTransactionManager transactionManager,
                              DataSource dataSource) {
         this.jobRepository = jobRepository;
         this.transactionManager = transactionManager;
@@ -45,35 +94,113 @@ public class CountryLoadConfig {
     }
 
     // --- Reader Configuration ---
+    /**
+     * Reads the input file, the partition's byte range of it, or a streamed upload (job parameter
+     * uploadId), which cannot be re-read and so keeps no restart state.
+     * gzip and zstd input, file or upload, is decompressed as it is read.
+     */
     @Bean
     @StepScope
-    public FlatFileItemReader<CountryCsvInput> countryReader(
-            @Value("#{jobParameters['inputFilePath']}") String inputFilePath) {
+    public AbstractItemCountingItemStreamItemReader<CountryCsvInput> countryReader(
+            @Value("#{jobParameters['inputFilePath']}") String inputFilePath,
+            @Value("#{jobParameters['" + LoadJobParameters.UPLOAD_ID + "']}") String uploadId,
+            @Value("#{stepExecutionContext['" + FileRangePartitioner.FILE_KEY + "']}") String partitionFile,
+            @Value("#{stepExecutionContext['" + FileRangePartitioner.START_KEY + "']}") Long rangeStart,
+            @Value("#{stepExecutionContext['" + FileRangePartitioner.END_KEY + "']}") Long rangeEnd,
+            UploadStreamService uploadStreamService) {
+        if (uploadId != null) {
+            return countryCsvReader(new InputStreamResource(openUpload(uploadStreamService, uploadId), "upload " + uploadId))
+                    .linesToSkip(1)
+                    .saveState(false)
+                    .build();
+        }
+        // A partition worker reads the file of its partition, which for a multi-file input is one of many
+        String filePath = partitionFile != null ? partitionFile : inputFilePath;
 // Add the "file:" prefix if it's missing, to force filesystem resolution
-        String safePath = inputFilePath.startsWith("file:") ? inputFilePath : "file:" + inputFilePath;
+        String safePath = filePath.startsWith("file:") ? filePath : "file:" + filePath;
         // You now need to convert the String path into a Spring Resource manually
         PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
         Resource resource = resolver.getResource(safePath);
 
+        // A compressed file is decompressed as it is read; it is never partitioned (see LoadModeDecider)
+        Compression compression = Compression.of(toPath(resource));
+        if (compression != Compression.NONE) {
+            return countryCsvReader(new CompressedFileResource(toPath(resource), compression))
+                    .linesToSkip(1)
+                    .build();
+        }
+
+        // Partition workers only read their own byte range; only the first one has the header
+        boolean partitioned = rangeStart != null && rangeEnd != null;
+        int linesToSkip = !partitioned || rangeStart == 0 ? 1 : 0;
+
+        if (mappedReader) {
+            return new MappedCsvItemReader<>("countryItemReader", toPath(resource),
+                    partitioned ? rangeStart : 0, partitioned ? rangeEnd : null, linesToSkip, ',', 2,
+                    fields -> new CountryCsvInput(fields.get(0), fields.get(1)));
+        }
+
+        if (partitioned) {
+            resource = new FileRangeResource(toPath(resource), rangeStart, rangeEnd);
+        }
+
+        return countryCsvReader(resource)
+                .linesToSkip(linesToSkip) // Skip header row
+                .build();
+    }
 
+    private static FlatFileItemReaderBuilder<CountryCsvInput> countryCsvReader(Resource resource) {
         return new FlatFileItemReaderBuilder<CountryCsvInput>()
                 .name("countryItemReader")
                 .resource(resource)
                 .delimited()
                 .names("countryId", "countryName")
-                .targetType(CountryCsvInput.class)
-                .linesToSkip(1) // Skip header row
-                .build();
+                .targetType(CountryCsvInput.class);
+    }
+
+    @Bean
+    @StepScope
+    public Partitioner countryPartitioner(
+            @Value("#{jobParameters['inputFilePath']}") String inputFilePath,
+            @Value("#{jobParameters['" + LoadJobParameters.PARTITIONS + "']}") Long partitions) {
+        if (InputFiles.isMultiFile(inputFilePath)) {
+            return new MultiFilePartitioner(inputFilePath);
+        }
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        Resource resource = resolver.getResource(inputFilePath.startsWith("file:") ? inputFilePath : "file:" + inputFilePath);
+        return new FileRangePartitioner(toPath(resource), partitions);
+    }
+
+    /**
+     * The upload's stream, decompressed if the client sent it gzip or zstd compressed.
+     */
+    private static InputStream openUpload(UploadStreamService uploadStreamService, String uploadId) {
+        InputStream upload = uploadStreamService.open(uploadId);
+        try {
+            return Compression.decompressing(upload);
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to read upload " + uploadId, e);
+        }
+    }
+
+    private static Path toPath(Resource resource) {
+        try {
+            return resource.getFile().toPath();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Input must be a file on the local filesystem: " + resource, e);
+        }
     }
 
     // --- Processor Configuration ---
     @Bean
+    @StepScope
     public CountryItemProcessor countryProcessor() {
         return new CountryItemProcessor();
     }
 
     // --- Writer Configuration ---
     @Bean
+    @StepScope
     public JdbcBatchItemWriter<CountryDBOutput> countryWriter() {
 
         final String upsertSql = """
@@ -91,29 +218,177 @@ public class CountryLoadConfig {
                 .build();
     }
 
+    // --- Reject File Configuration ---
+    /**
+     * Writes every row countryLoadStep skips, with its reason code, to the job's errorFilePath.
+     * Partition workers write a part file each, merged by countryRejectedRecordMergeListener.
+     */
+    @Bean
+    @StepScope
+    public RejectedRecordWriter countryRejectedRecordWriter(
+            @Value("#{jobParameters['errorFilePath']}") String errorFilePath,
+            @Value("#{stepExecution.stepName}") String stepName) {
+        return RejectedRecordWriter.forStep(errorFilePath, stepName, COUNTRY_CSV_COLUMNS);
+    }
+
+    @Bean
+    @StepScope
+    public RejectedRecordSkipListener<CountryCsvInput, CountryDBOutput> countryRejectedRecordSkipListener(
+            RejectedRecordWriter countryRejectedRecordWriter) {
+        return new RejectedRecordSkipListener<>(countryRejectedRecordWriter,
+                country -> Arrays.asList(country.countryId(), country.countryName()),
+                country -> Arrays.asList(country.code(), country.name()));
+    }
+
+    @Bean
+    public RejectedRecordMergeListener countryRejectedRecordMergeListener() {
+        return new RejectedRecordMergeListener("errorFilePath", COUNTRY_CSV_COLUMNS);
+    }
+
+    // --- Bulk Load Configuration ---
+    // Same checks as CountryItemProcessor, applied while staging. Rejects get the reason code and detail
+    // the chunk step writes for the same row, where they are skipped ValidationExceptions.
+    private static final String COUNTRY_STAGING_SQL = """
+            SELECT V.LINE_NO, V.CODE, V.NAME,
+                CASE WHEN V.FAILED_CHECK IS NOT NULL THEN 'SKIPPED_IN_PROCESS' END,
+                CASE V.FAILED_CHECK
+                    WHEN 'MISSING_NAME' THEN 'Country name is missing.'
+                    WHEN 'INVALID_CODE' THEN 'Country Code is invalid or missing (must be 3 chars or ''999''): '
+                        || COALESCE(V.CODE, '')
+                END
+            FROM (
+                SELECT R.*,
+                    CASE
+                        WHEN R.NAME IS NULL OR TRIM(R.NAME) = '' THEN 'MISSING_NAME'
+                        WHEN R.CODE IS NULL OR (LENGTH(TRIM(R.CODE)) <> 3 AND R.CODE <> '999') THEN 'INVALID_CODE'
+                    END AS FAILED_CHECK
+                FROM {csvRows} R
+            ) V
+            """;
+
+    // In file order so the last line for a code wins; unchanged countries are not rewritten
+    private static final String COUNTRY_BULK_MERGE_SQL = """
+            MERGE INTO COUNTRY
+            (CODE, NAME, UPDATED_BY)
+            KEY (CODE)
+            SELECT TRIM(S.CODE), TRIM(S.NAME), 'COUNTRY_LOAD_JOB'
+            FROM COUNTRY_STAGING S
+            WHERE S.REJECT_REASON IS NULL
+              AND NOT EXISTS (SELECT 1 FROM COUNTRY C WHERE C.CODE = TRIM(S.CODE) AND C.NAME = TRIM(S.NAME))
+            ORDER BY S.LINE_NO
+            """;
+
+    /**
+     * Set-based alternative to reader/processor/writer for trusted feeds (job parameter bulk=true).
+     * Invalid rows are written to the job's errorFilePath.
+     */
+    @Bean
+    @StepScope
+    public BulkLoadTasklet countryBulkLoadTasklet(
+            @Value("#{jobParameters['inputFilePath']}") String inputFilePath,
+            @Value("#{jobParameters['errorFilePath']}") String errorFilePath) {
+        return new BulkLoadTasklet(new JdbcTemplate(dataSource), inputFilePath, errorFilePath, "COUNTRY_STAGING",
+                COUNTRY_CSV_COLUMNS, List.of(), COUNTRY_STAGING_SQL, COUNTRY_BULK_MERGE_SQL);
+    }
+
+    @Bean
+    public Step countryBulkLoadStep(BulkLoadTasklet countryBulkLoadTasklet) {
+        return new StepBuilder("countryBulkLoadStep", jobRepository)
+                .tasklet(countryBulkLoadTasklet, transactionManager)
+                .build();
+    }
+
+    // --- Chunk Size Configuration ---
+    @Bean
+    @StepScope
+    public AdaptiveChunkSizePolicy countryChunkPolicy(
+            @Value("#{jobParameters['" + LoadJobParameters.CHUNK_SIZE + "'] ?: ${predictor.batch.country.chunk.size:100}}") long chunkSize,
+            @Value("#{jobParameters['" + LoadJobParameters.ADAPTIVE_CHUNK + "'] ?: ${predictor.batch.country.chunk.adaptive:false}}") boolean adaptive,
+            @Value("${predictor.batch.country.chunk.min-size:10}") int minSize,
+            @Value("${predictor.batch.country.chunk.max-size:5000}") int maxSize,
+            @Value("${predictor.batch.country.chunk.max-latency-ms:2000}") long maxLatencyMillis) {
+        return new AdaptiveChunkSizePolicy((int) chunkSize, minSize, maxSize, adaptive, maxLatencyMillis);
+    }
+
     // --- Step Configuration ---
     @Bean
-    public Step countryLoadStep(FlatFileItemReader<CountryCsvInput> countryReader,
+    public Step countryLoadStep(ItemStreamReader<CountryCsvInput> countryReader,
                                 CountryItemProcessor countryProcessor,
-                                JdbcBatchItemWriter<CountryDBOutput> countryWriter) {
+                                JdbcBatchItemWriter<CountryDBOutput> countryWriter,
+                                AdaptiveChunkSizePolicy countryChunkPolicy,
+                                RejectedRecordWriter countryRejectedRecordWriter,
+                                RejectedRecordSkipListener<CountryCsvInput, CountryDBOutput> countryRejectedRecordSkipListener,
+                                BatchMetricsListener batchMetricsListener) {
 
         return new StepBuilder("countryLoadStep", jobRepository)
-                .<CountryCsvInput, CountryDBOutput>chunk(10, transactionManager)
+                .<CountryCsvInput, CountryDBOutput>chunk(countryChunkPolicy, transactionManager)
+                .listener((ChunkListener) countryChunkPolicy)
+                .listener((StepExecutionListener) countryChunkPolicy)
+                .listener((StepExecutionListener) batchMetricsListener)
+                .listener((ChunkListener) batchMetricsListener)
+                .listener((ItemWriteListener<Object>) batchMetricsListener)
                 .reader(countryReader)
                 .processor(countryProcessor)
                 .writer(countryWriter)
+                .stream(countryRejectedRecordWriter)
                 .faultTolerant()
                 .skipLimit(10)
                 .skip(ValidationException.class)
                 .skip(DataAccessException.class)
+                .listener(countryRejectedRecordSkipListener)
+                .listener((SkipListener<Object, Object>) batchMetricsListener)
+                .build();
+    }
+
+    // --- Partitioned Step Configuration ---
+    @Bean
+    public Step countryPartitionedLoadStep(Step countryLoadStep,
+                                           Partitioner countryPartitioner,
+                                           TaskExecutor partitionTaskExecutor,
+                                           RejectedRecordMergeListener countryRejectedRecordMergeListener) {
+        return new StepBuilder("countryPartitionedLoadStep", jobRepository)
+                .partitioner(countryLoadStep.getName(), countryPartitioner)
+                .step(countryLoadStep)
+                .gridSize(Math.max(1, defaultPartitions))
+                .taskExecutor(partitionTaskExecutor)
+                .listener(countryRejectedRecordMergeListener)
                 .build();
     }
 
     // --- Job Configuration ---
     @Bean
-    public Job countryLoadJob(Step countryLoadStep) {
+    public DataVersionAllocationListener countryDataVersionAllocationListener(DataVersionService dataVersionService) {
+        return new DataVersionAllocationListener(ReferenceDataVersionService.COUNTRY, dataVersionService);
+    }
+
+    /**
+     * Gives the country read endpoints a new ETag once a load has finished.
+     */
+    @Bean
+    public DataVersionRefreshListener countryDataVersionRefreshListener(
+            ReferenceDataVersionService referenceDataVersionService) {
+        return new DataVersionRefreshListener(ReferenceDataVersionService.COUNTRY, referenceDataVersionService);
+    }
+
+    @Bean
+    public Job countryLoadJob(Step countryLoadStep,
+                              Step countryPartitionedLoadStep,
+                              Step countryBulkLoadStep,
+                              CountryIndexRefreshListener countryIndexRefreshListener,
+                              DataVersionAllocationListener countryDataVersionAllocationListener,
+                              DataVersionRefreshListener countryDataVersionRefreshListener,
+                              UploadStreamService uploadStreamService) {
+        LoadModeDecider loadModeDecider = new LoadModeDecider(defaultPartitions);
         return new JobBuilder("countryLoadJob", jobRepository)
-                .start(countryLoadStep)
+                .listener(countryDataVersionAllocationListener)
+                .listener(countryIndexRefreshListener)
+                .listener(countryDataVersionRefreshListener)
+                .listener(uploadStreamService)
+                .start(loadModeDecider)
+                .on(LoadModeDecider.BULK.getName()).to(countryBulkLoadStep)
+                .from(loadModeDecider).on(LoadModeDecider.PARTITIONED.getName()).to(countryPartitionedLoadStep)
+                .from(loadModeDecider).on("*").to(countryLoadStep)
+                .end()
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,315 @@
+package com.perficient.predictor.batch.config;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.perficient.predictor.batch.chunk.AdaptiveChunkSizePolicy;
+import com.perficient.predictor.batch.dto.GameDBOutput;
+import com.perficient.predictor.batch.dto.GameInput;
+import com.perficient.predictor.batch.exception.ValidationException;
+import com.perficient.predictor.batch.listener.BatchMetricsListener;
+import com.perficient.predictor.batch.listener.DataVersionAllocationListener;
+import com.perficient.predictor.batch.listener.KickoffLockRefreshListener;
+import com.perficient.predictor.batch.logging.RejectedItemLog;
+import com.perficient.predictor.batch.processor.GameItemProcessor;
+import com.perficient.predictor.batch.reader.CompressedFileResource;
+import com.perficient.predictor.batch.reader.Compression;
+import com.perficient.predictor.batch.reader.InputFiles;
+import com.perficient.predictor.batch.reject.RejectedRecordSkipListener;
+import com.perficient.predictor.batch.reject.RejectedRecordWriter;
+import com.perficient.predictor.batch.service.DataVersionService;
+import com.perficient.predictor.batch.service.LoadJobParameters;
+import com.perficient.predictor.batch.service.lookup.GameLoadDictionary;
+import com.perficient.predictor.batch.upload.UploadStreamService;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.SkipListener;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.database.BeanPropertyItemSqlParameterSourceProvider;
+import org.springframework.batch.item.database.JdbcBatchItemWriter;
+import org.springframework.batch.item.database.builder.JdbcBatchItemWriterBuilder;
+import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
+import org.springframework.batch.item.json.JacksonJsonObjectReader;
+import org.springframework.batch.item.json.builder.JsonItemReaderBuilder;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Configures the Spring Batch job for loading fixtures and results into GAME.
+ *
+ * Input is CSV, or a JSON array of objects with the {@link GameInput} field names (a .json file, or
+ * an upload with inputFormat=json), either of them optionally gzip or zstd compressed. Competition and
+ * team names are resolved against a {@link GameLoadDictionary} taken when the step starts, rows that
+ * change nothing are filtered out, and the rest are upserted on the fixture key (competition, season,
+ * week, home team, away team). Each run is a single step: feeds send small files often, so there is
+ * nothing to partition.
+ */
+@Configuration
+public class GameLoadConfig {
+
+    // CSV column order, also the leading columns of the reject file
+    private static final List<String> GAME_CSV_COLUMNS = List.of("COMPETITION", "SEASON", "GAME_WEEK", "GAME_DATE",
+            "HOME_TEAM", "AWAY_TEAM", "HOME_SCORE", "AWAY_SCORE", "STATUS");
+
+    public static final String JSON_FORMAT = "json";
+
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final DataSource dataSource;
+
+    public GameLoadConfig(JobRepository jobRepository,
+                          @Qualifier("batchStepTransactionManager") PlatformTransactionManager transactionManager,
+                          DataSource dataSource) {
+        this.jobRepository = jobRepository;
+        this.transactionManager = transactionManager;
+        this.dataSource = dataSource;
+    }
+
+    // --- Reader Configuration ---
+    /**
+     * Reads the input file or a streamed upload (job parameter uploadId), which cannot be re-read and so
+     * keeps no restart state. JSON if the job parameter inputFormat says so, or else if the file name
+     * (without a compression suffix) ends in .json.
+     */
+    @Bean
+    @StepScope
+    public AbstractItemCountingItemStreamItemReader<GameInput> gameReader(
+            @Value("#{jobParameters['inputFilePath']}") String inputFilePath,
+            @Value("#{jobParameters['" + LoadJobParameters.UPLOAD_ID + "']}") String uploadId,
+            @Value("#{jobParameters['" + LoadJobParameters.INPUT_FORMAT + "']}") String inputFormat,
+            UploadStreamService uploadStreamService) {
+        Resource resource;
+        boolean json;
+        if (uploadId != null) {
+            resource = new InputStreamResource(openUpload(uploadStreamService, uploadId), "upload " + uploadId);
+            json = JSON_FORMAT.equalsIgnoreCase(inputFormat);
+        } else {
+            Path file = InputFiles.toPath(inputFilePath);
+            Compression compression = Compression.of(file);
+            resource = compression != Compression.NONE
+                    ? new CompressedFileResource(file, compression)
+                    : new FileSystemResource(file);
+            json = inputFormat != null
+                    ? JSON_FORMAT.equalsIgnoreCase(inputFormat)
+                    : Compression.uncompressedName(file.getFileName().toString()).endsWith(".json");
+        }
+
+        if (json) {
+            // Feeds add fields over time; only the known ones are read
+            ObjectMapper objectMapper = new ObjectMapper()
+                    .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+            return new JsonItemReaderBuilder<GameInput>()
+                    .name("gameItemReader")
+                    .resource(resource)
+                    .jsonObjectReader(new JacksonJsonObjectReader<>(objectMapper, GameInput.class))
+                    .saveState(uploadId == null)
+                    .build();
+        }
+        return new FlatFileItemReaderBuilder<GameInput>()
+                .name("gameItemReader")
+                .resource(resource)
+                .linesToSkip(1) // Skip header row
+                .saveState(uploadId == null)
+                .delimited()
+                .names("competition", "season", "gameWeek", "gameDate", "homeTeam", "awayTeam",
+                        "homeScore", "awayScore", "status")
+                .targetType(GameInput.class)
+                .build();
+    }
+
+    /**
+     * The upload's stream, decompressed if the client sent it gzip or zstd compressed.
+     */
+    private static InputStream openUpload(UploadStreamService uploadStreamService, String uploadId) {
+        InputStream upload = uploadStreamService.open(uploadId);
+        try {
+            return Compression.decompressing(upload);
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to read upload " + uploadId, e);
+        }
+    }
+
+    // --- Processor Configuration ---
+    /**
+     * Teams, competitions and the current games, loaded when the step starts.
+     */
+    @Bean
+    @StepScope
+    public GameLoadDictionary gameLoadDictionary(JdbcTemplate jdbcTemplate) {
+        return GameLoadDictionary.load(jdbcTemplate);
+    }
+
+    @Bean
+    @StepScope
+    public GameItemProcessor gameProcessor(GameLoadDictionary gameLoadDictionary,
+                                           RejectedItemLog gameRejectedItemLog) {
+        return new GameItemProcessor(gameLoadDictionary, gameRejectedItemLog);
+    }
+
+    /**
+     * Counts and summarizes the rows gameProcessor rejects, per chunk and per step,
+     * and writes them to the reject file.
+     */
+    @Bean
+    @StepScope
+    public RejectedItemLog gameRejectedItemLog(@Value("#{stepExecution.stepName}") String stepName,
+                                               RejectedRecordWriter gameRejectedRecordWriter) {
+        return new RejectedItemLog(stepName, gameRejectedRecordWriter);
+    }
+
+    // --- Writer Configuration ---
+    /**
+     * Upserts on the fixture key. A game whose points have been awarded in the meantime is left as it is:
+     * the processor compares against the state at step start, the scoring job may have moved on since.
+     */
+    @Bean
+    @StepScope
+    public JdbcBatchItemWriter<GameDBOutput> gameWriter() {
+
+        final String upsertSql = """
+        MERGE INTO GAME G
+        USING (VALUES (CAST(:competitionId AS BIGINT), CAST(:seasonStartYear AS INT), CAST(:gameWeek AS INT),
+                       CAST(:homeTeamId AS BIGINT), CAST(:awayTeamId AS BIGINT), CAST(:gameDate AS DATE),
+                       CAST(:homeScore AS INT), CAST(:awayScore AS INT), CAST(:status AS VARCHAR(50)),
+                       CAST(:updatedBy AS VARCHAR(100))))
+            S (COMPETITION_ID, SEASON_START_YEAR, GAME_WEEK, HOME_TEAM_ID, AWAY_TEAM_ID, GAME_DATE,
+               HOME_SCORE, AWAY_SCORE, STATUS, UPDATED_BY)
+        ON G.COMPETITION_ID = S.COMPETITION_ID AND G.SEASON_START_YEAR = S.SEASON_START_YEAR
+           AND G.GAME_WEEK = S.GAME_WEEK AND G.HOME_TEAM_ID = S.HOME_TEAM_ID AND G.AWAY_TEAM_ID = S.AWAY_TEAM_ID
+        WHEN MATCHED AND G.POINTS_UPDATED_FLAG = FALSE THEN UPDATE SET
+            GAME_DATE = S.GAME_DATE, HOME_SCORE = S.HOME_SCORE, AWAY_SCORE = S.AWAY_SCORE, STATUS = S.STATUS,
+            UPDATED_AT = CURRENT_TIMESTAMP, UPDATED_BY = S.UPDATED_BY
+        WHEN NOT MATCHED THEN INSERT
+            (COMPETITION_ID, SEASON_START_YEAR, GAME_WEEK, HOME_TEAM_ID, AWAY_TEAM_ID, GAME_DATE,
+             HOME_SCORE, AWAY_SCORE, STATUS, UPDATED_BY)
+            VALUES (S.COMPETITION_ID, S.SEASON_START_YEAR, S.GAME_WEEK, S.HOME_TEAM_ID, S.AWAY_TEAM_ID, S.GAME_DATE,
+                    S.HOME_SCORE, S.AWAY_SCORE, S.STATUS, S.UPDATED_BY)
+        """;
+
+        return new JdbcBatchItemWriterBuilder<GameDBOutput>()
+                .dataSource(this.dataSource)
+                .sql(upsertSql)
+                .itemSqlParameterSourceProvider(new BeanPropertyItemSqlParameterSourceProvider<>())
+                .assertUpdates(false) // a scored game updates no row
+                .build();
+    }
+
+    // --- Reject File Configuration ---
+    /**
+     * Writes every row gameLoadStep rejects or skips, with its reason code, to the job's errorFilePath.
+     */
+    @Bean
+    @StepScope
+    public RejectedRecordWriter gameRejectedRecordWriter(
+            @Value("#{jobParameters['errorFilePath']}") String errorFilePath,
+            @Value("#{stepExecution.stepName}") String stepName) {
+        return RejectedRecordWriter.forStep(errorFilePath, stepName, GAME_CSV_COLUMNS);
+    }
+
+    /**
+     * Games skipped in the writer are written with their names looked up again from the IDs.
+     */
+    @Bean
+    @StepScope
+    public RejectedRecordSkipListener<GameInput, GameDBOutput> gameRejectedRecordSkipListener(
+            RejectedRecordWriter gameRejectedRecordWriter, GameLoadDictionary gameLoadDictionary) {
+        return new RejectedRecordSkipListener<>(gameRejectedRecordWriter, GameItemProcessor::fields,
+                game -> Arrays.asList(gameLoadDictionary.competitionName(game.competitionId()),
+                        Objects.toString(game.seasonStartYear(), null), Objects.toString(game.gameWeek(), null),
+                        Objects.toString(game.gameDate(), null),
+                        gameLoadDictionary.teamName(game.homeTeamId()), gameLoadDictionary.teamName(game.awayTeamId()),
+                        Objects.toString(game.homeScore(), null), Objects.toString(game.awayScore(), null),
+                        game.status()));
+    }
+
+    // --- Chunk Size Configuration ---
+    @Bean
+    @StepScope
+    public AdaptiveChunkSizePolicy gameChunkPolicy(
+            @Value("#{jobParameters['" + LoadJobParameters.CHUNK_SIZE + "'] ?: ${predictor.batch.game.chunk.size:500}}") long chunkSize,
+            @Value("#{jobParameters['" + LoadJobParameters.ADAPTIVE_CHUNK + "'] ?: ${predictor.batch.game.chunk.adaptive:false}}") boolean adaptive,
+            @Value("${predictor.batch.game.chunk.min-size:10}") int minSize,
+            @Value("${predictor.batch.game.chunk.max-size:5000}") int maxSize,
+            @Value("${predictor.batch.game.chunk.max-latency-ms:2000}") long maxLatencyMillis) {
+        return new AdaptiveChunkSizePolicy((int) chunkSize, minSize, maxSize, adaptive, maxLatencyMillis);
+    }
+
+    // --- Step Configuration ---
+    @Bean
+    public Step gameLoadStep(ItemStreamReader<GameInput> gameReader,
+                             GameItemProcessor gameProcessor,
+                             JdbcBatchItemWriter<GameDBOutput> gameWriter,
+                             AdaptiveChunkSizePolicy gameChunkPolicy,
+                             RejectedItemLog gameRejectedItemLog,
+                             RejectedRecordWriter gameRejectedRecordWriter,
+                             RejectedRecordSkipListener<GameInput, GameDBOutput> gameRejectedRecordSkipListener,
+                             BatchMetricsListener batchMetricsListener) {
+
+        return new StepBuilder("gameLoadStep", jobRepository)
+                .<GameInput, GameDBOutput>chunk(gameChunkPolicy, transactionManager)
+                .listener((ChunkListener) gameChunkPolicy)
+                .listener((StepExecutionListener) gameChunkPolicy)
+                .listener((StepExecutionListener) gameProcessor)
+                .listener((ChunkListener) gameRejectedItemLog)
+                .listener((StepExecutionListener) gameRejectedItemLog)
+                .listener((StepExecutionListener) batchMetricsListener)
+                .listener((ChunkListener) batchMetricsListener)
+                .listener((ItemWriteListener<Object>) batchMetricsListener)
+                .reader(gameReader)
+                .processor(gameProcessor)
+                .writer(gameWriter)
+                .stream(gameRejectedRecordWriter)
+                .faultTolerant()
+                // gameProcessor remembers the games it passed on: a rolled-back chunk reuses its outputs
+                .processorNonTransactional()
+                .skipLimit(10)
+                .skip(ValidationException.class)
+                .skip(DataAccessException.class)
+                .listener(gameRejectedRecordSkipListener)
+                .listener((SkipListener<Object, Object>) batchMetricsListener)
+                .build();
+    }
+
+    // --- Job Configuration ---
+    @Bean
+    public DataVersionAllocationListener gameDataVersionAllocationListener(DataVersionService dataVersionService) {
+        return new DataVersionAllocationListener("GAME_JOB", dataVersionService);
+    }
+
+    @Bean
+    public Job gameLoadJob(Step gameLoadStep,
+                           DataVersionAllocationListener gameDataVersionAllocationListener,
+                           KickoffLockRefreshListener kickoffLockRefreshListener,
+                           UploadStreamService uploadStreamService) {
+        return new JobBuilder("gameLoadJob", jobRepository)
+                .listener(gameDataVersionAllocationListener)
+                .listener(kickoffLockRefreshListener)
+                .listener(uploadStreamService)
+                .start(gameLoadStep)
+                .build();
+    }
+}
@@ -0,0 +1,266 @@
+package com.perficient.predictor.batch.config;
+
+import com.perficient.predictor.batch.chunk.AdaptiveChunkSizePolicy;
+import com.perficient.predictor.batch.dto.GameResult;
+import com.perficient.predictor.batch.dto.SelectionDBInput;
+import com.perficient.predictor.batch.dto.SelectionScoreDBOutput;
+import com.perficient.predictor.batch.listener.BatchMetricsListener;
+import com.perficient.predictor.batch.listener.LeaderboardRefreshListener;
+import com.perficient.predictor.batch.partition.KeyRangePartitioner;
+import com.perficient.predictor.batch.partition.LoadModeDecider;
+import com.perficient.predictor.batch.processor.SelectionScoringProcessor;
+import com.perficient.predictor.batch.reader.H2KeysetPagingQueryProvider;
+import com.perficient.predictor.batch.service.LoadJobParameters;
+import com.perficient.predictor.batch.service.leaderboard.LeaderboardService;
+import com.perficient.predictor.batch.service.lookup.PendingGameResults;
+import com.perficient.predictor.batch.writer.SelectionScoreWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.database.JdbcPagingItemReader;
+import org.springframework.batch.item.database.Order;
+import org.springframework.batch.item.database.builder.JdbcPagingItemReaderBuilder;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configures the scoring job: awards points for every prediction (SELECTION) of a finished game
+ * that has not been scored yet, adds them to PLAYER_WEEKLY_SCORE and PLAYER.TOTAL_POINTS, and
+ * finally marks the fully scored games with POINTS_UPDATED_FLAG.
+ *
+ * Each scoring step first takes a snapshot of the pending games and their results (PendingGameResults).
+ * Their selections are read in (PLAYER_ID, GAME_ID) order with keyset pagination, which is stable while
+ * the job flips SELECTION_PROCESSED_FLAG on the rows behind it. When partitioned, each worker takes
+ * a PLAYER_ID range, so no two workers ever update the same PLAYER or PLAYER_WEEKLY_SCORE row.
+ * Only unprocessed selections are read, so a failed run is simply launched again.
+ */
+@Configuration
+public class ScoringJobConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ScoringJobConfig.class);
+
+    private static final String PENDING_GAMES_SQL = """
+            SELECT GAME_ID, COMPETITION_ID, SEASON_START_YEAR, GAME_WEEK, HOME_SCORE, AWAY_SCORE
+            FROM GAME
+            WHERE STATUS = 'FINISHED' AND POINTS_UPDATED_FLAG = FALSE
+              AND HOME_SCORE IS NOT NULL AND AWAY_SCORE IS NOT NULL
+            """;
+
+    // ARRAY_CONTAINS rather than IN: H2 would otherwise pick the GAME_ID index and sort every page,
+    // instead of walking the UNIQUE (PLAYER_ID, GAME_ID) index from the last key read
+    private static final String PENDING_SELECTION_WHERE = """
+            PLAYER_ID BETWEEN :minPlayerId AND :maxPlayerId
+            AND SELECTION_PROCESSED_FLAG = FALSE
+            AND ARRAY_CONTAINS(CAST(:gameIds AS BIGINT ARRAY), GAME_ID)""";
+
+    private static final String PLAYER_ID_RANGE_SQL = "SELECT MIN(PLAYER_ID), MAX(PLAYER_ID) FROM PLAYER";
+
+    // A finished game is scored once none of its selections is left unprocessed
+    private static final String GAMES_SCORED_SQL = """
+            UPDATE GAME G
+            SET POINTS_UPDATED_FLAG = TRUE, UPDATED_AT = CURRENT_TIMESTAMP, UPDATED_BY = 'SCORING_JOB'
+            WHERE G.STATUS = 'FINISHED' AND G.POINTS_UPDATED_FLAG = FALSE
+              AND G.HOME_SCORE IS NOT NULL AND G.AWAY_SCORE IS NOT NULL
+              AND NOT EXISTS (SELECT 1 FROM SELECTION S
+                              WHERE S.GAME_ID = G.GAME_ID AND S.SELECTION_PROCESSED_FLAG = FALSE)
+            """;
+
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    // Default partition count when the launch does not pass a 'partitions' job parameter
+    @Value("${predictor.batch.scoring.partitions:1}")
+    private int defaultPartitions;
+
+    public ScoringJobConfig(JobRepository jobRepository,
+                            @Qualifier("batchStepTransactionManager") PlatformTransactionManager transactionManager) {
+        this.jobRepository = jobRepository;
+        this.transactionManager = transactionManager;
+    }
+
+    // --- Reader Configuration ---
+    /**
+     * Pending games and their results, loaded when the step (or partition) starts.
+     */
+    @Bean
+    @StepScope
+    public PendingGameResults pendingGameResults(JdbcTemplate jdbcTemplate) {
+        PendingGameResults results = new PendingGameResults(jdbcTemplate.query(PENDING_GAMES_SQL,
+                (rs, rowNum) -> new GameResult(rs.getLong(1), rs.getLong(2), rs.getInt(3), rs.getInt(4),
+                        rs.getInt(5), rs.getInt(6))));
+        log.info("Scoring {} pending games.", results.size());
+        return results;
+    }
+
+    /**
+     * Reads the unscored selections of the pending games for the partition's player range
+     * (all players when not partitioned), one page per chunk.
+     */
+    @Bean
+    @StepScope
+    public JdbcPagingItemReader<SelectionDBInput> selectionReader(
+            DataSource dataSource,
+            PendingGameResults pendingGameResults,
+            @Value("#{stepExecutionContext['" + KeyRangePartitioner.MIN_KEY + "']}") Long minPlayerId,
+            @Value("#{stepExecutionContext['" + KeyRangePartitioner.MAX_KEY + "']}") Long maxPlayerId,
+            @Value("#{jobParameters['" + LoadJobParameters.CHUNK_SIZE + "'] ?: ${predictor.batch.scoring.chunk.size:1000}}") long pageSize) {
+
+        H2KeysetPagingQueryProvider queryProvider = new H2KeysetPagingQueryProvider();
+        queryProvider.setSelectClause("SELECTION_ID, PLAYER_ID, GAME_ID, PREDICTED_HOME_SCORE, PREDICTED_AWAY_SCORE");
+        queryProvider.setFromClause("SELECTION");
+        queryProvider.setWhereClause(PENDING_SELECTION_WHERE);
+        // Unique, and matches the UNIQUE (PLAYER_ID, GAME_ID) index
+        Map<String, Order> sortKeys = new LinkedHashMap<>();
+        sortKeys.put("PLAYER_ID", Order.ASCENDING);
+        sortKeys.put("GAME_ID", Order.ASCENDING);
+        queryProvider.setSortKeys(sortKeys);
+
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("minPlayerId", minPlayerId != null ? minPlayerId : Long.MIN_VALUE);
+        parameters.put("maxPlayerId", maxPlayerId != null ? maxPlayerId : Long.MAX_VALUE);
+        parameters.put("gameIds", pendingGameResults.gameIds());
+
+        return new JdbcPagingItemReaderBuilder<SelectionDBInput>()
+                .name("selectionReader")
+                .dataSource(dataSource)
+                .queryProvider(queryProvider)
+                .parameterValues(parameters)
+                .pageSize((int) pageSize)
+                .fetchSize((int) pageSize)
+                // By position: name-based mappers probe column names, and every miss costs an SQLException
+                .rowMapper((rs, rowNum) -> new SelectionDBInput(rs.getLong(1), rs.getLong(2), rs.getLong(3),
+                        rs.getInt(4), rs.getInt(5)))
+                .build();
+    }
+
+    /**
+     * Splits PLAYER_ID into equal ranges, one per worker step execution.
+     */
+    @Bean
+    @StepScope
+    public KeyRangePartitioner scoringPartitioner(
+            JdbcTemplate jdbcTemplate,
+            @Value("#{jobParameters['" + LoadJobParameters.PARTITIONS + "']}") Long partitions) {
+        return new KeyRangePartitioner(jdbcTemplate, PLAYER_ID_RANGE_SQL, partitions);
+    }
+
+    // --- Processor and Writer Configuration ---
+    @Bean
+    @StepScope
+    public SelectionScoringProcessor selectionScoringProcessor(
+            PendingGameResults pendingGameResults,
+            @Value("${predictor.scoring.exact-score-points:3}") int exactScorePoints,
+            @Value("${predictor.scoring.correct-result-points:1}") int correctResultPoints) {
+        return new SelectionScoringProcessor(pendingGameResults, exactScorePoints, correctResultPoints);
+    }
+
+    @Bean
+    public SelectionScoreWriter selectionScoreWriter(JdbcTemplate jdbcTemplate, LeaderboardService leaderboardService) {
+        return new SelectionScoreWriter(jdbcTemplate, leaderboardService);
+    }
+
+    // --- Chunk Size Configuration ---
+    @Bean
+    @StepScope
+    public AdaptiveChunkSizePolicy scoringChunkPolicy(
+            @Value("#{jobParameters['" + LoadJobParameters.CHUNK_SIZE + "'] ?: ${predictor.batch.scoring.chunk.size:1000}}") long chunkSize,
+            @Value("#{jobParameters['" + LoadJobParameters.ADAPTIVE_CHUNK + "'] ?: ${predictor.batch.scoring.chunk.adaptive:false}}") boolean adaptive,
+            @Value("${predictor.batch.scoring.chunk.min-size:100}") int minSize,
+            @Value("${predictor.batch.scoring.chunk.max-size:10000}") int maxSize,
+            @Value("${predictor.batch.scoring.chunk.max-latency-ms:2000}") long maxLatencyMillis) {
+        return new AdaptiveChunkSizePolicy((int) chunkSize, minSize, maxSize, adaptive, maxLatencyMillis);
+    }
+
+    // --- Step Configuration ---
+    /**
+     * No skips: a selection that cannot be scored fails the run, and the next run picks it up again.
+     * Lock timeouts against concurrent activity (e.g. new predictions for a player) are retried.
+     */
+    @Bean
+    public Step scoringStep(JdbcPagingItemReader<SelectionDBInput> selectionReader,
+                            SelectionScoringProcessor selectionScoringProcessor,
+                            SelectionScoreWriter selectionScoreWriter,
+                            AdaptiveChunkSizePolicy scoringChunkPolicy,
+                            BatchMetricsListener batchMetricsListener) {
+        return new StepBuilder("scoringStep", jobRepository)
+                .<SelectionDBInput, SelectionScoreDBOutput>chunk(scoringChunkPolicy, transactionManager)
+                .listener((ChunkListener) scoringChunkPolicy)
+                .listener((StepExecutionListener) scoringChunkPolicy)
+                .listener((StepExecutionListener) batchMetricsListener)
+                .listener((ChunkListener) batchMetricsListener)
+                .listener((ItemWriteListener<Object>) batchMetricsListener)
+                .reader(selectionReader)
+                .processor(selectionScoringProcessor)
+                .writer(selectionScoreWriter)
+                .faultTolerant()
+                .retry(PessimisticLockingFailureException.class)
+                .retryLimit(3)
+                .build();
+    }
+
+    @Bean
+    public Step scoringPartitionedStep(Step scoringStep,
+                                       KeyRangePartitioner scoringPartitioner,
+                                       TaskExecutor partitionTaskExecutor) {
+        return new StepBuilder("scoringPartitionedStep", jobRepository)
+                .partitioner(scoringStep.getName(), scoringPartitioner)
+                .step(scoringStep)
+                .gridSize(Math.max(1, defaultPartitions))
+                .taskExecutor(partitionTaskExecutor)
+                .build();
+    }
+
+    /**
+     * Flags the finished games whose selections are now all scored. Games that finished while the
+     * scoring step was running keep the flag unset until a later run has scored them.
+     */
+    @Bean
+    public Step gamesScoredStep(JdbcTemplate jdbcTemplate) {
+        return new StepBuilder("gamesScoredStep", jobRepository)
+                .tasklet((contribution, chunkContext) -> {
+                    int flagged = jdbcTemplate.update(GAMES_SCORED_SQL);
+                    contribution.incrementWriteCount(flagged);
+                    log.info("Flagged {} games as scored.", flagged);
+                    return RepeatStatus.FINISHED;
+                }, transactionManager)
+                .build();
+    }
+
+    // --- Job Configuration ---
+    @Bean
+    public LeaderboardRefreshListener leaderboardRefreshListener(LeaderboardService leaderboardService) {
+        return new LeaderboardRefreshListener(leaderboardService);
+    }
+
+    @Bean
+    public Job scoringJob(Step scoringStep, Step scoringPartitionedStep, Step gamesScoredStep,
+                          LeaderboardRefreshListener leaderboardRefreshListener) {
+        LoadModeDecider loadModeDecider = new LoadModeDecider(defaultPartitions);
+        return new JobBuilder("scoringJob", jobRepository)
+                .listener(leaderboardRefreshListener)
+                .start(loadModeDecider)
+                .on(LoadModeDecider.PARTITIONED.getName()).to(scoringPartitionedStep).next(gamesScoredStep)
+                .from(loadModeDecider).on("*").to(scoringStep).next(gamesScoredStep)
+                .end()
+                .build();
+    }
+}
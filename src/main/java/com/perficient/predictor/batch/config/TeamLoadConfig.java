@@ -1,33 +1,82 @@
 package com.perficient.predictor.batch.config;
 
+import com.perficient.predictor.batch.bulk.BulkLoadTasklet;
+import com.perficient.predictor.batch.chunk.AdaptiveChunkSizePolicy;
+import com.perficient.predictor.batch.delta.ContentHash;
+import com.perficient.predictor.batch.delta.ContentHashIndexRegistry;
+import com.perficient.predictor.batch.delta.DeltaFilterProcessor;
+import com.perficient.predictor.batch.delta.DeltaSummaryListener;
 import com.perficient.predictor.batch.dto.TeamCsvInput;
 import com.perficient.predictor.batch.dto.TeamDBOutput;
 import com.perficient.predictor.batch.exception.ValidationException;
+import com.perficient.predictor.batch.listener.BatchMetricsListener;
+import com.perficient.predictor.batch.listener.DataVersionAllocationListener;
+import com.perficient.predictor.batch.listener.DataVersionRefreshListener;
 import com.perficient.predictor.batch.listener.TeamLoadSkipListener;
+import com.perficient.predictor.batch.logging.RejectedItemLog;
+import com.perficient.predictor.batch.partition.FileRangePartitioner;
+import com.perficient.predictor.batch.partition.FileRangeResource;
+import com.perficient.predictor.batch.partition.LoadModeDecider;
+import com.perficient.predictor.batch.partition.MultiFilePartitioner;
 import com.perficient.predictor.batch.processor.TeamItemProcessor;
+import com.perficient.predictor.batch.reader.CompressedFileResource;
+import com.perficient.predictor.batch.reader.Compression;
+import com.perficient.predictor.batch.reader.InputFiles;
+import com.perficient.predictor.batch.reader.MappedCsvItemReader;
+import com.perficient.predictor.batch.reject.RejectedRecordMergeListener;
+import com.perficient.predictor.batch.reject.RejectedRecordSkipListener;
+import com.perficient.predictor.batch.reject.RejectedRecordWriter;
+import com.perficient.predictor.batch.service.DataVersionService;
+import com.perficient.predictor.batch.service.LoadJobParameters;
 import com.perficient.predictor.batch.service.lookup.CountryIdLookupService;
+import com.perficient.predictor.batch.service.lookup.ReferenceDataVersionService;
+import com.perficient.predictor.batch.upload.UploadStreamService;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ItemWriteListener;
 import org.springframework.batch.core.Job;
+import org.springframework.batch.core.SkipListener;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
 import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.partition.support.Partitioner;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.item.database.BeanPropertyItemSqlParameterSourceProvider;
 import org.springframework.batch.item.database.JdbcBatchItemWriter;
 import org.springframework.batch.item.database.builder.JdbcBatchItemWriterBuilder;
-import org.springframework.batch.item.file.FlatFileItemReader;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.NonTransientResourceException;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+import org.springframework.batch.item.support.CompositeItemProcessor;
+import org.springframework.batch.item.support.CompositeItemWriter;
 import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.DataAccessException;
 
 import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
 
 /**
  * Configures the Spring Batch job for loading Team master data.
@@ -35,97 +84,444 @@ import javax.sql.DataSource;
  * a reliable UPSERT (Update or Insert) for idempotent and refreshing loads.
  */
 @Configuration
-@EnableBatchProcessing
+@EnableBatchProcessing(dataSourceRef = "batchRepositoryDataSource", transactionManagerRef = "batchRepositoryTransactionManager")
 public class TeamLoadConfig {
 
+    // H2-specific MERGE syntax using the KEY clause.
+    // If a row with the matching NAME exists, it is UPDATED; otherwise, it is INSERTED.
+    public static final String TEAM_UPSERT_SQL = """
+            MERGE INTO TEAM 
+            (NAME, TEAM_TYPE, STADIUM_NAME, ESTABLISHED_YEAR, NICKNAME, STADIUM_CAPACITY, COUNTRY_ID, UPDATED_BY)
+            KEY (NAME) 
+            VALUES 
+            (:name, :teamType, :stadiumName, :establishedYear, :nickname, :stadiumCapacity, :countryCode, :updatedBy)
+            """;
+
+    // CSV column order, also the leading columns of the reject file
+    static final List<String> TEAM_CSV_COLUMNS = List.of(
+            "NAME", "TEAM_TYPE", "STADIUM_NAME", "ESTABLISHED_YEAR", "NICKNAME", "STADIUM_CAPACITY", "COUNTRY_CODE");
+
+    // Content hashes of the rows written by incremental loads (see teamContentHash)
+    private static final String TEAM_HASH_SELECT_SQL = "SELECT NAME, CONTENT_HASH FROM TEAM_LOAD_HASH";
+    private static final String TEAM_HASH_CLEAR_SQL = "DELETE FROM TEAM_LOAD_HASH";
+    private static final String TEAM_HASH_UPSERT_SQL = """
+            MERGE INTO TEAM_LOAD_HASH (NAME, CONTENT_HASH, UPDATED_AT)
+            KEY (NAME)
+            VALUES (:name, :hash, CURRENT_TIMESTAMP)
+            """;
+
     private final JobRepository jobRepository;
     private final PlatformTransactionManager transactionManager;
 
+    // Default partition count when the launch does not pass a 'partitions' job parameter
+    @Value("${predictor.batch.team.partitions:1}")
+    private int defaultPartitions;
+
+    // Read through the memory-mapped reader instead of FlatFileItemReader
+    @Value("${predictor.batch.reader.mapped:false}")
+    private boolean mappedReader;
+
+    // Default when the launch does not pass an 'incremental' job parameter
+    @Value("${predictor.batch.team.incremental:false}")
+    private boolean defaultIncremental;
+
     // Standard constructor injection for required framework beans
-    public TeamLoadConfig(JobRepository jobRepository, PlatformTransactionManager transactionManager) {
+    public TeamLoadConfig(JobRepository jobRepository,
+                          @Qualifier("batchStepTransactionManager") PlatformTransactionManager transactionManager) {
         this.jobRepository = jobRepository;
         this.transactionManager = transactionManager;
     }
 
-    // --- Reader Configuration (Unchanged) ---
+    // --- Reader Configuration ---
 // Inside your Batch Configuration class
 
     /**
      * Creates the ItemReader, scoped to the Step.
      * It uses the @Value annotation combined with SpEL to read the 'inputFilePath'
      * Job Parameter passed by the controller at runtime.
+     * When running as a partition worker, it only reads the byte range assigned to the partition.
+     * A streamed upload (job parameter uploadId) is read straight from the request; it cannot be
+     * re-read, so the reader keeps no restart state.
+     * gzip and zstd input, file or upload, is decompressed as it is read.
      */
     @Bean
     @StepScope // MANDATORY: This scopes the bean to the step execution lifecycle
-    public FlatFileItemReader<TeamCsvInput> teamReader(
+    public AbstractItemCountingItemStreamItemReader<TeamCsvInput> teamReader(
             // Inject the Job Parameter named 'inputFilePath'
-            @Value("#{jobParameters['inputFilePath']}") String inputFilePath) {
+            @Value("#{jobParameters['inputFilePath']}") String inputFilePath,
+            @Value("#{jobParameters['" + LoadJobParameters.UPLOAD_ID + "']}") String uploadId,
+            // Only present for partition workers (see FileRangePartitioner and MultiFilePartitioner)
+            @Value("#{stepExecutionContext['" + FileRangePartitioner.FILE_KEY + "']}") String partitionFile,
+            @Value("#{stepExecutionContext['" + FileRangePartitioner.START_KEY + "']}") Long rangeStart,
+            @Value("#{stepExecutionContext['" + FileRangePartitioner.END_KEY + "']}") Long rangeEnd,
+            UploadStreamService uploadStreamService) {
+        if (uploadId != null) {
+            return teamCsvReader(new InputStreamResource(openUpload(uploadStreamService, uploadId), "upload " + uploadId))
+                    .linesToSkip(1)
+                    .saveState(false)
+                    .build();
+        }
+        // A partition worker reads the file of its partition, which for a multi-file input is one of many
+        String filePath = partitionFile != null ? partitionFile : inputFilePath;
 // Add the "file:" prefix if it's missing, to force filesystem resolution
-        String safePath = inputFilePath.startsWith("file:") ? inputFilePath : "file:" + inputFilePath;
+        String safePath = filePath.startsWith("file:") ? filePath : "file:" + filePath;
         // You now need to convert the String path into a Spring Resource manually
         PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
         Resource resource = resolver.getResource(safePath);
 
+        // A compressed file is decompressed as it is read; it is never partitioned (see LoadModeDecider)
+        Compression compression = Compression.of(toPath(resource));
+        if (compression != Compression.NONE) {
+            return teamCsvReader(new CompressedFileResource(toPath(resource), compression))
+                    .linesToSkip(1)
+                    .build();
+        }
+
+        // Only the partition starting at byte 0 contains the header row
+        boolean partitioned = rangeStart != null && rangeEnd != null;
+        int linesToSkip = !partitioned || rangeStart == 0 ? 1 : 0;
+
+        if (mappedReader) {
+            // Column order: name, teamType, stadiumName, establishedYear, nickname, stadiumCapacity, countryCode
+            return new MappedCsvItemReader<>("teamItemReader", toPath(resource),
+                    partitioned ? rangeStart : 0, partitioned ? rangeEnd : null, linesToSkip, ',', 7,
+                    fields -> new TeamCsvInput(fields.get(0), fields.get(1), fields.get(2), fields.get(3),
+                            fields.get(4), fields.get(5), fields.get(6)));
+        }
+
+        if (partitioned) {
+            resource = new FileRangeResource(toPath(resource), rangeStart, rangeEnd);
+        }
+
+        return teamCsvReader(resource) // Use the dynamic resource
+                .linesToSkip(linesToSkip) // Skip header row
+                .build();
+    }
+
+    private static FlatFileItemReaderBuilder<TeamCsvInput> teamCsvReader(Resource resource) {
         // Names must match the TeamCsvInput record fields and the CSV column order
         return new FlatFileItemReaderBuilder<TeamCsvInput>()
                 .name("teamItemReader")
-                .resource(resource) // Use the dynamic resource
+                .resource(resource)
                 .delimited()
                 .names("name", "teamType", "stadiumName", "establishedYear", "nickname", "stadiumCapacity", "countryCode")
-                .targetType(TeamCsvInput.class)
-                .linesToSkip(1) // Skip header row
-                .build();
+                .targetType(TeamCsvInput.class);
+    }
+
+    /**
+     * Splits the input file into byte ranges, one per worker step execution, or gives each file
+     * of a directory or glob input its own worker step execution.
+     */
+    @Bean
+    @StepScope
+    public Partitioner teamPartitioner(
+            @Value("#{jobParameters['inputFilePath']}") String inputFilePath,
+            @Value("#{jobParameters['" + LoadJobParameters.PARTITIONS + "']}") Long partitions) {
+        if (InputFiles.isMultiFile(inputFilePath)) {
+            return new MultiFilePartitioner(inputFilePath);
+        }
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        Resource resource = resolver.getResource(inputFilePath.startsWith("file:") ? inputFilePath : "file:" + inputFilePath);
+        return new FileRangePartitioner(toPath(resource), partitions);
+    }
+
+    /**
+     * The upload's stream, decompressed if the client sent it gzip or zstd compressed.
+     */
+    private static InputStream openUpload(UploadStreamService uploadStreamService, String uploadId) {
+        InputStream upload = uploadStreamService.open(uploadId);
+        try {
+            return Compression.decompressing(upload);
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to read upload " + uploadId, e);
+        }
+    }
+
+    private static Path toPath(Resource resource) {
+        try {
+            return resource.getFile().toPath();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Input must be a file on the local filesystem: " + resource, e);
+        }
+    }
+
+    // --- Processor Configuration ---
+    /**
+     * Step-scoped so the country code index is bulk-loaded (or reused, if already loaded)
+     * when the step starts, before the first item reaches the processor.
+     */
+    @Bean
+    @StepScope
+    public TeamItemProcessor teamProcessor(CountryIdLookupService countryIdLookupService,
+                                           RejectedItemLog teamRejectedItemLog) {
+        countryIdLookupService.currentIndex();
+        return new TeamItemProcessor(countryIdLookupService, teamRejectedItemLog);
+    }
+
+    /**
+     * Counts and summarizes the rows teamProcessor filters out, per chunk and per step,
+     * and writes them to the reject file.
+     */
+    @Bean
+    @StepScope
+    public RejectedItemLog teamRejectedItemLog(@Value("#{stepExecution.stepName}") String stepName,
+                                               RejectedRecordWriter teamRejectedRecordWriter) {
+        return new RejectedItemLog(stepName, teamRejectedRecordWriter);
+    }
+
+    // --- Reject File Configuration ---
+    /**
+     * Writes every row teamLoadStep filters out or skips, with its reason code, to the job's errorFilePath.
+     * Partition workers write a part file each, merged by teamRejectedRecordMergeListener.
+     */
+    @Bean
+    @StepScope
+    public RejectedRecordWriter teamRejectedRecordWriter(
+            @Value("#{jobParameters['errorFilePath']}") String errorFilePath,
+            @Value("#{stepExecution.stepName}") String stepName) {
+        return RejectedRecordWriter.forStep(errorFilePath, stepName, TEAM_CSV_COLUMNS);
+    }
+
+    /**
+     * Teams skipped in the writer are written with their country code looked up again from the ID.
+     */
+    @Bean
+    @StepScope
+    public RejectedRecordSkipListener<TeamCsvInput, TeamDBOutput> teamRejectedRecordSkipListener(
+            RejectedRecordWriter teamRejectedRecordWriter, CountryIdLookupService countryIdLookupService) {
+        return new RejectedRecordSkipListener<>(teamRejectedRecordWriter, TeamItemProcessor::fields,
+                team -> Arrays.asList(team.name(), team.teamType(), team.stadiumName(),
+                        Objects.toString(team.establishedYear(), null), team.nickname(),
+                        Objects.toString(team.stadiumCapacity(), null),
+                        team.countryCode() != null ? countryIdLookupService.findCodeById(team.countryCode()) : null));
+    }
+
+    @Bean
+    public RejectedRecordMergeListener teamRejectedRecordMergeListener() {
+        return new RejectedRecordMergeListener("errorFilePath", TEAM_CSV_COLUMNS);
+    }
+
+    // --- Incremental Load Configuration ---
+    /**
+     * Content hashes of the teams written by previous incremental loads, shared by all partitions
+     * of a run. Also a job listener: a load that is not incremental clears them.
+     */
+    @Bean
+    public ContentHashIndexRegistry teamContentHashRegistry(JdbcTemplate jdbcTemplate) {
+        return new ContentHashIndexRegistry(jdbcTemplate, TEAM_HASH_SELECT_SQL, TEAM_HASH_CLEAR_SQL,
+                jobParameters -> LoadJobParameters.isIncremental(jobParameters, defaultIncremental));
+    }
+
+    /**
+     * Runs after teamProcessor: in incremental mode (job parameter incremental=true) filters out
+     * teams identical to what the previous incremental load wrote. A pass-through otherwise.
+     */
+    @Bean
+    @StepScope
+    public DeltaFilterProcessor<TeamDBOutput> teamDeltaProcessor(
+            @Value("#{stepExecution}") StepExecution stepExecution,
+            ContentHashIndexRegistry teamContentHashRegistry) {
+        boolean incremental = teamContentHashRegistry.isIncremental(stepExecution.getJobParameters());
+        return new DeltaFilterProcessor<>(
+                incremental ? teamContentHashRegistry.forJob(stepExecution.getJobExecutionId()) : null,
+                TeamDBOutput::name, TeamLoadConfig::teamContentHash, incremental);
     }
 
-    // --- Processor Configuration (Unchanged) ---
     @Bean
-    public TeamItemProcessor teamProcessor(CountryIdLookupService countryIdLookupService) {
-        // Corrected: Pass the injected service into the constructor
-        return new TeamItemProcessor(countryIdLookupService);
+    public DeltaSummaryListener teamDeltaSummaryListener(ContentHashIndexRegistry teamContentHashRegistry) {
+        return new DeltaSummaryListener(teamContentHashRegistry);
     }
 
-    // --- Writer Configuration Class (NEW H2 MERGE WITH KEY) ---
+    /**
+     * Hash of everything TEAM_UPSERT_SQL writes for a team except the audit column, so a changed
+     * country mapping also counts as a change.
+     */
+    static long teamContentHash(TeamDBOutput team) {
+        long hash = ContentHash.INITIAL;
+        hash = ContentHash.add(hash, team.name());
+        hash = ContentHash.add(hash, team.teamType());
+        hash = ContentHash.add(hash, team.stadiumName());
+        hash = ContentHash.add(hash, team.establishedYear());
+        hash = ContentHash.add(hash, team.nickname());
+        hash = ContentHash.add(hash, team.stadiumCapacity());
+        return ContentHash.add(hash, team.countryCode());
+    }
+
+    // --- Writer Configuration ---
     @Configuration
     public class TeamItemWriterConfig {
 
         /**
          * Configures the writer to use the reliable H2 MERGE INTO ... KEY statement.
          * This performs a true UPSERT: updating existing records and inserting new ones.
+         * In incremental mode each team's content hash is upserted in the same chunk transaction,
+         * so the hashes always describe what was committed to TEAM.
+         * No destroy method: neither writer holds resources, and the inferred 'close' would only
+         * exist on the composite.
          */
-        @Bean
-        public JdbcBatchItemWriter<TeamDBOutput> teamWriter(DataSource dataSource) {
+        @Bean(destroyMethod = "")
+        @StepScope // One writer per step execution, so every partition gets its own
+        public ItemWriter<TeamDBOutput> teamWriter(DataSource dataSource,
+                                                   @Value("#{stepExecution}") StepExecution stepExecution,
+                                                   ContentHashIndexRegistry teamContentHashRegistry) {
 
-            // H2-specific MERGE syntax using the KEY clause.
-            // If a row with the matching NAME exists, it is UPDATED; otherwise, it is INSERTED.
-            final String upsertSql = """
-            MERGE INTO TEAM 
-            (NAME, TEAM_TYPE, STADIUM_NAME, ESTABLISHED_YEAR, NICKNAME, STADIUM_CAPACITY, COUNTRY_ID, UPDATED_BY)
-            KEY (NAME) 
-            VALUES 
-            (:name, :teamType, :stadiumName, :establishedYear, :nickname, :stadiumCapacity, :countryCode, :updatedBy)
-            """;
-
-            return new JdbcBatchItemWriterBuilder<TeamDBOutput>()
+            JdbcBatchItemWriter<TeamDBOutput> teamUpsertWriter = new JdbcBatchItemWriterBuilder<TeamDBOutput>()
                     .dataSource(dataSource)
-                    .sql(upsertSql)
+                    .sql(TEAM_UPSERT_SQL)
                     // Maps TeamDBOutput properties (name, teamType, etc.) to the SQL parameters
                     .itemSqlParameterSourceProvider(new BeanPropertyItemSqlParameterSourceProvider<>())
                     .build();
+            if (!teamContentHashRegistry.isIncremental(stepExecution.getJobParameters())) {
+                return teamUpsertWriter;
+            }
+
+            JdbcBatchItemWriter<TeamDBOutput> hashWriter = new JdbcBatchItemWriterBuilder<TeamDBOutput>()
+                    .dataSource(dataSource)
+                    .sql(TEAM_HASH_UPSERT_SQL)
+                    .itemSqlParameterSourceProvider(team -> new MapSqlParameterSource()
+                            .addValue("name", team.name())
+                            .addValue("hash", teamContentHash(team)))
+                    .build();
+            // Delegates of a composite are not initialized by the container
+            teamUpsertWriter.afterPropertiesSet();
+            hashWriter.afterPropertiesSet();
+            return new CompositeItemWriter<>(teamUpsertWriter, hashWriter);
         }
     }
 
-    // --- Step Configuration (Unchanged) ---
+    // --- Bulk Load Configuration ---
+    // Same checks as TeamItemProcessor and CountryIdLookupService, applied while staging.
+    // Integer.parseInt accepts neither blanks nor surrounding spaces, hence the strict patterns; up to 10
+    // digits pass the pattern and are then range-checked as BIGINT (in a WHEN of its own, so only digits are cast).
+    // The inner query names the failed check; the outer one turns it into the reason code and detail the
+    // chunk step writes for the same row (a missing mandatory field is a skipped ValidationException there).
+    private static final String TEAM_STAGING_SQL = """
+            SELECT V.LINE_NO, V.NAME, V.TEAM_TYPE, V.STADIUM_NAME, V.ESTABLISHED_YEAR, V.NICKNAME,
+                   V.STADIUM_CAPACITY, V.COUNTRY_CODE, V.COUNTRY_ID,
+                CASE WHEN V.FAILED_CHECK LIKE 'MISSING_%' THEN 'SKIPPED_IN_PROCESS' ELSE V.FAILED_CHECK END,
+                CASE V.FAILED_CHECK
+                    WHEN 'MISSING_NAME' THEN 'Mandatory field missing: Team Name is null or empty.'
+                    WHEN 'MISSING_TEAM_TYPE'
+                        THEN 'Mandatory field missing: Team Type is null or empty for team [' || V.NAME || '].'
+                    WHEN 'MISSING_COUNTRY_CODE'
+                        THEN 'Mandatory field missing: Country Code is null or empty for team [' || V.NAME || '].'
+                    WHEN 'INVALID_ESTABLISHED_YEAR' THEN 'Invalid ''establishedYear'' for team [' || V.NAME
+                        || ']: ''' || COALESCE(V.ESTABLISHED_YEAR, '') || ''''
+                    WHEN 'INVALID_STADIUM_CAPACITY' THEN 'Invalid ''stadiumCapacity'' for team [' || V.NAME
+                        || ']: ''' || COALESCE(V.STADIUM_CAPACITY, '') || ''''
+                    WHEN 'UNKNOWN_COUNTRY'
+                        THEN 'No Country ID for code ''' || V.COUNTRY_CODE || ''' for team [' || V.NAME || ']'
+                END
+            FROM (
+                SELECT R.*, C.COUNTRY_ID,
+                    CASE
+                        WHEN R.NAME IS NULL OR TRIM(R.NAME) = '' THEN 'MISSING_NAME'
+                        WHEN R.TEAM_TYPE IS NULL OR TRIM(R.TEAM_TYPE) = '' THEN 'MISSING_TEAM_TYPE'
+                        WHEN R.COUNTRY_CODE IS NULL OR TRIM(R.COUNTRY_CODE) = '' THEN 'MISSING_COUNTRY_CODE'
+                        WHEN R.ESTABLISHED_YEAR IS NULL OR NOT REGEXP_LIKE(R.ESTABLISHED_YEAR, '^[+-]?[0-9]{1,10}$')
+                            THEN 'INVALID_ESTABLISHED_YEAR'
+                        WHEN CAST(R.ESTABLISHED_YEAR AS BIGINT) NOT BETWEEN -2147483648 AND 2147483647
+                            THEN 'INVALID_ESTABLISHED_YEAR'
+                        WHEN R.STADIUM_CAPACITY IS NULL OR NOT REGEXP_LIKE(R.STADIUM_CAPACITY, '^[+-]?[0-9]{1,10}$')
+                            THEN 'INVALID_STADIUM_CAPACITY'
+                        WHEN CAST(R.STADIUM_CAPACITY AS BIGINT) NOT BETWEEN -2147483648 AND 2147483647
+                            THEN 'INVALID_STADIUM_CAPACITY'
+                        WHEN C.COUNTRY_ID IS NULL THEN 'UNKNOWN_COUNTRY'
+                    END AS FAILED_CHECK
+                FROM {csvRows} R
+                LEFT JOIN COUNTRY C ON C.CODE = UPPER(TRIM(R.COUNTRY_CODE))
+            ) V
+            """;
+
+    // Same upsert as TEAM_UPSERT_SQL, in file order so the last line for a name wins,
+    // but rows already identical in TEAM are not rewritten (cheap full refreshes).
+    private static final String TEAM_BULK_MERGE_SQL = """
+            MERGE INTO TEAM
+            (NAME, TEAM_TYPE, STADIUM_NAME, ESTABLISHED_YEAR, NICKNAME, STADIUM_CAPACITY, COUNTRY_ID, UPDATED_BY)
+            KEY (NAME)
+            SELECT S.NAME, S.TEAM_TYPE, S.STADIUM_NAME, CAST(S.ESTABLISHED_YEAR AS INT), S.NICKNAME,
+                   CAST(S.STADIUM_CAPACITY AS INT), S.COUNTRY_ID, 'TEAM_LOAD_JOB'
+            FROM TEAM_STAGING S
+            WHERE S.REJECT_REASON IS NULL
+              AND NOT EXISTS (SELECT 1 FROM TEAM T
+                              WHERE T.NAME = S.NAME
+                                AND T.TEAM_TYPE = S.TEAM_TYPE
+                                AND T.STADIUM_NAME IS NOT DISTINCT FROM S.STADIUM_NAME
+                                AND T.ESTABLISHED_YEAR = CAST(S.ESTABLISHED_YEAR AS INT)
+                                AND T.NICKNAME IS NOT DISTINCT FROM S.NICKNAME
+                                AND T.STADIUM_CAPACITY = CAST(S.STADIUM_CAPACITY AS INT)
+                                AND T.COUNTRY_ID = S.COUNTRY_ID)
+            ORDER BY S.LINE_NO
+            """;
+
+    /**
+     * Set-based alternative to reader/processor/writer for trusted feeds (job parameter bulk=true).
+     * Invalid rows are written to the job's errorFilePath.
+     */
+    @Bean
+    @StepScope
+    public BulkLoadTasklet teamBulkLoadTasklet(
+            @Value("#{jobParameters['inputFilePath']}") String inputFilePath,
+            @Value("#{jobParameters['errorFilePath']}") String errorFilePath,
+            JdbcTemplate jdbcTemplate) {
+        return new BulkLoadTasklet(jdbcTemplate, inputFilePath, errorFilePath, "TEAM_STAGING",
+                TEAM_CSV_COLUMNS,
+                List.of("COUNTRY_ID BIGINT"),
+                TEAM_STAGING_SQL, TEAM_BULK_MERGE_SQL);
+    }
+
+    @Bean
+    public Step teamBulkLoadStep(BulkLoadTasklet teamBulkLoadTasklet) {
+        return new StepBuilder("teamBulkLoadStep", jobRepository)
+                .tasklet(teamBulkLoadTasklet, transactionManager)
+                .build();
+    }
+
+    // --- Chunk Size Configuration ---
+    /**
+     * Chunk size for the team step. The 'chunkSize' / 'adaptiveChunk' job parameters override
+     * the predictor.batch.team.chunk.* properties for a single run.
+     */
+    @Bean
+    @StepScope
+    public AdaptiveChunkSizePolicy teamChunkPolicy(
+            @Value("#{jobParameters['" + LoadJobParameters.CHUNK_SIZE + "'] ?: ${predictor.batch.team.chunk.size:100}}") long chunkSize,
+            @Value("#{jobParameters['" + LoadJobParameters.ADAPTIVE_CHUNK + "'] ?: ${predictor.batch.team.chunk.adaptive:false}}") boolean adaptive,
+            @Value("${predictor.batch.team.chunk.min-size:10}") int minSize,
+            @Value("${predictor.batch.team.chunk.max-size:5000}") int maxSize,
+            @Value("${predictor.batch.team.chunk.max-latency-ms:2000}") long maxLatencyMillis) {
+        return new AdaptiveChunkSizePolicy((int) chunkSize, minSize, maxSize, adaptive, maxLatencyMillis);
+    }
+
+    // --- Step Configuration ---
     @Bean
-    public Step teamLoadStep(FlatFileItemReader<TeamCsvInput> teamReader,
+    public Step teamLoadStep(ItemStreamReader<TeamCsvInput> teamReader,
                              TeamItemProcessor teamProcessor,
-                             JdbcBatchItemWriter<TeamDBOutput> teamWriter,
-                             TeamLoadSkipListener teamLoadSkipListener) {
+                             DeltaFilterProcessor<TeamDBOutput> teamDeltaProcessor,
+                             ItemWriter<TeamDBOutput> teamWriter,
+                             TeamLoadSkipListener teamLoadSkipListener,
+                             AdaptiveChunkSizePolicy teamChunkPolicy,
+                             DeltaSummaryListener teamDeltaSummaryListener,
+                             RejectedItemLog teamRejectedItemLog,
+                             RejectedRecordWriter teamRejectedRecordWriter,
+                             RejectedRecordSkipListener<TeamCsvInput, TeamDBOutput> teamRejectedRecordSkipListener,
+                             BatchMetricsListener batchMetricsListener) {
 
         return new StepBuilder("teamLoadStep", jobRepository)
-                .<TeamCsvInput, TeamDBOutput>chunk(10, transactionManager)
+                .<TeamCsvInput, TeamDBOutput>chunk(teamChunkPolicy, transactionManager)
+                .listener((ChunkListener) teamChunkPolicy)
+                .listener((StepExecutionListener) teamChunkPolicy)
+                .listener((StepExecutionListener) teamDeltaProcessor)
+                .listener(teamDeltaSummaryListener)
+                .listener((ChunkListener) teamRejectedItemLog)
+                .listener((StepExecutionListener) teamRejectedItemLog)
+                .listener((StepExecutionListener) batchMetricsListener)
+                .listener((ChunkListener) batchMetricsListener)
+                .listener((ItemWriteListener<Object>) batchMetricsListener)
                 .reader(teamReader)
-                .processor(teamProcessor)
+                .processor(new CompositeItemProcessor<>(teamProcessor, teamDeltaProcessor))
                 .writer(teamWriter)
+                .stream(teamRejectedRecordWriter)
                 // --- FAULT TOLERANCE CONFIGURATION ---
                 .faultTolerant()
                 .skipLimit(100)
@@ -134,16 +530,68 @@ public class TeamLoadConfig {
                 .skip(ValidationException.class)
                 .skip(DataAccessException.class)
                 .skip(RuntimeException.class)
+                // Failing to read the input at all (e.g. an aborted upload) is not a bad record
+                .noSkip(NonTransientResourceException.class)
                 .listener(teamLoadSkipListener)
+                .listener(teamRejectedRecordSkipListener)
+                .listener((SkipListener<Object, Object>) batchMetricsListener)
+
+                .build();
+    }
 
+    /**
+     * Partitioned variant of teamLoadStep: each byte range of the file, or each file of a multi-file
+     * input, runs as its own worker step execution (own reader, processor and writer) on the partition
+     * thread pool. The manager step sums the workers' counts for the whole load.
+     */
+    @Bean
+    public Step teamPartitionedLoadStep(Step teamLoadStep,
+                                        Partitioner teamPartitioner,
+                                        TaskExecutor partitionTaskExecutor,
+                                        DeltaSummaryListener teamDeltaSummaryListener,
+                                        RejectedRecordMergeListener teamRejectedRecordMergeListener) {
+        return new StepBuilder("teamPartitionedLoadStep", jobRepository)
+                .partitioner(teamLoadStep.getName(), teamPartitioner)
+                .step(teamLoadStep)
+                .gridSize(Math.max(1, defaultPartitions))
+                .taskExecutor(partitionTaskExecutor)
+                .listener(teamDeltaSummaryListener)
+                .listener(teamRejectedRecordMergeListener)
                 .build();
     }
 
-    // --- Job Configuration (Unchanged) ---
+    // --- Job Configuration ---
+    @Bean
+    public DataVersionAllocationListener teamDataVersionAllocationListener(DataVersionService dataVersionService) {
+        return new DataVersionAllocationListener(ReferenceDataVersionService.TEAM, dataVersionService);
+    }
+
+    /**
+     * Gives the team read endpoints a new ETag once a load has finished.
+     */
+    @Bean
+    public DataVersionRefreshListener teamDataVersionRefreshListener(
+            ReferenceDataVersionService referenceDataVersionService) {
+        return new DataVersionRefreshListener(ReferenceDataVersionService.TEAM, referenceDataVersionService);
+    }
+
     @Bean
-    public Job teamLoadJob(Step teamLoadStep) {
+    public Job teamLoadJob(Step teamLoadStep, Step teamPartitionedLoadStep, Step teamBulkLoadStep,
+                           ContentHashIndexRegistry teamContentHashRegistry,
+                           DataVersionAllocationListener teamDataVersionAllocationListener,
+                           DataVersionRefreshListener teamDataVersionRefreshListener,
+                           UploadStreamService uploadStreamService) {
+        LoadModeDecider loadModeDecider = new LoadModeDecider(defaultPartitions);
         return new JobBuilder("teamLoadJob", jobRepository)
-                .start(teamLoadStep)
+                .listener(teamDataVersionAllocationListener)
+                .listener(teamContentHashRegistry)
+                .listener(teamDataVersionRefreshListener)
+                .listener(uploadStreamService)
+                .start(loadModeDecider)
+                .on(LoadModeDecider.BULK.getName()).to(teamBulkLoadStep)
+                .from(loadModeDecider).on(LoadModeDecider.PARTITIONED.getName()).to(teamPartitionedLoadStep)
+                .from(loadModeDecider).on("*").to(teamLoadStep)
+                .end()
                 .build();
     }
 }
\ No newline at end of file
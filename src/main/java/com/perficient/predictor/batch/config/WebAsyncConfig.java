@@ -0,0 +1,55 @@
+package com.perficient.predictor.batch.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Threads that write the streamed (StreamingResponseBody) responses of the read endpoints.
+ *
+ * The batch executors in BatchTaskExecutorConfig make Boot's applicationTaskExecutor back off, which
+ * would leave Spring MVC on an unbounded SimpleAsyncTaskExecutor, one new thread per response. This
+ * pool is bounded on threads and queue instead, with virtual threads as its threads when they are
+ * active. Unlike the partition executor it stays a pool in both modes: a concurrency-limited
+ * SimpleAsyncTaskExecutor would block the request thread once the limit is reached, rather than
+ * turning the response away. The timeout is Boot's spring.mvc.async.request-timeout.
+ */
+@Configuration
+public class WebAsyncConfig implements WebMvcConfigurer {
+
+    private final AsyncTaskExecutor webAsyncTaskExecutor;
+
+    public WebAsyncConfig(@Qualifier("webAsyncTaskExecutor") AsyncTaskExecutor webAsyncTaskExecutor) {
+        this.webAsyncTaskExecutor = webAsyncTaskExecutor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(webAsyncTaskExecutor);
+    }
+
+    /**
+     * Once threads and queue are full, further streamed responses are rejected instead of piling up,
+     * with platform and virtual threads alike.
+     */
+    @Bean
+    public static AsyncTaskExecutor webAsyncTaskExecutor(
+            Environment environment,
+            @Value("${predictor.web.async.threads:16}") int threads,
+            @Value("${predictor.web.async.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("web-async-");
+        executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+        return executor;
+    }
+}
@@ -1,24 +1,55 @@
 package com.perficient.predictor.batch.controller;
 
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.perficient.predictor.batch.dto.CompetitionRequest;
+import com.perficient.predictor.batch.dto.CompetitionSummary;
 import com.perficient.predictor.batch.entity.Competition;
 import com.perficient.predictor.batch.service.CompetitionService;
+import com.perficient.predictor.batch.service.ReferenceListingService;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import com.perficient.predictor.batch.dto.CompetitionResponseDTO;
 
 @RestController
 @RequestMapping("/api/v1/competition")
 public class CompetitionController {
 
+    private static final Logger log = LoggerFactory.getLogger(CompetitionController.class);
+
     private final CompetitionService competitionService;
+    private final ReferenceListingService listingService;
+    private final ObjectMapper objectMapper;
 
-    public CompetitionController(CompetitionService competitionService) {
+    public CompetitionController(CompetitionService competitionService,
+                                 ReferenceListingService listingService,
+                                 ObjectMapper objectMapper) {
         this.competitionService = competitionService;
+        this.listingService = listingService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * GET endpoint listing competitions with their country, in ID order, one keyset page at a time.
+     *
+     * @param after Cursor: the nextCursor of the previous page (default 0, the first page).
+     * @param limit Page size (default 100, at most 1000).
+     * @return {"items": [...], "nextCursor": n}, streamed; nextCursor is null on the last page.
+     */
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> listCompetitions(
+            @RequestParam(value = "after", defaultValue = "0") long after,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+
+        KeysetPageStream.validate(after, limit);
+        return KeysetPageStream.<CompetitionSummary>of(objectMapper, limit, CompetitionSummary::competitionId,
+                action -> listingService.forEachCompetition(after, limit, action));
     }
 
     /**
@@ -48,7 +79,7 @@ public class CompetitionController {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
         } catch (Exception e) {
             // Log error and return generic internal server error
-            System.err.println("Error creating competition: " + e.getMessage());
+            log.error("Error creating competition.", e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred during competition creation.");
         }
     }
@@ -0,0 +1,56 @@
+package com.perficient.predictor.batch.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.perficient.predictor.batch.dto.CountryRef;
+import com.perficient.predictor.batch.service.ReferenceListingService;
+import com.perficient.predictor.batch.service.lookup.ReferenceDataVersionService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * REST Controller for reading countries. Countries are written by the Country Load Job (see
+ * CountryJobController), so responses are versioned by its DATA_VERSION (see {@link VersionedResponses}).
+ */
+@RestController
+@RequestMapping("/api/v1/countries")
+public class CountryController {
+
+    private final ReferenceListingService listingService;
+    private final ReferenceDataVersionService versionService;
+    private final ObjectMapper objectMapper;
+
+    public CountryController(ReferenceListingService listingService,
+                             ReferenceDataVersionService versionService,
+                             ObjectMapper objectMapper) {
+        this.listingService = listingService;
+        this.versionService = versionService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Lists countries in ID order, one keyset page at a time.
+     *
+     * @param after Cursor: the nextCursor of the previous page (default 0, the first page).
+     * @param limit Page size (default 100, at most 1000).
+     * @return {"items": [...], "nextCursor": n}, streamed, with an ETag; 304 if If-None-Match has the current ETag.
+     */
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> listCountries(
+            @RequestParam(value = "after", defaultValue = "0") long after,
+            @RequestParam(value = "limit", defaultValue = "100") int limit,
+            ServletWebRequest webRequest) {
+
+        KeysetPageStream.validate(after, limit);
+        String eTag = VersionedResponses.eTag(versionService.current(ReferenceDataVersionService.COUNTRY));
+        if (VersionedResponses.notModified(webRequest, eTag, versionService.refreshInterval())) {
+            return null;
+        }
+        return KeysetPageStream.<CountryRef>of(objectMapper, limit, CountryRef::countryId,
+                action -> listingService.forEachCountry(after, limit, action));
+    }
+}
@@ -1,93 +1,109 @@
 package com.perficient.predictor.batch.controller;
 
+import com.perficient.predictor.batch.dto.LoadJobOptions;
 import com.perficient.predictor.batch.exception.JobExecutionException;
-import com.perficient.predictor.batch.service.DataVersionService;
+import com.perficient.predictor.batch.exception.JobLaunchRejectedException;
+import com.perficient.predictor.batch.exception.UploadFailedException;
+import com.perficient.predictor.batch.reader.InputFiles;
 // Injecting the service for the new entity batch
 import com.perficient.predictor.batch.service.CountryJobExecutionService;
+import com.perficient.predictor.batch.upload.UploadReceipt;
+import com.perficient.predictor.batch.upload.UploadStreamService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobParametersInvalidException;
 import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
 import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
 import org.springframework.batch.core.repository.JobRestartException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+
 /**
  * REST Controller responsible for initiating the Country Job Load batch process.
  * This controller mirrors the structure of TeamJobController.
- * It handles HTTP requests and delegates all business logic (version management,
- * job launching) to dedicated service layers.
+ * It handles HTTP requests and delegates all business logic (job launching) to dedicated service layers.
  */
 @RestController
 @RequestMapping("/api/batch")
 public class CountryJobController {
 
+    private static final Logger log = LoggerFactory.getLogger(CountryJobController.class);
+
     // Hardcoded location for external files (input and error output)
     private static final String BASE_DIR = "/opt/predictor/data/";
-    // The entity name for the version counter (changed from TEAM to COUNTRY_JOB)
-    private static final String ENTITY_NAME = "COUNTRY_JOB";
 
-    private final DataVersionService versionService;
     private final CountryJobExecutionService jobExecutionService; // Injected Country Job Service
+    private final UploadStreamService uploadStreamService;
 
     @Autowired
     public CountryJobController(
-            DataVersionService versionService,
-            CountryJobExecutionService jobExecutionService) {
-        this.versionService = versionService;
+            CountryJobExecutionService jobExecutionService,
+            UploadStreamService uploadStreamService) {
         this.jobExecutionService = jobExecutionService;
+        this.uploadStreamService = uploadStreamService;
     }
 
     /**
      * Triggers the Country Job loading batch job via an HTTP POST request.
      *
-     * @param fileName The name of the input CSV file (e.g., 'country_job_data.csv').
+     * @param fileName The name of the input CSV file (e.g., 'country_job_data.csv'), or a directory or glob
+     *                 (e.g. 'countries/*.csv') to load every matching file in one run, one partition per file.
      * NOTE: The countryCode parameter is intentionally omitted as requested.
-     * @return ResponseEntity with the job execution details or an error message.
+     * @param partitions Optional number of parallel partitions for this load.
+     * @param chunkSize Optional number of items per transaction.
+     * @param adaptiveChunk Optional switch to let the step tune the chunk size at runtime.
+     * @param bulk Optional switch for a set-based load of trusted feeds (no per-row processing).
+     * @return 202 Accepted with the execution ID (status is polled via the Location header),
+     * 503 if too many jobs are already running or queued, or an error message.
      */
     @PostMapping("/countryjobs/load") // Updated mapping
     public ResponseEntity<String> loadCountryJobs(
-            @RequestParam("fileName") String fileName) { // Removed countryCode parameter
+            @RequestParam("fileName") String fileName, // Removed countryCode parameter
+            @RequestParam(value = "partitions", required = false) Integer partitions,
+            @RequestParam(value = "chunkSize", required = false) Integer chunkSize,
+            @RequestParam(value = "adaptiveChunk", required = false) Boolean adaptiveChunk,
+            @RequestParam(value = "bulk", required = false) Boolean bulk) {
 
         // 1. Prepare Inputs: Construct the absolute file paths based on the base directory
         String inputFile = BASE_DIR + fileName;
-        String errorFile = BASE_DIR + fileName.replace(".csv", ".error.csv");
-
-        // 2. Delegate: Handle data version increment (Database/DAO concern)
-        long newVersion;
-        try {
-            newVersion = versionService.getAndIncrementVersion(ENTITY_NAME);
-        } catch (Exception e) {
-            System.err.println("Version Service Error: Failed to read/increment data version for " + ENTITY_NAME + ": " + e.getMessage());
-            // Return HTTP 500 if the core dependency (version tracking) fails
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("Failed to prepare data version counter.");
-        }
+        String errorFile = InputFiles.rejectFile(BASE_DIR + fileName);
 
-        // 3. Delegate: Execute job (Batch Orchestration concern)
+        // 2. Delegate: Execute job (Batch Orchestration concern)
         try {
             // Updated service method name and removed the countryCode argument
             JobExecution jobExecution = jobExecutionService.executeCountryLoadJob(
-                    newVersion,
                     inputFile,
-                    errorFile
+                    errorFile,
+                    new LoadJobOptions(partitions, chunkSize, adaptiveChunk, bulk, null)
             );
 
-            // 4. Respond: Return HTTP 200 with job details
-            return ResponseEntity.ok(
-                    "Country Job Load Job started successfully. " + // Updated entity name in response
+            // 3. Respond: The job runs in the background, return HTTP 202 with the execution to poll
+            return ResponseEntity.accepted()
+                    .header(HttpHeaders.LOCATION, JobStatusController.statusPath(jobExecution.getId()))
+                    .body("Country Job Load Job accepted. " + // Updated entity name in response
                             "Input File: " + inputFile +
                             ", Error File: " + errorFile +
-                            ", New Version Count: " + newVersion +
                             ". Execution ID: " + jobExecution.getId() +
                             ". Status: " + jobExecution.getStatus()
-            );
+                    );
 
+        } catch (JobLaunchRejectedException e) {
+            log.warn("Job Launch Rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, JobStatusController.RETRY_AFTER_SECONDS)
+                    .body(e.getMessage());
         } catch (JobInstanceAlreadyCompleteException e) {
             throw new RuntimeException(e);
         } catch (JobExecutionAlreadyRunningException e) {
@@ -98,4 +114,66 @@ public class CountryJobController {
             throw new RuntimeException(e);
         }
     }
+
+    /**
+     * Loads countries from a CSV file streamed in the request body (Content-Type text/csv or
+     * application/octet-stream), piped straight into the job's reader without touching the disk.
+     * The response is sent once the whole body has been handed over, while the job may still be loading.
+     *
+     * @param fileName Name of the uploaded file, only used to name the error file (e.g. 'country_data.csv').
+     * @param chunkSize Optional number of items per transaction.
+     * @param adaptiveChunk Optional switch to let the step tune the chunk size at runtime.
+     * @param sha256 Optional hex SHA-256 of the body, checked once it has been received.
+     * @return 202 Accepted with the execution ID, the size and the SHA-256 of the body; 413 if the body
+     * exceeds the upload limit, 422 if it does not match the checksum (the job then fails, but rows it
+     * loaded while the body arrived stay loaded, as the body says), 503 if too many jobs are already running
+     * or queued or the job did not start reading the body within the start timeout, or an error message.
+     */
+    @PostMapping(value = "/countryjobs/upload", consumes = {"text/csv", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<String> uploadCountryJobs(
+            @RequestParam("fileName") String fileName,
+            @RequestParam(value = "chunkSize", required = false) Integer chunkSize,
+            @RequestParam(value = "adaptiveChunk", required = false) Boolean adaptiveChunk,
+            @RequestHeader(value = JobStatusController.UPLOAD_CHECKSUM_HEADER, required = false) String sha256,
+            HttpServletRequest request) throws IOException {
+
+        if (request.getContentLengthLong() > uploadStreamService.getMaxBytes()) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body("Upload exceeds the limit of " + uploadStreamService.getMaxBytes() + " bytes.");
+        }
+        String errorFile = InputFiles.rejectFile(BASE_DIR + fileName);
+
+        // The job is launched first, so it is already reading while the body arrives
+        String uploadId = uploadStreamService.register();
+        JobExecution jobExecution;
+        try {
+            jobExecution = jobExecutionService.executeCountryUploadJob(uploadId, errorFile,
+                    new LoadJobOptions(null, chunkSize, adaptiveChunk, null, null));
+        } catch (JobLaunchRejectedException e) {
+            uploadStreamService.discard(uploadId);
+            log.warn("Job Launch Rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, JobStatusController.RETRY_AFTER_SECONDS)
+                    .body(e.getMessage());
+        } catch (JobInstanceAlreadyCompleteException | JobExecutionAlreadyRunningException
+                 | JobParametersInvalidException | JobRestartException e) {
+            uploadStreamService.discard(uploadId);
+            throw new RuntimeException(e);
+        }
+
+        String location = JobStatusController.statusPath(jobExecution.getId());
+        try {
+            UploadReceipt receipt = uploadStreamService.transfer(uploadId, request.getInputStream(), sha256);
+            return ResponseEntity.accepted()
+                    .header(HttpHeaders.LOCATION, location)
+                    .body("Country Job Load Job accepted. " +
+                            "Upload: " + receipt.bytes() + " bytes, SHA-256 " + receipt.sha256() +
+                            ", Error File: " + errorFile +
+                            ". Execution ID: " + jobExecution.getId()
+                    );
+        } catch (UploadFailedException e) {
+            log.warn("Upload for execution {} failed: {}", jobExecution.getId(), e.getMessage());
+            return JobStatusController.uploadFailure(e, jobExecution.getId());
+        }
+    }
 }
\ No newline at end of file
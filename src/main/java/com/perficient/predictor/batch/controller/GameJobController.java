@@ -0,0 +1,161 @@
+package com.perficient.predictor.batch.controller;
+
+import com.perficient.predictor.batch.config.GameLoadConfig;
+import com.perficient.predictor.batch.dto.LoadJobOptions;
+import com.perficient.predictor.batch.exception.JobLaunchRejectedException;
+import com.perficient.predictor.batch.exception.UploadFailedException;
+import com.perficient.predictor.batch.reader.InputFiles;
+import com.perficient.predictor.batch.service.GameJobExecutionService;
+import com.perficient.predictor.batch.upload.UploadReceipt;
+import com.perficient.predictor.batch.upload.UploadStreamService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersInvalidException;
+import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
+import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
+import org.springframework.batch.core.repository.JobRestartException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * REST Controller responsible for initiating the Game Load batch process (fixtures and results).
+ * This controller mirrors the structure of CountryJobController.
+ */
+@RestController
+@RequestMapping("/api/batch")
+public class GameJobController {
+
+    private static final Logger log = LoggerFactory.getLogger(GameJobController.class);
+
+    // Hardcoded location for external files (input and error output)
+    private static final String BASE_DIR = "/opt/predictor/data/";
+
+    private final GameJobExecutionService jobExecutionService;
+    private final UploadStreamService uploadStreamService;
+
+    public GameJobController(
+            GameJobExecutionService jobExecutionService,
+            UploadStreamService uploadStreamService) {
+        this.jobExecutionService = jobExecutionService;
+        this.uploadStreamService = uploadStreamService;
+    }
+
+    /**
+     * Triggers the Game Load batch job via an HTTP POST request.
+     *
+     * @param fileName The name of the input file: CSV, or JSON if it ends in .json (e.g. 'results.json.gz').
+     * @param chunkSize Optional number of items per transaction.
+     * @param adaptiveChunk Optional switch to let the step tune the chunk size at runtime.
+     * @return 202 Accepted with the execution ID (status is polled via the Location header),
+     * 503 if too many jobs are already running or queued, or an error message.
+     */
+    @PostMapping("/gamejobs/load")
+    public ResponseEntity<String> loadGames(
+            @RequestParam("fileName") String fileName,
+            @RequestParam(value = "chunkSize", required = false) Integer chunkSize,
+            @RequestParam(value = "adaptiveChunk", required = false) Boolean adaptiveChunk) {
+
+        String inputFile = BASE_DIR + fileName;
+        String errorFile = InputFiles.rejectFile(BASE_DIR + fileName);
+
+        try {
+            JobExecution jobExecution = jobExecutionService.executeGameLoadJob(inputFile, errorFile,
+                    new LoadJobOptions(null, chunkSize, adaptiveChunk, null, null));
+
+            return ResponseEntity.accepted()
+                    .header(HttpHeaders.LOCATION, JobStatusController.statusPath(jobExecution.getId()))
+                    .body("Game Load Job accepted. " +
+                            "Input File: " + inputFile +
+                            ", Error File: " + errorFile +
+                            ". Execution ID: " + jobExecution.getId() +
+                            ". Status: " + jobExecution.getStatus()
+                    );
+
+        } catch (JobLaunchRejectedException e) {
+            log.warn("Job Launch Rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, JobStatusController.RETRY_AFTER_SECONDS)
+                    .body(e.getMessage());
+        } catch (JobInstanceAlreadyCompleteException | JobExecutionAlreadyRunningException
+                 | JobParametersInvalidException | JobRestartException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Loads games from a body streamed in the request: CSV (Content-Type text/csv or
+     * application/octet-stream) or a JSON array (application/json), piped straight into the job's reader.
+     * The response is sent once the whole body has been handed over, while the job may still be loading.
+     *
+     * @param fileName Name of the uploaded file, only used to name the error file (e.g. 'results.csv').
+     * @param chunkSize Optional number of items per transaction.
+     * @param adaptiveChunk Optional switch to let the step tune the chunk size at runtime.
+     * @param sha256 Optional hex SHA-256 of the body, checked once it has been received.
+     * @return 202 Accepted with the execution ID, the size and the SHA-256 of the body; 413 if the body
+     * exceeds the upload limit, 422 if it does not match the checksum (the job then fails, but rows it
+     * loaded while the body arrived stay loaded, as the body says), 503 if too many jobs are already running
+     * or queued or the job did not start reading the body within the start timeout, or an error message.
+     */
+    @PostMapping(value = "/gamejobs/upload",
+            consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<String> uploadGames(
+            @RequestParam("fileName") String fileName,
+            @RequestParam(value = "chunkSize", required = false) Integer chunkSize,
+            @RequestParam(value = "adaptiveChunk", required = false) Boolean adaptiveChunk,
+            @RequestHeader(value = JobStatusController.UPLOAD_CHECKSUM_HEADER, required = false) String sha256,
+            HttpServletRequest request) throws IOException {
+
+        if (request.getContentLengthLong() > uploadStreamService.getMaxBytes()) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body("Upload exceeds the limit of " + uploadStreamService.getMaxBytes() + " bytes.");
+        }
+        String errorFile = InputFiles.rejectFile(BASE_DIR + fileName);
+        String inputFormat = request.getContentType() != null
+                && MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(request.getContentType()))
+                ? GameLoadConfig.JSON_FORMAT : null;
+
+        // The job is launched first, so it is already reading while the body arrives
+        String uploadId = uploadStreamService.register();
+        JobExecution jobExecution;
+        try {
+            jobExecution = jobExecutionService.executeGameUploadJob(uploadId, inputFormat, errorFile,
+                    new LoadJobOptions(null, chunkSize, adaptiveChunk, null, null));
+        } catch (JobLaunchRejectedException e) {
+            uploadStreamService.discard(uploadId);
+            log.warn("Job Launch Rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, JobStatusController.RETRY_AFTER_SECONDS)
+                    .body(e.getMessage());
+        } catch (JobInstanceAlreadyCompleteException | JobExecutionAlreadyRunningException
+                 | JobParametersInvalidException | JobRestartException e) {
+            uploadStreamService.discard(uploadId);
+            throw new RuntimeException(e);
+        }
+
+        String location = JobStatusController.statusPath(jobExecution.getId());
+        try {
+            UploadReceipt receipt = uploadStreamService.transfer(uploadId, request.getInputStream(), sha256);
+            return ResponseEntity.accepted()
+                    .header(HttpHeaders.LOCATION, location)
+                    .body("Game Load Job accepted. " +
+                            "Upload: " + receipt.bytes() + " bytes, SHA-256 " + receipt.sha256() +
+                            ", Error File: " + errorFile +
+                            ". Execution ID: " + jobExecution.getId()
+                    );
+        } catch (UploadFailedException e) {
+            log.warn("Upload for execution {} failed: {}", jobExecution.getId(), e.getMessage());
+            return JobStatusController.uploadFailure(e, jobExecution.getId());
+        }
+    }
+}
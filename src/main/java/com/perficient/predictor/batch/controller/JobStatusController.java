@@ -0,0 +1,147 @@
+package com.perficient.predictor.batch.controller;
+
+import com.perficient.predictor.batch.dto.JobExecutionStatusResponse;
+import com.perficient.predictor.batch.dto.JobExecutionStatusResponse.StepStatus;
+import com.perficient.predictor.batch.exception.UploadFailedException;
+import com.perficient.predictor.batch.listener.DataVersionAllocationListener;
+import com.perficient.predictor.batch.partition.FileRangePartitioner;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * REST Controller for polling batch jobs launched asynchronously by the load endpoints.
+ * Reads status, counts and duration from the JobExplorer (the BATCH_* tables), so it
+ * works for any job and does not hold a request open while the job runs.
+ */
+@RestController
+@RequestMapping("/api/batch")
+public class JobStatusController {
+
+    // Suggested client back-off when a launch is rejected with 503
+    static final String RETRY_AFTER_SECONDS = "30";
+
+    // Optional request header of the upload endpoints: the hex SHA-256 of the body
+    static final String UPLOAD_CHECKSUM_HEADER = "X-Content-SHA256";
+
+    // Partition worker steps are named '<step>:<partition>' and are already summed into their manager step
+    private static final String PARTITION_STEP_SEPARATOR = ":";
+
+    private final JobExplorer jobExplorer;
+
+    public JobStatusController(JobExplorer jobExplorer) {
+        this.jobExplorer = jobExplorer;
+    }
+
+    static String statusPath(Long executionId) {
+        return "/api/batch/jobs/" + executionId;
+    }
+
+    /**
+     * The response of an upload endpoint whose body could not be handed to the job. The job fails, but
+     * whatever it committed before stays loaded; the body says which applies.
+     */
+    static ResponseEntity<String> uploadFailure(UploadFailedException e, Long executionId) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(uploadFailureStatus(e))
+                .header(HttpHeaders.LOCATION, statusPath(executionId));
+        if (e.getReason() == UploadFailedException.Reason.NOT_STARTED) {
+            response.header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        }
+        return response.body("Upload failed, the job will fail: " + e.getMessage() + ". " +
+                (e.isPartlyRead()
+                        ? "Part of the upload was already loaded and stays loaded; see the job's write counts."
+                        : "Nothing was loaded.") +
+                " Execution ID: " + executionId);
+    }
+
+    static HttpStatus uploadFailureStatus(UploadFailedException e) {
+        return switch (e.getReason()) {
+            case TOO_LARGE -> HttpStatus.PAYLOAD_TOO_LARGE;
+            case CHECKSUM_MISMATCH -> HttpStatus.UNPROCESSABLE_ENTITY;
+            case CLIENT_ABORTED -> HttpStatus.BAD_REQUEST;
+            case NOT_STARTED -> HttpStatus.SERVICE_UNAVAILABLE;
+            case NOT_READ -> HttpStatus.INTERNAL_SERVER_ERROR;
+        };
+    }
+
+    /**
+     * Returns the current status of a job execution.
+     *
+     * @param executionId The execution ID returned by the launch endpoint.
+     * @return Status, totals and per-step counts; 404 if the execution does not exist.
+     */
+    @GetMapping("/jobs/{executionId}")
+    public JobExecutionStatusResponse getJobStatus(@PathVariable("executionId") Long executionId) {
+        JobExecution jobExecution = jobExplorer.getJobExecution(executionId);
+        if (jobExecution == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No job execution with ID " + executionId);
+        }
+
+        List<StepStatus> steps = jobExecution.getStepExecutions().stream()
+                .sorted(Comparator.comparing(StepExecution::getId))
+                .map(this::toStepStatus)
+                .toList();
+
+        long read = 0, write = 0, filter = 0, skip = 0;
+        for (StepStatus step : steps) {
+            if (!step.stepName().contains(PARTITION_STEP_SEPARATOR)) {
+                read += step.readCount();
+                write += step.writeCount();
+                filter += step.filterCount();
+                skip += step.skipCount();
+            }
+        }
+
+        return new JobExecutionStatusResponse(
+                jobExecution.getId(),
+                jobExecution.getJobInstance().getJobName(),
+                jobExecution.getStatus().name(),
+                jobExecution.getExitStatus().getExitCode(),
+                jobExecution.getExecutionContext().containsKey(DataVersionAllocationListener.DATA_VERSION_KEY)
+                        ? jobExecution.getExecutionContext().getLong(DataVersionAllocationListener.DATA_VERSION_KEY)
+                        : null,
+                jobExecution.getStartTime(),
+                jobExecution.getEndTime(),
+                durationMillis(jobExecution.getStartTime(), jobExecution.getEndTime()),
+                read, write, filter, skip,
+                steps
+        );
+    }
+
+    private StepStatus toStepStatus(StepExecution stepExecution) {
+        return new StepStatus(
+                stepExecution.getStepName(),
+                stepExecution.getStatus().name(),
+                stepExecution.getReadCount(),
+                stepExecution.getWriteCount(),
+                stepExecution.getFilterCount(),
+                stepExecution.getSkipCount(),
+                stepExecution.getCommitCount(),
+                stepExecution.getRollbackCount(),
+                durationMillis(stepExecution.getStartTime(), stepExecution.getEndTime()),
+                stepExecution.getExecutionContext().containsKey(FileRangePartitioner.FILE_KEY)
+                        ? stepExecution.getExecutionContext().getString(FileRangePartitioner.FILE_KEY)
+                        : null
+        );
+    }
+
+    private static long durationMillis(LocalDateTime start, LocalDateTime end) {
+        if (start == null) {
+            return 0;
+        }
+        return Duration.between(start, end != null ? end : LocalDateTime.now()).toMillis();
+    }
+}
@@ -0,0 +1,72 @@
+package com.perficient.predictor.batch.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Writes a keyset page as {@code {"items": [...], "nextCursor": n}} to the response while its rows
+ * are read, so no page is ever held in memory. nextCursor is the key of the last item of a full page,
+ * to be passed back as 'after' for the next one, and null once the listing is exhausted.
+ */
+final class KeysetPageStream {
+
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private KeysetPageStream() {
+    }
+
+    /**
+     * Rejects a negative cursor or a page size outside 1..{@value #MAX_PAGE_SIZE} with 400, before
+     * anything has been written.
+     */
+    static void validate(long after, int limit) {
+        if (after < 0 || limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "after must be >= 0 and limit between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+    }
+
+    /**
+     * @param reader Reads the page, passing each row to the consumer it is given.
+     * @param keyOf The row's cursor key.
+     */
+    static <T> ResponseEntity<StreamingResponseBody> of(ObjectMapper objectMapper, int limit,
+                                                        ToLongFunction<T> keyOf, Consumer<Consumer<T>> reader) {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator json = objectMapper.createGenerator(out)) {
+                json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                json.writeStartObject();
+                json.writeArrayFieldStart("items");
+                long[] last = new long[1];
+                int[] count = new int[1];
+                reader.accept(item -> {
+                    try {
+                        json.writeObject(item);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    last[0] = keyOf.applyAsLong(item);
+                    count[0]++;
+                });
+                json.writeEndArray();
+                if (count[0] == limit) {
+                    json.writeNumberField("nextCursor", last[0]);
+                } else {
+                    json.writeNullField("nextCursor");
+                }
+                json.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+}
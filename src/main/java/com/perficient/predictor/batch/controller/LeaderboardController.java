@@ -0,0 +1,93 @@
+package com.perficient.predictor.batch.controller;
+
+import com.perficient.predictor.batch.dto.LeaderboardPageResponse;
+import com.perficient.predictor.batch.dto.PlayerStandingResponse;
+import com.perficient.predictor.batch.service.leaderboard.LeaderboardKey;
+import com.perficient.predictor.batch.service.leaderboard.LeaderboardService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * REST Controller for the leaderboards. Served entirely from the in-memory
+ * {@link LeaderboardService}; no request touches the database.
+ *
+ * Without competitionId, season and week the overall table is returned;
+ * with all three, the table for that game week.
+ */
+@RestController
+@RequestMapping("/api/v1/leaderboard")
+public class LeaderboardController {
+
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_NEIGHBOURS = 50;
+
+    private final LeaderboardService leaderboardService;
+
+    public LeaderboardController(LeaderboardService leaderboardService) {
+        this.leaderboardService = leaderboardService;
+    }
+
+    /**
+     * Returns a page of a leaderboard in rank order.
+     *
+     * @param offset Number of entries to skip (default 0).
+     * @param limit Page size (default 50, at most 500).
+     */
+    @GetMapping
+    public LeaderboardPageResponse getLeaderboard(
+            @RequestParam(value = "competitionId", required = false) Long competitionId,
+            @RequestParam(value = "season", required = false) Integer season,
+            @RequestParam(value = "week", required = false) Integer week,
+            @RequestParam(value = "offset", defaultValue = "0") int offset,
+            @RequestParam(value = "limit", defaultValue = "50") int limit) {
+
+        if (offset < 0 || limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "offset must be >= 0 and limit between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        return leaderboardService.page(toKey(competitionId, season, week), offset, limit);
+    }
+
+    /**
+     * Returns a player's rank with the entries around it.
+     *
+     * @param neighbours Entries to include above and below the player (default 5, at most 50).
+     * @return 404 if the player is not on the leaderboard.
+     */
+    @GetMapping("/player/{playerId}")
+    public PlayerStandingResponse getPlayerStanding(
+            @PathVariable("playerId") Long playerId,
+            @RequestParam(value = "competitionId", required = false) Long competitionId,
+            @RequestParam(value = "season", required = false) Integer season,
+            @RequestParam(value = "week", required = false) Integer week,
+            @RequestParam(value = "neighbours", defaultValue = "5") int neighbours) {
+
+        if (neighbours < 0 || neighbours > MAX_NEIGHBOURS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "neighbours must be between 0 and " + MAX_NEIGHBOURS + ".");
+        }
+        PlayerStandingResponse standing = leaderboardService.standing(
+                toKey(competitionId, season, week), playerId, neighbours);
+        if (standing == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                    "Player " + playerId + " is not on this leaderboard.");
+        }
+        return standing;
+    }
+
+    private static LeaderboardKey toKey(Long competitionId, Integer season, Integer week) {
+        if (competitionId == null && season == null && week == null) {
+            return LeaderboardKey.overall();
+        }
+        if (competitionId == null || season == null || week == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "competitionId, season and week must be given together.");
+        }
+        return LeaderboardKey.week(competitionId, season, week);
+    }
+}
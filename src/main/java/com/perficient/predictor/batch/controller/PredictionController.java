@@ -0,0 +1,52 @@
+package com.perficient.predictor.batch.controller;
+
+import com.perficient.predictor.batch.dto.PredictionBatchRequest;
+import com.perficient.predictor.batch.dto.PredictionSubmissionResponse;
+import com.perficient.predictor.batch.exception.PredictionRejectedException.Reason;
+import com.perficient.predictor.batch.prediction.PredictionIngestionService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import jakarta.validation.Valid;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api/v1/predictions")
+public class PredictionController {
+
+    // Suggested client back-off when the write queue is full; it drains within milliseconds
+    private static final String OVERLOADED_RETRY_AFTER_SECONDS = "1";
+
+    private final PredictionIngestionService service;
+
+    public PredictionController(PredictionIngestionService service) {
+        this.service = service;
+    }
+
+    /**
+     * Stores a batch of predictions, replacing any earlier prediction of the same player for the same game.
+     * The request thread is released while the predictions wait for the next micro-batch commit.
+     * Returns 200 with the number stored and one entry per prediction that was not, or 503 with Retry-After
+     * if none could be queued because the server is overloaded.
+     */
+    @PostMapping
+    public CompletableFuture<ResponseEntity<PredictionSubmissionResponse>> submitPredictions(
+            @Valid @RequestBody PredictionBatchRequest request) {
+
+        return service.submit(request).thenApply(response -> {
+            boolean allOverloaded = response.accepted() == 0 && response.rejected().stream()
+                    .allMatch(rejected -> Reason.OVERLOADED.name().equals(rejected.reason()));
+            if (allOverloaded) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, OVERLOADED_RETRY_AFTER_SECONDS)
+                        .body(response);
+            }
+            return ResponseEntity.ok(response);
+        });
+    }
+}
@@ -0,0 +1,67 @@
+package com.perficient.predictor.batch.controller;
+
+import com.perficient.predictor.batch.dto.LoadJobOptions;
+import com.perficient.predictor.batch.exception.JobExecutionException;
+import com.perficient.predictor.batch.exception.JobLaunchRejectedException;
+import com.perficient.predictor.batch.service.ScoringJobExecutionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller for triggering the scoring of finished games, e.g. right after the final whistle.
+ * Thin like the load controllers: the work is delegated to ScoringJobExecutionService.
+ */
+@RestController
+@RequestMapping("/api/batch")
+public class ScoringJobController {
+
+    private static final Logger log = LoggerFactory.getLogger(ScoringJobController.class);
+
+    private final ScoringJobExecutionService jobExecutionService;
+
+    public ScoringJobController(ScoringJobExecutionService jobExecutionService) {
+        this.jobExecutionService = jobExecutionService;
+    }
+
+    /**
+     * Launches the scoring job.
+     * @param partitions Optional number of parallel partitions (player ranges) for this run.
+     * @param chunkSize Optional number of selections per transaction.
+     * @param adaptiveChunk Optional switch to let the step tune the chunk size at runtime.
+     * @return 202 Accepted with the execution ID (status is polled via the Location header),
+     * 503 if too many jobs are already running or queued, or 500 with an error message.
+     */
+    @PostMapping("/scoring/run")
+    public ResponseEntity<String> runScoring(
+            @RequestParam(value = "partitions", required = false) Integer partitions,
+            @RequestParam(value = "chunkSize", required = false) Integer chunkSize,
+            @RequestParam(value = "adaptiveChunk", required = false) Boolean adaptiveChunk) {
+        try {
+            JobExecution jobExecution = jobExecutionService.executeScoringJob(
+                    new LoadJobOptions(partitions, chunkSize, adaptiveChunk, null, null));
+
+            return ResponseEntity.accepted()
+                    .header(HttpHeaders.LOCATION, JobStatusController.statusPath(jobExecution.getId()))
+                    .body("Scoring Job accepted. Execution ID: " + jobExecution.getId() +
+                            ". Status: " + jobExecution.getStatus());
+
+        } catch (JobLaunchRejectedException e) {
+            log.warn("Scoring job launch rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, JobStatusController.RETRY_AFTER_SECONDS)
+                    .body(e.getMessage());
+        } catch (JobExecutionException e) {
+            log.error("Failed to start scoring job", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Failed to start job: " + e.getMessage());
+        }
+    }
+}
@@ -1,15 +1,23 @@
 package com.perficient.predictor.batch.controller;
 
 // Import the concrete class
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.perficient.predictor.batch.dto.SeasonEnrolmentSummary;
 import com.perficient.predictor.batch.dto.TeamCompetitionSeasonBatchRequest;
 import com.perficient.predictor.batch.dto.TeamCompetitionSeasonResponse;
+import com.perficient.predictor.batch.service.ReferenceListingService;
 import com.perficient.predictor.batch.service.TeamCompetitionSeasonService;
+import com.perficient.predictor.batch.service.lookup.ReferenceDataService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 
@@ -19,20 +27,57 @@ public class TeamCompetitionSeasonController {
 
     // Now uses the concrete service class directly
     private final TeamCompetitionSeasonService service;
+    private final ReferenceListingService listingService;
+    private final ReferenceDataService referenceDataService;
+    private final ObjectMapper objectMapper;
 
-    public TeamCompetitionSeasonController(TeamCompetitionSeasonService service) {
+    public TeamCompetitionSeasonController(TeamCompetitionSeasonService service,
+                                           ReferenceListingService listingService,
+                                           ReferenceDataService referenceDataService,
+                                           ObjectMapper objectMapper) {
         this.service = service;
+        this.listingService = listingService;
+        this.referenceDataService = referenceDataService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Lists the teams enrolled in a competition season, in team ID order, one keyset page at a time.
+     *
+     * @param after Cursor: the nextCursor of the previous page (default 0, the first page).
+     * @param limit Page size (default 100, at most 1000).
+     * @return {"items": [...], "nextCursor": n}, streamed; 404 if the competition does not exist.
+     */
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> listEnrolments(
+            @RequestParam("competitionId") Long competitionId,
+            @RequestParam("season") Integer season,
+            @RequestParam(value = "after", defaultValue = "0") long after,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+
+        KeysetPageStream.validate(after, limit);
+        if (referenceDataService.findCompetitionById(competitionId).isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Competition " + competitionId + " not found.");
+        }
+        return KeysetPageStream.<SeasonEnrolmentSummary>of(objectMapper, limit, SeasonEnrolmentSummary::teamId,
+                action -> listingService.forEachEnrolment(competitionId, season, after, limit, action));
     }
 
     /**
      * Handles a batch request to create multiple team-competition-season records.
      * Maps the BatchRequest DTO to the service layer for processing.
+     * Returns 201 with one outcome per team, or 404 if the competition does not exist.
      */
     @PostMapping
     public ResponseEntity<TeamCompetitionSeasonResponse> createTeamSeasonBatch(
             @Valid @RequestBody TeamCompetitionSeasonBatchRequest request) {
 
-        TeamCompetitionSeasonResponse response = service.processBatchRequest(request);
+        TeamCompetitionSeasonResponse response;
+        try {
+            response = service.processBatchRequest(request);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
 
         // Return 201 Created for a successful operation
         return new ResponseEntity<>(response, HttpStatus.CREATED);
@@ -0,0 +1,71 @@
+package com.perficient.predictor.batch.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.perficient.predictor.batch.dto.CountryRef;
+import com.perficient.predictor.batch.dto.TeamSummary;
+import com.perficient.predictor.batch.service.ReferenceListingService;
+import com.perficient.predictor.batch.service.lookup.ReferenceDataService;
+import com.perficient.predictor.batch.service.lookup.ReferenceDataVersionService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * REST Controller for reading teams. Teams are written by the Team Load Job (see TeamJobController),
+ * so responses are versioned by the team and country DATA_VERSIONs (see {@link VersionedResponses}).
+ */
+@RestController
+@RequestMapping("/api/v1/teams")
+public class TeamController {
+
+    private final ReferenceListingService listingService;
+    private final ReferenceDataService referenceDataService;
+    private final ReferenceDataVersionService versionService;
+    private final ObjectMapper objectMapper;
+
+    public TeamController(ReferenceListingService listingService,
+                          ReferenceDataService referenceDataService,
+                          ReferenceDataVersionService versionService,
+                          ObjectMapper objectMapper) {
+        this.listingService = listingService;
+        this.referenceDataService = referenceDataService;
+        this.versionService = versionService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Lists a country's teams in ID order, one keyset page at a time.
+     *
+     * @param countryCode The country's 3-letter code (e.g. 'ENG').
+     * @param after Cursor: the nextCursor of the previous page (default 0, the first page).
+     * @param limit Page size (default 100, at most 1000).
+     * @return {"items": [...], "nextCursor": n}, streamed, with an ETag; 304 if If-None-Match has the
+     * current ETag, 404 if there is no country with that code.
+     */
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> listTeams(
+            @RequestParam("country") String countryCode,
+            @RequestParam(value = "after", defaultValue = "0") long after,
+            @RequestParam(value = "limit", defaultValue = "100") int limit,
+            ServletWebRequest webRequest) {
+
+        KeysetPageStream.validate(after, limit);
+        // The country is resolved by code, so a country load can change the response too
+        String eTag = VersionedResponses.eTag(versionService.current(ReferenceDataVersionService.TEAM),
+                versionService.current(ReferenceDataVersionService.COUNTRY));
+        if (VersionedResponses.notModified(webRequest, eTag, versionService.refreshInterval())) {
+            return null;
+        }
+        CountryRef country = referenceDataService.findCountryByCode(countryCode.trim().toUpperCase())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Country '" + countryCode + "' not found."));
+        return KeysetPageStream.<TeamSummary>of(objectMapper, limit, TeamSummary::teamId,
+                action -> listingService.forEachTeam(country.countryId(), after, limit, action));
+    }
+}
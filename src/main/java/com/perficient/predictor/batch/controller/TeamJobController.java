@@ -1,93 +1,181 @@
 package com.perficient.predictor.batch.controller;
 
+import com.perficient.predictor.batch.dto.LoadJobOptions;
 import com.perficient.predictor.batch.exception.JobExecutionException;
-import com.perficient.predictor.batch.service.DataVersionService;
+import com.perficient.predictor.batch.exception.JobLaunchRejectedException;
+import com.perficient.predictor.batch.exception.UploadFailedException;
+import com.perficient.predictor.batch.reader.InputFiles;
 import com.perficient.predictor.batch.service.TeamJobExecutionService;
+import com.perficient.predictor.batch.upload.UploadReceipt;
+import com.perficient.predictor.batch.upload.UploadStreamService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.batch.core.JobExecution;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+
 /**
  * REST Controller responsible for initiating the Team Load batch process.
  * This is the final, refactored version. It is a "thin controller," meaning it
- * handles HTTP requests and delegates all business logic (version management,
- * job launching) to dedicated service layers, strictly adhering to the Single
+ * handles HTTP requests and delegates all business logic (job launching) to dedicated service layers, strictly adhering to the Single
  * Responsibility Principle (SRP).
  */
 @RestController
 @RequestMapping("/api/batch")
 public class TeamJobController {
 
+    private static final Logger log = LoggerFactory.getLogger(TeamJobController.class);
+
     // Hardcoded location for external files (input and error output)
     private static final String BASE_DIR = "/opt/predictor/data/";
-    private static final String ENTITY_NAME = "TEAM"; // The entity name for the version counter
 
-    private final DataVersionService versionService;
     private final TeamJobExecutionService jobExecutionService;
+    private final UploadStreamService uploadStreamService;
 
     @Autowired
     public TeamJobController(
-            DataVersionService versionService,
-            TeamJobExecutionService jobExecutionService) {
-        this.versionService = versionService;
+            TeamJobExecutionService jobExecutionService,
+            UploadStreamService uploadStreamService) {
         this.jobExecutionService = jobExecutionService;
+        this.uploadStreamService = uploadStreamService;
     }
 
     /**
      * Triggers the team loading batch job via an HTTP POST request.
-     * * @param fileName The name of the input CSV file (e.g., 'team_data.csv').
+     * * @param fileName The name of the input CSV file (e.g., 'team_data.csv'), or a directory or glob
+     *                 (e.g. 'teams/*.csv') to load every matching file in one run, one partition per file.
      * @param countryCode The country code for filtering/processing.
-     * @return ResponseEntity with the job execution details or an error message.
+     * @param partitions Optional number of parallel partitions for this load.
+     * @param chunkSize Optional number of items per transaction.
+     * @param adaptiveChunk Optional switch to let the step tune the chunk size at runtime.
+     * @param bulk Optional switch for a set-based load of trusted feeds (no per-row processing).
+     * @param incremental Optional switch to only write teams that are new or changed since the
+     *                    previous incremental load (a full or bulk load resets the baseline).
+     * @return 202 Accepted with the execution ID (status is polled via the Location header),
+     * 503 if too many jobs are already running or queued, or 500 with an error message.
      */
     @PostMapping("/teams/load")
     public ResponseEntity<String> loadTeams(
             @RequestParam("fileName") String fileName,
-            @RequestParam("countryCode") String countryCode) {
+            @RequestParam("countryCode") String countryCode,
+            @RequestParam(value = "partitions", required = false) Integer partitions,
+            @RequestParam(value = "chunkSize", required = false) Integer chunkSize,
+            @RequestParam(value = "adaptiveChunk", required = false) Boolean adaptiveChunk,
+            @RequestParam(value = "bulk", required = false) Boolean bulk,
+            @RequestParam(value = "incremental", required = false) Boolean incremental) {
 
         // 1. Prepare Inputs: Construct the absolute file paths based on the base directory
         String inputFile = BASE_DIR + fileName;
-        String errorFile = BASE_DIR + fileName.replace(".csv", ".error.csv");
+        String errorFile = InputFiles.rejectFile(BASE_DIR + fileName);
 
-        // 2. Delegate: Handle data version increment (Database/DAO concern)
-        long newVersion;
-        try {
-            newVersion = versionService.getAndIncrementVersion(ENTITY_NAME);
-        } catch (Exception e) {
-            System.err.println("Version Service Error: Failed to read/increment data version: " + e.getMessage());
-            // Return HTTP 500 if the core dependency (version tracking) fails
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("Failed to prepare data version counter.");
-        }
-
-        // 3. Delegate: Execute job (Batch Orchestration concern)
+        // 2. Delegate: Execute job (Batch Orchestration concern)
         try {
             JobExecution jobExecution = jobExecutionService.executeTeamLoadJob(
                     countryCode,
-                    newVersion,
                     inputFile,
-                    errorFile
+                    errorFile,
+                    new LoadJobOptions(partitions, chunkSize, adaptiveChunk, bulk, incremental)
             );
 
-            // 4. Respond: Return HTTP 200 with job details
-            return ResponseEntity.ok(
-                    "Team Load Job started successfully. " +
+            // 3. Respond: The job runs in the background, return HTTP 202 with the execution to poll
+            return ResponseEntity.accepted()
+                    .header(HttpHeaders.LOCATION, JobStatusController.statusPath(jobExecution.getId()))
+                    .body("Team Load Job accepted. " +
                             "Input File: " + inputFile +
                             ", Error File: " + errorFile +
-                            ", New Version Count: " + newVersion +
                             ". Execution ID: " + jobExecution.getId() +
                             ". Status: " + jobExecution.getStatus()
-            );
+                    );
 
+        } catch (JobLaunchRejectedException e) {
+            log.warn("Job Launch Rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, JobStatusController.RETRY_AFTER_SECONDS)
+                    .body(e.getMessage());
         } catch (JobExecutionException e) {
-            // 5. Respond: Handle job startup failures
-            System.err.println("Job Execution Error: " + e.getMessage());
+            // 4. Respond: Handle job startup failures
+            log.error("Job Execution Error: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Failed to start job: " + e.getMessage());
         }
     }
+
+    /**
+     * Loads teams from a CSV file streamed in the request body (Content-Type text/csv or
+     * application/octet-stream) instead of a file on this node. The body is piped straight into the
+     * job's reader, never written to disk; the request thread is held back whenever the job falls behind.
+     * The response is sent once the whole body has been handed over, while the job may still be loading.
+     *
+     * @param fileName Name of the uploaded file, only used to name the error file (e.g. 'team_data.csv').
+     * @param countryCode The country code for filtering/processing.
+     * @param chunkSize Optional number of items per transaction.
+     * @param adaptiveChunk Optional switch to let the step tune the chunk size at runtime.
+     * @param incremental Optional switch to only write teams that are new or changed.
+     * @param sha256 Optional hex SHA-256 of the body, checked once it has been received.
+     * @return 202 Accepted with the execution ID, the size and the SHA-256 of the body; 413 if the body
+     * exceeds the upload limit, 422 if it does not match the checksum (the job then fails, but rows it
+     * loaded while the body arrived stay loaded, as the body says), 503 if too many jobs are already running
+     * or queued or the job did not start reading the body within the start timeout, or 500 with an error message.
+     */
+    @PostMapping(value = "/teams/upload", consumes = {"text/csv", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<String> uploadTeams(
+            @RequestParam("fileName") String fileName,
+            @RequestParam("countryCode") String countryCode,
+            @RequestParam(value = "chunkSize", required = false) Integer chunkSize,
+            @RequestParam(value = "adaptiveChunk", required = false) Boolean adaptiveChunk,
+            @RequestParam(value = "incremental", required = false) Boolean incremental,
+            @RequestHeader(value = JobStatusController.UPLOAD_CHECKSUM_HEADER, required = false) String sha256,
+            HttpServletRequest request) throws IOException {
+
+        if (request.getContentLengthLong() > uploadStreamService.getMaxBytes()) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body("Upload exceeds the limit of " + uploadStreamService.getMaxBytes() + " bytes.");
+        }
+        String errorFile = InputFiles.rejectFile(BASE_DIR + fileName);
+
+        // The job is launched first, so it is already reading while the body arrives
+        String uploadId = uploadStreamService.register();
+        JobExecution jobExecution;
+        try {
+            jobExecution = jobExecutionService.executeTeamUploadJob(countryCode, uploadId, errorFile,
+                    new LoadJobOptions(null, chunkSize, adaptiveChunk, null, incremental));
+        } catch (JobLaunchRejectedException e) {
+            uploadStreamService.discard(uploadId);
+            log.warn("Job Launch Rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, JobStatusController.RETRY_AFTER_SECONDS)
+                    .body(e.getMessage());
+        } catch (JobExecutionException e) {
+            uploadStreamService.discard(uploadId);
+            log.error("Job Execution Error: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Failed to start job: " + e.getMessage());
+        }
+
+        String location = JobStatusController.statusPath(jobExecution.getId());
+        try {
+            UploadReceipt receipt = uploadStreamService.transfer(uploadId, request.getInputStream(), sha256);
+            return ResponseEntity.accepted()
+                    .header(HttpHeaders.LOCATION, location)
+                    .body("Team Load Job accepted. " +
+                            "Upload: " + receipt.bytes() + " bytes, SHA-256 " + receipt.sha256() +
+                            ", Error File: " + errorFile +
+                            ". Execution ID: " + jobExecution.getId()
+                    );
+        } catch (UploadFailedException e) {
+            log.warn("Upload for execution {} failed: {}", jobExecution.getId(), e.getMessage());
+            return JobStatusController.uploadFailure(e, jobExecution.getId());
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.perficient.predictor.batch.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Conditional GET for the reference read endpoints. The ETag is the DATA_VERSION of each entity a
+ * response depends on, taken from memory before the query runs: a load finishing meanwhile leaves the
+ * response with the older ETag, so the next revalidation fetches it again rather than missing the change.
+ * Cache-Control lets clients and shared caches reuse a response for no longer than a load on another
+ * instance can take to show up in the ETag, and revalidate it after that.
+ */
+final class VersionedResponses {
+
+    private VersionedResponses() {
+    }
+
+    /**
+     * A strong ETag for the given versions, e.g. "v12.7".
+     */
+    static String eTag(long... versions) {
+        return Arrays.stream(versions).mapToObj(Long::toString).collect(Collectors.joining(".", "\"v", "\""));
+    }
+
+    /**
+     * Sets the ETag and Cache-Control headers of the response.
+     * @param maxAge How long the response may be reused without revalidating it.
+     * @return True if the request's If-None-Match matches the ETag: the response is then a bodyless 304,
+     * and the handler returns null without running its query.
+     */
+    static boolean notModified(ServletWebRequest request, String eTag, Duration maxAge) {
+        HttpServletResponse response = request.getResponse();
+        if (response != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.maxAge(maxAge).cachePublic().getHeaderValue());
+        }
+        return request.checkNotModified(eTag);
+    }
+}
@@ -0,0 +1,48 @@
+package com.perficient.predictor.batch.delta;
+
+/**
+ * 64-bit FNV-1a hash over a row's fields, for change detection in incremental loads.
+ * Hashes chars and numbers in place, without building a string per row:
+ * <pre>
+ * long hash = ContentHash.add(ContentHash.add(ContentHash.INITIAL, name), capacity);
+ * </pre>
+ * Every field is followed by a separator and nulls hash differently from empty strings,
+ * so ("ab", "c") and ("a", "bc") or (null, "") and ("", null) do not collide.
+ */
+public final class ContentHash {
+
+    public static final long INITIAL = 0xcbf29ce484222325L;
+
+    private static final long PRIME = 0x100000001b3L;
+    private static final int FIELD_SEPARATOR = 0x1F;
+    private static final int NULL_MARKER = 0x00;
+
+    private ContentHash() {
+    }
+
+    public static long add(long hash, CharSequence value) {
+        if (value == null) {
+            return mix(mix(hash, NULL_MARKER), FIELD_SEPARATOR);
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            hash = mix(mix(hash, c & 0xFF), c >>> 8);
+        }
+        return mix(hash, FIELD_SEPARATOR);
+    }
+
+    public static long add(long hash, Number value) {
+        if (value == null) {
+            return mix(mix(hash, NULL_MARKER), FIELD_SEPARATOR);
+        }
+        long bits = value.longValue();
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash = mix(hash, (int) (bits >>> (i * 8)) & 0xFF);
+        }
+        return mix(hash, FIELD_SEPARATOR);
+    }
+
+    private static long mix(long hash, int octet) {
+        return (hash ^ octet) * PRIME;
+    }
+}
@@ -0,0 +1,122 @@
+package com.perficient.predictor.batch.delta;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Content hashes persisted by the previous incremental runs of a load, keyed by the row's
+ * natural key, used to tell new, changed and unchanged rows apart.
+ *
+ * Loaded lazily on the first lookup with one query returning (key, hash). Keys are also
+ * tracked as they are seen, so each key is counted once even when a chunk is rolled back and
+ * reprocessed, and the keys never seen are the rows that vanished from the input.
+ * Thread-safe: one instance is shared by all partitions of a job execution
+ * (see {@link ContentHashIndexRegistry}).
+ */
+public class ContentHashIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentHashIndex.class);
+
+    /**
+     * REPEATED: the key was already classified in this run (a duplicate line, or a chunk being
+     * reprocessed after a rollback). Always written, so the last line for a key still wins.
+     */
+    public enum Outcome { NEW, CHANGED, UNCHANGED, REPEATED }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String selectSql;
+
+    // Guards the first load of previous hashes; a lock rather than synchronized, the load runs a query
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private volatile Map<String, Long> previous;
+    private final Set<String> seen = ConcurrentHashMap.newKeySet();
+    private final LongAdder newCount = new LongAdder();
+    private final LongAdder changedCount = new LongAdder();
+    private final LongAdder unchangedCount = new LongAdder();
+
+    /**
+     * @param selectSql Query returning the key in column 1 and the hash (BIGINT) in column 2.
+     */
+    public ContentHashIndex(JdbcTemplate jdbcTemplate, String selectSql) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.selectSql = selectSql;
+    }
+
+    /**
+     * Compares a row's hash with the one recorded for its key.
+     */
+    public Outcome classify(String key, long hash) {
+        Long recorded = previous().get(key);
+        if (!seen.add(key)) {
+            return Outcome.REPEATED;
+        }
+        if (recorded == null) {
+            newCount.increment();
+            return Outcome.NEW;
+        }
+        if (recorded == hash) {
+            unchangedCount.increment();
+            return Outcome.UNCHANGED;
+        }
+        changedCount.increment();
+        return Outcome.CHANGED;
+    }
+
+    public boolean isLoaded() {
+        return previous != null;
+    }
+
+    public long newCount() {
+        return newCount.sum();
+    }
+
+    public long changedCount() {
+        return changedCount.sum();
+    }
+
+    public long unchangedCount() {
+        return unchangedCount.sum();
+    }
+
+    /**
+     * Keys recorded by previous runs that were not in this run's input (so far).
+     */
+    public long vanishedCount() {
+        return isLoaded() ? previous.size() - changedCount() - unchangedCount() : 0;
+    }
+
+    private Map<String, Long> previous() {
+        Map<String, Long> index = previous;
+        if (index == null) {
+            loadLock.lock();
+            try {
+                index = previous;
+                if (index == null) {
+                    index = load();
+                    previous = index;
+                }
+            } finally {
+                loadLock.unlock();
+            }
+        }
+        return index;
+    }
+
+    // Only read once loaded, and safely published through the volatile field
+    private Map<String, Long> load() {
+        long start = System.nanoTime();
+        Map<String, Long> index = new HashMap<>();
+        jdbcTemplate.query(selectSql, (RowCallbackHandler) rs -> index.put(rs.getString(1), rs.getLong(2)));
+        log.info("Loaded {} content hashes in {} ms.", index.size(), (System.nanoTime() - start) / 1_000_000);
+        return index;
+    }
+}
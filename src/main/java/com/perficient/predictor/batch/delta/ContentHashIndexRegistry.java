@@ -0,0 +1,74 @@
+package com.perficient.predictor.batch.delta;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.NonNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Hands out one {@link ContentHashIndex} per job execution, so all partitions of an incremental
+ * load share it. Partition workers run on their own threads, outside the job scope, hence a
+ * registry keyed by job execution ID rather than a job-scoped bean.
+ *
+ * Also registered as a listener on the job:
+ * - before a run that is not incremental, the persisted hashes are cleared, because that run
+ *   rewrites the target table without maintaining them and they would no longer describe it;
+ * - after every run, the job's index is released.
+ */
+public class ContentHashIndexRegistry implements JobExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentHashIndexRegistry.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String selectSql;
+    private final String clearSql;
+    private final Predicate<JobParameters> incremental;
+    private final Map<Long, ContentHashIndex> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * @param selectSql Query returning the persisted (key, hash) pairs.
+     * @param clearSql Statement deleting all persisted hashes.
+     * @param incremental Whether a run with the given parameters maintains the hashes.
+     */
+    public ContentHashIndexRegistry(JdbcTemplate jdbcTemplate, String selectSql, String clearSql,
+                                    Predicate<JobParameters> incremental) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.selectSql = selectSql;
+        this.clearSql = clearSql;
+        this.incremental = incremental;
+    }
+
+    public boolean isIncremental(JobParameters jobParameters) {
+        return incremental.test(jobParameters);
+    }
+
+    public ContentHashIndex forJob(long jobExecutionId) {
+        return indexes.computeIfAbsent(jobExecutionId, id -> new ContentHashIndex(jdbcTemplate, selectSql));
+    }
+
+    public ContentHashIndex find(long jobExecutionId) {
+        return indexes.get(jobExecutionId);
+    }
+
+    @Override
+    public void beforeJob(@NonNull JobExecution jobExecution) {
+        if (!isIncremental(jobExecution.getJobParameters())) {
+            int cleared = jdbcTemplate.update(clearSql);
+            if (cleared > 0) {
+                log.info("Full load: cleared {} content hashes; the next incremental load starts from scratch.", cleared);
+            }
+        }
+    }
+
+    @Override
+    public void afterJob(@NonNull JobExecution jobExecution) {
+        indexes.remove(jobExecution.getId());
+    }
+}
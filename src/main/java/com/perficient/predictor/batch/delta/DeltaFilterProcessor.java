@@ -0,0 +1,72 @@
+package com.perficient.predictor.batch.delta;
+
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.lang.NonNull;
+
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Last processor of an incremental load: filters out items whose content hash matches the
+ * {@link ContentHashIndex}, so only new and changed items reach the writer.
+ * When incremental mode is off every item is passed through and the index is never loaded.
+ *
+ * Counts for this step execution (one partition, if partitioned) are stored in the step
+ * ExecutionContext. Must be step-scoped and registered as a listener on the step.
+ */
+public class DeltaFilterProcessor<T> implements ItemProcessor<T, T>, StepExecutionListener {
+
+    public static final String NEW_COUNT_KEY = "delta.new.count";
+    public static final String CHANGED_COUNT_KEY = "delta.changed.count";
+    public static final String UNCHANGED_COUNT_KEY = "delta.unchanged.count";
+    public static final String VANISHED_COUNT_KEY = "delta.vanished.count";
+
+    private final ContentHashIndex index;
+    private final Function<T, String> keyFunction;
+    private final ToLongFunction<T> hashFunction;
+    private final boolean enabled;
+
+    private long newCount;
+    private long changedCount;
+    private long unchangedCount;
+
+    public DeltaFilterProcessor(ContentHashIndex index, Function<T, String> keyFunction,
+                                ToLongFunction<T> hashFunction, boolean enabled) {
+        this.index = index;
+        this.keyFunction = keyFunction;
+        this.hashFunction = hashFunction;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public T process(@NonNull T item) {
+        if (!enabled) {
+            return item;
+        }
+        ContentHashIndex.Outcome outcome = index.classify(keyFunction.apply(item), hashFunction.applyAsLong(item));
+        switch (outcome) {
+            case NEW -> newCount++;
+            case CHANGED -> changedCount++;
+            case UNCHANGED -> unchangedCount++;
+            default -> {
+                // REPEATED: already counted
+            }
+        }
+        return outcome == ContentHashIndex.Outcome.UNCHANGED ? null : item;
+    }
+
+    @Override
+    public ExitStatus afterStep(@NonNull StepExecution stepExecution) {
+        if (enabled) {
+            ExecutionContext context = stepExecution.getExecutionContext();
+            context.putLong(NEW_COUNT_KEY, newCount);
+            context.putLong(CHANGED_COUNT_KEY, changedCount);
+            context.putLong(UNCHANGED_COUNT_KEY, unchangedCount);
+        }
+        return null;
+    }
+}
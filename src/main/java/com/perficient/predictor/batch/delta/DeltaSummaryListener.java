@@ -0,0 +1,48 @@
+package com.perficient.predictor.batch.delta;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.lang.NonNull;
+
+/**
+ * Records the totals of an incremental load, including the vanished rows, which are only
+ * known once every row has been seen. Registered on both the single step and the partition
+ * manager step; partition worker executions are skipped, their counts are recorded by
+ * {@link DeltaFilterProcessor}.
+ */
+public class DeltaSummaryListener implements StepExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(DeltaSummaryListener.class);
+
+    // Partition worker steps are named '<step>:<partition>'
+    private static final String PARTITION_STEP_SEPARATOR = ":";
+
+    private final ContentHashIndexRegistry registry;
+
+    public DeltaSummaryListener(ContentHashIndexRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public ExitStatus afterStep(@NonNull StepExecution stepExecution) {
+        if (stepExecution.getStepName().contains(PARTITION_STEP_SEPARATOR)) {
+            return null;
+        }
+        ContentHashIndex index = registry.find(stepExecution.getJobExecutionId());
+        if (index == null || !index.isLoaded()) {
+            return null;
+        }
+        ExecutionContext context = stepExecution.getExecutionContext();
+        context.putLong(DeltaFilterProcessor.NEW_COUNT_KEY, index.newCount());
+        context.putLong(DeltaFilterProcessor.CHANGED_COUNT_KEY, index.changedCount());
+        context.putLong(DeltaFilterProcessor.UNCHANGED_COUNT_KEY, index.unchangedCount());
+        context.putLong(DeltaFilterProcessor.VANISHED_COUNT_KEY, index.vanishedCount());
+        log.info("Incremental {}: {} new, {} changed, {} unchanged, {} vanished.", stepExecution.getStepName(),
+                index.newCount(), index.changedCount(), index.unchangedCount(), index.vanishedCount());
+        return null;
+    }
+}
@@ -0,0 +1,10 @@
+package com.perficient.predictor.batch.dto;
+
+/**
+ * Immutable view of a COMPETITION row, safe to share from the reference data cache.
+ */
+public record CompetitionRef(
+        Long competitionId,
+        String name,
+        Long countryId
+) {}
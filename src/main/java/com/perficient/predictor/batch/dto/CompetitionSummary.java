@@ -0,0 +1,12 @@
+package com.perficient.predictor.batch.dto;
+
+/**
+ * A competition as listed by the read API, with its country's name and code read in the same query.
+ */
+public record CompetitionSummary(
+        Long competitionId,
+        String name,
+        Long countryId,
+        String countryName,
+        String countryCode
+) {}
@@ -0,0 +1,10 @@
+package com.perficient.predictor.batch.dto;
+
+/**
+ * Immutable view of a COUNTRY row, safe to share from the reference data cache.
+ */
+public record CountryRef(
+        Long countryId,
+        String name,
+        String code
+) {}
@@ -0,0 +1,20 @@
+package com.perficient.predictor.batch.dto;
+
+import java.time.LocalDate;
+
+/**
+ * A validated fixture or result, with names resolved to IDs, as upserted into GAME.
+ */
+public record GameDBOutput(
+        Long competitionId,
+        Integer seasonStartYear,
+        Integer gameWeek,
+        LocalDate gameDate,
+        Long homeTeamId,
+        Long awayTeamId,
+        Integer homeScore,      // null until the game has started
+        Integer awayScore,
+        String status,
+        String updatedBy        // For audit trail/writer compatibility
+) {
+}
@@ -0,0 +1,19 @@
+package com.perficient.predictor.batch.dto;
+
+/**
+ * One fixture or result as read by the Game Load Job, from a CSV row or a JSON object with these
+ * field names. Teams and the competition are given by name; every field is read as text and
+ * converted by the processor.
+ */
+public record GameInput(
+        String competition,     // COMPETITION.NAME, e.g. "Premier League"
+        String season,          // season start year, e.g. "2025"
+        String gameWeek,        // week, round or stage number
+        String gameDate,        // ISO date, e.g. "2025-08-16"
+        String homeTeam,        // TEAM.NAME
+        String awayTeam,        // TEAM.NAME
+        String homeScore,       // empty until the game has started
+        String awayScore,
+        String status           // SCHEDULED, IN_PLAY, FINISHED, POSTPONED or CANCELLED
+) {
+}
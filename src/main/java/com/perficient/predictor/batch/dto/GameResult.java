@@ -0,0 +1,14 @@
+package com.perficient.predictor.batch.dto;
+
+/**
+ * Final result of a finished game, with the keys its points are aggregated on.
+ */
+public record GameResult(
+        Long gameId,
+        Long competitionId,
+        Integer seasonStartYear,
+        Integer gameWeek,
+        Integer homeScore,
+        Integer awayScore
+) {
+}
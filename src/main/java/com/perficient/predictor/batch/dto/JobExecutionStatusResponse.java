@@ -0,0 +1,39 @@
+package com.perficient.predictor.batch.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Progress of one job execution, as returned by the status polling endpoint.
+ * Counts are job totals; for partitioned loads only the manager step is summed,
+ * since it already aggregates its workers.
+ */
+public record JobExecutionStatusResponse(
+        Long executionId,
+        String jobName,
+        String status,          // BatchStatus, e.g. STARTING, STARTED, COMPLETED, FAILED
+        String exitCode,
+        Long dataVersion,       // DATA_VERSION of a load, null until it has started
+        LocalDateTime startTime,
+        LocalDateTime endTime,  // null while running
+        long durationMillis,    // elapsed so far while running
+        long readCount,
+        long writeCount,
+        long filterCount,
+        long skipCount,
+        List<StepStatus> steps
+) {
+
+    public record StepStatus(
+            String stepName,
+            String status,
+            long readCount,
+            long writeCount,
+            long filterCount,
+            long skipCount,
+            long commitCount,
+            long rollbackCount,
+            long durationMillis,
+            String inputFile        // file a partition worker read, null for other steps
+    ) {}
+}
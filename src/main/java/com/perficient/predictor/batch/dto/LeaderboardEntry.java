@@ -0,0 +1,10 @@
+package com.perficient.predictor.batch.dto;
+
+/**
+ * One row of a leaderboard. Players with equal points share a rank.
+ */
+public record LeaderboardEntry(
+        int rank,
+        long playerId,
+        int points
+) {}
@@ -0,0 +1,16 @@
+package com.perficient.predictor.batch.dto;
+
+import java.util.List;
+
+/**
+ * A page of a leaderboard, in rank order.
+ * Competition, season and week are null for the overall table.
+ */
+public record LeaderboardPageResponse(
+        Long competitionId,
+        Integer seasonStartYear,
+        Integer gameWeek,
+        int totalPlayers,
+        int offset,
+        List<LeaderboardEntry> entries
+) {}
@@ -0,0 +1,18 @@
+package com.perficient.predictor.batch.dto;
+
+/**
+ * Optional per-launch tuning for the file load jobs (partitions and chunking also apply to the scoring job).
+ * Any null value falls back to the job's configured default.
+ */
+public record LoadJobOptions(
+        Integer partitions,     // Number of parallel partitions to split the input into
+        Integer chunkSize,      // Items per transaction (initial size in adaptive mode)
+        Boolean adaptiveChunk,  // Let the step tune the chunk size at runtime
+        Boolean bulk,           // Set-based load for trusted feeds, bypassing the chunk step
+        Boolean incremental     // Only write rows that changed since the previous incremental load
+) {
+
+    public static LoadJobOptions defaults() {
+        return new LoadJobOptions(null, null, null, null, null);
+    }
+}
@@ -0,0 +1,17 @@
+package com.perficient.predictor.batch.dto;
+
+import java.util.List;
+
+/**
+ * A player's rank on a leaderboard, with the entries directly above and below them.
+ * Competition, season and week are null for the overall table.
+ */
+public record PlayerStandingResponse(
+        Long competitionId,
+        Integer seasonStartYear,
+        Integer gameWeek,
+        int totalPlayers,
+        LeaderboardEntry player,
+        List<LeaderboardEntry> above,   // nearest last
+        List<LeaderboardEntry> below    // nearest first
+) {}
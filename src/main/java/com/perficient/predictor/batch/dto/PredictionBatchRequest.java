@@ -0,0 +1,16 @@
+package com.perficient.predictor.batch.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Predictions submitted in one request, e.g. a player's picks for a whole game week.
+ */
+public record PredictionBatchRequest(
+        @NotEmpty(message = "At least one prediction is required.")
+        @Size(max = 1000, message = "At most 1000 predictions can be submitted at once.")
+        List<@Valid PredictionRequest> predictions
+) {}
@@ -0,0 +1,27 @@
+package com.perficient.predictor.batch.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * One player's predicted score for one game. Submitting again for the same player and game
+ * replaces the earlier prediction, until the game kicks off.
+ */
+public record PredictionRequest(
+        @NotNull(message = "Player ID is mandatory.")
+        Long playerId,
+
+        @NotNull(message = "Game ID is mandatory.")
+        Long gameId,
+
+        @NotNull(message = "Predicted home score is mandatory.")
+        @Min(value = 0, message = "Predicted scores cannot be negative.")
+        @Max(value = 99, message = "Predicted scores cannot exceed 99.")
+        Integer predictedHomeScore,
+
+        @NotNull(message = "Predicted away score is mandatory.")
+        @Min(value = 0, message = "Predicted scores cannot be negative.")
+        @Max(value = 99, message = "Predicted scores cannot exceed 99.")
+        Integer predictedAwayScore
+) {}
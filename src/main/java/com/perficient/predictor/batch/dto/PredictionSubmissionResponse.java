@@ -0,0 +1,21 @@
+package com.perficient.predictor.batch.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a prediction submission: how many predictions were stored, and which were not and why.
+ * A prediction counts as accepted only once it has been committed.
+ */
+public record PredictionSubmissionResponse(
+        int accepted,
+        List<RejectedPrediction> rejected
+) {
+
+    public record RejectedPrediction(
+            int index,              // position in the submitted list
+            Long playerId,
+            Long gameId,
+            String reason,          // PredictionRejectedException.Reason, e.g. KICKED_OFF
+            String message
+    ) {}
+}
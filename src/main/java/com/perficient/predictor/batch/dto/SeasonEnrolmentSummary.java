@@ -0,0 +1,11 @@
+package com.perficient.predictor.batch.dto;
+
+/**
+ * A team enrolled in a competition season, as listed by the read API.
+ */
+public record SeasonEnrolmentSummary(
+        Long teamId,
+        String teamName,
+        Integer seasonStartYear,
+        Integer seasonEndYear
+) {}
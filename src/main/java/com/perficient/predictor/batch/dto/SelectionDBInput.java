@@ -0,0 +1,13 @@
+package com.perficient.predictor.batch.dto;
+
+/**
+ * One unscored prediction, as read from SELECTION by the scoring job.
+ */
+public record SelectionDBInput(
+        Long selectionId,
+        Long playerId,
+        Long gameId,
+        Integer predictedHomeScore,
+        Integer predictedAwayScore
+) {
+}
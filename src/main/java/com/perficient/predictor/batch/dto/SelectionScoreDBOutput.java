@@ -0,0 +1,15 @@
+package com.perficient.predictor.batch.dto;
+
+/**
+ * Points awarded for one prediction, with the keys the scoring writer aggregates on
+ * (PLAYER_WEEKLY_SCORE and PLAYER.TOTAL_POINTS).
+ */
+public record SelectionScoreDBOutput(
+        Long selectionId,
+        Long playerId,
+        Long competitionId,
+        Integer seasonStartYear,
+        Integer gameWeek,
+        int points
+) {
+}
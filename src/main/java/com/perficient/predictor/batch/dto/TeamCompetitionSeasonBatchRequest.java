@@ -1,10 +1,9 @@
 package com.perficient.predictor.batch.dto;
 
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
 
-/**
- * Data Transfer Object for incoming POST requests to create a new season entry.
- * Uses Java Record for immutability and conciseness.
- */
 import java.util.List;
 
 /**
@@ -14,8 +13,15 @@ import java.util.List;
  */
 public record TeamCompetitionSeasonBatchRequest(
 
+        @NotBlank(message = "Competition name is mandatory.")
         String competitionName,
+
+        @NotNull(message = "Season start year is mandatory.")
         Integer seasonStartYear,
         Integer seasonEndYear,
+
+        @NotEmpty(message = "At least one team name is required.")
+        List<@NotBlank(message = "Team names cannot be blank.") String> teamNames,
+
         String updatedBy // Audit field
-) {}
\ No newline at end of file
+) {}
@@ -1,18 +1,30 @@
 package com.perficient.predictor.batch.dto;
 
-import com.perficient.predictor.batch.entity.TeamCompetitionSeason;
-
-/**
- * Data Transfer Object for outgoing responses.
- * Uses Java Record for immutability and conciseness.
- */
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
- * Response DTO for any batch operation indicating the success status.
+ * Response DTO for a batch enrolment, with one result per team name in request order.
  */
 public record TeamCompetitionSeasonResponse(
 
         String message,
-        LocalDateTime timestamp
-) {}
\ No newline at end of file
+        LocalDateTime timestamp,
+        int createdCount,
+        int alreadyEnrolledCount,
+        int rejectedCount,
+        List<EnrolmentResult> results
+) {
+
+    public enum EnrolmentStatus {
+        CREATED,
+        ALREADY_ENROLLED,   // the team was already in this competition season
+        TEAM_NOT_FOUND,
+        DUPLICATE           // the name appears earlier in the same request
+    }
+
+    public record EnrolmentResult(
+            String teamName,
+            EnrolmentStatus status
+    ) {}
+}
@@ -0,0 +1,14 @@
+package com.perficient.predictor.batch.dto;
+
+/**
+ * A team as listed by the read API: the TEAM row's own columns, without the country association.
+ */
+public record TeamSummary(
+        Long teamId,
+        String name,
+        String teamType,
+        String stadiumName,
+        Integer establishedYear,
+        String nickname,
+        Integer stadiumCapacity
+) {}
@@ -23,6 +23,10 @@ public class TeamCompetitionSeason {
     @Column(name = "TEAM_COMPETITION_SEASON_ID")
     private Long id;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "TEAM_ID", nullable = false)
+    private Team team;
+
     // FIX: Correct ManyToOne relationship to the existing Competition entity
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "COMPETITION_ID", nullable = false)
@@ -0,0 +1,27 @@
+package com.perficient.predictor.batch.exception;
+
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.core.task.TaskRejectedException;
+
+/**
+ * Thrown when an asynchronous job launch is refused because the launch executor is saturated.
+ * The job execution has been recorded as FAILED and can simply be launched again later.
+ */
+public class JobLaunchRejectedException extends JobExecutionException {
+
+    public JobLaunchRejectedException(JobExecution jobExecution) {
+        super("Job launch rejected, too many jobs running or queued. Execution ID: " + jobExecution.getId(), null);
+    }
+
+    /**
+     * TaskExecutorJobLauncher does not throw on rejection: it marks the new execution FAILED,
+     * with the TaskRejectedException as exit description, and returns it without an end time.
+     */
+    public static boolean wasRejected(JobExecution jobExecution) {
+        String exitDescription = jobExecution.getExitStatus().getExitDescription();
+        return jobExecution.getStatus() == BatchStatus.FAILED
+                && jobExecution.getEndTime() == null
+                && exitDescription.contains(TaskRejectedException.class.getName());
+    }
+}
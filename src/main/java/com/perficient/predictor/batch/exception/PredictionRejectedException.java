@@ -0,0 +1,36 @@
+package com.perficient.predictor.batch.exception;
+
+/**
+ * Why a submitted prediction was not stored. Thrown by the thousand when a game kicks off or the write
+ * queue fills up, so no stack trace is captured: the reason says all there is to say.
+ */
+public class PredictionRejectedException extends RuntimeException {
+
+    public enum Reason {
+        /** The game is not known (yet). */
+        UNKNOWN_GAME,
+        /** No player with that ID exists. */
+        UNKNOWN_PLAYER,
+        /** The game has kicked off or finished; predictions are closed. */
+        KICKED_OFF,
+        /** The write queue is full; the prediction can be sent again shortly. */
+        OVERLOADED,
+        /** The database refused the prediction, or could not be reached. */
+        NOT_WRITTEN
+    }
+
+    private final Reason reason;
+
+    public PredictionRejectedException(Reason reason, String message) {
+        this(reason, message, null);
+    }
+
+    public PredictionRejectedException(Reason reason, String message, Throwable cause) {
+        super(message, cause, false, false);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,42 @@
+package com.perficient.predictor.batch.exception;
+
+/**
+ * Thrown when a streamed upload cannot be handed to its load job in full.
+ * The job is told as well: its reader fails instead of seeing a clean end of file. That stops the load,
+ * but does not undo it: chunks the job committed before the failure stay loaded (see {@link #isPartlyRead()}).
+ */
+public class UploadFailedException extends RuntimeException {
+
+    public enum Reason {
+        /** The body is larger than the configured limit. */
+        TOO_LARGE,
+        /** The body does not match the checksum the client sent. */
+        CHECKSUM_MISMATCH,
+        /** The client stopped sending or the connection broke. */
+        CLIENT_ABORTED,
+        /** The load job did not start reading within the start timeout, e.g. because it is still queued. */
+        NOT_STARTED,
+        /** The load job stopped reading, or did not read for longer than the stall timeout. */
+        NOT_READ
+    }
+
+    private final Reason reason;
+    private final boolean partlyRead;
+
+    public UploadFailedException(Reason reason, String message, Throwable cause, boolean partlyRead) {
+        super(message, cause);
+        this.reason = reason;
+        this.partlyRead = partlyRead;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    /**
+     * Whether the job had already read part of the body, so that rows of it may have been loaded.
+     */
+    public boolean isPartlyRead() {
+        return partlyRead;
+    }
+}
@@ -0,0 +1,194 @@
+package com.perficient.predictor.batch.listener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.SkipListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.Chunk;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes per-step and per-chunk Micrometer metrics for any chunk-oriented step it is registered on.
+ * Spring Batch already times every read, process and write (spring.batch.item.read,
+ * spring.batch.item.process, spring.batch.chunk.write); this adds what those leave out:
+ *
+ * - predictor.batch.chunk.duration: wall time of a whole chunk, by outcome (committed / rolled_back),
+ * - predictor.batch.chunk.commit: time from the end of the write to the end of the commit,
+ * - predictor.batch.items: items read, written and filtered, counted per chunk (rate = items/s),
+ * - predictor.batch.step.throughput: items written per second over each step execution,
+ * - predictor.batch.skips: skipped items by phase and exception type.
+ *
+ * All meters are tagged with job and step; partition worker steps ('step:partitionN') report under
+ * their step name so the number of series does not grow with the grid size. The listener is a
+ * singleton: chunk timings live in the ChunkContext and, between write and commit, in a thread-local,
+ * since a chunk never leaves its thread; item counts are taken as the change in the step execution's
+ * counts since the previous chunk, which also covers items of rolled-back attempts.
+ */
+@Component
+public class BatchMetricsListener implements StepExecutionListener, ChunkListener,
+        ItemWriteListener<Object>, SkipListener<Object, Object> {
+
+    private static final String CHUNK_START = BatchMetricsListener.class.getName() + ".start";
+    private static final String PARTITION_SEPARATOR = ":";
+
+    private final MeterRegistry meterRegistry;
+    private final ThreadLocal<long[]> writeEnd = ThreadLocal.withInitial(() -> new long[1]);
+    // Step execution ID -> read, write and filter counts already published
+    private final Map<Long, long[]> publishedCounts = new ConcurrentHashMap<>();
+
+    public BatchMetricsListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void beforeStep(@NonNull StepExecution stepExecution) {
+        publishedCounts.put(stepExecution.getId(), new long[3]);
+    }
+
+    @Override
+    public void beforeChunk(@NonNull ChunkContext context) {
+        context.setAttribute(CHUNK_START, System.nanoTime());
+        writeEnd.get()[0] = 0;
+    }
+
+    @Override
+    public void afterWrite(@NonNull Chunk<?> items) {
+        writeEnd.get()[0] = System.nanoTime();
+    }
+
+    @Override
+    public void afterChunk(@NonNull ChunkContext context) {
+        long now = System.nanoTime();
+        StepContext stepContext = context.getStepContext();
+        String job = stepContext.getJobName();
+        String step = baseStepName(stepContext.getStepName());
+
+        recordChunk(context, job, step, "committed", now);
+        long written = writeEnd.get()[0];
+        if (written != 0) {
+            Timer.builder("predictor.batch.chunk.commit")
+                    .description("Time from the end of a chunk's write to the end of its commit")
+                    .tags("job", job, "step", step)
+                    .register(meterRegistry)
+                    .record(now - written, TimeUnit.NANOSECONDS);
+        }
+        publishItemCounts(stepContext.getStepExecution(), job, step);
+    }
+
+    @Override
+    public void afterChunkError(@NonNull ChunkContext context) {
+        StepContext stepContext = context.getStepContext();
+        String job = stepContext.getJobName();
+        String step = baseStepName(stepContext.getStepName());
+        recordChunk(context, job, step, "rolled_back", System.nanoTime());
+        publishItemCounts(stepContext.getStepExecution(), job, step);
+    }
+
+    @Override
+    public ExitStatus afterStep(@NonNull StepExecution stepExecution) {
+        String job = stepExecution.getJobExecution().getJobInstance().getJobName();
+        String step = baseStepName(stepExecution.getStepName());
+        publishItemCounts(stepExecution, job, step);
+        publishedCounts.remove(stepExecution.getId());
+
+        if (stepExecution.getStartTime() != null) {
+            Duration elapsed = Duration.between(stepExecution.getStartTime(), LocalDateTime.now());
+            double seconds = Math.max(elapsed.toNanos(), 1) / 1e9;
+            DistributionSummary.builder("predictor.batch.step.throughput")
+                    .description("Items written per second over a step execution")
+                    .baseUnit("items/s")
+                    .tags("job", job, "step", step)
+                    .register(meterRegistry)
+                    .record(stepExecution.getWriteCount() / seconds);
+        }
+        return stepExecution.getExitStatus();
+    }
+
+    @Override
+    public void onSkipInRead(@NonNull Throwable t) {
+        countSkip("read", t);
+    }
+
+    @Override
+    public void onSkipInProcess(@NonNull Object item, @NonNull Throwable t) {
+        countSkip("process", t);
+    }
+
+    @Override
+    public void onSkipInWrite(@NonNull Object item, @NonNull Throwable t) {
+        countSkip("write", t);
+    }
+
+    private void recordChunk(ChunkContext context, String job, String step, String outcome, long now) {
+        if (context.getAttribute(CHUNK_START) instanceof Long start) {
+            Timer.builder("predictor.batch.chunk.duration")
+                    .description("Wall time of one chunk: read, process, write and commit or rollback")
+                    .tags("job", job, "step", step, "outcome", outcome)
+                    .register(meterRegistry)
+                    .record(now - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void publishItemCounts(StepExecution stepExecution, String job, String step) {
+        long[] published = publishedCounts.get(stepExecution.getId());
+        if (published == null) {
+            return;
+        }
+        long read = stepExecution.getReadCount();
+        long written = stepExecution.getWriteCount();
+        long filtered = stepExecution.getFilterCount();
+        countItems(job, step, "read", read - published[0]);
+        countItems(job, step, "written", written - published[1]);
+        countItems(job, step, "filtered", filtered - published[2]);
+        published[0] = read;
+        published[1] = written;
+        published[2] = filtered;
+    }
+
+    private void countItems(String job, String step, String type, long count) {
+        if (count > 0) {
+            Counter.builder("predictor.batch.items")
+                    .description("Items handled by chunk-oriented steps")
+                    .tags("job", job, "step", step, "type", type)
+                    .register(meterRegistry)
+                    .increment(count);
+        }
+    }
+
+    /**
+     * Skip callbacks run on the chunk's thread, where the step is registered with the
+     * StepSynchronizationManager, so the job and step can be tagged without holding state.
+     */
+    private void countSkip(String phase, Throwable t) {
+        StepContext stepContext = StepSynchronizationManager.getContext();
+        Counter.builder("predictor.batch.skips")
+                .description("Items skipped by fault-tolerant steps")
+                .tags("job", stepContext != null ? stepContext.getJobName() : "unknown",
+                        "step", stepContext != null ? baseStepName(stepContext.getStepName()) : "unknown",
+                        "phase", phase,
+                        "exception", t.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static String baseStepName(String stepName) {
+        int separator = stepName.indexOf(PARTITION_SEPARATOR);
+        return separator < 0 ? stepName : stepName.substring(0, separator);
+    }
+}
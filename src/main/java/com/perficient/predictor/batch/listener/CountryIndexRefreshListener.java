@@ -0,0 +1,36 @@
+package com.perficient.predictor.batch.listener;
+
+import com.perficient.predictor.batch.service.lookup.CountryIdLookupService;
+import com.perficient.predictor.batch.service.lookup.ReferenceDataService;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reloads the in-memory country code index once the Country Load Job has finished,
+ * so the next Team Load sees newly added countries without querying per row.
+ * Also drops the REST tier's cached country lookups.
+ */
+@Component
+public class CountryIndexRefreshListener implements JobExecutionListener {
+
+    private final CountryIdLookupService countryIdLookupService;
+    private final ReferenceDataService referenceDataService;
+
+    public CountryIndexRefreshListener(CountryIdLookupService countryIdLookupService,
+                                       ReferenceDataService referenceDataService) {
+        this.countryIdLookupService = countryIdLookupService;
+        this.referenceDataService = referenceDataService;
+    }
+
+    @Override
+    public void afterJob(@NonNull JobExecution jobExecution) {
+        // Even a failed run may have committed some chunks, so refresh unless nothing ran at all
+        if (jobExecution.getStatus() != BatchStatus.ABANDONED) {
+            countryIdLookupService.reload();
+            referenceDataService.evictCountries();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.perficient.predictor.batch.listener;
+
+import com.perficient.predictor.batch.service.DataVersionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.lang.NonNull;
+
+/**
+ * Allocates the DATA_VERSION of a load once its job has started, and keeps it in the job's execution
+ * context under {@link #DATA_VERSION_KEY}. Allocating here rather than before the launch means a launch
+ * rejected by a full launch executor never uses up a version. A restarted execution gets a new one.
+ * One instance per job, for the entity that job loads.
+ */
+public class DataVersionAllocationListener implements JobExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(DataVersionAllocationListener.class);
+
+    public static final String DATA_VERSION_KEY = "dataVersion";
+
+    private final String entityName;
+    private final DataVersionService dataVersionService;
+
+    public DataVersionAllocationListener(String entityName, DataVersionService dataVersionService) {
+        this.entityName = entityName;
+        this.dataVersionService = dataVersionService;
+    }
+
+    @Override
+    public void beforeJob(@NonNull JobExecution jobExecution) {
+        // A failure here fails the job before any step has run
+        long dataVersion = dataVersionService.getAndIncrementVersion(entityName);
+        jobExecution.getExecutionContext().putLong(DATA_VERSION_KEY, dataVersion);
+        log.info("Execution {} of {} loads {} version {}",
+                jobExecution.getId(), jobExecution.getJobInstance().getJobName(), entityName, dataVersion);
+    }
+}
@@ -0,0 +1,32 @@
+package com.perficient.predictor.batch.listener;
+
+import com.perficient.predictor.batch.service.lookup.ReferenceDataVersionService;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.lang.NonNull;
+
+/**
+ * Moves an entity's reference data version on once a load job for it has finished, which changes the
+ * ETag of the read endpoints serving it, on every instance. One instance per job, for the entity that job loads.
+ */
+public class DataVersionRefreshListener implements JobExecutionListener {
+
+    private final String entityName;
+    private final ReferenceDataVersionService referenceDataVersionService;
+
+    public DataVersionRefreshListener(String entityName, ReferenceDataVersionService referenceDataVersionService) {
+        this.entityName = entityName;
+        this.referenceDataVersionService = referenceDataVersionService;
+    }
+
+    @Override
+    public void afterJob(@NonNull JobExecution jobExecution) {
+        // Even a failed run may have committed some chunks, so refresh unless nothing ran at all:
+        // without an allocated version the job failed before its first step
+        if (jobExecution.getExecutionContext().containsKey(DataVersionAllocationListener.DATA_VERSION_KEY)
+                && jobExecution.getStatus() != BatchStatus.ABANDONED) {
+            referenceDataVersionService.loadFinished(entityName);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.perficient.predictor.batch.listener;
+
+import com.perficient.predictor.batch.prediction.KickoffLock;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reloads the prediction kickoff lock once the Game Load Job has finished, so new and
+ * rescheduled games open or close for predictions without waiting for the periodic refresh.
+ */
+@Component
+public class KickoffLockRefreshListener implements JobExecutionListener {
+
+    private final KickoffLock kickoffLock;
+
+    public KickoffLockRefreshListener(KickoffLock kickoffLock) {
+        this.kickoffLock = kickoffLock;
+    }
+
+    @Override
+    public void afterJob(@NonNull JobExecution jobExecution) {
+        // Even a failed run may have committed some chunks, so refresh unless nothing ran at all
+        if (jobExecution.getStatus() != BatchStatus.ABANDONED) {
+            kickoffLock.refresh();
+        }
+    }
+}
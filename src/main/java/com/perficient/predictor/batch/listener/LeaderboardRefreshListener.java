@@ -0,0 +1,27 @@
+package com.perficient.predictor.batch.listener;
+
+import com.perficient.predictor.batch.service.leaderboard.LeaderboardService;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.lang.NonNull;
+
+/**
+ * Moves the PLAYER_SCORE data version on once a scoring run has finished, so every other instance
+ * reloads its leaderboards.
+ */
+public class LeaderboardRefreshListener implements JobExecutionListener {
+
+    private final LeaderboardService leaderboardService;
+
+    public LeaderboardRefreshListener(LeaderboardService leaderboardService) {
+        this.leaderboardService = leaderboardService;
+    }
+
+    @Override
+    public void afterJob(@NonNull JobExecution jobExecution) {
+        // Even a failed run may have committed some chunks; a run that wrote nothing changed no score
+        if (jobExecution.getStepExecutions().stream().anyMatch(step -> step.getWriteCount() > 0)) {
+            leaderboardService.scoringFinished();
+        }
+    }
+}
@@ -2,46 +2,52 @@ package com.perficient.predictor.batch.listener;
 
 import com.perficient.predictor.batch.dto.TeamCsvInput;
 import com.perficient.predictor.batch.dto.TeamDBOutput;
+import com.perficient.predictor.batch.logging.RateLimitedLogger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.batch.core.SkipListener;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Listener to log details of skipped records during the TEAM data load process.
+ * The full record is logged at DEBUG; the WARN line is rate-limited per phase and exception type,
+ * so a file with thousands of identical bad rows does not flood the log. Skip counts by exception
+ * type are available as the predictor.batch.skips metric.
  */
 @Component
 public class TeamLoadSkipListener implements SkipListener<TeamCsvInput, TeamDBOutput> {
 
     private static final Logger log = LoggerFactory.getLogger(TeamLoadSkipListener.class);
+    private static final RateLimitedLogger warnings = new RateLimitedLogger(log, 10, 1, TimeUnit.MINUTES);
 
     // --- Skips during the ItemProcessor step ---
     @Override
     public void onSkipInProcess(@NonNull TeamCsvInput item, @NonNull Throwable t) {
         // This handles the ValidationException thrown in TeamItemProcessor
-        log.warn("--- ITEM SKIPPED IN PROCESSOR ---");
-        log.warn("Record Data: Name='{}', Type='{}', Country='{}'",
-                item.name(),
-                item.teamType(),
-                item.countryCode());
-        log.warn("Reason for Skip (Validation/Processing): {}", t.getMessage());
+        log.debug("Skipped in processor: Name='{}', Type='{}', Country='{}': {}",
+                item.name(), item.teamType(), item.countryCode(), t.getMessage());
+        warnings.warn("process:" + t.getClass().getName(),
+                "Team record skipped in processor ({}): {}", t.getClass().getSimpleName(), t.getMessage());
     }
 
     // --- Skips during the ItemWriter step ---
     @Override
     public void onSkipInWrite(@NonNull TeamDBOutput item, @NonNull Throwable t) {
         // This usually handles exceptions like SQL integrity violations
-        log.error("--- ITEM SKIPPED IN WRITER ---");
-        log.error("Failed TeamDBOutput: Name='{}'", item.name());
-        log.error("Reason for Skip (Database Error): {}", t.getMessage());
+        log.debug("Skipped in writer: Name='{}'", item.name(), t);
+        warnings.warn("write:" + t.getClass().getName(),
+                "Team '{}' skipped in writer ({}): {}", item.name(), t.getClass().getSimpleName(), t.getMessage());
     }
 
     // --- Skips during the ItemReader step ---
     @Override
     public void onSkipInRead(@NonNull Throwable t) {
         // This typically handles parsing errors in the CsvItemReader itself
-        log.error("--- ITEM SKIPPED IN READER ---");
-        log.error("Reason for Skip (File Read Error): {}", t.getMessage());
+        log.debug("Skipped in reader", t);
+        warnings.warn("read:" + t.getClass().getName(),
+                "Team record skipped in reader ({}): {}", t.getClass().getSimpleName(), t.getMessage());
     }
-}
\ No newline at end of file
+}
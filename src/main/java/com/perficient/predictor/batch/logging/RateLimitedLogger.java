@@ -0,0 +1,104 @@
+package com.perficient.predictor.batch.logging;
+
+import org.slf4j.Logger;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logs at WARN at most {@code permitsPerWindow} messages per key per time window; the rest are
+ * counted and the count is appended to the first message let through in a later window, so a file
+ * full of identical bad rows produces a handful of lines instead of one per row.
+ *
+ * Keys identify "the same error" (e.g. a reject reason or exception type) and should come from a
+ * small fixed set; past {@link #MAX_KEYS} distinct keys, further keys share one overflow bucket.
+ * Thread-safe and lock-free.
+ */
+public final class RateLimitedLogger {
+
+    static final int MAX_KEYS = 1024;
+    private static final String OVERFLOW_KEY = "(other)";
+
+    private final Logger delegate;
+    private final int permitsPerWindow;
+    private final long windowNanos;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    public RateLimitedLogger(Logger delegate, int permitsPerWindow, long window, TimeUnit unit) {
+        this.delegate = delegate;
+        this.permitsPerWindow = permitsPerWindow;
+        this.windowNanos = unit.toNanos(window);
+    }
+
+    /**
+     * Logs the message at WARN unless the key has used up its permits in the current window.
+     */
+    public void warn(String key, String format, Object... arguments) {
+        if (!delegate.isWarnEnabled()) {
+            return;
+        }
+        long suppressed = windowFor(key).tryAcquire(System.nanoTime());
+        if (suppressed < 0) {
+            return;
+        }
+        if (suppressed == 0) {
+            delegate.warn(format, arguments);
+        } else {
+            delegate.warn(format + " ({} similar messages suppressed)", withSuppressedCount(arguments, suppressed));
+        }
+    }
+
+    private Window windowFor(String key) {
+        Window window = windows.get(key);
+        if (window != null) {
+            return window;
+        }
+        String bucket = windows.size() < MAX_KEYS ? key : OVERFLOW_KEY;
+        return windows.computeIfAbsent(bucket, k -> new Window(System.nanoTime()));
+    }
+
+    /**
+     * Adds the count as the argument for the appended placeholder. A trailing Throwable stays last,
+     * so SLF4J still logs it as the exception with its stack trace.
+     */
+    static Object[] withSuppressedCount(Object[] arguments, long suppressed) {
+        int at = arguments.length > 0 && arguments[arguments.length - 1] instanceof Throwable
+                ? arguments.length - 1
+                : arguments.length;
+        Object[] extended = new Object[arguments.length + 1];
+        System.arraycopy(arguments, 0, extended, 0, at);
+        extended[at] = suppressed;
+        System.arraycopy(arguments, at, extended, at + 1, arguments.length - at);
+        return extended;
+    }
+
+    private final class Window {
+
+        private final AtomicLong start;
+        private final AtomicInteger used = new AtomicInteger();
+        private final AtomicLong suppressed = new AtomicLong();
+
+        Window(long now) {
+            this.start = new AtomicLong(now);
+        }
+
+        /**
+         * @return -1 if the message must be dropped, otherwise the number of messages
+         *         dropped since the last one let through.
+         */
+        long tryAcquire(long now) {
+            long windowStart = start.get();
+            if (now - windowStart >= windowNanos && start.compareAndSet(windowStart, now)) {
+                used.set(0);
+            }
+            if (used.incrementAndGet() > permitsPerWindow) {
+                suppressed.incrementAndGet();
+                return -1;
+            }
+            return suppressed.getAndSet(0);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.perficient.predictor.batch.logging;
+
+import com.perficient.predictor.batch.reject.RejectedRecordWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.helpers.MessageFormatter;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.lang.NonNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records items a processor rejects (filters), without a console line per item.
+ *
+ * Each rejection is logged with its details at DEBUG and, rate-limited per reason code, at WARN.
+ * Counts per reason are kept for the current chunk and written as one INFO summary after the chunk
+ * commits. They survive a rollback of the chunk: a fault-tolerant step drops filtered items from
+ * the chunk and does not process them again on the retry. The step total is logged after the step.
+ * Given a {@link RejectedRecordWriter}, each rejected record is also written to the reject file,
+ * with the reason code and the formatted message as the detail.
+ *
+ * One instance per step execution (step-scoped), so the counts are only touched by the thread
+ * running that step's chunks. Register it as a ChunkListener and StepExecutionListener on the step.
+ */
+public class RejectedItemLog implements ChunkListener, StepExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(RejectedItemLog.class);
+    private static final RateLimitedLogger warnings =
+            new RateLimitedLogger(log, 10, 1, TimeUnit.MINUTES);
+
+    private final String stepName;
+    private final RejectedRecordWriter recordWriter;
+    private final Map<String, Integer> chunkRejects = new TreeMap<>();
+    private final Map<String, Long> stepRejects = new TreeMap<>();
+
+    public RejectedItemLog(String stepName) {
+        this(stepName, null);
+    }
+
+    /**
+     * @param recordWriter Writer for the reject file, or null to only log.
+     */
+    public RejectedItemLog(String stepName, RejectedRecordWriter recordWriter) {
+        this.stepName = stepName;
+        this.recordWriter = recordWriter;
+    }
+
+    /**
+     * Records one rejected item.
+     *
+     * @param record The item's input fields, in input column order, for the reject file.
+     * @param reasonCode Short constant naming the reason, e.g. UNKNOWN_COUNTRY; the rate-limiting key.
+     * @param format SLF4J message describing the item, followed by its arguments.
+     */
+    public void reject(List<String> record, String reasonCode, String format, Object... arguments) {
+        chunkRejects.merge(reasonCode, 1, Integer::sum);
+        if (recordWriter != null) {
+            recordWriter.write(record, reasonCode, MessageFormatter.arrayFormat(format, arguments).getMessage());
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("[{}] " + format, prepend(reasonCode, arguments));
+        }
+        warnings.warn(reasonCode, "{} rejected [{}]: " + format, prepend(stepName, prepend(reasonCode, arguments)));
+    }
+
+    @Override
+    public void afterChunk(@NonNull ChunkContext context) {
+        if (chunkRejects.isEmpty()) {
+            return;
+        }
+        int total = 0;
+        for (Map.Entry<String, Integer> entry : chunkRejects.entrySet()) {
+            total += entry.getValue();
+            stepRejects.merge(entry.getKey(), entry.getValue().longValue(), Long::sum);
+        }
+        log.info("{}: chunk committed with {} rejected items {}.", context.getStepContext().getStepName(),
+                total, chunkRejects);
+        chunkRejects.clear();
+    }
+
+    @Override
+    public ExitStatus afterStep(@NonNull StepExecution stepExecution) {
+        if (!stepRejects.isEmpty()) {
+            log.info("{}: {} rejected items in total {}.", stepExecution.getStepName(),
+                    stepRejects.values().stream().mapToLong(Long::longValue).sum(), stepRejects);
+        }
+        return stepExecution.getExitStatus();
+    }
+
+    private static Object[] prepend(Object first, Object[] rest) {
+        Object[] all = new Object[rest.length + 1];
+        all[0] = first;
+        System.arraycopy(rest, 0, all, 1, rest.length);
+        return all;
+    }
+}
@@ -0,0 +1,95 @@
+package com.perficient.predictor.batch.partition;
+
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Splits a delimited input file into contiguous byte ranges, one per partition.
+ * Every boundary is moved forward to the start of the next line, so each worker step
+ * reads whole records only. The ranges are stored in the partition's ExecutionContext
+ * (and therefore in the job repository), which makes each partition restartable on its own.
+ */
+public class FileRangePartitioner implements Partitioner {
+
+    public static final String FILE_KEY = "partition.file";
+    public static final String START_KEY = "partition.start";
+    public static final String END_KEY = "partition.end";
+
+    // Files smaller than this are not worth splitting across threads
+    private static final long MIN_PARTITION_BYTES = 64 * 1024;
+
+    private final Path file;
+    private final Long requestedPartitions;
+
+    /**
+     * @param file The input file to split.
+     * @param requestedPartitions Number of partitions requested for this run, or null to use the step's grid size.
+     */
+    public FileRangePartitioner(Path file, Long requestedPartitions) {
+        this.file = file;
+        this.requestedPartitions = requestedPartitions;
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        int partitions = requestedPartitions != null ? requestedPartitions.intValue() : gridSize;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int count = (int) Math.max(1, Math.min(partitions, size / MIN_PARTITION_BYTES));
+
+            Map<String, ExecutionContext> result = new LinkedHashMap<>();
+            long start = 0;
+            for (int i = 1; i <= count && start < size; i++) {
+                long end = i == count ? size : nextLineStart(channel, size * i / count, size);
+                if (end <= start) {
+                    continue;
+                }
+                ExecutionContext context = new ExecutionContext();
+                context.putString(FILE_KEY, file.toString());
+                context.putLong(START_KEY, start);
+                context.putLong(END_KEY, end);
+                result.put("partition" + result.size(), context);
+                start = end;
+            }
+            return result;
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to partition input file: " + file, e);
+        }
+    }
+
+    /**
+     * Returns the offset of the first line that starts at or after the given position.
+     */
+    private static long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        if (position == 0) {
+            return 0;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        // Start one byte early so a boundary that already sits at a line start is kept as is
+        long offset = position - 1;
+        while (offset < size) {
+            buffer.clear();
+            int read = channel.read(buffer, offset);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return offset + i + 1;
+                }
+            }
+            offset += read;
+        }
+        return size;
+    }
+}
@@ -0,0 +1,98 @@
+package com.perficient.predictor.batch.partition;
+
+import org.springframework.core.io.AbstractResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A Spring Resource exposing only the byte range [start, end) of a file.
+ * Used to hand each partition's FlatFileItemReader its own slice of the input.
+ */
+public class FileRangeResource extends AbstractResource {
+
+    private final Path file;
+    private final long start;
+    private final long end;
+
+    public FileRangeResource(Path file, long start, long end) {
+        this.file = file;
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    public boolean exists() {
+        return Files.isRegularFile(file);
+    }
+
+    @Override
+    public long contentLength() {
+        return end - start;
+    }
+
+    @Override
+    public String getFilename() {
+        return file.getFileName().toString();
+    }
+
+    @Override
+    public String getDescription() {
+        return "file range [" + start + ", " + end + ") of " + file;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        channel.position(start);
+        return new RangeInputStream(Channels.newInputStream(channel), end - start);
+    }
+
+    /**
+     * Stops reading once the range length has been consumed.
+     */
+    private static final class RangeInputStream extends InputStream {
+
+        private final InputStream delegate;
+        private long remaining;
+
+        private RangeInputStream(InputStream delegate, long remaining) {
+            this.delegate = delegate;
+            this.remaining = remaining;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = delegate.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = delegate.read(b, off, (int) Math.min(len, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.perficient.predictor.batch.partition;
+
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Splits a numeric key range into contiguous, non-overlapping [min, max] ranges of equal width,
+ * one per partition. The overall range comes from a query returning the lowest and highest key.
+ * The ranges are stored in each partition's ExecutionContext, like FileRangePartitioner's byte ranges.
+ */
+public class KeyRangePartitioner implements Partitioner {
+
+    public static final String MIN_KEY = "partition.minKey";
+    public static final String MAX_KEY = "partition.maxKey";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String minMaxSql;
+    private final Long requestedPartitions;
+
+    /**
+     * @param minMaxSql Query returning one row: the lowest and the highest key (NULLs if there are none).
+     * @param requestedPartitions Number of partitions requested for this run, or null to use the step's grid size.
+     */
+    public KeyRangePartitioner(JdbcTemplate jdbcTemplate, String minMaxSql, Long requestedPartitions) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.minMaxSql = minMaxSql;
+        this.requestedPartitions = requestedPartitions;
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        long[] range = jdbcTemplate.queryForObject(minMaxSql, (rs, rowNum) -> {
+            long min = rs.getLong(1);
+            return rs.wasNull() ? null : new long[]{min, rs.getLong(2)};
+        });
+
+        Map<String, ExecutionContext> result = new LinkedHashMap<>();
+        if (range == null) {
+            // Nothing to do, but the manager step still needs one (empty) partition
+            result.put("partition0", context(0, -1));
+            return result;
+        }
+
+        long min = range[0];
+        long size = range[1] - min + 1;
+        int partitions = (int) Math.max(1, Math.min(requestedPartitions != null ? requestedPartitions : gridSize, size));
+        for (int i = 0; i < partitions; i++) {
+            long start = min + size * i / partitions;
+            long end = min + size * (i + 1) / partitions - 1;
+            result.put("partition" + i, context(start, end));
+        }
+        return result;
+    }
+
+    private static ExecutionContext context(long min, long max) {
+        ExecutionContext context = new ExecutionContext();
+        context.putLong(MIN_KEY, min);
+        context.putLong(MAX_KEY, max);
+        return context;
+    }
+}
@@ -0,0 +1,59 @@
+package com.perficient.predictor.batch.partition;
+
+import com.perficient.predictor.batch.reader.Compression;
+import com.perficient.predictor.batch.reader.InputFiles;
+import com.perficient.predictor.batch.service.LoadJobParameters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.job.flow.FlowExecutionStatus;
+import org.springframework.batch.core.job.flow.JobExecutionDecider;
+import org.springframework.lang.NonNull;
+
+/**
+ * Routes a load job either to its single-threaded chunk step, to the partitioned variant,
+ * or, when the 'bulk' job parameter is true, to the set-based bulk load step.
+ * The 'partitions' job parameter wins; otherwise the configured default for the job is used.
+ * A directory or glob input always goes to the partitioned step, one partition per file.
+ * A streamed upload or a compressed input file can only be read once, front to back, so it always
+ * goes to the single step, whatever mode was requested.
+ */
+public class LoadModeDecider implements JobExecutionDecider {
+
+    public static final FlowExecutionStatus SINGLE = new FlowExecutionStatus("SINGLE");
+    public static final FlowExecutionStatus PARTITIONED = new FlowExecutionStatus("PARTITIONED");
+    public static final FlowExecutionStatus BULK = new FlowExecutionStatus("BULK");
+
+    private static final Logger log = LoggerFactory.getLogger(LoadModeDecider.class);
+
+    private static final String INPUT_FILE_PATH = "inputFilePath";
+
+    private final int defaultPartitions;
+
+    public LoadModeDecider(int defaultPartitions) {
+        this.defaultPartitions = defaultPartitions;
+    }
+
+    @Override
+    @NonNull
+    public FlowExecutionStatus decide(@NonNull JobExecution jobExecution, StepExecution stepExecution) {
+        if (jobExecution.getJobParameters().getString(LoadJobParameters.UPLOAD_ID) != null) {
+            return SINGLE;
+        }
+        String inputFilePath = jobExecution.getJobParameters().getString(INPUT_FILE_PATH);
+        if (inputFilePath != null && InputFiles.isMultiFile(inputFilePath)) {
+            return PARTITIONED;
+        }
+        if (inputFilePath != null && Compression.of(InputFiles.toPath(inputFilePath)) != Compression.NONE) {
+            log.info("{} is compressed; loading it in a single step.", inputFilePath);
+            return SINGLE;
+        }
+        if (Boolean.parseBoolean(jobExecution.getJobParameters().getString(LoadJobParameters.BULK))) {
+            return BULK;
+        }
+        Long requested = jobExecution.getJobParameters().getLong(LoadJobParameters.PARTITIONS);
+        long partitions = requested != null ? requested : defaultPartitions;
+        return partitions > 1 ? PARTITIONED : SINGLE;
+    }
+}
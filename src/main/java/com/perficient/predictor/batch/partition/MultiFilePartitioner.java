@@ -0,0 +1,38 @@
+package com.perficient.predictor.batch.partition;
+
+import com.perficient.predictor.batch.reader.InputFiles;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One partition per file of a directory or glob input (see {@link InputFiles}), in path order.
+ * Each worker step reads its whole file, header included, under the key {@link FileRangePartitioner#FILE_KEY}
+ * that the readers already take their input from; the partition thread pool bounds how many files
+ * are loaded at once, the rest wait in its queue. The list of files is fixed when the job first runs:
+ * on restart the partitions are taken from the job repository, not matched again.
+ */
+public class MultiFilePartitioner implements Partitioner {
+
+    private final String inputFilePath;
+
+    public MultiFilePartitioner(String inputFilePath) {
+        this.inputFilePath = inputFilePath;
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        List<Path> files = InputFiles.expand(inputFilePath);
+        Map<String, ExecutionContext> result = new LinkedHashMap<>();
+        for (Path file : files) {
+            ExecutionContext context = new ExecutionContext();
+            context.putString(FileRangePartitioner.FILE_KEY, file.toString());
+            result.put("partition" + result.size(), context);
+        }
+        return result;
+    }
+}
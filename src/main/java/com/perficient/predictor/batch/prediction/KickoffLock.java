@@ -0,0 +1,84 @@
+package com.perficient.predictor.batch.prediction;
+
+import com.perficient.predictor.batch.exception.PredictionRejectedException.Reason;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * When predictions for each game close, held in memory so that late picks are turned away without a
+ * database read. A game closes at the start of its GAME_DATE (in the configured zone), or as soon as it
+ * is FINISHED.
+ *
+ * The kickoff times are read from GAME when the application starts and again on a fixed delay; whoever
+ * adds or reschedules games can call {@link #refresh()} to apply them at once. The map is replaced as a
+ * whole, so checks are lock-free.
+ */
+@Service
+public class KickoffLock implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(KickoffLock.class);
+
+    private static final String SELECT_GAMES_SQL = "SELECT GAME_ID, GAME_DATE, STATUS FROM GAME";
+    private static final String FINISHED = "FINISHED";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ZoneId zone;
+
+    // GAME_ID -> epoch millis at which predictions close
+    private volatile Map<Long, Long> kickoffs = Map.of();
+
+    public KickoffLock(JdbcTemplate jdbcTemplate,
+                       @Value("${predictor.prediction.kickoff-zone:UTC}") ZoneId zone) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.zone = zone;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        refresh();
+    }
+
+    /**
+     * Re-reads the kickoff time of every game.
+     */
+    @Scheduled(fixedDelayString = "${predictor.prediction.game-refresh-ms:60000}",
+            initialDelayString = "${predictor.prediction.game-refresh-ms:60000}")
+    public void refresh() {
+        Map<Long, Long> loaded = new HashMap<>();
+        jdbcTemplate.query(SELECT_GAMES_SQL, rs -> {
+            long closesAt = FINISHED.equals(rs.getString(3))
+                    ? Long.MIN_VALUE
+                    : rs.getDate(2).toLocalDate().atStartOfDay(zone).toInstant().toEpochMilli();
+            loaded.put(rs.getLong(1), closesAt);
+        });
+        kickoffs = loaded;
+        log.debug("Kickoff lock refreshed: {} games.", loaded.size());
+    }
+
+    /**
+     * Why a prediction for the game can no longer be made, or null while predictions are open.
+     */
+    public Reason closedReason(long gameId, long nowMillis) {
+        Long closesAt = kickoffs.get(gameId);
+        if (closesAt == null) {
+            return Reason.UNKNOWN_GAME;
+        }
+        return nowMillis >= closesAt ? Reason.KICKED_OFF : null;
+    }
+
+    /**
+     * Whether the game was in GAME at the last refresh, open or not.
+     */
+    public boolean isKnownGame(long gameId) {
+        return kickoffs.containsKey(gameId);
+    }
+}
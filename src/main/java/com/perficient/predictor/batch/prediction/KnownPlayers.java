@@ -0,0 +1,49 @@
+package com.perficient.predictor.batch.prediction;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The IDs of players known to exist, so that the {@link SelectionMicroBatchWriter} can turn away picks of
+ * unknown players before they reach a batch, where SELECTION's foreign key would refuse the whole statement.
+ *
+ * Players are not deleted, so an ID once found stays valid. IDs not seen yet are looked up together, one
+ * query per flush, and remembered if found; only players who have made a prediction are held. Not
+ * thread-safe: only the flusher thread uses it.
+ */
+class KnownPlayers {
+
+    private static final String SELECT_SQL_PREFIX = "SELECT PLAYER_ID FROM PLAYER WHERE PLAYER_ID IN (";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Set<Long> known = new HashSet<>();
+
+    KnownPlayers(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return Those of the given IDs that belong to no player.
+     */
+    Set<Long> unknown(Collection<Long> playerIds) {
+        Set<Long> missing = new HashSet<>();
+        for (Long playerId : playerIds) {
+            if (!known.contains(playerId)) {
+                missing.add(playerId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return missing;
+        }
+        String sql = SELECT_SQL_PREFIX + String.join(", ", Collections.nCopies(missing.size(), "?")) + ")";
+        List<Long> found = jdbcTemplate.queryForList(sql, Long.class, missing.toArray());
+        known.addAll(found);
+        found.forEach(missing::remove);
+        return missing;
+    }
+}
@@ -0,0 +1,74 @@
+package com.perficient.predictor.batch.prediction;
+
+import com.perficient.predictor.batch.dto.PredictionBatchRequest;
+import com.perficient.predictor.batch.dto.PredictionRequest;
+import com.perficient.predictor.batch.dto.PredictionSubmissionResponse;
+import com.perficient.predictor.batch.dto.PredictionSubmissionResponse.RejectedPrediction;
+import com.perficient.predictor.batch.exception.PredictionRejectedException;
+import com.perficient.predictor.batch.exception.PredictionRejectedException.Reason;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Accepts predictions (SELECTION rows) in bulk. Picks for games that have kicked off or are unknown are
+ * turned away from memory by the {@link KickoffLock}; the rest go to the {@link SelectionMicroBatchWriter}
+ * and the response completes when all of them have been committed or refused.
+ */
+@Service
+public class PredictionIngestionService {
+
+    private final KickoffLock kickoffLock;
+    private final SelectionMicroBatchWriter writer;
+
+    public PredictionIngestionService(KickoffLock kickoffLock, SelectionMicroBatchWriter writer) {
+        this.kickoffLock = kickoffLock;
+        this.writer = writer;
+    }
+
+    public CompletableFuture<PredictionSubmissionResponse> submit(PredictionBatchRequest request) {
+        List<PredictionRequest> picks = request.predictions();
+        List<CompletableFuture<Void>> writes = new ArrayList<>(picks.size());
+        long now = System.currentTimeMillis();
+        for (PredictionRequest pick : picks) {
+            Reason closed = kickoffLock.closedReason(pick.gameId(), now);
+            writes.add(closed == null
+                    ? writer.submit(pick)
+                    : CompletableFuture.failedFuture(new PredictionRejectedException(closed, closedMessage(closed, pick))));
+        }
+
+        return CompletableFuture.allOf(writes.toArray(CompletableFuture[]::new))
+                .handle((ignored, failure) -> toResponse(picks, writes));
+    }
+
+    private static PredictionSubmissionResponse toResponse(List<PredictionRequest> picks,
+                                                           List<CompletableFuture<Void>> writes) {
+        int accepted = 0;
+        List<RejectedPrediction> rejected = new ArrayList<>();
+        for (int i = 0; i < writes.size(); i++) {
+            Throwable failure;
+            try {
+                writes.get(i).join(); // already complete
+                accepted++;
+                continue;
+            } catch (CompletionException e) {
+                failure = e.getCause() != null ? e.getCause() : e;
+            }
+            PredictionRequest pick = picks.get(i);
+            String reason = failure instanceof PredictionRejectedException rejection
+                    ? rejection.getReason().name()
+                    : Reason.NOT_WRITTEN.name();
+            rejected.add(new RejectedPrediction(i, pick.playerId(), pick.gameId(), reason, failure.getMessage()));
+        }
+        return new PredictionSubmissionResponse(accepted, rejected);
+    }
+
+    private static String closedMessage(Reason reason, PredictionRequest pick) {
+        return reason == Reason.UNKNOWN_GAME
+                ? "No game with ID " + pick.gameId()
+                : "Predictions for game " + pick.gameId() + " are closed";
+    }
+}
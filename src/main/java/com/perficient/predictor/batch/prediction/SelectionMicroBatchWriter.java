@@ -0,0 +1,327 @@
+package com.perficient.predictor.batch.prediction;
+
+import com.perficient.predictor.batch.dto.PredictionRequest;
+import com.perficient.predictor.batch.exception.PredictionRejectedException;
+import com.perficient.predictor.batch.exception.PredictionRejectedException.Reason;
+import com.perficient.predictor.batch.logging.RateLimitedLogger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes submitted predictions to SELECTION in micro-batches instead of one transaction per pick.
+ *
+ * Request threads put picks on a bounded queue and get a future back. A single flusher thread collects
+ * picks until it has flush-rows of them or flush-interval-ms have passed since the first one, then
+ * upserts them all in one transaction: multi-row MERGE ... KEY (PLAYER_ID, GAME_ID) statements of up to
+ * {@value #ROWS_PER_STATEMENT} rows each. The futures complete once that transaction has committed. Within
+ * one flush the last pick for a player and game wins.
+ *
+ * Picks of unknown players (see {@link KnownPlayers}) or games (see {@link KickoffLock}) are failed before
+ * the batch is written, since one of them would make the database refuse every row. If it refuses the
+ * batch all the same, the batch is split in halves and each half is written in its own transaction, down
+ * to single rows, so only the offending picks fail: one bad row costs about 2 * log2(rows) transactions
+ * instead of one per row. Transient errors (a lock timeout, a lost connection) are retried on the same
+ * rows a few times instead of splitting. Refused picks are logged at WARN, rate-limited.
+ *
+ * A full queue turns picks away as OVERLOADED instead of queueing without limit. On shutdown the
+ * writer stops taking picks and flushes what is queued.
+ */
+@Component
+public class SelectionMicroBatchWriter implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(SelectionMicroBatchWriter.class);
+    private static final RateLimitedLogger warnings = new RateLimitedLogger(log, 10, 1, TimeUnit.MINUTES);
+
+    private static final int ROWS_PER_STATEMENT = 500;
+    private static final String MERGE_PREFIX = """
+            MERGE INTO SELECTION (PLAYER_ID, GAME_ID, PREDICTED_HOME_SCORE, PREDICTED_AWAY_SCORE, UPDATED_AT, UPDATED_BY)
+            KEY (PLAYER_ID, GAME_ID)
+            VALUES """;
+    private static final String MERGE_ROW = "(?, ?, ?, ?, CURRENT_TIMESTAMP, 'prediction-api')";
+    private static final int TRANSIENT_ATTEMPTS = 3;
+    private static final long TRANSIENT_BACKOFF_MILLIS = 50;
+    private static final long IDLE_POLL_MILLIS = 100;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10_000;
+    // Below the web server's phases: started before it takes requests, stopped after it has drained them
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate flushTransaction;
+    private final KickoffLock kickoffLock;
+    private final KnownPlayers knownPlayers;
+    private final BlockingQueue<PendingPick> queue;
+    private final int flushRows;
+    private final long flushIntervalNanos;
+    private final String fullStatementSql = mergeSql(ROWS_PER_STATEMENT);
+
+    private final LongAdder writtenRows = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public SelectionMicroBatchWriter(JdbcTemplate jdbcTemplate,
+                                     PlatformTransactionManager transactionManager,
+                                     KickoffLock kickoffLock,
+                                     @Value("${predictor.prediction.queue-capacity:100000}") int queueCapacity,
+                                     @Value("${predictor.prediction.flush-rows:2000}") int flushRows,
+                                     @Value("${predictor.prediction.flush-interval-ms:20}") long flushIntervalMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.flushTransaction = new TransactionTemplate(transactionManager);
+        this.kickoffLock = kickoffLock;
+        this.knownPlayers = new KnownPlayers(jdbcTemplate);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.flushRows = Math.max(1, flushRows);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+    }
+
+    /**
+     * Queues a pick for the next flush.
+     * @return Completes when the pick is committed, or exceptionally with a {@link PredictionRejectedException}.
+     */
+    public CompletableFuture<Void> submit(PredictionRequest pick) {
+        PendingPick pending = new PendingPick(pick, new CompletableFuture<>());
+        if (!running || !queue.offer(pending)) {
+            pending.done().completeExceptionally(new PredictionRejectedException(Reason.OVERLOADED,
+                    running ? "Too many predictions queued; try again shortly." : "Not accepting predictions."));
+        }
+        return pending.done();
+    }
+
+    /** Picks waiting for a flush. */
+    public int queued() {
+        return queue.size();
+    }
+
+    /** Picks committed so far. */
+    public long writtenRows() {
+        return writtenRows.sum();
+    }
+
+    /** Flush transactions so far. */
+    public long flushes() {
+        return flushes.sum();
+    }
+
+    @Override
+    public synchronized void start() {
+        running = true;
+        flusher = new Thread(this::flushLoop, "selection-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        try {
+            flusher.join(SHUTDOWN_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.warn("{} predictions were still queued at shutdown and were not written.", queue.size());
+        }
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void flushLoop() {
+        List<PendingPick> batch = new ArrayList<>(flushRows);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingPick first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < flushRows) {
+                    queue.drainTo(batch, flushRows - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= flushRows || remaining <= 0) {
+                        break;
+                    }
+                    PendingPick next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Never let the flusher die; the picks of this batch have been failed by flush()
+                log.error("Flushing {} predictions failed.", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingPick> batch) {
+        // Last pick per player and game wins; every submitter of that key learns the outcome
+        Map<SelectionKey, List<PendingPick>> byKey = new LinkedHashMap<>();
+        for (PendingPick pending : batch) {
+            byKey.computeIfAbsent(new SelectionKey(pending.pick().playerId(), pending.pick().gameId()),
+                    key -> new ArrayList<>(1)).add(pending);
+        }
+
+        try {
+            write(knownRows(byKey));
+        } catch (RuntimeException e) {
+            // Picks already settled keep their outcome
+            PredictionRejectedException failure = new PredictionRejectedException(Reason.NOT_WRITTEN, e.getMessage(), e);
+            batch.forEach(pending -> pending.done().completeExceptionally(failure));
+            throw e;
+        }
+    }
+
+    /**
+     * Fails the picks of unknown players and games; the others become one row per player and game.
+     */
+    private List<Row> knownRows(Map<SelectionKey, List<PendingPick>> byKey) {
+        Set<Long> unknownPlayers = knownPlayers.unknown(byKey.keySet().stream().map(SelectionKey::playerId).toList());
+        List<Row> rows = new ArrayList<>(byKey.size());
+        for (Map.Entry<SelectionKey, List<PendingPick>> entry : byKey.entrySet()) {
+            SelectionKey key = entry.getKey();
+            List<PendingPick> submitted = entry.getValue();
+            if (unknownPlayers.contains(key.playerId())) {
+                reject(submitted, new PredictionRejectedException(Reason.UNKNOWN_PLAYER, "No player with ID " + key.playerId()));
+            } else if (!kickoffLock.isKnownGame(key.gameId())) {
+                reject(submitted, new PredictionRejectedException(Reason.UNKNOWN_GAME, "No game with ID " + key.gameId()));
+            } else {
+                rows.add(new Row(submitted.get(submitted.size() - 1).pick(), submitted));
+            }
+        }
+        if (rows.size() < byKey.size()) {
+            warnings.warn("unknown-reference", "{} of {} predictions were for unknown players or games.",
+                    byKey.size() - rows.size(), byKey.size());
+        }
+        return rows;
+    }
+
+    /**
+     * Writes the rows in one transaction. If the database refuses them, each half is written on its own;
+     * a single row it refuses fails its submitters. Transient errors are retried on the same rows.
+     */
+    private void write(List<Row> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                flushTransaction.executeWithoutResult(status -> {
+                    for (int from = 0; from < rows.size(); from += ROWS_PER_STATEMENT) {
+                        List<Row> statementRows = rows.subList(from, Math.min(rows.size(), from + ROWS_PER_STATEMENT));
+                        String sql = statementRows.size() == ROWS_PER_STATEMENT ? fullStatementSql : mergeSql(statementRows.size());
+                        jdbcTemplate.update(sql, ps -> bind(ps, statementRows));
+                    }
+                });
+                writtenRows.add(rows.size());
+                flushes.increment();
+                rows.forEach(row -> row.submitted().forEach(pending -> pending.done().complete(null)));
+                return;
+            } catch (TransientDataAccessException | RecoverableDataAccessException e) {
+                if (attempt < TRANSIENT_ATTEMPTS) {
+                    log.debug("Writing {} predictions failed ({}); attempt {} of {}.", rows.size(),
+                            e.getMostSpecificCause().getMessage(), attempt, TRANSIENT_ATTEMPTS);
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(TRANSIENT_BACKOFF_MILLIS * attempt));
+                    continue;
+                }
+                warnings.warn(e.getClass().getSimpleName(), "Writing {} predictions failed after {} attempts: {}",
+                        rows.size(), attempt, e.getMostSpecificCause().getMessage());
+                PredictionRejectedException failure = new PredictionRejectedException(Reason.NOT_WRITTEN,
+                        "Predictions could not be written; try again shortly.", e);
+                rows.forEach(row -> reject(row.submitted(), failure));
+                return;
+            } catch (DataAccessException e) {
+                if (rows.size() > 1) {
+                    log.debug("Batch of {} predictions refused ({}); splitting it.", rows.size(),
+                            e.getMostSpecificCause().getMessage());
+                    int half = rows.size() / 2;
+                    write(rows.subList(0, half));
+                    write(rows.subList(half, rows.size()));
+                    return;
+                }
+                PredictionRequest pick = rows.get(0).pick();
+                warnings.warn(e.getClass().getSimpleName(), "Prediction of player {} for game {} refused: {}",
+                        pick.playerId(), pick.gameId(), e.getMostSpecificCause().getMessage());
+                reject(rows.get(0).submitted(), new PredictionRejectedException(Reason.NOT_WRITTEN,
+                        "Prediction of player " + pick.playerId() + " for game " + pick.gameId()
+                                + " was refused by the database", e));
+                return;
+            }
+        }
+    }
+
+    private static void reject(List<PendingPick> submitted, PredictionRejectedException failure) {
+        submitted.forEach(pending -> pending.done().completeExceptionally(failure));
+    }
+
+    private static void bind(PreparedStatement ps, List<Row> rows) throws SQLException {
+        int index = 1;
+        for (Row row : rows) {
+            PredictionRequest pick = row.pick();
+            ps.setLong(index++, pick.playerId());
+            ps.setLong(index++, pick.gameId());
+            ps.setInt(index++, pick.predictedHomeScore());
+            ps.setInt(index++, pick.predictedAwayScore());
+        }
+    }
+
+    private static String mergeSql(int rows) {
+        StringBuilder sql = new StringBuilder(MERGE_PREFIX.length() + rows * (MERGE_ROW.length() + 2));
+        sql.append(MERGE_PREFIX);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(MERGE_ROW);
+        }
+        return sql.toString();
+    }
+
+    private record PendingPick(PredictionRequest pick, CompletableFuture<Void> done) {
+    }
+
+    private record SelectionKey(long playerId, long gameId) {
+    }
+
+    /** The pick written for one player and game, and everyone who submitted one for it in this flush. */
+    private record Row(PredictionRequest pick, List<PendingPick> submitted) {
+    }
+}
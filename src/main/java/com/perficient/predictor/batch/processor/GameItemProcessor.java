@@ -0,0 +1,199 @@
+package com.perficient.predictor.batch.processor;
+
+import com.perficient.predictor.batch.dto.GameDBOutput;
+import com.perficient.predictor.batch.dto.GameInput;
+import com.perficient.predictor.batch.exception.ValidationException;
+import com.perficient.predictor.batch.logging.RejectedItemLog;
+import com.perficient.predictor.batch.service.lookup.GameLoadDictionary;
+import com.perficient.predictor.batch.service.lookup.GameLoadDictionary.GameKey;
+import com.perficient.predictor.batch.service.lookup.GameLoadDictionary.GameState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.lang.NonNull;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Validates a fixture or result and resolves its competition and team names against the step's
+ * {@link GameLoadDictionary}, without a database read per row.
+ *
+ * Rows that would not change their game are filtered out, so a feed that repeats the whole fixture
+ * list every minute only writes the games that moved. A game whose points have already been awarded
+ * cannot be changed any more; such rows are rejected. Games reaching FINISHED in this step are counted:
+ * those are the games the next scoring run picks up.
+ *
+ * Counts for the step are stored in the step ExecutionContext. Must be step-scoped and registered as a
+ * listener on the step.
+ */
+public class GameItemProcessor implements ItemProcessor<GameInput, GameDBOutput>, StepExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(GameItemProcessor.class);
+
+    private static final String SYSTEM_USER = "GAME_LOAD_JOB";
+    private static final String FINISHED = "FINISHED";
+    private static final Set<String> STATUSES = Set.of("SCHEDULED", "IN_PLAY", FINISHED, "POSTPONED", "CANCELLED");
+
+    public static final String INVALID_SEASON = "INVALID_SEASON";
+    public static final String INVALID_GAME_WEEK = "INVALID_GAME_WEEK";
+    public static final String INVALID_GAME_DATE = "INVALID_GAME_DATE";
+    public static final String INVALID_SCORE = "INVALID_SCORE";
+    public static final String INVALID_STATUS = "INVALID_STATUS";
+    public static final String MISSING_RESULT = "MISSING_RESULT";
+    public static final String UNKNOWN_COMPETITION = "UNKNOWN_COMPETITION";
+    public static final String UNKNOWN_TEAM = "UNKNOWN_TEAM";
+    public static final String SAME_TEAM = "SAME_TEAM";
+    public static final String ALREADY_SCORED = "ALREADY_SCORED";
+
+    public static final String NEW_COUNT_KEY = "game.new.count";
+    public static final String CHANGED_COUNT_KEY = "game.changed.count";
+    public static final String UNCHANGED_COUNT_KEY = "game.unchanged.count";
+    public static final String FINISHED_COUNT_KEY = "game.finished.count";
+
+    private final GameLoadDictionary dictionary;
+    private final RejectedItemLog rejectedItemLog;
+
+    // Games already passed on in this step, so a later row for the same game compares against that one
+    private final Map<GameKey, GameState> processed = new HashMap<>();
+
+    private long newCount;
+    private long changedCount;
+    private long unchangedCount;
+    private long finishedCount;
+
+    public GameItemProcessor(GameLoadDictionary dictionary, RejectedItemLog rejectedItemLog) {
+        this.dictionary = dictionary;
+        this.rejectedItemLog = rejectedItemLog;
+    }
+
+    @Override
+    public GameDBOutput process(@NonNull GameInput game) {
+
+        // 1. Validation: Check for null or empty strings on the fixture key
+        if (!StringUtils.hasText(game.competition()) || !StringUtils.hasText(game.homeTeam())
+                || !StringUtils.hasText(game.awayTeam())) {
+            throw new ValidationException("Mandatory field missing: competition, home team or away team is null or empty.");
+        }
+        if (!StringUtils.hasText(game.status())) {
+            throw new ValidationException("Mandatory field missing: Status is null or empty for game ["
+                    + game.homeTeam() + " - " + game.awayTeam() + "].");
+        }
+
+        // 2. Conversion
+        Integer season = parseInt(game.season());
+        if (season == null) {
+            return reject(game, INVALID_SEASON, "Invalid 'season' for game [{} - {}]: '{}'", game.season());
+        }
+        Integer gameWeek = parseInt(game.gameWeek());
+        if (gameWeek == null) {
+            return reject(game, INVALID_GAME_WEEK, "Invalid 'gameWeek' for game [{} - {}]: '{}'", game.gameWeek());
+        }
+        LocalDate gameDate;
+        try {
+            gameDate = LocalDate.parse(Objects.requireNonNullElse(game.gameDate(), "").trim());
+        } catch (DateTimeParseException e) {
+            return reject(game, INVALID_GAME_DATE, "Invalid 'gameDate' for game [{} - {}]: '{}'", game.gameDate());
+        }
+        Integer homeScore = StringUtils.hasText(game.homeScore()) ? parseInt(game.homeScore()) : null;
+        Integer awayScore = StringUtils.hasText(game.awayScore()) ? parseInt(game.awayScore()) : null;
+        if ((StringUtils.hasText(game.homeScore()) && (homeScore == null || homeScore < 0))
+                || (StringUtils.hasText(game.awayScore()) && (awayScore == null || awayScore < 0))) {
+            return reject(game, INVALID_SCORE, "Invalid score for game [{} - {}]: '{}'",
+                    game.homeScore() + "-" + game.awayScore());
+        }
+        String status = game.status().trim().toUpperCase(Locale.ROOT);
+        if (!STATUSES.contains(status)) {
+            return reject(game, INVALID_STATUS, "Invalid 'status' for game [{} - {}]: '{}'", game.status());
+        }
+        if (FINISHED.equals(status) && (homeScore == null || awayScore == null)) {
+            return reject(game, MISSING_RESULT, "Finished game [{} - {}] has no result: '{}'",
+                    game.homeScore() + "-" + game.awayScore());
+        }
+
+        // 3. Lookup: Resolve names to IDs
+        Long competitionId = dictionary.competitionId(game.competition());
+        if (competitionId == null) {
+            return reject(game, UNKNOWN_COMPETITION, "No competition for game [{} - {}]: '{}'", game.competition());
+        }
+        Long homeTeamId = dictionary.teamId(game.homeTeam());
+        Long awayTeamId = dictionary.teamId(game.awayTeam());
+        if (homeTeamId == null || awayTeamId == null) {
+            return reject(game, UNKNOWN_TEAM, "No team for game [{} - {}]: '{}'",
+                    homeTeamId == null ? game.homeTeam() : game.awayTeam());
+        }
+        if (homeTeamId.equals(awayTeamId)) {
+            return reject(game, SAME_TEAM, "Game [{} - {}] has the same home and away team: '{}'", game.homeTeam());
+        }
+
+        // 4. Change detection against the state at step start, or the last row for this game
+        GameKey key = new GameKey(competitionId, season, gameWeek, homeTeamId, awayTeamId);
+        GameState current = processed.containsKey(key) ? processed.get(key) : dictionary.game(key);
+        GameState next = new GameState(gameDate, status, homeScore, awayScore, current != null && current.scored());
+        if (next.equals(current)) {
+            unchangedCount++;
+            return null;
+        }
+        if (current != null && current.scored()) {
+            return reject(game, ALREADY_SCORED, "Game [{} - {}] has already been scored and cannot change: '{}'",
+                    current.homeScore() + "-" + current.awayScore());
+        }
+        if (current == null) {
+            newCount++;
+        } else {
+            changedCount++;
+        }
+        if (FINISHED.equals(status) && (current == null || !FINISHED.equals(current.status()))) {
+            finishedCount++;
+        }
+        processed.put(key, next);
+
+        return new GameDBOutput(competitionId, season, gameWeek, gameDate, homeTeamId, awayTeamId,
+                homeScore, awayScore, status, SYSTEM_USER);
+    }
+
+    @Override
+    public ExitStatus afterStep(@NonNull StepExecution stepExecution) {
+        ExecutionContext context = stepExecution.getExecutionContext();
+        context.putLong(NEW_COUNT_KEY, newCount);
+        context.putLong(CHANGED_COUNT_KEY, changedCount);
+        context.putLong(UNCHANGED_COUNT_KEY, unchangedCount);
+        context.putLong(FINISHED_COUNT_KEY, finishedCount);
+        log.info("Step {}: {} new games, {} changed, {} unchanged; {} finished and awaiting scoring.",
+                stepExecution.getStepName(), newCount, changedCount, unchangedCount, finishedCount);
+        return null;
+    }
+
+    /**
+     * The record's fields in CSV column order, as written to the reject file.
+     */
+    public static List<String> fields(GameInput game) {
+        return Arrays.asList(game.competition(), game.season(), game.gameWeek(), game.gameDate(),
+                game.homeTeam(), game.awayTeam(), game.homeScore(), game.awayScore(), game.status());
+    }
+
+    private GameDBOutput reject(GameInput game, String reasonCode, String format, Object value) {
+        rejectedItemLog.reject(fields(game), reasonCode, format, game.homeTeam(), game.awayTeam(), value);
+        return null;
+    }
+
+    private static Integer parseInt(String value) {
+        try {
+            return value == null ? null : Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
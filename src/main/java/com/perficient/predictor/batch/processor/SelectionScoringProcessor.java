@@ -0,0 +1,54 @@
+package com.perficient.predictor.batch.processor;
+
+import com.perficient.predictor.batch.dto.GameResult;
+import com.perficient.predictor.batch.dto.SelectionDBInput;
+import com.perficient.predictor.batch.dto.SelectionScoreDBOutput;
+import com.perficient.predictor.batch.service.lookup.PendingGameResults;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.lang.NonNull;
+
+/**
+ * Scores a prediction against the final result: the exact score earns the most points,
+ * the right outcome (home win, draw or away win) with a wrong score earns fewer, anything else none.
+ * Results come from the step's PendingGameResults snapshot, which also drives the reader,
+ * so every selection read has its game in it.
+ */
+public class SelectionScoringProcessor implements ItemProcessor<SelectionDBInput, SelectionScoreDBOutput> {
+
+    private final PendingGameResults gameResults;
+    private final int exactScorePoints;
+    private final int correctResultPoints;
+
+    public SelectionScoringProcessor(PendingGameResults gameResults, int exactScorePoints, int correctResultPoints) {
+        this.gameResults = gameResults;
+        this.exactScorePoints = exactScorePoints;
+        this.correctResultPoints = correctResultPoints;
+    }
+
+    @Override
+    public SelectionScoreDBOutput process(@NonNull SelectionDBInput selection) {
+        GameResult game = gameResults.get(selection.gameId());
+        if (game == null) {
+            throw new IllegalStateException("Game " + selection.gameId() + " of selection "
+                    + selection.selectionId() + " is not in the pending game snapshot");
+        }
+        return new SelectionScoreDBOutput(
+                selection.selectionId(),
+                selection.playerId(),
+                game.competitionId(),
+                game.seasonStartYear(),
+                game.gameWeek(),
+                points(selection.predictedHomeScore(), selection.predictedAwayScore(),
+                        game.homeScore(), game.awayScore()));
+    }
+
+    int points(int predictedHome, int predictedAway, int home, int away) {
+        if (predictedHome == home && predictedAway == away) {
+            return exactScorePoints;
+        }
+        if (Integer.signum(predictedHome - predictedAway) == Integer.signum(home - away)) {
+            return correctResultPoints;
+        }
+        return 0;
+    }
+}
@@ -3,26 +3,40 @@ package com.perficient.predictor.batch.processor;
 import com.perficient.predictor.batch.dto.TeamCsvInput;
 import com.perficient.predictor.batch.dto.TeamDBOutput;
 import com.perficient.predictor.batch.exception.ValidationException;
+import com.perficient.predictor.batch.logging.RejectedItemLog;
 import com.perficient.predictor.batch.service.lookup.CountryIdLookupService;
 import org.springframework.batch.item.ItemProcessor;
-import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.lang.NonNull;
 
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * Validates and prepares the TeamInput DTO before writing to the TEAM table.
  * Returns null to filter (skip) records with missing core fields or invalid data formats.
+ * Created per step by TeamLoadConfig; country codes are resolved against the in-memory index.
+ * Filtered records are reported to the step's {@link RejectedItemLog}, not printed one line per row.
  */
-@Component
 public class TeamItemProcessor implements ItemProcessor<TeamCsvInput, TeamDBOutput> {
 
     private static final String SYSTEM_USER = "TEAM_LOAD_JOB";
 
+    public static final String INVALID_ESTABLISHED_YEAR = "INVALID_ESTABLISHED_YEAR";
+    public static final String INVALID_STADIUM_CAPACITY = "INVALID_STADIUM_CAPACITY";
+    public static final String UNKNOWN_COUNTRY = "UNKNOWN_COUNTRY";
+
     // Inject the service responsible for looking up the country ID
     private final CountryIdLookupService countryIdLookupService;
+    private final RejectedItemLog rejectedItemLog;
 
     public TeamItemProcessor(CountryIdLookupService countryIdLookupService) {
+        this(countryIdLookupService, new RejectedItemLog("teamLoadStep"));
+    }
+
+    public TeamItemProcessor(CountryIdLookupService countryIdLookupService, RejectedItemLog rejectedItemLog) {
         this.countryIdLookupService = countryIdLookupService;
+        this.rejectedItemLog = rejectedItemLog;
     }
 
 
@@ -49,22 +63,25 @@ public class TeamItemProcessor implements ItemProcessor<TeamCsvInput, TeamDBOutp
         try {
             establishedYear = Integer.parseInt(teamInput.establishedYear());
         } catch (NumberFormatException e) {
-            System.err.println("Skipping record: Invalid 'establishedYear' format for team [" + teamInput.name() + "]. Value was: " + teamInput.establishedYear());
+            rejectedItemLog.reject(fields(teamInput), INVALID_ESTABLISHED_YEAR, "Invalid 'establishedYear' for team [{}]: '{}'",
+                    teamInput.name(), teamInput.establishedYear());
             return null;
         }
 
         try {
             stadiumCapacity = Integer.parseInt(teamInput.stadiumCapacity());
         } catch (NumberFormatException e) {
-            System.err.println("Skipping record: Invalid 'stadiumCapacity' format for team [" + teamInput.name() + "]. Value was: " + teamInput.stadiumCapacity());
+            rejectedItemLog.reject(fields(teamInput), INVALID_STADIUM_CAPACITY, "Invalid 'stadiumCapacity' for team [{}]: '{}'",
+                    teamInput.name(), teamInput.stadiumCapacity());
             return null;
         }
         // 2. Lookup: Resolve Country Code to Country ID
         Long countryId = countryIdLookupService.findIdByCode(teamInput.countryCode());
 
         if (countryId == null) {
-            // Log and skip the record if the country code could not be mapped to an existing ID
-            System.err.println("Skipping record: Failed to lookup Country ID for code '" + teamInput.countryCode() + "' for team [" + teamInput.name() + "].");
+            // Record and skip the row if the country code could not be mapped to an existing ID
+            rejectedItemLog.reject(fields(teamInput), UNKNOWN_COUNTRY, "No Country ID for code '{}' for team [{}]",
+                    teamInput.countryCode(), teamInput.name());
             return null;
         }
 
@@ -80,4 +97,13 @@ public class TeamItemProcessor implements ItemProcessor<TeamCsvInput, TeamDBOutp
                 SYSTEM_USER // Set updatedBy to indicate the batch job
         );
     }
+
+    /**
+     * The record's fields in CSV column order, as written to the reject file.
+     */
+    public static List<String> fields(TeamCsvInput teamInput) {
+        return Arrays.asList(teamInput.name(), teamInput.teamType(), teamInput.stadiumName(),
+                teamInput.establishedYear(), teamInput.nickname(), teamInput.stadiumCapacity(),
+                teamInput.countryCode());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.perficient.predictor.batch.reader;
+
+import org.springframework.core.io.AbstractResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A Spring Resource exposing the decompressed content of a compressed file.
+ * Every call to {@link #getInputStream()} decompresses from the start again, which is how a restarted
+ * FlatFileItemReader gets back to its last committed line.
+ */
+public class CompressedFileResource extends AbstractResource {
+
+    private final Path file;
+    private final Compression compression;
+
+    public CompressedFileResource(Path file, Compression compression) {
+        this.file = file;
+        this.compression = compression;
+    }
+
+    @Override
+    public boolean exists() {
+        return Files.isRegularFile(file);
+    }
+
+    @Override
+    public String getFilename() {
+        return file.getFileName().toString();
+    }
+
+    @Override
+    public String getDescription() {
+        return compression + " compressed file " + file;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return compression.open(file);
+    }
+}
@@ -0,0 +1,114 @@
+package com.perficient.predictor.batch.reader;
+
+import io.airlift.compress.zstd.ZstdInputStream;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Compression formats the load jobs accept their input in, recognised by the first bytes of the
+ * data and, failing that, by the file extension. Decompression is streaming, so a compressed file
+ * is read front to back once: it cannot be split into byte ranges or memory-mapped.
+ */
+public enum Compression {
+
+    NONE,
+    GZIP,
+    ZSTD;
+
+    // Compressed bytes read from the source per call, and decompressed bytes buffered for the reader
+    public static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+
+    private static final int MAGIC_LENGTH = 4;
+
+    /**
+     * The compression of a file, from its magic bytes, or from its extension when those are not
+     * recognised (e.g. the file does not exist yet).
+     */
+    public static Compression of(Path file) {
+        if (Files.isRegularFile(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                byte[] magic = in.readNBytes(MAGIC_LENGTH);
+                Compression sniffed = sniff(magic, magic.length);
+                if (sniffed != NONE) {
+                    return sniffed;
+                }
+            } catch (IOException e) {
+                // Unreadable here means unreadable for the reader too; let it report the failure
+            }
+        }
+        return ofExtension(file.getFileName().toString());
+    }
+
+    /**
+     * The file name without its compression extension, if it has one.
+     */
+    public static String uncompressedName(String fileName) {
+        return ofExtension(fileName) == NONE ? fileName : fileName.substring(0, fileName.lastIndexOf('.'));
+    }
+
+    private static Compression ofExtension(String fileName) {
+        String name = fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".gz") || name.endsWith(".gzip")) {
+            return GZIP;
+        }
+        if (name.endsWith(".zst") || name.endsWith(".zstd")) {
+            return ZSTD;
+        }
+        return NONE;
+    }
+
+    /**
+     * Wraps a stream of unknown compression, e.g. an upload, in the matching decompressor.
+     */
+    public static InputStream decompressing(InputStream in) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in, DEFAULT_BUFFER_SIZE);
+        buffered.mark(MAGIC_LENGTH);
+        byte[] magic = buffered.readNBytes(MAGIC_LENGTH);
+        buffered.reset();
+        return sniff(magic, magic.length).decompress(buffered);
+    }
+
+    /**
+     * Opens a file of this compression for reading its decompressed content.
+     */
+    public InputStream open(Path file) throws IOException {
+        InputStream in = Files.newInputStream(file);
+        try {
+            return decompress(this == NONE ? new BufferedInputStream(in, DEFAULT_BUFFER_SIZE) : in);
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Wraps a stream of this compression in its decompressor.
+     */
+    public InputStream decompress(InputStream in) throws IOException {
+        return switch (this) {
+            case NONE -> in;
+            // The inflater pulls the compressed bytes in large reads
+            case GZIP -> new BufferedInputStream(new GZIPInputStream(in, DEFAULT_BUFFER_SIZE), DEFAULT_BUFFER_SIZE);
+            case ZSTD -> new BufferedInputStream(
+                    new ZstdInputStream(new BufferedInputStream(in, DEFAULT_BUFFER_SIZE)), DEFAULT_BUFFER_SIZE);
+        };
+    }
+
+    private static Compression sniff(byte[] magic, int length) {
+        if (length >= 2 && (magic[0] & 0xFF) == 0x1F && (magic[1] & 0xFF) == 0x8B) {
+            return GZIP;
+        }
+        // Zstandard frame magic number 0xFD2FB528, little-endian
+        if (length >= 4 && (magic[0] & 0xFF) == 0x28 && (magic[1] & 0xFF) == 0xB5
+                && (magic[2] & 0xFF) == 0x2F && (magic[3] & 0xFF) == 0xFD) {
+            return ZSTD;
+        }
+        return NONE;
+    }
+}
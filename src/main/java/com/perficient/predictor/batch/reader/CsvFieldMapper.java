@@ -0,0 +1,11 @@
+package com.perficient.predictor.batch.reader;
+
+/**
+ * Handwritten mapping from the fields of one CSV record to the target item.
+ * Replaces the reflection-based binding done by FlatFileItemReaderBuilder#targetType.
+ */
+@FunctionalInterface
+public interface CsvFieldMapper<T> {
+
+    T map(CsvFields fields);
+}
@@ -0,0 +1,88 @@
+package com.perficient.predictor.batch.reader;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * View over the fields of the current CSV record, backed directly by the mapped file buffer.
+ * Only field offsets are tracked while scanning; a field is decoded into a String when
+ * {@link #get(int)} is called. The instance is reused for every record, so mappers must not keep it.
+ */
+public final class CsvFields {
+
+    private static final byte QUOTE = '"';
+
+    private ByteBuffer buffer;
+    private int[] starts;
+    private int[] ends;
+    private boolean[] quoted;
+    private int count;
+    private byte[] scratch = new byte[256];
+
+    CsvFields(int expectedFields) {
+        int capacity = Math.max(1, expectedFields);
+        this.starts = new int[capacity];
+        this.ends = new int[capacity];
+        this.quoted = new boolean[capacity];
+    }
+
+    void reset(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.count = 0;
+    }
+
+    void add(int start, int end, boolean isQuoted) {
+        if (count == starts.length) {
+            int capacity = count * 2;
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            quoted = Arrays.copyOf(quoted, capacity);
+        }
+        starts[count] = start;
+        ends[count] = end;
+        quoted[count] = isQuoted;
+        count++;
+    }
+
+    /**
+     * @return Number of fields in the current record.
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Decodes field {@code index} (UTF-8). Quoted fields are returned without the surrounding
+     * quotes and with doubled quotes collapsed, like DelimitedLineTokenizer does.
+     */
+    public String get(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Field " + index + " out of " + count);
+        }
+        int start = starts[index];
+        int length = ends[index] - start;
+        if (length == 0) {
+            return "";
+        }
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        buffer.get(start, scratch, 0, length);
+        if (quoted[index]) {
+            length = unescapeQuotes(scratch, length);
+        }
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private static int unescapeQuotes(byte[] bytes, int length) {
+        int write = 0;
+        for (int read = 0; read < length; read++) {
+            bytes[write++] = bytes[read];
+            if (bytes[read] == QUOTE && read + 1 < length && bytes[read + 1] == QUOTE) {
+                read++;
+            }
+        }
+        return write;
+    }
+}
@@ -0,0 +1,47 @@
+package com.perficient.predictor.batch.reader;
+
+import org.springframework.batch.item.database.Order;
+import org.springframework.batch.item.database.support.H2PagingQueryProvider;
+import org.springframework.batch.item.database.support.SqlPagingQueryUtils;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * H2 paging query provider for composite ascending sort keys that continues each page with a
+ * row value comparison, {@code (A, B) > (:_A, :_B)}, instead of the default
+ * {@code (A > ?) OR (A = ? AND B > ?)}. H2 turns the row value comparison into an index range
+ * start, so every page seeks straight to the last key read; with the OR form it scans the
+ * index from the first key of the range on every page.
+ *
+ * Requires named parameters (a where clause with at least one parameter): JdbcPagingItemReader
+ * then binds the last sort key values as {@code _<key>}.
+ */
+public class H2KeysetPagingQueryProvider extends H2PagingQueryProvider {
+
+    @Override
+    public void init(DataSource dataSource) throws Exception {
+        super.init(dataSource);
+        if (!isUsingNamedParameters()) {
+            throw new IllegalStateException("Keyset paging needs a where clause with named parameters");
+        }
+        if (getSortKeys().values().stream().anyMatch(order -> order != Order.ASCENDING)) {
+            throw new IllegalStateException("Keyset paging only supports ascending sort keys");
+        }
+    }
+
+    @Override
+    public String generateRemainingPagesQuery(int pageSize) {
+        Map<String, Order> sortKeys = getSortKeys();
+        String columns = String.join(", ", sortKeys.keySet());
+        String lastValues = getSortKeysWithoutAliases().keySet().stream()
+                .map(this::getSortKeyPlaceHolder)
+                .collect(Collectors.joining(", "));
+
+        return "SELECT " + getSelectClause() + " FROM " + getFromClause()
+                + " WHERE (" + getWhereClause() + ") AND (" + columns + ") > (" + lastValues + ")"
+                + " ORDER BY " + SqlPagingQueryUtils.buildSortClause(this)
+                + " FETCH NEXT " + pageSize + " ROWS ONLY";
+    }
+}
@@ -0,0 +1,128 @@
+package com.perficient.predictor.batch.reader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Resolves the inputFilePath of a load job, which names either one file or a set of files: a directory
+ * (every file directly in it) or a glob such as '/data/teams/*.csv', where '**' also crosses directories.
+ * Reject files (see {@link #REJECT_FILE_SUFFIX}) and their partition parts are never taken as input, so a
+ * rerun over the same directory does not load the rejects of the previous run.
+ */
+public final class InputFiles {
+
+    // Reject files are named '<input>.error.csv'
+    public static final String REJECT_FILE_SUFFIX = ".error.csv";
+
+    private static final String FILE_PREFIX = "file:";
+    private static final String GLOB_CHARACTERS = "*?[{";
+    private static final String CSV_EXTENSION = ".csv";
+
+    private InputFiles() {
+    }
+
+    /**
+     * The inputFilePath as a local path, without the optional 'file:' prefix.
+     */
+    public static Path toPath(String inputFilePath) {
+        return Path.of(inputFilePath.startsWith(FILE_PREFIX) ? inputFilePath.substring(FILE_PREFIX.length()) : inputFilePath);
+    }
+
+    /**
+     * Whether the inputFilePath names a set of files rather than a single file.
+     */
+    public static boolean isMultiFile(String inputFilePath) {
+        return isGlob(inputFilePath) || Files.isDirectory(toPath(inputFilePath));
+    }
+
+    /**
+     * The directory the files of a multi-file inputFilePath are searched in: the directory itself,
+     * or the part of a glob before its first wildcard.
+     */
+    public static Path baseDirectory(String inputFilePath) {
+        Path path = toPath(inputFilePath);
+        if (!isGlob(inputFilePath)) {
+            return path;
+        }
+        Path base = path.getRoot();
+        for (Path element : path) {
+            if (isGlob(element.toString())) {
+                break;
+            }
+            base = base == null ? element : base.resolve(element);
+        }
+        return base != null ? base : Path.of("");
+    }
+
+    /**
+     * The files a multi-file inputFilePath matches, sorted by path.
+     * @throws IllegalArgumentException If nothing matches.
+     */
+    public static List<Path> expand(String inputFilePath) {
+        Path base = baseDirectory(inputFilePath);
+        boolean glob = isGlob(inputFilePath);
+        PathMatcher matcher = glob
+                ? FileSystems.getDefault().getPathMatcher("glob:" + toPath(inputFilePath))
+                : file -> true;
+        // Without '**' a glob matches at a fixed depth below its base directory
+        int maxDepth = !glob ? 1
+                : inputFilePath.contains("**") ? Integer.MAX_VALUE
+                : base.relativize(toPath(inputFilePath)).getNameCount();
+
+        List<Path> files;
+        try (Stream<Path> found = Files.walk(base, maxDepth)) {
+            files = found.filter(Files::isRegularFile)
+                    .filter(matcher::matches)
+                    .filter(file -> !file.getFileName().toString().contains(REJECT_FILE_SUFFIX))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list input files: " + inputFilePath, e);
+        }
+        if (files.isEmpty()) {
+            throw new IllegalArgumentException("No input files match " + inputFilePath);
+        }
+        return files;
+    }
+
+    /**
+     * The reject file of a load: 'teams.csv' and 'teams.csv.gz' both reject to 'teams.error.csv', which is
+     * always written uncompressed and never named like an input. A set of files rejects to one file in
+     * their base directory, named after the glob without its wildcards ('league-*.csv' to 'league-.error.csv')
+     * or else after the directory.
+     */
+    public static String rejectFile(String inputFilePath) {
+        if (isMultiFile(inputFilePath)) {
+            Path base = baseDirectory(inputFilePath);
+            String name = isGlob(inputFilePath)
+                    ? withoutCsvExtension(base.relativize(toPath(inputFilePath)).toString()
+                            .replaceAll("[*?\\[\\]{},]", "").replace('/', '_'))
+                    : "";
+            if (name.isEmpty()) {
+                name = String.valueOf(base.toAbsolutePath().getFileName());
+            }
+            return base.resolve(name + REJECT_FILE_SUFFIX).toString();
+        }
+        return withoutCsvExtension(inputFilePath) + REJECT_FILE_SUFFIX;
+    }
+
+    private static String withoutCsvExtension(String fileName) {
+        String name = Compression.uncompressedName(fileName);
+        return name.endsWith(CSV_EXTENSION) ? name.substring(0, name.length() - CSV_EXTENSION.length()) : name;
+    }
+
+    private static boolean isGlob(String path) {
+        for (int i = 0; i < path.length(); i++) {
+            if (GLOB_CHARACTERS.indexOf(path.charAt(i)) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
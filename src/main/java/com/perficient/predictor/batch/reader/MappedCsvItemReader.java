@@ -0,0 +1,251 @@
+package com.perficient.predictor.batch.reader;
+
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+import org.springframework.lang.NonNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads delimited records straight out of a memory-mapped file.
+ *
+ * Unlike FlatFileItemReader, no String is built for the whole line and no tokenizer or
+ * bean wrapper is involved: delimiters are found by scanning the mapped bytes, and a
+ * {@link CsvFieldMapper} decodes only the fields it needs. The file is mapped in windows,
+ * so inputs larger than 2 GB work. Blank lines and lines starting with '#' are ignored,
+ * matching FlatFileItemReader's defaults; quoted fields are supported, multi-line records are not.
+ *
+ * Like FlatFileItemReader it is an AbstractItemCountingItemStreamItemReader, which keeps the read
+ * count. The byte offset of the next record is saved alongside it, so a restarted step seeks
+ * straight to where the last committed chunk ended instead of reading up to it. The reader can be
+ * limited to a byte range [start, end) whose boundaries fall on line starts (see FileRangePartitioner).
+ */
+public class MappedCsvItemReader<T> extends AbstractItemCountingItemStreamItemReader<T> {
+
+    private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+    private static final String OFFSET_KEY = "offset";
+    private static final String LINE_KEY = "line";
+
+    private final Path file;
+    private final long rangeStart;
+    private final Long rangeEnd;
+    private final int linesToSkip;
+    private final byte delimiter;
+    private final int expectedFields;
+    private final CsvFieldMapper<T> mapper;
+    private final CsvFields fields;
+
+    private FileChannel channel;
+    private ByteBuffer window;
+    private long windowStart;
+    private long end;
+    private long position;
+    private long lineNumber;
+    // Saved offset and line number to resume from, or -1 when starting at rangeStart
+    private long restartOffset = -1;
+    private long restartLine;
+    // End (exclusive, without line terminator) of the line returned by the last nextLine() call
+    private int lineContentEnd;
+
+    /**
+     * @param name Unique name, used as the prefix of the ExecutionContext keys.
+     * @param file The input file.
+     * @param rangeStart First byte to read (0 for the whole file).
+     * @param rangeEnd End of the byte range (exclusive), or null for end of file.
+     * @param linesToSkip Header lines to skip when starting at rangeStart.
+     * @param delimiter Field delimiter (ASCII).
+     * @param expectedFields Number of fields every record must have.
+     * @param mapper Builds the item from the record's fields.
+     */
+    public MappedCsvItemReader(String name, Path file, long rangeStart, Long rangeEnd, int linesToSkip,
+                               char delimiter, int expectedFields, CsvFieldMapper<T> mapper) {
+        setName(name);
+        this.file = file;
+        this.rangeStart = rangeStart;
+        this.rangeEnd = rangeEnd;
+        this.linesToSkip = linesToSkip;
+        this.delimiter = (byte) delimiter;
+        this.expectedFields = expectedFields;
+        this.mapper = mapper;
+        this.fields = new CsvFields(expectedFields);
+    }
+
+    @Override
+    public void open(@NonNull ExecutionContext executionContext) throws ItemStreamException {
+        if (isSaveState() && executionContext.containsKey(getExecutionContextKey(OFFSET_KEY))) {
+            restartOffset = executionContext.getLong(getExecutionContextKey(OFFSET_KEY));
+            restartLine = executionContext.getLong(getExecutionContextKey(LINE_KEY), 0);
+        } else {
+            restartOffset = -1;
+        }
+        super.open(executionContext);
+    }
+
+    @Override
+    protected void doOpen() throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        end = rangeEnd != null ? Math.min(rangeEnd, channel.size()) : channel.size();
+
+        if (restartOffset >= 0) {
+            // Restart: resume after the last record of the last committed chunk
+            position = restartOffset;
+            lineNumber = restartLine;
+            mapWindow(position);
+        } else {
+            position = rangeStart;
+            lineNumber = 0;
+            mapWindow(position);
+            for (int i = 0; i < linesToSkip && nextLine() >= 0; i++) {
+                // header lines are discarded
+            }
+        }
+    }
+
+    /**
+     * Nothing to skip: {@link #doOpen()} has already moved to the saved offset.
+     */
+    @Override
+    protected void jumpToItem(int itemIndex) {
+    }
+
+    @Override
+    protected T doRead() {
+        int from;
+        while ((from = nextLine()) >= 0) {
+            int contentEnd = lineContentEnd;
+            if (contentEnd == from || window.get(from) == '#') {
+                continue;
+            }
+            tokenize(from, contentEnd);
+            if (fields.count() != expectedFields) {
+                throw new FlatFileParseException("Incorrect number of tokens: expected " + expectedFields
+                        + " but found " + fields.count(), decode(from, contentEnd), (int) lineNumber);
+            }
+            return mapper.map(fields);
+        }
+        return null;
+    }
+
+    @Override
+    public void update(@NonNull ExecutionContext executionContext) throws ItemStreamException {
+        super.update(executionContext);
+        if (isSaveState()) {
+            executionContext.putLong(getExecutionContextKey(OFFSET_KEY), position);
+            executionContext.putLong(getExecutionContextKey(LINE_KEY), lineNumber);
+        }
+    }
+
+    @Override
+    protected void doClose() {
+        window = null;
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new ItemStreamException("Failed to close mapped input file: " + file, e);
+            } finally {
+                channel = null;
+            }
+        }
+    }
+
+    /**
+     * Advances past the next line and returns its start offset within the current window,
+     * or -1 at the end of the range. The line content ends at {@link #lineContentEnd}.
+     */
+    private int nextLine() {
+        while (position < end) {
+            int from = (int) (position - windowStart);
+            int limit = window.limit();
+            int newline = -1;
+            for (int i = from; i < limit; i++) {
+                if (window.get(i) == '\n') {
+                    newline = i;
+                    break;
+                }
+            }
+
+            if (newline < 0 && windowStart + limit < end) {
+                // The line continues past the mapped window: remap starting at this line
+                if (from == 0) {
+                    throw new FlatFileParseException("Line longer than " + WINDOW_SIZE + " bytes",
+                            "", (int) lineNumber + 1);
+                }
+                mapWindow(position);
+                continue;
+            }
+
+            int lineEnd = newline >= 0 ? newline : limit;
+            position = windowStart + (newline >= 0 ? newline + 1 : limit);
+            lineNumber++;
+            lineContentEnd = lineEnd > from && window.get(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+            return from;
+        }
+        return -1;
+    }
+
+    private void tokenize(int from, int to) {
+        fields.reset(window);
+        int i = from;
+        while (true) {
+            if (i < to && window.get(i) == '"') {
+                int start = i + 1;
+                int j = start;
+                while (j < to) {
+                    if (window.get(j) == '"') {
+                        if (j + 1 < to && window.get(j + 1) == '"') {
+                            j += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    j++;
+                }
+                fields.add(start, j, true);
+                i = j + 1;
+                while (i < to && window.get(i) != delimiter) {
+                    i++;
+                }
+            } else {
+                int start = i;
+                while (i < to && window.get(i) != delimiter) {
+                    i++;
+                }
+                fields.add(start, i, false);
+            }
+            if (i >= to) {
+                return;
+            }
+            i++; // skip the delimiter
+            if (i == to) {
+                fields.add(i, i, false); // trailing empty field
+                return;
+            }
+        }
+    }
+
+    private void mapWindow(long from) {
+        long size = Math.min(WINDOW_SIZE, Math.max(0, end - from));
+        try {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, from, size);
+            window = mapped;
+            windowStart = from;
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to map input file " + file + " at offset " + from, e);
+        }
+    }
+
+    private String decode(int from, int to) {
+        byte[] bytes = new byte[to - from];
+        window.get(from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
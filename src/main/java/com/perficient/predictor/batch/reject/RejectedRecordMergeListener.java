@@ -0,0 +1,115 @@
+package com.perficient.predictor.batch.reject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.lang.NonNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Builds the reject file of a partitioned load. Each partition worker writes its rejects to its own
+ * part file next to the reject file (see {@link #partFile}), so workers never share a file and each
+ * one can be truncated on restart independently. Registered on the partition manager step: once all
+ * partitions have completed, the part files are concatenated in partition (= input) order after a
+ * header line and deleted. If the step failed they are left in place for the restart.
+ */
+public class RejectedRecordMergeListener implements StepExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(RejectedRecordMergeListener.class);
+
+    // Partition worker steps are named '<step>:<partition>'
+    private static final String PARTITION_STEP_SEPARATOR = ":";
+
+    private final String errorFileParameter;
+    private final List<String> columns;
+
+    /**
+     * @param errorFileParameter Name of the job parameter holding the reject file path.
+     * @param columns Names of the input columns, in input order.
+     */
+    public RejectedRecordMergeListener(String errorFileParameter, List<String> columns) {
+        this.errorFileParameter = errorFileParameter;
+        this.columns = columns;
+    }
+
+    /**
+     * The part file a partition worker step writes its rejects to.
+     */
+    public static Path partFile(Path errorFile, String workerStepName) {
+        String partition = workerStepName.substring(workerStepName.indexOf(PARTITION_STEP_SEPARATOR) + 1);
+        return errorFile.resolveSibling(errorFile.getFileName() + "." + partition);
+    }
+
+    @Override
+    public ExitStatus afterStep(@NonNull StepExecution stepExecution) {
+        String errorFilePath = stepExecution.getJobParameters().getString(errorFileParameter);
+        if (errorFilePath == null || stepExecution.getStepName().contains(PARTITION_STEP_SEPARATOR)) {
+            return null;
+        }
+        Path errorFile = Path.of(errorFilePath);
+        List<Path> parts = new ArrayList<>();
+        stepExecution.getJobExecution().getStepExecutions().stream()
+                .map(StepExecution::getStepName)
+                .filter(name -> name.contains(PARTITION_STEP_SEPARATOR))
+                .sorted(Comparator.comparingInt(RejectedRecordMergeListener::partitionNumber))
+                .forEach(name -> parts.add(partFile(errorFile, name)));
+
+        if (stepExecution.getStatus() != BatchStatus.COMPLETED) {
+            log.info("{} did not complete; partition reject files {} kept for the restart.",
+                    stepExecution.getStepName(), parts);
+            return null;
+        }
+        try (FileChannel out = FileChannel.open(errorFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            List<String> header = new ArrayList<>(columns);
+            header.add(RejectedRecordWriter.REASON_COLUMN);
+            header.add(RejectedRecordWriter.DETAIL_COLUMN);
+            ByteBuffer headerLine = StandardCharsets.UTF_8.encode(String.join(",", header) + "\n");
+            while (headerLine.hasRemaining()) {
+                out.write(headerLine);
+            }
+            for (Path part : parts) {
+                if (!Files.exists(part)) {
+                    continue;
+                }
+                try (FileChannel in = FileChannel.open(part, StandardOpenOption.READ)) {
+                    long size = in.size();
+                    long copied = 0;
+                    while (copied < size) {
+                        copied += in.transferTo(copied, size - copied, out);
+                    }
+                }
+            }
+            out.force(false);
+            for (Path part : parts) {
+                Files.deleteIfExists(part);
+            }
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to merge partition reject files into " + errorFile, e);
+        }
+        return null;
+    }
+
+    private static int partitionNumber(String workerStepName) {
+        int end = workerStepName.length();
+        int start = end;
+        while (start > 0 && Character.isDigit(workerStepName.charAt(start - 1))) {
+            start--;
+        }
+        return start < end ? Integer.parseInt(workerStepName.substring(start, end)) : 0;
+    }
+}
@@ -0,0 +1,64 @@
+package com.perficient.predictor.batch.reject;
+
+import org.springframework.batch.core.SkipListener;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.lang.NonNull;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Sends every skipped record to the step's {@link RejectedRecordWriter}, with the phase it was skipped
+ * in as the reason code and the exception message as the detail. Lines the reader could not parse are
+ * written as they were read; records skipped in the writer are mapped back to their input fields.
+ */
+public class RejectedRecordSkipListener<I, O> implements SkipListener<I, O> {
+
+    public static final String SKIPPED_IN_READ = "SKIPPED_IN_READ";
+    public static final String SKIPPED_IN_PROCESS = "SKIPPED_IN_PROCESS";
+    public static final String SKIPPED_IN_WRITE = "SKIPPED_IN_WRITE";
+
+    private final RejectedRecordWriter writer;
+    private final Function<? super I, List<String>> inputFields;
+    private final Function<? super O, List<String>> outputFields;
+
+    /**
+     * @param inputFields The fields of an input item, in input column order.
+     * @param outputFields The input fields an output item was built from, in input column order.
+     */
+    public RejectedRecordSkipListener(RejectedRecordWriter writer,
+                                      Function<? super I, List<String>> inputFields,
+                                      Function<? super O, List<String>> outputFields) {
+        this.writer = writer;
+        this.inputFields = inputFields;
+        this.outputFields = outputFields;
+    }
+
+    @Override
+    public void onSkipInRead(@NonNull Throwable t) {
+        if (t instanceof FlatFileParseException parseException) {
+            writer.writeLine(parseException.getInput(), SKIPPED_IN_READ, describe(t));
+        } else {
+            writer.write(null, SKIPPED_IN_READ, describe(t));
+        }
+    }
+
+    @Override
+    public void onSkipInProcess(@NonNull I item, @NonNull Throwable t) {
+        writer.write(inputFields.apply(item), SKIPPED_IN_PROCESS, describe(t));
+    }
+
+    @Override
+    public void onSkipInWrite(@NonNull O item, @NonNull Throwable t) {
+        writer.write(outputFields.apply(item), SKIPPED_IN_WRITE, describe(t));
+    }
+
+    /**
+     * The message of the exception, or of its cause for parse errors, whose own message repeats the line.
+     */
+    private static String describe(Throwable t) {
+        Throwable reported = t instanceof FlatFileParseException && t.getCause() != null ? t.getCause() : t;
+        String message = reported.getMessage();
+        return message != null ? message : reported.getClass().getSimpleName();
+    }
+}
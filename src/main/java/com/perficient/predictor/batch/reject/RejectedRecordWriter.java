@@ -0,0 +1,272 @@
+package com.perficient.predictor.batch.reject;
+
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStream;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.lang.NonNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends rejected input records to a CSV file: the record's fields in input order, followed by
+ * REJECT_REASON (a reason code such as UNKNOWN_COUNTRY) and REJECT_DETAIL. Fixing the leading
+ * columns and dropping the last two gives a file the load job can take again, so only the rejects
+ * have to be re-fed.
+ *
+ * Records are encoded into one large direct buffer, which is written to the FileChannel when full
+ * and at every chunk boundary ({@link #update}). That happens inside the chunk transaction, before the
+ * step's ExecutionContext is saved, and the file offset saved with it is the end of what the committed
+ * chunks produced. Bytes written are forced to disk before the offset covering them is committed. A
+ * restarted step truncates the file back to that offset, so the rejects of a chunk that never committed
+ * are dropped and written again when the chunk is reprocessed; a fresh step starts an empty file.
+ * Records of a rolled-back chunk attempt are kept, like the counts in RejectedItemLog: filtered items
+ * are not processed again on the retry.
+ *
+ * One instance per step execution (step-scoped), used only by the thread running its chunks.
+ * Register it on the step as a stream. A null file disables the writer.
+ */
+public class RejectedRecordWriter implements ItemStream {
+
+    public static final String REASON_COLUMN = "REJECT_REASON";
+    public static final String DETAIL_COLUMN = "REJECT_DETAIL";
+
+    private static final String OFFSET_KEY = "rejected.offset";
+    private static final String COUNT_KEY = "rejected.count";
+    private static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+    private static final char DELIMITER = ',';
+    private static final char QUOTE = '"';
+
+    private final Path file;
+    private final List<String> columns;
+    private final boolean writeHeader;
+    private final int bufferSize;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final StringBuilder line = new StringBuilder(256);
+    private int lineFields;
+
+    private FileChannel channel;
+    private ByteBuffer buffer;
+    private boolean unforced;
+    private long count;
+
+    public RejectedRecordWriter(Path file, List<String> columns, boolean writeHeader) {
+        this(file, columns, writeHeader, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param file The reject file, or null to discard rejects.
+     * @param columns Names of the input columns, in input order.
+     * @param writeHeader Whether a fresh file starts with a header line (false for partition part files).
+     * @param bufferSize Bytes buffered before they are written to the file.
+     */
+    public RejectedRecordWriter(Path file, List<String> columns, boolean writeHeader, int bufferSize) {
+        this.file = file;
+        this.columns = columns;
+        this.writeHeader = writeHeader;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * The writer for one step execution: a partition worker ('step:partitionN') writes a headerless part file
+     * (see {@link RejectedRecordMergeListener}), any other step the reject file itself.
+     * @param errorFilePath The job's reject file, or null to discard rejects.
+     */
+    public static RejectedRecordWriter forStep(String errorFilePath, String stepName, List<String> columns) {
+        if (errorFilePath == null) {
+            return new RejectedRecordWriter(null, columns, false);
+        }
+        Path errorFile = Path.of(errorFilePath);
+        boolean partitionWorker = stepName.contains(":");
+        return partitionWorker
+                ? new RejectedRecordWriter(RejectedRecordMergeListener.partFile(errorFile, stepName), columns, false)
+                : new RejectedRecordWriter(errorFile, columns, true);
+    }
+
+    @Override
+    public void open(@NonNull ExecutionContext executionContext) throws ItemStreamException {
+        if (file == null || channel != null) {
+            return;
+        }
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            buffer = ByteBuffer.allocateDirect(bufferSize);
+            if (executionContext.containsKey(OFFSET_KEY)) {
+                long offset = executionContext.getLong(OFFSET_KEY);
+                if (channel.size() < offset) {
+                    throw new ItemStreamException("Reject file " + file + " is shorter than its committed length "
+                            + offset + "; it was changed since the failed run");
+                }
+                // Drop whatever the chunk that failed had already written
+                channel.truncate(offset);
+                channel.position(offset);
+                count = executionContext.getLong(COUNT_KEY, 0);
+            } else {
+                channel.truncate(0);
+                count = 0;
+                if (writeHeader) {
+                    for (String column : columns) {
+                        appendField(column);
+                    }
+                    appendField(REASON_COLUMN);
+                    appendField(DETAIL_COLUMN);
+                    endLine();
+                }
+            }
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to open reject file: " + file, e);
+        }
+    }
+
+    /**
+     * Appends a record given as its input fields; null (e.g. nothing could be read) writes empty fields.
+     */
+    public void write(List<String> fields, String reasonCode, String detail) {
+        if (channel == null) {
+            return;
+        }
+        for (int i = 0; i < columns.size(); i++) {
+            appendField(fields != null && i < fields.size() ? fields.get(i) : null);
+        }
+        appendReason(reasonCode, detail);
+    }
+
+    /**
+     * Appends a record given as its raw, already delimited input line, e.g. a line that could not be parsed.
+     */
+    public void writeLine(String rawLine, String reasonCode, String detail) {
+        if (rawLine == null || rawLine.isEmpty()) {
+            write(null, reasonCode, detail);
+            return;
+        }
+        if (channel == null) {
+            return;
+        }
+        line.append(rawLine);
+        lineFields++;
+        appendReason(reasonCode, detail);
+    }
+
+    /**
+     * Rejects written by this step execution, including those of earlier attempts of a restarted step.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public void update(@NonNull ExecutionContext executionContext) throws ItemStreamException {
+        if (channel == null) {
+            return;
+        }
+        try {
+            drain();
+            if (unforced) {
+                channel.force(false);
+                unforced = false;
+            }
+            executionContext.putLong(OFFSET_KEY, channel.position());
+            executionContext.putLong(COUNT_KEY, count);
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to write reject file: " + file, e);
+        }
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        if (channel == null) {
+            return;
+        }
+        try (FileChannel closing = channel) {
+            drain();
+            closing.force(false);
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to close reject file: " + file, e);
+        } finally {
+            channel = null;
+            buffer = null;
+        }
+    }
+
+    private void appendReason(String reasonCode, String detail) {
+        appendField(reasonCode);
+        appendField(detail);
+        endLine();
+        count++;
+    }
+
+    private void appendField(String value) {
+        if (lineFields++ > 0) {
+            line.append(DELIMITER);
+        }
+        if (value == null) {
+            return;
+        }
+        boolean quoted = false;
+        for (int i = 0; i < value.length() && !quoted; i++) {
+            char c = value.charAt(i);
+            quoted = c == DELIMITER || c == QUOTE || c == '\n' || c == '\r';
+        }
+        if (!quoted) {
+            line.append(value);
+            return;
+        }
+        line.append(QUOTE);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == QUOTE) {
+                line.append(QUOTE);
+            }
+            line.append(c);
+        }
+        line.append(QUOTE);
+    }
+
+    /**
+     * Encodes the current line into the buffer, writing the buffer out whenever it fills up.
+     */
+    private void endLine() {
+        line.append('\n');
+        try {
+            CharBuffer chars = CharBuffer.wrap(line);
+            CoderResult result;
+            while ((result = encoder.encode(chars, buffer, true)).isOverflow()) {
+                drain();
+            }
+            if (result.isError()) {
+                result.throwException();
+            }
+            while (encoder.flush(buffer).isOverflow()) {
+                drain();
+            }
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to write reject file: " + file, e);
+        } finally {
+            encoder.reset();
+            line.setLength(0);
+            lineFields = 0;
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        if (buffer.hasRemaining()) {
+            unforced = true;
+        }
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
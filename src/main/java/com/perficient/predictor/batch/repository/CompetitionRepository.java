@@ -1,15 +1,33 @@
 package com.perficient.predictor.batch.repository;
 
 
+import com.perficient.predictor.batch.dto.CompetitionSummary;
 import com.perficient.predictor.batch.entity.Competition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CompetitionRepository extends JpaRepository<Competition, Long> {
 
     /** Finds a Competition entity by its name. Used for checking uniqueness. */
     Optional<Competition> findByName(String name);
+
+    /**
+     * Competitions with IDs above the cursor, in ID order, joined to their country in the same query.
+     * Must be consumed and closed inside a transaction.
+     */
+    @Query("""
+            SELECT new com.perficient.predictor.batch.dto.CompetitionSummary(c.competitionId, c.name,
+                   co.id, co.name, co.countryCode)
+            FROM Competition c JOIN c.country co
+            WHERE c.competitionId > :after
+            ORDER BY c.competitionId
+            """)
+    Stream<CompetitionSummary> streamAll(@Param("after") long after, Limit limit);
 }
\ No newline at end of file
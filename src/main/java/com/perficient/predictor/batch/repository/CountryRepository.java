@@ -1,10 +1,15 @@
 package com.perficient.predictor.batch.repository;
 
+import com.perficient.predictor.batch.dto.CountryRef;
 import com.perficient.predictor.batch.entity.Country;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Spring Data JPA Repository for the Country entity.
@@ -25,4 +30,15 @@ public interface CountryRepository extends JpaRepository<Country, Long> {
 
     /** Finds a Country entity by its name. */
     Optional<Country> findByName(String name);
+
+    /**
+     * Countries with IDs above the cursor, in ID order. Must be consumed and closed inside a transaction.
+     */
+    @Query("""
+            SELECT new com.perficient.predictor.batch.dto.CountryRef(c.id, c.name, c.countryCode)
+            FROM Country c
+            WHERE c.id > :after
+            ORDER BY c.id
+            """)
+    Stream<CountryRef> streamAll(@Param("after") long after, Limit limit);
 }
\ No newline at end of file
@@ -1,10 +1,15 @@
 package com.perficient.predictor.batch.repository;
 
+import com.perficient.predictor.batch.dto.SeasonEnrolmentSummary;
 import com.perficient.predictor.batch.entity.TeamCompetitionSeason;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TeamCompetitionSeasonRepository extends JpaRepository<TeamCompetitionSeason, Long> {
@@ -12,8 +17,27 @@ public interface TeamCompetitionSeasonRepository extends JpaRepository<TeamCompe
      * Finds an entry based on the unique key constraint:
      * Team Name, Competition Name, and Season Start Year.
      */
-    Optional<TeamCompetitionSeason> findByCompetition_NameAndSeasonStartYear(
+    Optional<TeamCompetitionSeason> findByTeam_NameAndCompetition_NameAndSeasonStartYear(
+            String teamName,
             String competitionName,
             Integer seasonStartYear
     );
+
+    /**
+     * A competition season's teams with IDs above the cursor, in team ID order: a range scan on the
+     * unique key (COMPETITION_ID, SEASON_START_YEAR, TEAM_ID), joined to TEAM for the names.
+     * Must be consumed and closed inside a transaction.
+     */
+    @Query("""
+            SELECT new com.perficient.predictor.batch.dto.SeasonEnrolmentSummary(s.team.teamId, t.name,
+                   s.seasonStartYear, s.seasonEndYear)
+            FROM TeamCompetitionSeason s JOIN s.team t
+            WHERE s.competition.competitionId = :competitionId AND s.seasonStartYear = :season
+              AND s.team.teamId > :after
+            ORDER BY s.team.teamId
+            """)
+    Stream<SeasonEnrolmentSummary> streamBySeason(@Param("competitionId") Long competitionId,
+                                                  @Param("season") Integer season,
+                                                  @Param("after") long after,
+                                                  Limit limit);
 }
\ No newline at end of file
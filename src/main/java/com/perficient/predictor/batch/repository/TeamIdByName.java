@@ -0,0 +1,12 @@
+package com.perficient.predictor.batch.repository;
+
+/**
+ * Projection of a Team onto its ID and name, for resolving names in bulk
+ * without loading whole entities.
+ */
+public interface TeamIdByName {
+
+    Long getTeamId();
+
+    String getName();
+}
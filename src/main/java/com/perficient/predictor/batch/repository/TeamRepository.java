@@ -1,11 +1,18 @@
 package com.perficient.predictor.batch.repository;
 
 
+import com.perficient.predictor.batch.dto.TeamSummary;
 import com.perficient.predictor.batch.entity.Team;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TeamRepository extends JpaRepository<Team, Long> {
@@ -13,4 +20,23 @@ public interface TeamRepository extends JpaRepository<Team, Long> {
      * Finds a Team by its unique name.
      */
     Optional<Team> findByName(String name);
+
+    /**
+     * Resolves many team names to IDs in one query. Names that do not exist are simply absent.
+     */
+    @Query("SELECT t.teamId AS teamId, t.name AS name FROM Team t WHERE t.name IN :names")
+    List<TeamIdByName> findIdsByNameIn(@Param("names") Collection<String> names);
+
+    /**
+     * A country's teams with IDs above the cursor, in ID order: a range scan on (COUNTRY_ID, TEAM_ID).
+     * Must be consumed and closed inside a transaction.
+     */
+    @Query("""
+            SELECT new com.perficient.predictor.batch.dto.TeamSummary(t.teamId, t.name, t.teamType, t.stadiumName,
+                   t.establishedYear, t.nickname, t.stadiumCapacity)
+            FROM Team t
+            WHERE t.country.id = :countryId AND t.teamId > :after
+            ORDER BY t.teamId
+            """)
+    Stream<TeamSummary> streamByCountry(@Param("countryId") Long countryId, @Param("after") long after, Limit limit);
 }
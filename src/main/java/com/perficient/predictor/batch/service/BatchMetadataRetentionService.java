@@ -0,0 +1,116 @@
+package com.perficient.predictor.batch.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Prunes the job repository: job instances whose executions all ended longer ago than the retention
+ * period are deleted with everything under them (executions, parameters, step executions, contexts),
+ * with one set-based DELETE per table for a batch of instances at a time, each batch in its own short
+ * transaction. Whole instances go, never single executions, so a restartable instance is either kept
+ * complete or dropped. Instances with an execution still running (no end time) are kept.
+ *
+ * Runs on the schedule predictor.batch.repository.purge-cron; a retention of 0 disables it.
+ */
+@Service
+public class BatchMetadataRetentionService {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchMetadataRetentionService.class);
+
+    private static final String SELECT_EXPIRED_INSTANCES_SQL = """
+            SELECT I.JOB_INSTANCE_ID FROM BATCH_JOB_INSTANCE I
+            WHERE NOT EXISTS (SELECT 1 FROM BATCH_JOB_EXECUTION E
+                              WHERE E.JOB_INSTANCE_ID = I.JOB_INSTANCE_ID
+                                AND (E.END_TIME IS NULL OR E.END_TIME >= :cutoff))
+            ORDER BY I.JOB_INSTANCE_ID
+            LIMIT :limit
+            """;
+
+    private static final String EXECUTIONS_OF_INSTANCES =
+            "SELECT JOB_EXECUTION_ID FROM BATCH_JOB_EXECUTION WHERE JOB_INSTANCE_ID IN (:ids)";
+
+    // Children first: each statement only removes rows nothing else references any more
+    private static final List<String> DELETE_EXECUTION_CHILDREN_SQL = List.of(
+            "DELETE FROM BATCH_STEP_EXECUTION_CONTEXT WHERE STEP_EXECUTION_ID IN "
+                    + "(SELECT STEP_EXECUTION_ID FROM BATCH_STEP_EXECUTION WHERE JOB_EXECUTION_ID IN ("
+                    + EXECUTIONS_OF_INSTANCES + "))",
+            "DELETE FROM BATCH_STEP_EXECUTION WHERE JOB_EXECUTION_ID IN (" + EXECUTIONS_OF_INSTANCES + ")",
+            "DELETE FROM BATCH_JOB_EXECUTION_CONTEXT WHERE JOB_EXECUTION_ID IN (" + EXECUTIONS_OF_INSTANCES + ")",
+            "DELETE FROM BATCH_JOB_EXECUTION_PARAMS WHERE JOB_EXECUTION_ID IN (" + EXECUTIONS_OF_INSTANCES + ")");
+    private static final String DELETE_EXECUTIONS_SQL = "DELETE FROM BATCH_JOB_EXECUTION WHERE JOB_INSTANCE_ID IN (:ids)";
+    private static final String DELETE_INSTANCES_SQL = "DELETE FROM BATCH_JOB_INSTANCE WHERE JOB_INSTANCE_ID IN (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate purgeTransaction;
+    private final Duration retention;
+    private final int batchSize;
+
+    public BatchMetadataRetentionService(
+            @Qualifier("batchRepositoryDataSource") DataSource batchRepositoryDataSource,
+            @Qualifier("batchRepositoryTransactionManager") PlatformTransactionManager batchRepositoryTransactionManager,
+            @Value("${predictor.batch.repository.retention:30d}") Duration retention,
+            @Value("${predictor.batch.repository.purge-batch-size:500}") int batchSize) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(batchRepositoryDataSource);
+        this.purgeTransaction = new TransactionTemplate(batchRepositoryTransactionManager);
+        this.retention = retention;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Scheduled(cron = "${predictor.batch.repository.purge-cron:0 30 3 * * *}")
+    public void purgeExpired() {
+        if (retention.isZero() || retention.isNegative()) {
+            return;
+        }
+        purgeEndedBefore(LocalDateTime.now().minus(retention));
+    }
+
+    /**
+     * Deletes the job instances whose executions all ended before the cutoff.
+     * @return The number of job instances deleted.
+     */
+    public int purgeEndedBefore(LocalDateTime cutoff) {
+        int instances = 0;
+        int executions = 0;
+        Purged purged;
+        do {
+            purged = purgeTransaction.execute(status -> purgeBatch(cutoff));
+            instances += purged.instances();
+            executions += purged.executions();
+        } while (purged.instances() == batchSize);
+        if (instances > 0) {
+            log.info("Purged {} job instances ({} executions) that ended before {}.", instances, executions, cutoff);
+        }
+        return instances;
+    }
+
+    private Purged purgeBatch(LocalDateTime cutoff) {
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_EXPIRED_INSTANCES_SQL,
+                new MapSqlParameterSource("cutoff", cutoff).addValue("limit", batchSize), Long.class);
+        if (ids.isEmpty()) {
+            return new Purged(0, 0);
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource("ids", ids);
+        for (String sql : DELETE_EXECUTION_CHILDREN_SQL) {
+            jdbcTemplate.update(sql, parameters);
+        }
+        int executions = jdbcTemplate.update(DELETE_EXECUTIONS_SQL, parameters);
+        jdbcTemplate.update(DELETE_INSTANCES_SQL, parameters);
+        return new Purged(ids.size(), executions);
+    }
+
+    private record Purged(int instances, int executions) {
+    }
+}
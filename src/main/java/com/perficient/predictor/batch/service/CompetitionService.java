@@ -1,10 +1,11 @@
 package com.perficient.predictor.batch.service;
 
 import com.perficient.predictor.batch.dto.CompetitionRequest;
+import com.perficient.predictor.batch.dto.CountryRef;
 import com.perficient.predictor.batch.entity.Competition;
-import com.perficient.predictor.batch.entity.Country;
 import com.perficient.predictor.batch.repository.CompetitionRepository;
 import com.perficient.predictor.batch.repository.CountryRepository;
+import com.perficient.predictor.batch.service.lookup.ReferenceDataService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,10 +16,13 @@ public class CompetitionService {
 
     private final CompetitionRepository competitionRepository;
     private final CountryRepository countryRepository;
+    private final ReferenceDataService referenceDataService;
 
-    public CompetitionService(CompetitionRepository competitionRepository, CountryRepository countryRepository) {
+    public CompetitionService(CompetitionRepository competitionRepository, CountryRepository countryRepository,
+                              ReferenceDataService referenceDataService) {
         this.competitionRepository = competitionRepository;
         this.countryRepository = countryRepository;
+        this.referenceDataService = referenceDataService;
     }
 
     /**
@@ -31,19 +35,19 @@ public class CompetitionService {
      */
     @Transactional
     public Competition createCompetition(CompetitionRequest request) {
-        // 1. Check for existing competition name (based on UNIQUE constraint)
-        if (competitionRepository.findByName(request.name()).isPresent()) {
+        // 1. Check for existing competition name (based on UNIQUE constraint); the UNIQUE index still guards races
+        if (referenceDataService.findCompetitionByName(request.name()).isPresent()) {
             throw new IllegalStateException("Competition with name '" + request.name() + "' already exists.");
         }
 
         // 2. Look up Country entity by name. This is crucial for satisfying the foreign key constraint.
-        Country country = countryRepository.findByName(request.countryName())
+        CountryRef country = referenceDataService.findCountryByName(request.countryName())
                 .orElseThrow(() -> new IllegalArgumentException("Country '" + request.countryName() + "' not found. Competition must be associated with an existing country."));
 
         // 3. Create the Competition entity
         Competition newCompetition = new Competition();
         newCompetition.setName(request.name());
-        newCompetition.setCountry(country); // JPA handles setting the COUNTRY_ID field automatically
+        newCompetition.setCountry(countryRepository.getReferenceById(country.countryId())); // Sets COUNTRY_ID without a query
 
         // Set audit fields
         LocalDateTime now = LocalDateTime.now();
@@ -53,6 +57,8 @@ public class CompetitionService {
         newCompetition.setUpdatedAt(now);
         newCompetition.setUpdatedBy(updatedBy);
 
-        return competitionRepository.save(newCompetition);
+        Competition saved = competitionRepository.save(newCompetition);
+        referenceDataService.evictCompetitions(); // also drops a cached miss for this name
+        return saved;
     }
 }
\ No newline at end of file
@@ -1,5 +1,10 @@
 package com.perficient.predictor.batch.service;
 
+import com.perficient.predictor.batch.dto.LoadJobOptions;
+import com.perficient.predictor.batch.exception.JobLaunchRejectedException;
+import com.perficient.predictor.batch.upload.UploadStreamService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobParameters;
@@ -18,22 +23,25 @@ import java.time.LocalDateTime;
 /**
  * Service class responsible for initiating the Country Load Batch Job.
  * It injects the JobLauncher and the specific Job bean to execute the batch process.
+ * The job runs asynchronously on the launch executor; this service only waits for the execution to be created.
  */
 @Service
 public class CountryJobExecutionService {
 
+    private static final Logger log = LoggerFactory.getLogger(CountryJobExecutionService.class);
+
     private final JobLauncher jobLauncher;
     // The specific Job bean that handles reading, processing, and writing country data.
     private final Job countryLoadJob;
 
     /**
      * Constructor for injecting the necessary Spring Batch components.
-     * @param jobLauncher The utility for launching jobs asynchronously or synchronously.
+     * @param jobLauncher The asynchronous launcher backed by the bounded job launch executor.
      * @param countryLoadJob The specific Job bean configured to load country data.
      */
     @Autowired
     public CountryJobExecutionService(
-            JobLauncher jobLauncher,
+            @Qualifier("asyncJobLauncher") JobLauncher jobLauncher,
             @Qualifier("countryLoadJob") Job countryLoadJob) {
         this.jobLauncher = jobLauncher;
         this.countryLoadJob = countryLoadJob;
@@ -41,34 +49,71 @@ public class CountryJobExecutionService {
 
     /**
      * Executes the Country Load Batch Job.
-
+     * @param options Optional tuning (partitions, chunk size) for this run.
      * @return The JobExecution result.
      * @throws JobExecutionAlreadyRunningException if the job is already running with the same parameters.
      * @throws JobRestartException if the job cannot be restarted.
      * @throws JobInstanceAlreadyCompleteException if the job has already completed successfully.
      * @throws JobParametersInvalidException if the parameters are invalid.
+     * @throws JobLaunchRejectedException if the launch executor is saturated.
      */
-    public JobExecution executeCountryLoadJob(long dataVersion,
-                                              String inputFilePath,
-                                              String errorFilePath) throws
+    public JobExecution executeCountryLoadJob(String inputFilePath,
+                                              String errorFilePath,
+                                              LoadJobOptions options) throws
             JobExecutionAlreadyRunningException,
             JobRestartException,
             JobInstanceAlreadyCompleteException,
-            JobParametersInvalidException {
+            JobParametersInvalidException,
+            JobLaunchRejectedException {
 
         // 1. Create unique JobParameters for the execution to ensure restartability.
         // We use a timestamp and the file name to ensure uniqueness.
-        JobParameters jobParameters = new JobParametersBuilder()
+        JobParametersBuilder builder = new JobParametersBuilder()
                 .addString("jobId", String.valueOf(System.currentTimeMillis()))
                 .addLocalDateTime("executionTime", LocalDateTime.now())
-                .addLong("dataVersion", dataVersion).
-                addString("inputFilePath", inputFilePath).
-                addString("errorFilePath", errorFilePath)
-                .toJobParameters();
+                .addString("inputFilePath", inputFilePath);
+        return launch(builder, errorFilePath, options);
+    }
+
+    /**
+     * Executes the Country Load Batch Job on a body streamed through {@link UploadStreamService},
+     * always with the single chunk step.
+     * @param uploadId The registered upload the job reads instead of an input file.
+     * @throws JobLaunchRejectedException if the launch executor is saturated.
+     */
+    public JobExecution executeCountryUploadJob(String uploadId,
+                                                String errorFilePath,
+                                                LoadJobOptions options) throws
+            JobExecutionAlreadyRunningException,
+            JobRestartException,
+            JobInstanceAlreadyCompleteException,
+            JobParametersInvalidException,
+            JobLaunchRejectedException {
+
+        JobParametersBuilder builder = new JobParametersBuilder()
+                .addString("jobId", String.valueOf(System.currentTimeMillis()))
+                .addLocalDateTime("executionTime", LocalDateTime.now())
+                .addString(LoadJobParameters.UPLOAD_ID, uploadId);
+        return launch(builder, errorFilePath, options);
+    }
+
+    private JobExecution launch(JobParametersBuilder builder, String errorFilePath, LoadJobOptions options) throws
+            JobExecutionAlreadyRunningException,
+            JobRestartException,
+            JobInstanceAlreadyCompleteException,
+            JobParametersInvalidException,
+            JobLaunchRejectedException {
+        builder.addString("errorFilePath", errorFilePath);
+        LoadJobParameters.addOptions(builder, options);
+        JobParameters jobParameters = builder.toJobParameters();
 
-        System.out.println("Launching Country Load Job with parameters: " + jobParameters);
+        log.info("Launching Country Load Job with parameters: {}", jobParameters);
 
-        // 2. Launch the job.
-        return jobLauncher.run(countryLoadJob, jobParameters);
+        // 2. Launch the job. It runs in the background; the execution is returned straight away.
+        JobExecution jobExecution = jobLauncher.run(countryLoadJob, jobParameters);
+        if (JobLaunchRejectedException.wasRejected(jobExecution)) {
+            throw new JobLaunchRejectedException(jobExecution);
+        }
+        return jobExecution;
     }
 }
\ No newline at end of file
@@ -1,58 +1,144 @@
 package com.perficient.predictor.batch.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Service layer responsible for managing the incremental data version counter
  * in the DATA_VERSION table. This replaces the direct DAO logic in the controller.
+ *
+ * Versions are allocated in blocks: one atomic UPDATE reserves the next {@code blockSize}
+ * numbers for an entity, and they are then handed out from an in-process AtomicLong without
+ * touching the database.
+ *
+ * VERSION_COUNT is therefore the high-water mark of the numbers reserved so far, not the last
+ * version handed out: it runs up to a block ahead of any version actually used. Versions are unique
+ * across restarts and across instances sharing the database, and increasing within one instance.
+ * Across instances they are not ordered in time: while instance A hands out 1-50 and B 51-100, A's
+ * next version is lower than B's last. Numbers left unused in a block when the application stops
+ * are skipped.
  */
 @Service
 public class DataVersionService {
 
+    private static final String RESERVE_SQL =
+            "UPDATE DATA_VERSION SET VERSION_COUNT = VERSION_COUNT + ?, LAST_UPDATED = NOW() WHERE ENTITY_NAME = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO DATA_VERSION (ENTITY_NAME, VERSION_COUNT, LAST_UPDATED) VALUES (?, ?, NOW())";
+    private static final String SELECT_SQL =
+            "SELECT VERSION_COUNT FROM DATA_VERSION WHERE ENTITY_NAME = ?";
+
     private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate reserveTransaction;
+    private final int blockSize;
+    private final Map<String, EntityCounter> counters = new ConcurrentHashMap<>();
 
     @Autowired
-    public DataVersionService(JdbcTemplate jdbcTemplate) {
+    public DataVersionService(JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${predictor.data-version.block-size:50}") int blockSize) {
         this.jdbcTemplate = jdbcTemplate;
+        // A reservation commits on its own: numbers handed out must never be handed out again,
+        // even if the caller's transaction rolls back.
+        this.reserveTransaction = new TransactionTemplate(transactionManager);
+        this.reserveTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = Math.max(1, blockSize);
     }
 
     /**
-     * Atomically retrieves the current version count for a given entity,
-     * increments it by 1, and updates the counter in the database.
-     * This method is marked @Transactional to ensure the read and write happen
-     * together successfully.
+     * Returns the next version number for a given entity.
+     * Lock-free while the entity's current block lasts; only a thread that exhausts the block
+     * goes to the database to reserve the next one.
      * * @param entityName The name of the entity/table being tracked (e.g., "TEAM").
      * @return The new, incremented version count.
      */
-    @Transactional
     public long getAndIncrementVersion(String entityName) {
-        // SQL for finding the current version count
-        String selectSql = "SELECT VERSION_COUNT FROM DATA_VERSION WHERE ENTITY_NAME = ?";
-
-        Long currentVersion;
-        try {
-            // 1. Read the current version count
-            currentVersion = jdbcTemplate.queryForObject(selectSql, Long.class, entityName);
-        } catch (org.springframework.dao.EmptyResultDataAccessException e) {
-            // If the row doesn't exist, start at 0
-            currentVersion = 0L;
+        return counters.computeIfAbsent(entityName, EntityCounter::new).next();
+    }
+
+    /**
+     * Reserves a single version straight in the database, outside this instance's block, so that
+     * VERSION_COUNT changes and other instances reading it see that something happened.
+     * @return The reserved version, which is the new VERSION_COUNT.
+     */
+    public long reserveVersion(String entityName) {
+        return reserveBlock(entityName, 1);
+    }
+
+    /**
+     * Reserves the next {@code size} version numbers for an entity and returns the highest one.
+     * The UPDATE takes the row lock, so the read-back in the same transaction sees our own increment.
+     */
+    private long reserveBlock(String entityName, int size) {
+        Long reservedTo = reserveTransaction.execute(status -> {
+            if (jdbcTemplate.update(RESERVE_SQL, size, entityName) == 0) {
+                try {
+                    jdbcTemplate.update(INSERT_SQL, entityName, size);
+                    return (long) size;
+                } catch (DuplicateKeyException e) {
+                    // Another instance created the row first: reserve on top of it
+                    jdbcTemplate.update(RESERVE_SQL, size, entityName);
+                }
+            }
+            return jdbcTemplate.queryForObject(SELECT_SQL, Long.class, entityName);
+        });
+        if (reservedTo == null) {
+            throw new IllegalStateException("Failed to reserve data versions for " + entityName);
         }
+        return reservedTo;
+    }
 
-        long newVersion = currentVersion + 1;
+    /**
+     * Version numbers reserved for one entity: {@code [next, last]}.
+     */
+    private record Block(AtomicLong next, long last) {
+    }
 
-        // 2. Update the counter with the new version and timestamp
-        String updateSql = "UPDATE DATA_VERSION SET VERSION_COUNT = ?, LAST_UPDATED = NOW() WHERE ENTITY_NAME = ?";
-        int updatedRows = jdbcTemplate.update(updateSql, newVersion, entityName);
+    private final class EntityCounter {
 
-        // 3. If the update fails (row didn't exist), insert it instead
-        if (updatedRows == 0) {
-            String insertSql = "INSERT INTO DATA_VERSION (ENTITY_NAME, VERSION_COUNT, LAST_UPDATED) VALUES (?, ?, NOW())";
-            jdbcTemplate.update(insertSql, entityName, newVersion);
+        private final String entityName;
+        // Starts exhausted, so the first call reserves a block
+        private volatile Block block = new Block(new AtomicLong(1), 0);
+        // Not a monitor: refill waits on the database, which would pin a virtual thread to its carrier
+        private final ReentrantLock refillLock = new ReentrantLock();
+
+        EntityCounter(String entityName) {
+            this.entityName = entityName;
+        }
+
+        long next() {
+            while (true) {
+                Block current = block;
+                long version = current.next().getAndIncrement();
+                if (version <= current.last()) {
+                    return version;
+                }
+                refill(current);
+            }
         }
 
-        return newVersion;
+        private void refill(Block exhausted) {
+            refillLock.lock();
+            try {
+                if (block != exhausted) {
+                    return; // another thread already reserved a new block
+                }
+                long last = reserveBlock(entityName, blockSize);
+                block = new Block(new AtomicLong(last - blockSize + 1), last);
+            } finally {
+                refillLock.unlock();
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,107 @@
+package com.perficient.predictor.batch.service;
+
+import com.perficient.predictor.batch.dto.LoadJobOptions;
+import com.perficient.predictor.batch.exception.JobLaunchRejectedException;
+import com.perficient.predictor.batch.upload.UploadStreamService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.JobParametersInvalidException;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
+import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
+import org.springframework.batch.core.repository.JobRestartException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Service class responsible for initiating the Game Load Batch Job (fixtures and results).
+ * The job runs asynchronously on the launch executor; this service only waits for the execution to be created.
+ */
+@Service
+public class GameJobExecutionService {
+
+    private static final Logger log = LoggerFactory.getLogger(GameJobExecutionService.class);
+
+    private final JobLauncher jobLauncher;
+    private final Job gameLoadJob;
+
+    public GameJobExecutionService(
+            @Qualifier("asyncJobLauncher") JobLauncher jobLauncher,
+            @Qualifier("gameLoadJob") Job gameLoadJob) {
+        this.jobLauncher = jobLauncher;
+        this.gameLoadJob = gameLoadJob;
+    }
+
+    /**
+     * Executes the Game Load Batch Job on a CSV or JSON file.
+     * @param options Optional tuning (chunk size) for this run.
+     * @return The JobExecution result.
+     * @throws JobLaunchRejectedException if the launch executor is saturated.
+     */
+    public JobExecution executeGameLoadJob(String inputFilePath,
+                                           String errorFilePath,
+                                           LoadJobOptions options) throws
+            JobExecutionAlreadyRunningException,
+            JobRestartException,
+            JobInstanceAlreadyCompleteException,
+            JobParametersInvalidException,
+            JobLaunchRejectedException {
+
+        JobParametersBuilder builder = new JobParametersBuilder()
+                .addString("jobId", String.valueOf(System.currentTimeMillis()))
+                .addLocalDateTime("executionTime", LocalDateTime.now())
+                .addString("inputFilePath", inputFilePath);
+        return launch(builder, errorFilePath, options);
+    }
+
+    /**
+     * Executes the Game Load Batch Job on a body streamed through {@link UploadStreamService}.
+     * @param uploadId The registered upload the job reads instead of an input file.
+     * @param inputFormat 'json' for a JSON array of games, null for CSV.
+     * @throws JobLaunchRejectedException if the launch executor is saturated.
+     */
+    public JobExecution executeGameUploadJob(String uploadId,
+                                             String inputFormat,
+                                             String errorFilePath,
+                                             LoadJobOptions options) throws
+            JobExecutionAlreadyRunningException,
+            JobRestartException,
+            JobInstanceAlreadyCompleteException,
+            JobParametersInvalidException,
+            JobLaunchRejectedException {
+
+        JobParametersBuilder builder = new JobParametersBuilder()
+                .addString("jobId", String.valueOf(System.currentTimeMillis()))
+                .addLocalDateTime("executionTime", LocalDateTime.now())
+                .addString(LoadJobParameters.UPLOAD_ID, uploadId);
+        if (inputFormat != null) {
+            builder.addString(LoadJobParameters.INPUT_FORMAT, inputFormat);
+        }
+        return launch(builder, errorFilePath, options);
+    }
+
+    private JobExecution launch(JobParametersBuilder builder, String errorFilePath, LoadJobOptions options) throws
+            JobExecutionAlreadyRunningException,
+            JobRestartException,
+            JobInstanceAlreadyCompleteException,
+            JobParametersInvalidException,
+            JobLaunchRejectedException {
+        builder.addString("errorFilePath", errorFilePath);
+        LoadJobParameters.addOptions(builder, options);
+        JobParameters jobParameters = builder.toJobParameters();
+
+        log.info("Launching Game Load Job with parameters: {}", jobParameters);
+
+        JobExecution jobExecution = jobLauncher.run(gameLoadJob, jobParameters);
+        if (JobLaunchRejectedException.wasRejected(jobExecution)) {
+            throw new JobLaunchRejectedException(jobExecution);
+        }
+        return jobExecution;
+    }
+}
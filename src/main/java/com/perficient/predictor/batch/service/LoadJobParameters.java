@@ -0,0 +1,59 @@
+package com.perficient.predictor.batch.service;
+
+import com.perficient.predictor.batch.dto.LoadJobOptions;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+
+/**
+ * Names of the optional tuning job parameters shared by the file load jobs and the scoring job,
+ * and the mapping from {@link LoadJobOptions} onto them.
+ * Tuning parameters are non-identifying: they change how a run executes, not what it loads.
+ * The upload ID of a streamed load is identifying, like the inputFilePath it replaces.
+ */
+public final class LoadJobParameters {
+
+    public static final String PARTITIONS = "partitions";
+    public static final String CHUNK_SIZE = "chunkSize";
+    public static final String ADAPTIVE_CHUNK = "adaptiveChunk";
+    public static final String BULK = "bulk";
+    public static final String INCREMENTAL = "incremental";
+    // Set instead of inputFilePath when the input is streamed in the request (see UploadStreamService)
+    public static final String UPLOAD_ID = "uploadId";
+    // Format of the input where a job reads more than one (e.g. 'json'); by default taken from the file name
+    public static final String INPUT_FORMAT = "inputFormat";
+
+    private LoadJobParameters() {
+    }
+
+    public static JobParametersBuilder addOptions(JobParametersBuilder builder, LoadJobOptions options) {
+        if (options == null) {
+            return builder;
+        }
+        if (options.partitions() != null) {
+            builder.addLong(PARTITIONS, options.partitions().longValue(), false);
+        }
+        if (options.chunkSize() != null) {
+            builder.addLong(CHUNK_SIZE, options.chunkSize().longValue(), false);
+        }
+        if (options.adaptiveChunk() != null) {
+            builder.addString(ADAPTIVE_CHUNK, options.adaptiveChunk().toString(), false);
+        }
+        if (options.bulk() != null) {
+            builder.addString(BULK, options.bulk().toString(), false);
+        }
+        if (options.incremental() != null) {
+            builder.addString(INCREMENTAL, options.incremental().toString(), false);
+        }
+        return builder;
+    }
+
+    /**
+     * Whether a run loads incrementally through the chunk step. A bulk load takes precedence,
+     * since it does not go through the chunk step.
+     */
+    public static boolean isIncremental(JobParameters jobParameters, boolean defaultIncremental) {
+        String incremental = jobParameters.getString(INCREMENTAL);
+        boolean enabled = incremental != null ? Boolean.parseBoolean(incremental) : defaultIncremental;
+        return enabled && !Boolean.parseBoolean(jobParameters.getString(BULK));
+    }
+}
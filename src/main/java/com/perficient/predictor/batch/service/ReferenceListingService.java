@@ -0,0 +1,86 @@
+package com.perficient.predictor.batch.service;
+
+import com.perficient.predictor.batch.dto.CompetitionSummary;
+import com.perficient.predictor.batch.dto.CountryRef;
+import com.perficient.predictor.batch.dto.SeasonEnrolmentSummary;
+import com.perficient.predictor.batch.dto.TeamSummary;
+import com.perficient.predictor.batch.repository.CompetitionRepository;
+import com.perficient.predictor.batch.repository.CountryRepository;
+import com.perficient.predictor.batch.repository.TeamCompetitionSeasonRepository;
+import com.perficient.predictor.batch.repository.TeamRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Keyset-paginated listings of countries, teams, competitions and season enrolments for the read API.
+ *
+ * A page starts after a cursor (the last key of the previous page) rather than at an offset, so each
+ * page is an index range scan and page 500 costs the same as page 1. Rows are selected straight into
+ * records, not entities: nothing is lazy-loaded or held in the persistence context. They are handed to
+ * the caller one at a time while the query's result set is still open.
+ */
+@Service
+public class ReferenceListingService {
+
+    private final CountryRepository countryRepository;
+    private final TeamRepository teamRepository;
+    private final CompetitionRepository competitionRepository;
+    private final TeamCompetitionSeasonRepository teamCompetitionSeasonRepository;
+
+    public ReferenceListingService(CountryRepository countryRepository,
+                                   TeamRepository teamRepository,
+                                   CompetitionRepository competitionRepository,
+                                   TeamCompetitionSeasonRepository teamCompetitionSeasonRepository) {
+        this.countryRepository = countryRepository;
+        this.teamRepository = teamRepository;
+        this.competitionRepository = competitionRepository;
+        this.teamCompetitionSeasonRepository = teamCompetitionSeasonRepository;
+    }
+
+    /**
+     * Passes up to {@code limit} countries with IDs above {@code after} to the action, in ID order.
+     */
+    @Transactional(readOnly = true)
+    public void forEachCountry(long after, int limit, Consumer<CountryRef> action) {
+        try (Stream<CountryRef> countries = countryRepository.streamAll(after, Limit.of(limit))) {
+            countries.forEach(action);
+        }
+    }
+
+    /**
+     * Passes up to {@code limit} of a country's teams with IDs above {@code after} to the action, in ID order.
+     */
+    @Transactional(readOnly = true)
+    public void forEachTeam(Long countryId, long after, int limit, Consumer<TeamSummary> action) {
+        try (Stream<TeamSummary> teams = teamRepository.streamByCountry(countryId, after, Limit.of(limit))) {
+            teams.forEach(action);
+        }
+    }
+
+    /**
+     * Passes up to {@code limit} competitions with IDs above {@code after} to the action, in ID order.
+     */
+    @Transactional(readOnly = true)
+    public void forEachCompetition(long after, int limit, Consumer<CompetitionSummary> action) {
+        try (Stream<CompetitionSummary> competitions = competitionRepository.streamAll(after, Limit.of(limit))) {
+            competitions.forEach(action);
+        }
+    }
+
+    /**
+     * Passes up to {@code limit} teams enrolled in the competition season with team IDs above
+     * {@code after} to the action, in team ID order.
+     */
+    @Transactional(readOnly = true)
+    public void forEachEnrolment(Long competitionId, Integer season, long after, int limit,
+                                 Consumer<SeasonEnrolmentSummary> action) {
+        try (Stream<SeasonEnrolmentSummary> enrolments =
+                     teamCompetitionSeasonRepository.streamBySeason(competitionId, season, after, Limit.of(limit))) {
+            enrolments.forEach(action);
+        }
+    }
+}
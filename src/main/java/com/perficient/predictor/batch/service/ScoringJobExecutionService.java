@@ -0,0 +1,70 @@
+package com.perficient.predictor.batch.service;
+
+import com.perficient.predictor.batch.dto.LoadJobOptions;
+import com.perficient.predictor.batch.exception.JobExecutionException;
+import com.perficient.predictor.batch.exception.JobLaunchRejectedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.JobParametersInvalidException;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
+import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
+import org.springframework.batch.core.repository.JobRestartException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Service responsible for launching the scoring job.
+ * Like the load jobs, it runs asynchronously; progress is polled through JobStatusController.
+ */
+@Service
+public class ScoringJobExecutionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ScoringJobExecutionService.class);
+
+    private static final String JOB_NAME = "scoringJob";
+
+    private final JobLauncher jobLauncher;
+    private final Job scoringJob;
+
+    public ScoringJobExecutionService(
+            @Qualifier("asyncJobLauncher") JobLauncher jobLauncher,
+            @Qualifier(JOB_NAME) Job scoringJob) {
+        this.jobLauncher = jobLauncher;
+        this.scoringJob = scoringJob;
+    }
+
+    /**
+     * Scores every pending selection of the finished games.
+     * @param options Optional tuning (partitions, chunk size) for this run; 'bulk' and 'incremental' do not apply.
+     * @return The JobExecution object containing the status and ID of the run.
+     * @throws JobLaunchRejectedException If the launch executor is saturated.
+     * @throws JobExecutionException If the job fails to start.
+     */
+    public JobExecution executeScoringJob(LoadJobOptions options) throws JobExecutionException {
+        JobParametersBuilder builder = new JobParametersBuilder();
+        LoadJobParameters.addOptions(builder, options);
+        // Every run is a new instance: a failed run is not restarted but superseded,
+        // since each run only reads what is still unscored
+        builder.addLocalDateTime("time", LocalDateTime.now(), true);
+
+        try {
+            log.info("Launching Scoring Job.");
+            JobExecution jobExecution = jobLauncher.run(scoringJob, builder.toJobParameters());
+            if (JobLaunchRejectedException.wasRejected(jobExecution)) {
+                throw new JobLaunchRejectedException(jobExecution);
+            }
+            return jobExecution;
+
+        } catch (JobExecutionAlreadyRunningException e) {
+            throw new JobExecutionException("A job instance with the same parameters is currently running.", e);
+        } catch (JobRestartException | JobParametersInvalidException | JobInstanceAlreadyCompleteException e) {
+            throw new JobExecutionException("Failed to start job due to invalid parameters or completion status.", e);
+        }
+    }
+}
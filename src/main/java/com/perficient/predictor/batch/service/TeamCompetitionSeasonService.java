@@ -2,82 +2,132 @@ package com.perficient.predictor.batch.service;
 
 import com.perficient.predictor.batch.dto.TeamCompetitionSeasonBatchRequest;
 import com.perficient.predictor.batch.dto.TeamCompetitionSeasonResponse;
-import com.perficient.predictor.batch.entity.Competition;
-import com.perficient.predictor.batch.entity.Team;
-import com.perficient.predictor.batch.entity.TeamCompetitionSeason;
-import com.perficient.predictor.batch.repository.CompetitionRepository;
-import com.perficient.predictor.batch.repository.TeamCompetitionSeasonRepository;
+import com.perficient.predictor.batch.dto.TeamCompetitionSeasonResponse.EnrolmentResult;
+import com.perficient.predictor.batch.dto.TeamCompetitionSeasonResponse.EnrolmentStatus;
+import com.perficient.predictor.batch.dto.CompetitionRef;
+import com.perficient.predictor.batch.repository.TeamIdByName;
 import com.perficient.predictor.batch.repository.TeamRepository;
+import com.perficient.predictor.batch.service.lookup.ReferenceDataService;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.Optional;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Service to handle business logic for TeamCompetitionSeason entities.
- * FIXED: Correctly looks up both Team and Competition entities by name
- * and associates the objects with the new entity.
+ *
+ * A batch enrolment runs in one transaction and costs a fixed number of round trips
+ * whatever its size: one (usually cached) lookup for the competition, one IN query resolving every team
+ * name, and one JDBC batch of MERGE statements. The entity uses IDENTITY keys, which
+ * rules out Hibernate insert batching, so the rows are written with JdbcTemplate.
  */
 @Service
 public class TeamCompetitionSeasonService {
 
-    private final TeamCompetitionSeasonRepository teamCompetitionSeasonRepository;
-    private final TeamRepository teamRepository; // Assumed to exist, with findByName(String)
-    private final CompetitionRepository competitionRepository; // Assumed to exist, with findByName(String)
+    private static final String DEFAULT_UPDATED_BY = "SEASON_API_USER";
+
+    // Inserts only when the team is not yet enrolled, so the update count tells the two cases apart
+    private static final String ENROL_SQL = """
+            MERGE INTO TEAM_COMPETITION_SEASON T
+            USING (VALUES (CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS INT)))
+                  AS S(TEAM_ID, COMPETITION_ID, SEASON_START_YEAR)
+            ON T.COMPETITION_ID = S.COMPETITION_ID AND T.SEASON_START_YEAR = S.SEASON_START_YEAR
+               AND T.TEAM_ID = S.TEAM_ID
+            WHEN NOT MATCHED THEN INSERT (TEAM_ID, COMPETITION_ID, SEASON_START_YEAR, SEASON_END_YEAR, UPDATED_BY)
+                VALUES (S.TEAM_ID, S.COMPETITION_ID, S.SEASON_START_YEAR, ?, ?)
+            """;
+
+    private final TeamRepository teamRepository;
+    private final ReferenceDataService referenceDataService;
+    private final JdbcTemplate jdbcTemplate;
 
     public TeamCompetitionSeasonService(
-            TeamCompetitionSeasonRepository teamCompetitionSeasonRepository,
             TeamRepository teamRepository,
-            CompetitionRepository competitionRepository) {
+            ReferenceDataService referenceDataService,
+            JdbcTemplate jdbcTemplate) {
 
-        this.teamCompetitionSeasonRepository = teamCompetitionSeasonRepository;
         this.teamRepository = teamRepository;
-        this.competitionRepository = competitionRepository;
+        this.referenceDataService = referenceDataService;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     /**
-     * Processes the batch request by looking up the Competition once, then looking
-     * up each Team by name, and creating the TeamCompetitionSeason records.
+     * Enrols every team in the request in the competition season.
+     * Teams already enrolled are left untouched; unknown and repeated names are reported, not fatal.
      * @param request The DTO containing the list of team names and common metadata.
-     * @return A BatchResponse summarizing the outcome.
+     * @return A BatchResponse with counts and one outcome per team name, in request order.
+     * @throws IllegalArgumentException if the competition does not exist.
      */
+    @Transactional
     public TeamCompetitionSeasonResponse processBatchRequest(TeamCompetitionSeasonBatchRequest request) {
-        int successfulCreations = 0;
-
         // 1. Look up the Competition entity once
-        Optional<Competition> competitionOpt = competitionRepository.findByName(request.competitionName());
-
-        if (competitionOpt.isEmpty()) {
-            System.err.println("Batch Creation FAILED: Competition not found for name: " + request.competitionName());
-            return new TeamCompetitionSeasonResponse(
-
-                    String.format("Failed: Competition '%s' not found.", request.competitionName()),
-                    LocalDateTime.now()
-            );
+        CompetitionRef competition = referenceDataService.findCompetitionByName(request.competitionName())
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Competition '" + request.competitionName() + "' not found."));
+
+        // 2. Resolve all team names in one query
+        Set<String> distinctNames = new LinkedHashSet<>();
+        request.teamNames().forEach(name -> distinctNames.add(name.trim()));
+        Map<String, Long> teamIds = new HashMap<>();
+        for (TeamIdByName team : teamRepository.findIdsByNameIn(distinctNames)) {
+            teamIds.put(team.getName(), team.getTeamId());
         }
 
-        Competition competition = competitionOpt.get();
-
-
-                // 3. Map DTO data to the core Entity model and set the object references
-                TeamCompetitionSeason entity = TeamCompetitionSeason.builder()
-                        .competition(competition) // FIX: Setting the Competition object
-                        .seasonStartYear(request.seasonStartYear())
-                        .seasonEndYear(request.seasonEndYear())
-                        .updatedBy(request.updatedBy())
-                        .build();
-
-                // 4. Save the individual entity
-                teamCompetitionSeasonRepository.save(entity);
-
+        // 3. Classify each requested name; only the first occurrence of a known team is written
+        List<String> names = request.teamNames();
+        EnrolmentStatus[] statuses = new EnrolmentStatus[names.size()];
+        List<Integer> toWrite = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i).trim();
+            if (!seen.add(name)) {
+                statuses[i] = EnrolmentStatus.DUPLICATE;
+            } else if (!teamIds.containsKey(name)) {
+                statuses[i] = EnrolmentStatus.TEAM_NOT_FOUND;
+            } else {
+                toWrite.add(i);
+            }
+        }
 
-        String message = String.format("Competition '%s' batch request processed for ",
-                competition.getName());
+        // 4. Write all enrolments as one JDBC batch
+        String updatedBy = request.updatedBy() != null ? request.updatedBy() : DEFAULT_UPDATED_BY;
+        int[][] counts = toWrite.isEmpty() ? new int[0][] : jdbcTemplate.batchUpdate(ENROL_SQL, toWrite, toWrite.size(), (ps, index) -> {
+            ps.setLong(1, teamIds.get(names.get(index).trim()));
+            ps.setLong(2, competition.competitionId());
+            ps.setInt(3, request.seasonStartYear());
+            ps.setObject(4, request.seasonEndYear());
+            ps.setString(5, updatedBy);
+        });
+        int written = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                statuses[toWrite.get(written++)] = count > 0 ? EnrolmentStatus.CREATED : EnrolmentStatus.ALREADY_ENROLLED;
+            }
+        }
 
         // 5. Return the BatchResponse summary
-        return new TeamCompetitionSeasonResponse(
-                message,
-                LocalDateTime.now()
-        );
+        int created = 0, alreadyEnrolled = 0;
+        List<EnrolmentResult> results = new ArrayList<>(names.size());
+        for (int i = 0; i < names.size(); i++) {
+            results.add(new EnrolmentResult(names.get(i), statuses[i]));
+            if (statuses[i] == EnrolmentStatus.CREATED) {
+                created++;
+            } else if (statuses[i] == EnrolmentStatus.ALREADY_ENROLLED) {
+                alreadyEnrolled++;
+            }
+        }
+        int rejected = names.size() - created - alreadyEnrolled;
+
+        String message = String.format("Competition '%s' season %d: %d teams enrolled, %d already enrolled, %d rejected.",
+                competition.name(), request.seasonStartYear(), created, alreadyEnrolled, rejected);
+        return new TeamCompetitionSeasonResponse(message, LocalDateTime.now(), created, alreadyEnrolled, rejected, results);
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,11 @@
 package com.perficient.predictor.batch.service;
 
+import com.perficient.predictor.batch.dto.LoadJobOptions;
 import com.perficient.predictor.batch.exception.JobExecutionException;
+import com.perficient.predictor.batch.exception.JobLaunchRejectedException;
+import com.perficient.predictor.batch.upload.UploadStreamService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobParametersBuilder;
@@ -18,10 +23,14 @@ import java.time.LocalDateTime;
 /**
  * Service responsible for launching the Team Load Spring Batch Job.
  * This replaces the direct JobLauncher usage in the controller.
+ * Jobs are launched asynchronously: the returned execution is STARTING (or already STARTED),
+ * and progress is polled through JobStatusController.
  */
 @Service
 public class TeamJobExecutionService {
 
+    private static final Logger log = LoggerFactory.getLogger(TeamJobExecutionService.class);
+
     private static final String JOB_NAME = "teamLoadJob";
 
     private final JobLauncher jobLauncher;
@@ -29,7 +38,7 @@ public class TeamJobExecutionService {
 
     @Autowired
     public TeamJobExecutionService(
-            JobLauncher jobLauncher,
+            @Qualifier("asyncJobLauncher") JobLauncher jobLauncher,
             @Qualifier(JOB_NAME) Job teamLoadJob) {
         this.jobLauncher = jobLauncher;
         this.teamLoadJob = teamLoadJob;
@@ -38,32 +47,60 @@ public class TeamJobExecutionService {
     /**
      * Executes the Team Load Batch Job with the given parameters.
      * * @param countryCode The country code to process.
-     * @param dataVersion The unique incremental version count for this run.
      * @param inputFilePath The absolute path to the input CSV file.
      * @param errorFilePath The absolute path to the error CSV file.
+     * @param options Optional tuning (partitions, chunk size) for this run.
      * @return The JobExecution object containing the status and ID of the run.
+     * @throws JobLaunchRejectedException If the launch executor is saturated.
      * @throws JobExecutionException If the job fails to start.
      */
     public JobExecution executeTeamLoadJob(
             String countryCode,
-            long dataVersion,
             String inputFilePath,
-            String errorFilePath) throws JobExecutionException {
+            String errorFilePath,
+            LoadJobOptions options) throws JobExecutionException {
 
         // Build unique job parameters
         JobParametersBuilder builder = new JobParametersBuilder();
         builder.addString("countryCode", countryCode);
-        builder.addLong("dataVersion", dataVersion);
         builder.addString("inputFilePath", inputFilePath);
+        log.info("Launching Team Load Job. File: {}", inputFilePath);
+        return launch(builder, errorFilePath, options);
+    }
+
+    /**
+     * Executes the Team Load Batch Job on a body streamed through {@link UploadStreamService}.
+     * The job reads it with the single chunk step, whatever the options say about partitions or bulk mode.
+     * @param uploadId The registered upload the job reads instead of an input file.
+     * @throws JobLaunchRejectedException If the launch executor is saturated.
+     * @throws JobExecutionException If the job fails to start.
+     */
+    public JobExecution executeTeamUploadJob(
+            String countryCode,
+            String uploadId,
+            String errorFilePath,
+            LoadJobOptions options) throws JobExecutionException {
+
+        JobParametersBuilder builder = new JobParametersBuilder();
+        builder.addString("countryCode", countryCode);
+        builder.addString(LoadJobParameters.UPLOAD_ID, uploadId);
+        log.info("Launching Team Load Job. Upload: {}", uploadId);
+        return launch(builder, errorFilePath, options);
+    }
+
+    private JobExecution launch(JobParametersBuilder builder, String errorFilePath, LoadJobOptions options)
+            throws JobExecutionException {
         builder.addString("errorFilePath", errorFilePath);
+        LoadJobParameters.addOptions(builder, options);
         // Use a unique time parameter to ensure the job instance is always new
         builder.addLocalDateTime("time", LocalDateTime.now(), true);
 
         try {
-            System.out.println("Launching Team Load Job. Version: " + dataVersion +
-                    ", File: " + inputFilePath);
-
-            return jobLauncher.run(teamLoadJob, builder.toJobParameters());
+            JobExecution jobExecution = jobLauncher.run(teamLoadJob, builder.toJobParameters());
+            if (JobLaunchRejectedException.wasRejected(jobExecution)) {
+                throw new JobLaunchRejectedException(jobExecution);
+            }
+            return jobExecution;
 
         } catch (JobExecutionAlreadyRunningException e) {
             throw new JobExecutionException("A job instance with the same parameters is currently running.", e);
@@ -0,0 +1,22 @@
+package com.perficient.predictor.batch.service.leaderboard;
+
+/**
+ * Identifies one leaderboard: a single game week of a competition season,
+ * or the overall table (all fields null) ranked by PLAYER.TOTAL_POINTS.
+ */
+public record LeaderboardKey(Long competitionId, Integer seasonStartYear, Integer gameWeek) {
+
+    private static final LeaderboardKey OVERALL = new LeaderboardKey(null, null, null);
+
+    public static LeaderboardKey overall() {
+        return OVERALL;
+    }
+
+    public static LeaderboardKey week(long competitionId, int seasonStartYear, int gameWeek) {
+        return new LeaderboardKey(competitionId, seasonStartYear, gameWeek);
+    }
+
+    public boolean isOverall() {
+        return competitionId == null;
+    }
+}
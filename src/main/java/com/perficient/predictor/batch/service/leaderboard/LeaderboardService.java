@@ -0,0 +1,256 @@
+package com.perficient.predictor.batch.service.leaderboard;
+
+import com.perficient.predictor.batch.dto.LeaderboardEntry;
+import com.perficient.predictor.batch.dto.LeaderboardPageResponse;
+import com.perficient.predictor.batch.dto.PlayerStandingResponse;
+import com.perficient.predictor.batch.service.DataVersionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory leaderboards: the overall table (PLAYER.TOTAL_POINTS) and one table per
+ * competition, season and game week (PLAYER_WEEKLY_SCORE).
+ *
+ * Every board is rebuilt from the database when the application context starts, before any job
+ * can run. After that, a scoring job on this instance keeps them current by handing over the points
+ * of each chunk after it commits. Boards are immutable {@link RankedScores} replaced copy-on-write,
+ * so reads are lock-free and never touch the database.
+ *
+ * Scoring on another instance reaches the boards through DATA_VERSION: a finished scoring run
+ * reserves a PLAYER_SCORE version (see {@link #scoringFinished()}), and every instance re-reads
+ * VERSION_COUNT on a fixed delay and reloads once it has moved past the version its boards were
+ * loaded at. Points scored elsewhere therefore show up here within one refresh interval of that
+ * run finishing, not chunk by chunk.
+ */
+@Service
+public class LeaderboardService implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardService.class);
+
+    public static final String SCORES = "PLAYER_SCORE";
+
+    // ENTITY_NAME is the primary key: one index lookup
+    private static final String SELECT_VERSION_SQL = "SELECT VERSION_COUNT FROM DATA_VERSION WHERE ENTITY_NAME = ?";
+    private static final String SELECT_TOTALS_SQL = "SELECT PLAYER_ID, TOTAL_POINTS FROM PLAYER";
+    private static final String SELECT_WEEKLY_SQL = """
+            SELECT COMPETITION_ID, SEASON_START_YEAR, GAME_WEEK, PLAYER_ID, WEEKLY_POINTS
+            FROM PLAYER_WEEKLY_SCORE
+            ORDER BY COMPETITION_ID, SEASON_START_YEAR, GAME_WEEK
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataVersionService dataVersionService;
+
+    // Serializes reloads and updates; a lock, not a monitor, as reload() waits on the database
+    private final ReentrantLock updateLock = new ReentrantLock();
+
+    private volatile Map<LeaderboardKey, RankedScores> boards = new ConcurrentHashMap<>();
+
+    // Written under updateLock only
+    private volatile long generation;
+    private volatile long loadedVersion;
+    private volatile boolean stale;
+
+    public LeaderboardService(JdbcTemplate jdbcTemplate, DataVersionService dataVersionService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataVersionService = dataVersionService;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        reload();
+    }
+
+    /**
+     * Rebuilds every board from the database.
+     */
+    public void reload() {
+        updateLock.lock();
+        try {
+            // Read first: a scoring run finishing while the boards load moves the version past it again
+            long version = readVersion();
+            load();
+            loadedVersion = version;
+            stale = false;
+            generation++;
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Re-reads the PLAYER_SCORE version and reloads the boards if scoring on another instance has
+     * moved it on, or if an update had to be dropped since the last reload.
+     */
+    @Scheduled(fixedDelayString = "${predictor.leaderboard.version-refresh-ms:5000}",
+            initialDelayString = "${predictor.leaderboard.version-refresh-ms:5000}")
+    public void refresh() {
+        if (stale || readVersion() > loadedVersion) {
+            reload();
+        }
+    }
+
+    /**
+     * Moves the PLAYER_SCORE version on once a scoring run has finished, so the other instances
+     * reload their boards. This instance already holds the run's points and keeps its boards, unless
+     * another instance's scoring has moved the version on since they were loaded.
+     */
+    public void scoringFinished() {
+        long version = dataVersionService.reserveVersion(SCORES);
+        updateLock.lock();
+        try {
+            if (version == loadedVersion + 1) {
+                loadedVersion = version;
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Counts the reloads. A writer reads it before its first statement and builds its
+     * {@link LeaderboardUpdate} with it: a reload in between may or may not have read the update's
+     * points, so such an update is dropped and the next refresh reloads instead.
+     */
+    public long generation() {
+        return generation;
+    }
+
+    private void load() {
+        Map<LeaderboardKey, RankedScores> loaded = new ConcurrentHashMap<>();
+
+        ScoreBuffer totals = new ScoreBuffer();
+        jdbcTemplate.query(SELECT_TOTALS_SQL, rs -> {
+            totals.add(rs.getLong(1), rs.getInt(2));
+        });
+        loaded.put(LeaderboardKey.overall(), totals.toRankedScores());
+
+        ScoreBuffer week = new ScoreBuffer();
+        LeaderboardKey[] current = new LeaderboardKey[1];
+        jdbcTemplate.query(SELECT_WEEKLY_SQL, rs -> {
+            LeaderboardKey key = LeaderboardKey.week(rs.getLong(1), rs.getInt(2), rs.getInt(3));
+            if (!key.equals(current[0])) {
+                if (current[0] != null) {
+                    loaded.put(current[0], week.toRankedScores());
+                }
+                week.clear();
+                current[0] = key;
+            }
+            week.add(rs.getLong(4), rs.getInt(5));
+        });
+        if (current[0] != null) {
+            loaded.put(current[0], week.toRankedScores());
+        }
+
+        boards = loaded;
+        log.info("Loaded leaderboards: {} players overall, {} weekly boards.",
+                loaded.get(LeaderboardKey.overall()).size(), loaded.size() - 1);
+    }
+
+    /**
+     * Adds committed points to the affected boards. Updates are serialized, so partitions
+     * committing concurrently never lose each other's changes.
+     */
+    public void apply(LeaderboardUpdate update) {
+        updateLock.lock();
+        try {
+            if (update.generation() != generation) {
+                stale = true;
+                return;
+            }
+            Map<LeaderboardKey, RankedScores> current = boards;
+            for (LeaderboardKey key : update.boards()) {
+                current.put(key, update.applyTo(key, current.getOrDefault(key, RankedScores.empty())));
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Returns a page of a board in rank order; an unknown board is empty.
+     */
+    public LeaderboardPageResponse page(LeaderboardKey key, int offset, int limit) {
+        RankedScores scores = board(key);
+        int from = Math.min(offset, scores.size());
+        int to = (int) Math.min((long) from + limit, scores.size());
+        return new LeaderboardPageResponse(key.competitionId(), key.seasonStartYear(), key.gameWeek(),
+                scores.size(), from, entries(scores, from, to));
+    }
+
+    /**
+     * Returns a player's standing with up to {@code neighbours} entries on either side,
+     * or null if the player is not on the board.
+     */
+    public PlayerStandingResponse standing(LeaderboardKey key, long playerId, int neighbours) {
+        RankedScores scores = board(key);
+        int position = scores.positionOf(playerId);
+        if (position == RankedScores.NOT_RANKED) {
+            return null;
+        }
+        return new PlayerStandingResponse(key.competitionId(), key.seasonStartYear(), key.gameWeek(),
+                scores.size(),
+                entry(scores, position),
+                entries(scores, Math.max(0, position - neighbours), position),
+                entries(scores, position + 1, (int) Math.min((long) position + 1 + neighbours, scores.size())));
+    }
+
+    private long readVersion() {
+        List<Long> versions = jdbcTemplate.queryForList(SELECT_VERSION_SQL, Long.class, SCORES);
+        return versions.isEmpty() ? 0 : versions.get(0);
+    }
+
+    private RankedScores board(LeaderboardKey key) {
+        return boards.getOrDefault(key, RankedScores.empty());
+    }
+
+    private static List<LeaderboardEntry> entries(RankedScores scores, int from, int to) {
+        List<LeaderboardEntry> entries = new ArrayList<>(Math.max(0, to - from));
+        for (int position = from; position < to; position++) {
+            entries.add(entry(scores, position));
+        }
+        return entries;
+    }
+
+    private static LeaderboardEntry entry(RankedScores scores, int position) {
+        return new LeaderboardEntry(scores.rankAt(position), scores.playerIdAt(position), scores.pointsAt(position));
+    }
+
+    /**
+     * Growable (player ID, points) arrays used while loading.
+     */
+    private static final class ScoreBuffer {
+
+        private long[] playerIds = new long[1024];
+        private int[] points = new int[1024];
+        private int size;
+
+        void add(long playerId, int playerPoints) {
+            if (size == playerIds.length) {
+                playerIds = Arrays.copyOf(playerIds, size * 2);
+                points = Arrays.copyOf(points, size * 2);
+            }
+            playerIds[size] = playerId;
+            points[size++] = playerPoints;
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        RankedScores toRankedScores() {
+            return RankedScores.of(Arrays.copyOf(playerIds, size), Arrays.copyOf(points, size));
+        }
+    }
+}
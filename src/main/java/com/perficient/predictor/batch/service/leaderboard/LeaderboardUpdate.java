@@ -0,0 +1,60 @@
+package com.perficient.predictor.batch.service.leaderboard;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Points added by one committed unit of work (e.g. a scoring chunk), per leaderboard and player.
+ * Built by the writer and handed to {@link LeaderboardService#apply(LeaderboardUpdate)} once the
+ * transaction has committed, along with the {@link LeaderboardService#generation()} read before the
+ * work started. Not thread-safe.
+ */
+public final class LeaderboardUpdate {
+
+    private final long generation;
+    private final Map<LeaderboardKey, Map<Long, Integer>> deltas = new HashMap<>();
+
+    public LeaderboardUpdate(long generation) {
+        this.generation = generation;
+    }
+
+    public void addWeekly(long playerId, long competitionId, int seasonStartYear, int gameWeek, int points) {
+        add(LeaderboardKey.week(competitionId, seasonStartYear, gameWeek), playerId, points);
+    }
+
+    public void addTotal(long playerId, int points) {
+        add(LeaderboardKey.overall(), playerId, points);
+    }
+
+    public boolean isEmpty() {
+        return deltas.isEmpty();
+    }
+
+    /**
+     * Applies this update's deltas for one board.
+     */
+    RankedScores applyTo(LeaderboardKey key, RankedScores scores) {
+        Map<Long, Integer> boardDeltas = deltas.get(key);
+        long[] playerIds = new long[boardDeltas.size()];
+        int[] points = new int[boardDeltas.size()];
+        int i = 0;
+        for (Map.Entry<Long, Integer> entry : boardDeltas.entrySet()) {
+            playerIds[i] = entry.getKey();
+            points[i++] = entry.getValue();
+        }
+        return scores.withDeltas(playerIds, points);
+    }
+
+    long generation() {
+        return generation;
+    }
+
+    Iterable<LeaderboardKey> boards() {
+        return deltas.keySet();
+    }
+
+    private void add(LeaderboardKey key, long playerId, int points) {
+        deltas.computeIfAbsent(key, k -> new LinkedHashMap<>()).merge(playerId, points, Integer::sum);
+    }
+}
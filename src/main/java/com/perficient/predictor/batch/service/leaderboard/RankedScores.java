@@ -0,0 +1,183 @@
+package com.perficient.predictor.batch.service.leaderboard;
+
+import java.util.Arrays;
+
+/**
+ * Immutable ranking of players by points, held in primitive arrays sorted by points descending
+ * and then player ID ascending, plus an open-addressed map from player ID to array position.
+ * A page of the table is an array slice and a player's rank is a hash probe plus a binary search,
+ * so reads never allocate more than the result and never lock.
+ *
+ * Updates are copy-on-write: {@link #withDeltas(long[], int[])} builds a new instance in
+ * O(n + k log k) for k changed players, so readers always see a consistent table.
+ * Ties share a rank ("1224" competition ranking).
+ */
+public final class RankedScores {
+
+    /** Returned by {@link #positionOf(long)} when the player is not on the board. */
+    public static final int NOT_RANKED = -1;
+
+    private static final RankedScores EMPTY = new RankedScores(new long[0], new int[0]);
+
+    private final long[] playerIds;
+    private final int[] points;
+
+    // Open-addressed player ID -> position; slots hold position + 1 so 0 marks an empty slot
+    private final long[] slotKeys;
+    private final int[] slotPositions;
+    private final int mask;
+
+    private RankedScores(long[] playerIds, int[] points) {
+        this.playerIds = playerIds;
+        this.points = points;
+
+        // Keep the load factor at or below 0.5 so probe sequences stay short
+        int capacity = Integer.highestOneBit(Math.max(4, playerIds.length * 2 - 1)) << 1;
+        this.slotKeys = new long[capacity];
+        this.slotPositions = new int[capacity];
+        this.mask = capacity - 1;
+        for (int position = 0; position < playerIds.length; position++) {
+            int slot = slot(playerIds[position], mask);
+            while (slotPositions[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slotKeys[slot] = playerIds[position];
+            slotPositions[slot] = position + 1;
+        }
+    }
+
+    public static RankedScores empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds a ranking from unsorted (player ID, points) pairs. Player IDs must be unique.
+     */
+    public static RankedScores of(long[] playerIds, int[] points) {
+        long[] sortedIds = playerIds.clone();
+        int[] sortedPoints = points.clone();
+        sort(sortedIds, sortedPoints);
+        return new RankedScores(sortedIds, sortedPoints);
+    }
+
+    /**
+     * Returns a new ranking with points added to the given players; players not yet on the board
+     * are added with the delta as their points. Player IDs must be unique.
+     */
+    public RankedScores withDeltas(long[] changedIds, int[] deltas) {
+        int changes = changedIds.length;
+        if (changes == 0) {
+            return this;
+        }
+
+        boolean[] moved = new boolean[playerIds.length];
+        long[] updatedIds = new long[changes];
+        int[] updatedPoints = new int[changes];
+        int newPlayers = 0;
+        for (int i = 0; i < changes; i++) {
+            int position = positionOf(changedIds[i]);
+            updatedIds[i] = changedIds[i];
+            if (position == NOT_RANKED) {
+                updatedPoints[i] = deltas[i];
+                newPlayers++;
+            } else {
+                updatedPoints[i] = points[position] + deltas[i];
+                moved[position] = true;
+            }
+        }
+        sort(updatedIds, updatedPoints);
+
+        // Merge the untouched entries, already in order, with the re-sorted changed ones
+        int size = playerIds.length + newPlayers;
+        long[] mergedIds = new long[size];
+        int[] mergedPoints = new int[size];
+        int kept = 0, changed = 0, out = 0;
+        while (out < size) {
+            while (kept < playerIds.length && moved[kept]) {
+                kept++;
+            }
+            boolean takeKept = changed == changes || (kept < playerIds.length
+                    && compare(points[kept], playerIds[kept], updatedPoints[changed], updatedIds[changed]) < 0);
+            if (takeKept) {
+                mergedIds[out] = playerIds[kept];
+                mergedPoints[out++] = points[kept++];
+            } else {
+                mergedIds[out] = updatedIds[changed];
+                mergedPoints[out++] = updatedPoints[changed++];
+            }
+        }
+        return new RankedScores(mergedIds, mergedPoints);
+    }
+
+    public int size() {
+        return playerIds.length;
+    }
+
+    /**
+     * @return The player's position in the table (0-based), or {@link #NOT_RANKED}.
+     */
+    public int positionOf(long playerId) {
+        int slot = slot(playerId, mask);
+        int position;
+        while ((position = slotPositions[slot]) != 0) {
+            if (slotKeys[slot] == playerId) {
+                return position - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return NOT_RANKED;
+    }
+
+    public long playerIdAt(int position) {
+        return playerIds[position];
+    }
+
+    public int pointsAt(int position) {
+        return points[position];
+    }
+
+    /**
+     * Rank of the entry at a position: one more than the number of players with strictly more points.
+     */
+    public int rankAt(int position) {
+        int target = points[position];
+        int low = 0, high = position;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (points[mid] > target) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low + 1;
+    }
+
+    /**
+     * Sorts the pairs in place into table order.
+     */
+    private static void sort(long[] ids, int[] pointsByIndex) {
+        int size = ids.length;
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> compare(pointsByIndex[a], ids[a], pointsByIndex[b], ids[b]));
+        long[] unsortedIds = ids.clone();
+        int[] unsortedPoints = pointsByIndex.clone();
+        for (int i = 0; i < size; i++) {
+            ids[i] = unsortedIds[order[i]];
+            pointsByIndex[i] = unsortedPoints[order[i]];
+        }
+    }
+
+    private static int compare(int pointsA, long idA, int pointsB, long idB) {
+        int byPoints = Integer.compare(pointsB, pointsA);
+        return byPoints != 0 ? byPoints : Long.compare(idA, idB);
+    }
+
+    private static int slot(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
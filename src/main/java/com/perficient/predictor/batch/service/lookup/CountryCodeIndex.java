@@ -0,0 +1,137 @@
+package com.perficient.predictor.batch.service.lookup;
+
+import java.util.Map;
+
+/**
+ * Immutable, open-addressed map from the 3-letter country code to the internal COUNTRY_ID.
+ * Codes are packed into a single long key (length + up to three UTF-16 chars), so a lookup
+ * is a couple of array reads with no boxing, hashing of Strings or allocation.
+ * Instances are built once in bulk by {@link CountryIdLookupService} and shared read-only.
+ */
+public final class CountryCodeIndex {
+
+    /** Returned by {@link #idOf(String)} when the code is not in the index. */
+    public static final long NO_ID = -1L;
+
+    private static final int MAX_CODE_LENGTH = 3;
+    private static final long EMPTY = 0L;
+
+    private final long[] keys;
+    private final long[] ids;
+    private final int mask;
+    private final int size;
+
+    private CountryCodeIndex(long[] keys, long[] ids, int size) {
+        this.keys = keys;
+        this.ids = ids;
+        this.mask = keys.length - 1;
+        this.size = size;
+    }
+
+    /**
+     * Builds an index from a code -> ID map. Codes are expected to be normalized (upper case).
+     * Codes longer than 3 characters cannot exist in the COUNTRY table and are ignored.
+     */
+    public static CountryCodeIndex of(Map<String, Long> codeToId) {
+        // Keep the load factor at or below 0.5 so probe sequences stay short
+        int capacity = Integer.highestOneBit(Math.max(4, codeToId.size() * 2 - 1)) << 1;
+        long[] keys = new long[capacity];
+        long[] ids = new long[capacity];
+        int mask = capacity - 1;
+        int size = 0;
+
+        for (Map.Entry<String, Long> entry : codeToId.entrySet()) {
+            long key = pack(entry.getKey());
+            if (key == EMPTY || entry.getValue() == null) {
+                continue;
+            }
+            int slot = slot(key, mask);
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == EMPTY) {
+                size++;
+            }
+            keys[slot] = key;
+            ids[slot] = entry.getValue();
+        }
+        return new CountryCodeIndex(keys, ids, size);
+    }
+
+    public static CountryCodeIndex empty() {
+        return of(Map.of());
+    }
+
+    /**
+     * Resolves a normalized country code to its ID.
+     * @return The COUNTRY_ID, or {@link #NO_ID} if the code is unknown.
+     */
+    public long idOf(String countryCode) {
+        long key = pack(countryCode);
+        if (key == EMPTY) {
+            return NO_ID;
+        }
+        int slot = slot(key, mask);
+        long current;
+        while ((current = keys[slot]) != EMPTY) {
+            if (current == key) {
+                return ids[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return NO_ID;
+    }
+
+    /**
+     * Reverse lookup by scanning the whole index; only meant for rare cases such as reporting rejects.
+     * @return The country code, or null if no code maps to the ID.
+     */
+    public String codeOf(long countryId) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY && ids[slot] == countryId) {
+                return unpack(keys[slot]);
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Packs the code length into the top bits and each char into 16 bits below it.
+     * The length prefix keeps every valid key non-zero, so 0 can mark empty slots.
+     */
+    private static long pack(String code) {
+        if (code == null || code.isEmpty() || code.length() > MAX_CODE_LENGTH) {
+            return EMPTY;
+        }
+        long key = code.length();
+        for (int i = 0; i < code.length(); i++) {
+            key = (key << 16) | code.charAt(i);
+        }
+        return key;
+    }
+
+    /**
+     * Inverse of {@link #pack(String)}: the length sits just above the last char.
+     */
+    private static String unpack(long key) {
+        int length = 1;
+        while (length < MAX_CODE_LENGTH && key >>> (16 * length) != length) {
+            length++;
+        }
+        char[] code = new char[length];
+        for (int i = length - 1; i >= 0; i--) {
+            code[i] = (char) key;
+            key >>>= 16;
+        }
+        return new String(code);
+    }
+
+    private static int slot(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -1,47 +1,139 @@
 package com.perficient.predictor.batch.service.lookup;
 
-import com.perficient.predictor.batch.repository.CountryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Service responsible for resolving the external 3-letter country code
- * into the internal BIGINT Country ID using Spring Data JPA.
+ * into the internal BIGINT Country ID.
+ * The whole COUNTRY table is loaded once, in bulk, into an immutable {@link CountryCodeIndex};
+ * lookups never touch the database. Codes that are not found are remembered in a small
+ * negative cache so repeated misses are cheap and only reported once per index generation.
+ * Resolved and unresolved lookups are counted for the lookup metrics (see BatchMetricsConfig).
  */
 @Service
 public class CountryIdLookupService {
 
-    private final CountryRepository countryRepository;
+    private static final Logger log = LoggerFactory.getLogger(CountryIdLookupService.class);
 
-    /**
-     * Injects the Spring Data JPA repository.
-     */
-    public CountryIdLookupService(CountryRepository countryRepository) {
-        this.countryRepository = countryRepository;
+    // Bound for the negative cache; once full, further misses are simply not remembered
+    private static final int MAX_MISSING_CODES = 256;
+
+    private static final String SELECT_ALL_CODES_SQL = "SELECT CODE, COUNTRY_ID FROM COUNTRY";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Set<String> missingCodes = ConcurrentHashMap.newKeySet();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    // Held while loading from the database; a lock, not a monitor, so a waiting virtual thread is not pinned
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    private volatile CountryCodeIndex index;
+
+    public CountryIdLookupService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     /**
      * Finds the internal Country ID based on the external 3-letter country code.
-     * The lookup is performed in a read-only transaction.
      * @param countryCode The 3-letter country code (e.g., "ENG").
-     * @return The corresponding Country ID (Long), or null if the code is not found in the database.
+     * @return The corresponding Country ID (Long), or null if the code is not in the COUNTRY table.
      */
-    @Transactional(readOnly = true)
     public Long findIdByCode(String countryCode) {
         if (countryCode == null || countryCode.isBlank()) {
+            misses.increment();
             return null;
         }
 
-        final String normalizedCode = countryCode.toUpperCase();
+        final String normalizedCode = countryCode.trim().toUpperCase();
+        if (missingCodes.contains(normalizedCode)) {
+            misses.increment();
+            return null;
+        }
+
+        long id = currentIndex().idOf(normalizedCode);
+        if (id != CountryCodeIndex.NO_ID) {
+            hits.increment();
+            return id;
+        }
+        misses.increment();
+
+        if (missingCodes.size() < MAX_MISSING_CODES && missingCodes.add(normalizedCode)) {
+            log.warn("Country code '{}' not found in the COUNTRY index.", normalizedCode);
+        }
+        return null;
+    }
+
+    /**
+     * Finds the country code for an internal Country ID, e.g. to report a rejected team with its input code.
+     * Scans the index, so not for per-item use.
+     * @return The code, or null if the ID is not in the index.
+     */
+    public String findCodeById(long countryId) {
+        return currentIndex().codeOf(countryId);
+    }
+
+    /** Lookups resolved from the index since startup. */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /** Lookups for blank or unknown codes since startup. */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the current index, loading it from the database on first use.
+     */
+    public CountryCodeIndex currentIndex() {
+        CountryCodeIndex current = index;
+        if (current == null) {
+            loadLock.lock();
+            try {
+                current = index;
+                if (current == null) {
+                    current = loadIndex();
+                }
+            } finally {
+                loadLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Forces a bulk reload of the index, e.g. after the Country Load Job has changed the table.
+     */
+    public void reload() {
+        loadLock.lock();
+        try {
+            loadIndex();
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private CountryCodeIndex loadIndex() {
+        Map<String, Long> codeToId = new HashMap<>();
+        jdbcTemplate.query(SELECT_ALL_CODES_SQL, rs -> {
+            codeToId.put(rs.getString("CODE").trim().toUpperCase(), rs.getLong("COUNTRY_ID"));
+        });
 
-        return countryRepository.findByCountryCode(normalizedCode)
-                .map(country -> {
-                    System.out.println("JPA Lookup: Country code '" + normalizedCode + "' resolved to ID: " + country.getId());
-                    return country.getId();
-                })
-                .orElseGet(() -> {
-                    System.err.println("JPA Lookup: Country code '" + normalizedCode + "' not found in the COUNTRY table. Returning null.");
-                    return null;
-                });
+        CountryCodeIndex loaded = CountryCodeIndex.of(codeToId);
+        index = loaded;
+        missingCodes.clear();
+        log.info("Loaded country code index with {} entries.", loaded.size());
+        return loaded;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,94 @@
+package com.perficient.predictor.batch.service.lookup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Snapshot of the reference data a Game Load step resolves against, taken when the step starts:
+ * team and competition IDs by name (case-insensitive), and the current state of every game by its
+ * fixture key. Three bulk queries per step, none per row.
+ */
+public class GameLoadDictionary {
+
+    private static final Logger log = LoggerFactory.getLogger(GameLoadDictionary.class);
+
+    private static final String SELECT_TEAMS_SQL = "SELECT TEAM_ID, NAME FROM TEAM";
+    private static final String SELECT_COMPETITIONS_SQL = "SELECT COMPETITION_ID, NAME FROM COMPETITION";
+    private static final String SELECT_GAMES_SQL = """
+            SELECT COMPETITION_ID, SEASON_START_YEAR, GAME_WEEK, HOME_TEAM_ID, AWAY_TEAM_ID,
+                   GAME_DATE, STATUS, HOME_SCORE, AWAY_SCORE, POINTS_UPDATED_FLAG
+            FROM GAME
+            """;
+
+    private final Map<String, Long> teamIds = new HashMap<>();
+    private final Map<Long, String> teamNames = new HashMap<>();
+    private final Map<String, Long> competitionIds = new HashMap<>();
+    private final Map<Long, String> competitionNames = new HashMap<>();
+    private final Map<GameKey, GameState> games = new HashMap<>();
+
+    /**
+     * Fixture key of a game: the Game Load Job's upsert key.
+     */
+    public record GameKey(long competitionId, int seasonStartYear, int gameWeek, long homeTeamId, long awayTeamId) {
+    }
+
+    /**
+     * What a game load can change about a game, and whether its points have been awarded.
+     */
+    public record GameState(LocalDate gameDate, String status, Integer homeScore, Integer awayScore, boolean scored) {
+    }
+
+    public static GameLoadDictionary load(JdbcTemplate jdbcTemplate) {
+        GameLoadDictionary dictionary = new GameLoadDictionary();
+        jdbcTemplate.query(SELECT_TEAMS_SQL, rs -> {
+            dictionary.teamIds.put(normalize(rs.getString(2)), rs.getLong(1));
+            dictionary.teamNames.put(rs.getLong(1), rs.getString(2));
+        });
+        jdbcTemplate.query(SELECT_COMPETITIONS_SQL, rs -> {
+            dictionary.competitionIds.put(normalize(rs.getString(2)), rs.getLong(1));
+            dictionary.competitionNames.put(rs.getLong(1), rs.getString(2));
+        });
+        jdbcTemplate.query(SELECT_GAMES_SQL, rs -> {
+            dictionary.games.put(
+                    new GameKey(rs.getLong(1), rs.getInt(2), rs.getInt(3), rs.getLong(4), rs.getLong(5)),
+                    new GameState(rs.getDate(6).toLocalDate(), rs.getString(7),
+                            rs.getObject(8, Integer.class), rs.getObject(9, Integer.class), rs.getBoolean(10)));
+        });
+        log.info("Loaded game load dictionary: {} teams, {} competitions, {} games.",
+                dictionary.teamIds.size(), dictionary.competitionIds.size(), dictionary.games.size());
+        return dictionary;
+    }
+
+    /** @return The team's ID, or null if there is no team of that name. */
+    public Long teamId(String name) {
+        return name == null ? null : teamIds.get(normalize(name));
+    }
+
+    /** @return The competition's ID, or null if there is no competition of that name. */
+    public Long competitionId(String name) {
+        return name == null ? null : competitionIds.get(normalize(name));
+    }
+
+    public String teamName(Long teamId) {
+        return teamNames.get(teamId);
+    }
+
+    public String competitionName(Long competitionId) {
+        return competitionNames.get(competitionId);
+    }
+
+    /** @return The game's state when the step started, or null for a new game. */
+    public GameState game(GameKey key) {
+        return games.get(key);
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toUpperCase(Locale.ROOT);
+    }
+}
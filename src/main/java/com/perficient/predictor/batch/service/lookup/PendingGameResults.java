@@ -0,0 +1,38 @@
+package com.perficient.predictor.batch.service.lookup;
+
+import com.perficient.predictor.batch.dto.GameResult;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Snapshot of the finished games whose points are not yet updated, taken when a scoring step starts.
+ * The reader only reads selections of these games and the processor scores against these results,
+ * so a game that finishes while the step runs is left entirely to the next run.
+ */
+public class PendingGameResults {
+
+    private final Map<Long, GameResult> resultsById = new HashMap<>();
+    private final Long[] gameIds;
+
+    public PendingGameResults(List<GameResult> results) {
+        results.forEach(result -> resultsById.put(result.gameId(), result));
+        this.gameIds = resultsById.keySet().toArray(Long[]::new);
+    }
+
+    public GameResult get(Long gameId) {
+        return resultsById.get(gameId);
+    }
+
+    /**
+     * IDs of the games in the snapshot, as passed to the reader query (an SQL array).
+     */
+    public Long[] gameIds() {
+        return gameIds.clone();
+    }
+
+    public int size() {
+        return gameIds.length;
+    }
+}
@@ -0,0 +1,123 @@
+package com.perficient.predictor.batch.service.lookup;
+
+import com.perficient.predictor.batch.dto.CompetitionRef;
+import com.perficient.predictor.batch.dto.CountryRef;
+import com.perficient.predictor.batch.entity.Competition;
+import com.perficient.predictor.batch.entity.Country;
+import com.perficient.predictor.batch.repository.CompetitionRepository;
+import com.perficient.predictor.batch.repository.CountryRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+/**
+ * Read-through cache for the Country and Competition reference lookups made by the REST tier.
+ *
+ * Lookups by name, code and ID are cached in bounded Caffeine caches with a TTL (see
+ * spring.cache.caffeine.spec); misses are cached too, so a repeated unknown name costs no query.
+ * Values are immutable {@link CountryRef}/{@link CompetitionRef} records rather than JPA entities.
+ * Hit and miss counts are published by Actuator as the cache.gets metric.
+ *
+ * Writers invalidate explicitly: the Country Load Job clears the country caches when it finishes
+ * and creating a competition clears the competition caches once its transaction commits.
+ */
+@Service
+public class ReferenceDataService {
+
+    public static final String COUNTRIES_BY_NAME = "countriesByName";
+    public static final String COUNTRIES_BY_CODE = "countriesByCode";
+    public static final String COUNTRIES_BY_ID = "countriesById";
+    public static final String COMPETITIONS_BY_NAME = "competitionsByName";
+    public static final String COMPETITIONS_BY_ID = "competitionsById";
+
+    private final CountryRepository countryRepository;
+    private final CompetitionRepository competitionRepository;
+    private final CacheManager cacheManager;
+
+    public ReferenceDataService(CountryRepository countryRepository,
+                                CompetitionRepository competitionRepository,
+                                CacheManager cacheManager) {
+        this.countryRepository = countryRepository;
+        this.competitionRepository = competitionRepository;
+        this.cacheManager = cacheManager;
+    }
+
+    @Cacheable(COUNTRIES_BY_NAME)
+    public Optional<CountryRef> findCountryByName(String name) {
+        return countryRepository.findByName(name).map(ReferenceDataService::toRef);
+    }
+
+    @Cacheable(COUNTRIES_BY_CODE)
+    public Optional<CountryRef> findCountryByCode(String code) {
+        return countryRepository.findByCountryCode(code).map(ReferenceDataService::toRef);
+    }
+
+    @Cacheable(COUNTRIES_BY_ID)
+    public Optional<CountryRef> findCountryById(Long countryId) {
+        return countryRepository.findById(countryId).map(ReferenceDataService::toRef);
+    }
+
+    @Cacheable(COMPETITIONS_BY_NAME)
+    public Optional<CompetitionRef> findCompetitionByName(String name) {
+        return competitionRepository.findByName(name).map(ReferenceDataService::toRef);
+    }
+
+    @Cacheable(COMPETITIONS_BY_ID)
+    public Optional<CompetitionRef> findCompetitionById(Long competitionId) {
+        return competitionRepository.findById(competitionId).map(ReferenceDataService::toRef);
+    }
+
+    /**
+     * Drops every cached country lookup, e.g. after the Country Load Job has changed the table.
+     */
+    public void evictCountries() {
+        clearAfterCommit(COUNTRIES_BY_NAME, COUNTRIES_BY_CODE, COUNTRIES_BY_ID);
+    }
+
+    /**
+     * Drops every cached competition lookup, including cached misses.
+     */
+    public void evictCompetitions() {
+        clearAfterCommit(COMPETITIONS_BY_NAME, COMPETITIONS_BY_ID);
+    }
+
+    /**
+     * Clears the caches now and, inside a transaction, again after it commits: a lookup running
+     * concurrently with the transaction could otherwise re-cache the value it is replacing.
+     */
+    private void clearAfterCommit(String... cacheNames) {
+        clear(cacheNames);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clear(cacheNames);
+                }
+            });
+        }
+    }
+
+    private void clear(String... cacheNames) {
+        for (String cacheName : cacheNames) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    private static CountryRef toRef(Country country) {
+        return new CountryRef(country.getId(), country.getName(), country.getCountryCode());
+    }
+
+    private static CompetitionRef toRef(Competition competition) {
+        // The country is a lazy proxy; reading its ID does not load it
+        return new CompetitionRef(competition.getCompetitionId(), competition.getName(),
+                competition.getCountry() != null ? competition.getCountry().getId() : null);
+    }
+}
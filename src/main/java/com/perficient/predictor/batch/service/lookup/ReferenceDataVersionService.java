@@ -0,0 +1,105 @@
+package com.perficient.predictor.batch.service.lookup;
+
+import com.perficient.predictor.batch.service.DataVersionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The DATA_VERSION of the data behind the reference read endpoints, held in memory so they can answer
+ * a conditional GET (If-None-Match) without running a query.
+ *
+ * The version is the entity's VERSION_COUNT, the highest version reserved so far by any instance. A load
+ * job that finishes (see DataVersionRefreshListener) reserves one more straight in the database, so
+ * VERSION_COUNT moves on whichever instance ran it, and every instance re-reads it on a fixed delay.
+ * A load on another instance is therefore seen here within one refresh interval; responses should not be
+ * cached for longer than that (see {@link #refreshInterval()}). An instance reserving a block of versions
+ * also moves VERSION_COUNT on, which only costs clients a full response they did not need.
+ */
+@Service
+public class ReferenceDataVersionService implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(ReferenceDataVersionService.class);
+
+    public static final String TEAM = "TEAM";
+    public static final String COUNTRY = "COUNTRY_JOB";
+
+    // ENTITY_NAME is the primary key: one index lookup per entity
+    private static final String SELECT_SQL =
+            "SELECT ENTITY_NAME, VERSION_COUNT FROM DATA_VERSION WHERE ENTITY_NAME IN (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataVersionService dataVersionService;
+    private final Duration refreshInterval;
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public ReferenceDataVersionService(JdbcTemplate jdbcTemplate,
+                                       DataVersionService dataVersionService,
+                                       @Value("${predictor.reference.version-refresh-ms:5000}") long refreshMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataVersionService = dataVersionService;
+        this.refreshInterval = Duration.ofMillis(refreshMillis);
+        for (String entityName : List.of(TEAM, COUNTRY)) {
+            versions.put(entityName, new AtomicLong());
+        }
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        refresh();
+        log.info("Reference data versions: {}", versions);
+    }
+
+    /**
+     * Re-reads VERSION_COUNT, to pick up loads that finished on other instances.
+     */
+    @Scheduled(fixedDelayString = "${predictor.reference.version-refresh-ms:5000}",
+            initialDelayString = "${predictor.reference.version-refresh-ms:5000}")
+    public void refresh() {
+        jdbcTemplate.query(SELECT_SQL, rs -> {
+            // Only ever moves forward: a load finished here may be ahead of a read that started earlier
+            versions.get(rs.getString(1)).accumulateAndGet(rs.getLong(2), Math::max);
+        }, TEAM, COUNTRY);
+    }
+
+    /**
+     * @return The entity's current version; 0 if none has been reserved yet.
+     */
+    public long current(String entityName) {
+        return version(entityName).get();
+    }
+
+    /**
+     * How long a version read here may lag behind a load finished on another instance.
+     */
+    public Duration refreshInterval() {
+        return refreshInterval;
+    }
+
+    /**
+     * Moves the entity on to a version newer than the current one on every instance, once a load of it
+     * has finished.
+     */
+    public void loadFinished(String entityName) {
+        AtomicLong version = version(entityName);
+        version.accumulateAndGet(dataVersionService.reserveVersion(entityName), Math::max);
+    }
+
+    private AtomicLong version(String entityName) {
+        AtomicLong version = versions.get(entityName);
+        if (version == null) {
+            throw new IllegalArgumentException("No reference data version is kept for " + entityName);
+        }
+        return version;
+    }
+}
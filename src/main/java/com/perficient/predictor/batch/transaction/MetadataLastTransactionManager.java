@@ -0,0 +1,99 @@
+package com.perficient.predictor.batch.transaction;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+/**
+ * Chunk transaction manager for a job repository kept on its own datasource: every chunk transaction
+ * opens a transaction on both datasources, and the business data is committed before the batch metadata.
+ *
+ * The metadata transaction is begun first, so it owns the transaction synchronization and the repository
+ * joins it; the business transaction is begun second and committed first. If the business commit fails,
+ * the metadata is rolled back and the step restarts from the previous chunk, as with one datasource.
+ * Only a failure between the two commits leaves them apart, and then the metadata is behind: a restart
+ * processes the chunk again, which the MERGE writers and offset-truncated reject files make harmless.
+ * The other order could skip a chunk on restart.
+ */
+public class MetadataLastTransactionManager implements PlatformTransactionManager {
+
+    private final PlatformTransactionManager businessTransactionManager;
+    private final PlatformTransactionManager metadataTransactionManager;
+
+    public MetadataLastTransactionManager(PlatformTransactionManager businessTransactionManager,
+                                          PlatformTransactionManager metadataTransactionManager) {
+        this.businessTransactionManager = businessTransactionManager;
+        this.metadataTransactionManager = metadataTransactionManager;
+    }
+
+    @Override
+    public TransactionStatus getTransaction(TransactionDefinition definition) throws TransactionException {
+        TransactionStatus metadata = metadataTransactionManager.getTransaction(definition);
+        try {
+            return new PairedStatus(businessTransactionManager.getTransaction(definition), metadata);
+        } catch (RuntimeException | Error e) {
+            metadataTransactionManager.rollback(metadata);
+            throw e;
+        }
+    }
+
+    @Override
+    public void commit(TransactionStatus status) throws TransactionException {
+        PairedStatus paired = (PairedStatus) status;
+        if (paired.isRollbackOnly()) {
+            rollback(status);
+            return;
+        }
+        try {
+            businessTransactionManager.commit(paired.business);
+        } catch (RuntimeException | Error e) {
+            metadataTransactionManager.rollback(paired.metadata);
+            throw e;
+        }
+        metadataTransactionManager.commit(paired.metadata);
+    }
+
+    @Override
+    public void rollback(TransactionStatus status) throws TransactionException {
+        PairedStatus paired = (PairedStatus) status;
+        try {
+            businessTransactionManager.rollback(paired.business);
+        } finally {
+            metadataTransactionManager.rollback(paired.metadata);
+        }
+    }
+
+    /**
+     * The two transactions of one chunk; new and rollback-only if either of them is.
+     */
+    private static final class PairedStatus extends SimpleTransactionStatus {
+
+        private final TransactionStatus business;
+        private final TransactionStatus metadata;
+
+        private PairedStatus(TransactionStatus business, TransactionStatus metadata) {
+            super(business.isNewTransaction() || metadata.isNewTransaction());
+            this.business = business;
+            this.metadata = metadata;
+        }
+
+        @Override
+        public void setRollbackOnly() {
+            super.setRollbackOnly();
+            business.setRollbackOnly();
+            metadata.setRollbackOnly();
+        }
+
+        @Override
+        public boolean isRollbackOnly() {
+            return super.isRollbackOnly() || business.isRollbackOnly() || metadata.isRollbackOnly();
+        }
+
+        @Override
+        public boolean isCompleted() {
+            return business.isCompleted() && metadata.isCompleted();
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.perficient.predictor.batch.upload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded ring buffer carrying an upload from the request thread (the producer) to the step
+ * reading it (the consumer), so the body never touches the disk.
+ *
+ * The producer blocks while the ring is full, which stops it reading the request and so slows the
+ * client down through TCP flow control. It gives up if the consumer has not started reading within the
+ * start timeout (the job is still queued behind others, say), or, once it has, makes no room for longer
+ * than the stall timeout (the job has died). The consumer blocks while the ring
+ * is empty and sees end of stream only after {@link #finish()}: a failed upload ({@link #fail})
+ * surfaces as an IOException on its next read, never as a clean end of file. Closing the consumer's
+ * stream tells the producer that nobody is reading any more.
+ */
+public class UploadPipe {
+
+    private final byte[] ring;
+    private final long startTimeoutNanos;
+    private final long stallTimeoutNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    // Guarded by lock
+    private int head;
+    private int count;
+    private boolean started;
+    private boolean finished;
+    private boolean consumerClosed;
+    private IOException failure;
+
+    public UploadPipe(int capacity, long startTimeout, long stallTimeout, TimeUnit unit) {
+        this.ring = new byte[capacity];
+        this.startTimeoutNanos = unit.toNanos(startTimeout);
+        this.stallTimeoutNanos = unit.toNanos(stallTimeout);
+    }
+
+    /**
+     * Copies bytes into the ring, waiting for room as needed.
+     * @throws IOException If the consumer stopped reading, did not start within the start timeout or
+     *                     stalled for longer than the stall timeout.
+     */
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        lock.lock();
+        try {
+            while (length > 0) {
+                long remaining = started ? stallTimeoutNanos : startTimeoutNanos;
+                while (count == ring.length && !consumerClosed) {
+                    if (remaining <= 0) {
+                        throw started
+                                ? new IOException("The load job did not read the upload for "
+                                        + TimeUnit.NANOSECONDS.toSeconds(stallTimeoutNanos) + " s")
+                                : new IOException("The load job did not start reading the upload within "
+                                        + TimeUnit.NANOSECONDS.toSeconds(startTimeoutNanos) + " s");
+                    }
+                    remaining = notFull.awaitNanos(remaining);
+                }
+                if (consumerClosed) {
+                    throw new IOException("The load job stopped reading the upload");
+                }
+                int tail = (head + count) % ring.length;
+                int n = Math.min(length, Math.min(ring.length - count, ring.length - tail));
+                System.arraycopy(bytes, offset, ring, tail, n);
+                count += n;
+                offset += n;
+                length -= n;
+                notEmpty.signal();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the load job to read the upload");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Marks the upload complete: the consumer reads what is left, then end of stream.
+     */
+    public void finish() {
+        lock.lock();
+        try {
+            finished = true;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Aborts the upload: the consumer's next read throws the given exception, buffered bytes are dropped.
+     */
+    public void fail(IOException cause) {
+        lock.lock();
+        try {
+            if (!finished) {
+                failure = cause;
+                finished = true;
+                count = 0;
+                notEmpty.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The consumer's end of the pipe. Not thread-safe; meant for the single thread running the step.
+     */
+    public InputStream inputStream() {
+        return new InputStream() {
+            @Override
+            public int read() throws IOException {
+                byte[] single = new byte[1];
+                return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+            }
+
+            @Override
+            public int read(byte[] bytes, int offset, int length) throws IOException {
+                if (length == 0) {
+                    return 0;
+                }
+                lock.lock();
+                try {
+                    while (count == 0 && !finished) {
+                        notEmpty.await();
+                    }
+                    if (failure != null) {
+                        throw new IOException("Upload failed: " + failure.getMessage(), failure);
+                    }
+                    if (count == 0) {
+                        return -1;
+                    }
+                    int n = Math.min(length, Math.min(count, ring.length - head));
+                    System.arraycopy(ring, head, bytes, offset, n);
+                    head = (head + n) % ring.length;
+                    count -= n;
+                    started = true;
+                    notFull.signal();
+                    return n;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for upload data");
+                } finally {
+                    lock.unlock();
+                }
+            }
+
+            @Override
+            public int available() {
+                lock.lock();
+                try {
+                    return count;
+                } finally {
+                    lock.unlock();
+                }
+            }
+
+            @Override
+            public void close() {
+                cancel();
+            }
+        };
+    }
+
+    /**
+     * Whether the consumer has read any of the upload, and may therefore have acted on part of it.
+     */
+    public boolean isStarted() {
+        lock.lock();
+        try {
+            return started;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Tells the producer that nobody will read any more; its current and later writes fail.
+     */
+    public void cancel() {
+        lock.lock();
+        try {
+            consumerClosed = true;
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
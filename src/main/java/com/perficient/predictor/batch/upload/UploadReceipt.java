@@ -0,0 +1,7 @@
+package com.perficient.predictor.batch.upload;
+
+/**
+ * What the load job was sent: the body size and its SHA-256, computed while streaming.
+ */
+public record UploadReceipt(long bytes, String sha256) {
+}
@@ -0,0 +1,180 @@
+package com.perficient.predictor.batch.upload;
+
+import com.perficient.predictor.batch.exception.UploadFailedException;
+import com.perficient.predictor.batch.exception.UploadFailedException.Reason;
+import com.perficient.predictor.batch.service.LoadJobParameters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands streamed uploads to the load jobs through an {@link UploadPipe} per upload, identified by the
+ * job's uploadId parameter. The request thread registers the upload, launches the job and then pumps
+ * the body into the pipe ({@link #transfer}), counting bytes and computing the SHA-256 on the way;
+ * the job's reader takes the other end ({@link #open}). The request thread is held for as long as the
+ * job takes to read the body, but no longer than the start timeout if the job does not begin reading
+ * (it is queued behind other jobs, say), nor the stall timeout if it stops.
+ *
+ * Also a job listener on the load jobs: when a job ends without having opened its upload (it failed
+ * before the read step, say), the pipe is failed and dropped, so the sender is not left waiting.
+ */
+@Service
+public class UploadStreamService implements JobExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(UploadStreamService.class);
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    // Registered uploads whose job has not opened them yet
+    private final Map<String, UploadPipe> unopened = new ConcurrentHashMap<>();
+    // Registered uploads still being received
+    private final Map<String, UploadPipe> receiving = new ConcurrentHashMap<>();
+    private final int bufferSize;
+    private final long maxBytes;
+    private final long startTimeoutMillis;
+    private final long stallTimeoutMillis;
+
+    public UploadStreamService(
+            @Value("${predictor.batch.upload.buffer-size:4194304}") int bufferSize,
+            @Value("${predictor.batch.upload.max-bytes:10737418240}") long maxBytes,
+            @Value("${predictor.batch.upload.start-timeout-ms:30000}") long startTimeoutMillis,
+            @Value("${predictor.batch.upload.stall-timeout-ms:60000}") long stallTimeoutMillis) {
+        this.bufferSize = bufferSize;
+        this.maxBytes = maxBytes;
+        this.startTimeoutMillis = startTimeoutMillis;
+        this.stallTimeoutMillis = stallTimeoutMillis;
+    }
+
+    /** Largest body accepted, in bytes. */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Creates the pipe for a new upload.
+     * @return The upload ID to pass to the job.
+     */
+    public String register() {
+        String uploadId = UUID.randomUUID().toString();
+        UploadPipe pipe = new UploadPipe(bufferSize, startTimeoutMillis, stallTimeoutMillis, TimeUnit.MILLISECONDS);
+        receiving.put(uploadId, pipe);
+        unopened.put(uploadId, pipe);
+        return uploadId;
+    }
+
+    /**
+     * Drops an upload whose job could not be launched.
+     */
+    public void discard(String uploadId) {
+        unopened.remove(uploadId);
+        receiving.remove(uploadId);
+    }
+
+    /**
+     * The job's end of the upload; can be opened once.
+     * @throws IllegalStateException If there is no such upload, or it was already opened.
+     */
+    public InputStream open(String uploadId) {
+        UploadPipe pipe = unopened.remove(uploadId);
+        if (pipe == null) {
+            throw new IllegalStateException("Upload " + uploadId + " is not available; streamed uploads"
+                    + " cannot be read twice, so a failed upload job has to be sent again rather than restarted");
+        }
+        return pipe.inputStream();
+    }
+
+    /**
+     * Streams the request body into the upload's pipe, blocking whenever the job falls behind.
+     * On any failure the job's reader fails too, so the job fails instead of finishing as if the body
+     * were complete. The job loads the body while it arrives, though, and the checksum can only be
+     * checked at the end: chunks committed before a failure (a checksum mismatch included) stay loaded,
+     * which {@link UploadFailedException#isPartlyRead()} tells the caller.
+     *
+     * @param expectedSha256 Hex SHA-256 the client sent for the body, or null not to check it.
+     * @throws UploadFailedException If the body is too large, does not match the checksum, or cannot be
+     *                               delivered.
+     */
+    public UploadReceipt transfer(String uploadId, InputStream body, String expectedSha256) {
+        UploadPipe pipe = receiving.get(uploadId);
+        if (pipe == null) {
+            throw new IllegalStateException("Upload " + uploadId + " is not registered");
+        }
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        long bytes = 0;
+        try {
+            int read;
+            while ((read = readBody(pipe, body, buffer)) != -1) {
+                bytes += read;
+                if (bytes > maxBytes) {
+                    throw abort(pipe, Reason.TOO_LARGE, "Upload exceeds the limit of " + maxBytes + " bytes", null);
+                }
+                digest.update(buffer, 0, read);
+                try {
+                    pipe.write(buffer, 0, read);
+                } catch (IOException e) {
+                    throw abort(pipe, pipe.isStarted() ? Reason.NOT_READ : Reason.NOT_STARTED, e.getMessage(), e);
+                }
+            }
+
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            if (expectedSha256 != null && !expectedSha256.trim().equalsIgnoreCase(sha256)) {
+                throw abort(pipe, Reason.CHECKSUM_MISMATCH,
+                        "Upload SHA-256 is " + sha256 + ", expected " + expectedSha256.trim(), null);
+            }
+            pipe.finish();
+            log.info("Upload {} received: {} bytes, SHA-256 {}.", uploadId, bytes, sha256);
+            return new UploadReceipt(bytes, sha256);
+        } finally {
+            receiving.remove(uploadId);
+        }
+    }
+
+    @Override
+    public void afterJob(@NonNull JobExecution jobExecution) {
+        String uploadId = jobExecution.getJobParameters().getString(LoadJobParameters.UPLOAD_ID);
+        if (uploadId == null) {
+            return;
+        }
+        UploadPipe pipe = unopened.remove(uploadId);
+        if (pipe != null) {
+            pipe.fail(new IOException("Job execution " + jobExecution.getId() + " ended without reading the upload"));
+            pipe.cancel();
+        }
+    }
+
+    private static int readBody(UploadPipe pipe, InputStream body, byte[] buffer) {
+        try {
+            return body.read(buffer);
+        } catch (IOException e) {
+            throw abort(pipe, Reason.CLIENT_ABORTED, "Reading the upload failed: " + e.getMessage(), e);
+        }
+    }
+
+    private static UploadFailedException abort(UploadPipe pipe, Reason reason, String message, Throwable cause) {
+        pipe.fail(new IOException(message, cause));
+        return new UploadFailedException(reason, message, cause, pipe.isStarted());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.perficient.predictor.batch.writer;
+
+import com.perficient.predictor.batch.dto.SelectionScoreDBOutput;
+import com.perficient.predictor.batch.service.leaderboard.LeaderboardService;
+import com.perficient.predictor.batch.service.leaderboard.LeaderboardUpdate;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Writes one chunk of scored predictions in three statements, all in the chunk transaction:
+ * 1. a JDBC batch UPDATE of SELECTION, only for rows not already processed,
+ * 2. one set-based MERGE adding the chunk's points per player and game week into PLAYER_WEEKLY_SCORE,
+ * 3. one set-based MERGE adding the chunk's points per player into PLAYER.TOTAL_POINTS.
+ *
+ * Only selections the UPDATE actually flipped are aggregated, so a selection is never counted twice,
+ * even if two runs overlap or a chunk is retried. The aggregates are passed to H2 as arrays
+ * (UNNEST) and sorted by key, so concurrent writers lock PLAYER rows in the same order.
+ *
+ * Once the chunk transaction commits, the same points are handed to the {@link LeaderboardService};
+ * a rolled-back chunk never reaches the in-memory leaderboards.
+ */
+public class SelectionScoreWriter implements ItemWriter<SelectionScoreDBOutput> {
+
+    private static final String SYSTEM_USER = "SCORING_JOB";
+
+    private static final String SCORE_SELECTION_SQL = """
+            UPDATE SELECTION
+            SET POINTS_AWARDED = ?, SELECTION_PROCESSED_FLAG = TRUE, UPDATED_AT = CURRENT_TIMESTAMP, UPDATED_BY = ?
+            WHERE SELECTION_ID = ? AND SELECTION_PROCESSED_FLAG = FALSE
+            """;
+
+    private static final String WEEKLY_SCORE_MERGE_SQL = """
+            MERGE INTO PLAYER_WEEKLY_SCORE T
+            USING (SELECT * FROM UNNEST(CAST(? AS BIGINT ARRAY), CAST(? AS BIGINT ARRAY), CAST(? AS INT ARRAY),
+                                        CAST(? AS INT ARRAY), CAST(? AS INT ARRAY))
+                   AS D(PLAYER_ID, COMPETITION_ID, SEASON_START_YEAR, GAME_WEEK, POINTS)) D
+            ON T.PLAYER_ID = D.PLAYER_ID AND T.COMPETITION_ID = D.COMPETITION_ID
+               AND T.SEASON_START_YEAR = D.SEASON_START_YEAR AND T.GAME_WEEK = D.GAME_WEEK
+            WHEN MATCHED THEN UPDATE SET
+                WEEKLY_POINTS = T.WEEKLY_POINTS + D.POINTS, UPDATED_AT = CURRENT_TIMESTAMP, UPDATED_BY = ?
+            WHEN NOT MATCHED THEN INSERT (PLAYER_ID, COMPETITION_ID, SEASON_START_YEAR, GAME_WEEK, WEEKLY_POINTS, UPDATED_BY)
+                VALUES (D.PLAYER_ID, D.COMPETITION_ID, D.SEASON_START_YEAR, D.GAME_WEEK, D.POINTS, ?)
+            """;
+
+    private static final String TOTAL_POINTS_MERGE_SQL = """
+            MERGE INTO PLAYER T
+            USING (SELECT * FROM UNNEST(CAST(? AS BIGINT ARRAY), CAST(? AS INT ARRAY)) AS D(PLAYER_ID, POINTS)) D
+            ON T.PLAYER_ID = D.PLAYER_ID
+            WHEN MATCHED THEN UPDATE SET
+                TOTAL_POINTS = T.TOTAL_POINTS + D.POINTS, UPDATED_AT = CURRENT_TIMESTAMP, UPDATED_BY = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LeaderboardService leaderboardService;
+
+    public SelectionScoreWriter(JdbcTemplate jdbcTemplate, LeaderboardService leaderboardService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.leaderboardService = leaderboardService;
+    }
+
+    @Override
+    public void write(@NonNull Chunk<? extends SelectionScoreDBOutput> chunk) {
+        // Before any statement, so a reload that may have read this chunk's points is detected
+        long leaderboardGeneration = leaderboardService.generation();
+        List<? extends SelectionScoreDBOutput> items = chunk.getItems();
+        int[][] updateCounts = jdbcTemplate.batchUpdate(SCORE_SELECTION_SQL, items, items.size(), (ps, item) -> {
+            ps.setInt(1, item.points());
+            ps.setString(2, SYSTEM_USER);
+            ps.setLong(3, item.selectionId());
+        });
+
+        Map<WeekKey, Integer> weeklyPoints = new TreeMap<>();
+        Map<Long, Integer> totalPoints = new TreeMap<>();
+        int index = 0;
+        for (int[] batch : updateCounts) {
+            for (int count : batch) {
+                SelectionScoreDBOutput item = items.get(index++);
+                if (count == 0) {
+                    continue; // already scored
+                }
+                weeklyPoints.merge(new WeekKey(item.playerId(), item.competitionId(), item.seasonStartYear(),
+                        item.gameWeek()), item.points(), Integer::sum);
+                totalPoints.merge(item.playerId(), item.points(), Integer::sum);
+            }
+        }
+        if (weeklyPoints.isEmpty()) {
+            return;
+        }
+
+        LeaderboardUpdate leaderboardUpdate = new LeaderboardUpdate(leaderboardGeneration);
+        int weeks = weeklyPoints.size();
+        Long[] playerIds = new Long[weeks];
+        Long[] competitionIds = new Long[weeks];
+        Integer[] seasons = new Integer[weeks];
+        Integer[] gameWeeks = new Integer[weeks];
+        Integer[] points = new Integer[weeks];
+        int i = 0;
+        for (Map.Entry<WeekKey, Integer> entry : weeklyPoints.entrySet()) {
+            WeekKey key = entry.getKey();
+            playerIds[i] = key.playerId();
+            competitionIds[i] = key.competitionId();
+            seasons[i] = key.seasonStartYear();
+            gameWeeks[i] = key.gameWeek();
+            points[i++] = entry.getValue();
+            leaderboardUpdate.addWeekly(key.playerId(), key.competitionId(), key.seasonStartYear(), key.gameWeek(),
+                    entry.getValue());
+        }
+        jdbcTemplate.update(WEEKLY_SCORE_MERGE_SQL,
+                playerIds, competitionIds, seasons, gameWeeks, points, SYSTEM_USER, SYSTEM_USER);
+
+        // A player whose chunk points are all zero has nothing to add to the total
+        List<Long> scoringPlayers = new ArrayList<>();
+        List<Integer> scoringPoints = new ArrayList<>();
+        totalPoints.forEach((playerId, playerPoints) -> {
+            if (playerPoints != 0) {
+                scoringPlayers.add(playerId);
+                scoringPoints.add(playerPoints);
+                leaderboardUpdate.addTotal(playerId, playerPoints);
+            }
+        });
+        if (!scoringPlayers.isEmpty()) {
+            jdbcTemplate.update(TOTAL_POINTS_MERGE_SQL,
+                    scoringPlayers.toArray(Long[]::new), scoringPoints.toArray(Integer[]::new), SYSTEM_USER);
+        }
+        publishAfterCommit(leaderboardUpdate);
+    }
+
+    private void publishAfterCommit(LeaderboardUpdate update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            leaderboardService.apply(update);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                leaderboardService.apply(update);
+            }
+        });
+    }
+
+    private record WeekKey(long playerId, long competitionId, int seasonStartYear, int gameWeek)
+            implements Comparable<WeekKey> {
+
+        private static final Comparator<WeekKey> ORDER = Comparator.comparingLong(WeekKey::playerId)
+                .thenComparingLong(WeekKey::competitionId)
+                .thenComparingInt(WeekKey::seasonStartYear)
+                .thenComparingInt(WeekKey::gameWeek);
+
+        @Override
+        public int compareTo(WeekKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import org.springframework.batch.core.configuration.annotation.EnableBatchProces
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
@@ -11,6 +12,7 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 @EnableJpaRepositories(basePackages = "com.perficient.predictor.batch.repository")
 @EntityScan(basePackages = "com.perficient.predictor.batch.entity")
 @EnableScheduling
+@EnableCaching
 public class SpringSecurityJweApplication {
     public static void main(String[] args) {
         SpringApplication.run(SpringSecurityJweApplication.class, args);
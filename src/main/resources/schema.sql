@@ -45,6 +45,9 @@ CREATE TABLE TEAM (
                       FOREIGN KEY (COUNTRY_ID) REFERENCES COUNTRY(COUNTRY_ID)
 );
 
+-- Lists a country's teams in ID order (keyset pagination of GET /api/v1/teams)
+CREATE INDEX IDX_TEAM_COUNTRY_ID ON TEAM (COUNTRY_ID, TEAM_ID);
+
 -- -------------------------------------------------------------------------
 -- 2. COMPETITION Table
 -- -------------------------------------------------------------------------
@@ -72,7 +75,7 @@ CREATE TABLE COMPETITION (
 CREATE TABLE TEAM_COMPETITION_SEASON (
                                          TEAM_COMPETITION_SEASON_ID BIGINT GENERATED BY DEFAULT AS IDENTITY(START WITH 1) PRIMARY KEY,
 
-
+                                         TEAM_ID BIGINT NOT NULL,
                                          COMPETITION_ID BIGINT NOT NULL,
 
                                          SEASON_START_YEAR INT NOT NULL,
@@ -85,9 +88,11 @@ CREATE TABLE TEAM_COMPETITION_SEASON (
 
     -- Foreign Key Constraints
 
+                                         FOREIGN KEY (TEAM_ID) REFERENCES TEAM(TEAM_ID),
                                          FOREIGN KEY (COMPETITION_ID) REFERENCES COMPETITION(COMPETITION_ID),
 
-                                         UNIQUE ( COMPETITION_ID, SEASON_START_YEAR)
+    -- A team enrols once per competition season; also the index for listing a season's teams
+                                         UNIQUE (COMPETITION_ID, SEASON_START_YEAR, TEAM_ID)
 );
 
 
@@ -153,7 +158,10 @@ CREATE TABLE GAME (
                       FOREIGN KEY (AWAY_TEAM_ID) REFERENCES TEAM(TEAM_ID),
 
     -- Constraint to prevent a club playing itself (optional but good practice)
-                      CHECK (HOME_TEAM_ID <> AWAY_TEAM_ID)
+                      CHECK (HOME_TEAM_ID <> AWAY_TEAM_ID),
+
+    -- A fixture is identified by its competition, season, week and teams (the Game Load Job's upsert key)
+                      UNIQUE (COMPETITION_ID, SEASON_START_YEAR, GAME_WEEK, HOME_TEAM_ID, AWAY_TEAM_ID)
 );
 
 
@@ -220,13 +228,28 @@ CREATE TABLE DATA_VERSION (
     -- Primary key identifies the entity/table being tracked (e.g., 'TEAM', 'PLAYER')
                               ENTITY_NAME VARCHAR(100) NOT NULL PRIMARY KEY,
 
-    -- The incremental count of successful updates (e.g., 1, 2, 3...)
+    -- Highest version reserved so far (DataVersionService reserves them in blocks), not the last one used
                               VERSION_COUNT BIGINT NOT NULL,
 
     -- Timestamp when the version was successfully recorded
                               LAST_UPDATED TIMESTAMP NOT NULL
 );
 
--- Initialize the counter for the 'TEAM' entity
+-- Initialize the counters for 'TEAM' and 'COUNTRY_JOB' (read by ReferenceDataVersionService)
+-- and 'PLAYER_SCORE' (read by LeaderboardService)
 INSERT INTO DATA_VERSION (ENTITY_NAME, VERSION_COUNT, LAST_UPDATED) VALUES ('TEAM', 0, NOW());
+INSERT INTO DATA_VERSION (ENTITY_NAME, VERSION_COUNT, LAST_UPDATED) VALUES ('COUNTRY_JOB', 0, NOW());
+INSERT INTO DATA_VERSION (ENTITY_NAME, VERSION_COUNT, LAST_UPDATED) VALUES ('PLAYER_SCORE', 0, NOW());
+
 
+-- -------------------------------------------------------------------------
+-- TEAM_LOAD_HASH Table - Content hash of each team written by an incremental
+-- team load, used by the next incremental load to skip unchanged rows.
+-- Cleared by any team load that is not incremental.
+-- -------------------------------------------------------------------------
+
+CREATE TABLE TEAM_LOAD_HASH (
+                                NAME VARCHAR(255) NOT NULL PRIMARY KEY,
+                                CONTENT_HASH BIGINT NOT NULL,
+                                UPDATED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
@@ -0,0 +1,143 @@
+package com.perficient.predictor.batch.chunk;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Only the moves that do not depend on comparing the measured throughput of two chunks, which would
+ * make the tests depend on timing.
+ */
+class AdaptiveChunkSizePolicyTest {
+
+    private static final long NO_CEILING = Long.MAX_VALUE;
+
+    private StepExecution stepExecution;
+    private ChunkContext chunkContext;
+
+    @BeforeEach
+    void setUp() {
+        stepExecution = new StepExecution("teamLoadStep", new JobExecution(1L));
+        chunkContext = new ChunkContext(new StepContext(stepExecution));
+    }
+
+    @Test
+    void growsAfterACleanChunk() {
+        AdaptiveChunkSizePolicy policy = start(new AdaptiveChunkSizePolicy(100, 10, 1000, true, NO_CEILING));
+
+        chunk(policy, 100, false);
+
+        assertThat(policy.getChunkSize()).isEqualTo(150);
+        assertThat(stepExecution.getExecutionContext().getInt(AdaptiveChunkSizePolicy.CHUNK_SIZE_KEY)).isEqualTo(150);
+    }
+
+    @Test
+    void growthStopsAtTheMaximum() {
+        AdaptiveChunkSizePolicy policy = start(new AdaptiveChunkSizePolicy(900, 10, 1000, true, NO_CEILING));
+
+        chunk(policy, 900, false);
+
+        assertThat(policy.getChunkSize()).isEqualTo(1000);
+    }
+
+    @Test
+    void shrinksWhenAChunkTakesLongerThanTheCeiling() {
+        AdaptiveChunkSizePolicy policy = start(new AdaptiveChunkSizePolicy(100, 10, 1000, true, 1));
+
+        policy.beforeChunk(chunkContext);
+        stepExecution.setReadCount(100);
+        sleep(5);
+        policy.afterChunk(chunkContext);
+
+        assertThat(policy.getChunkSize()).isEqualTo(75);
+    }
+
+    @Test
+    void skipHalvesTheSizeAndHoldsIt() {
+        AdaptiveChunkSizePolicy policy = start(new AdaptiveChunkSizePolicy(100, 10, 1000, true, NO_CEILING));
+
+        chunk(policy, 100, true);
+        assertThat(policy.getChunkSize()).isEqualTo(50);
+
+        for (int i = 0; i < 3; i++) {
+            chunk(policy, 50, false);
+            assertThat(policy.getChunkSize()).isEqualTo(50);
+        }
+        chunk(policy, 50, false);
+        assertThat(policy.getChunkSize()).isNotEqualTo(50);
+    }
+
+    @Test
+    void chunkErrorHalvesTheSizeDownToTheMinimum() {
+        AdaptiveChunkSizePolicy policy = start(new AdaptiveChunkSizePolicy(30, 10, 1000, true, NO_CEILING));
+
+        policy.afterChunkError(chunkContext);
+        assertThat(policy.getChunkSize()).isEqualTo(15);
+        policy.afterChunkError(chunkContext);
+        assertThat(policy.getChunkSize()).isEqualTo(10);
+    }
+
+    @Test
+    void fixedModeNeverChanges() {
+        AdaptiveChunkSizePolicy policy = start(new AdaptiveChunkSizePolicy(100, 10, 1000, false, 1));
+
+        chunk(policy, 100, false);
+        chunk(policy, 100, true);
+        policy.afterChunkError(chunkContext);
+
+        assertThat(policy.getChunkSize()).isEqualTo(100);
+    }
+
+    @Test
+    void restartContinuesFromTheSavedSizeWithinTheBounds() {
+        stepExecution.getExecutionContext().putInt(AdaptiveChunkSizePolicy.CHUNK_SIZE_KEY, 40);
+        assertThat(start(new AdaptiveChunkSizePolicy(100, 10, 1000, true, NO_CEILING)).getChunkSize()).isEqualTo(40);
+
+        stepExecution.getExecutionContext().putInt(AdaptiveChunkSizePolicy.CHUNK_SIZE_KEY, 5000);
+        assertThat(start(new AdaptiveChunkSizePolicy(100, 10, 1000, true, NO_CEILING)).getChunkSize()).isEqualTo(1000);
+    }
+
+    @Test
+    void recordsTheRangeAndHistoryOfSizes() {
+        AdaptiveChunkSizePolicy policy = start(new AdaptiveChunkSizePolicy(100, 10, 1000, true, NO_CEILING));
+
+        chunk(policy, 100, false);
+        chunk(policy, 150, true);
+        policy.afterStep(stepExecution);
+
+        assertThat(stepExecution.getExecutionContext().getInt(AdaptiveChunkSizePolicy.CHUNK_SIZE_MIN_KEY)).isEqualTo(75);
+        assertThat(stepExecution.getExecutionContext().getInt(AdaptiveChunkSizePolicy.CHUNK_SIZE_MAX_KEY)).isEqualTo(150);
+        assertThat(stepExecution.getExecutionContext().getString(AdaptiveChunkSizePolicy.CHUNK_SIZE_HISTORY_KEY))
+                .startsWith("100@start,150@")
+                .endsWith(",75@backoff,75@end");
+    }
+
+    private AdaptiveChunkSizePolicy start(AdaptiveChunkSizePolicy policy) {
+        policy.beforeStep(stepExecution);
+        return policy;
+    }
+
+    private void chunk(AdaptiveChunkSizePolicy policy, long items, boolean skipped) {
+        policy.beforeChunk(chunkContext);
+        stepExecution.setReadCount(stepExecution.getReadCount() + items);
+        if (skipped) {
+            stepExecution.setProcessSkipCount(stepExecution.getProcessSkipCount() + 1);
+        }
+        policy.afterChunk(chunkContext);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.perficient.predictor.batch.config;
+
+import com.perficient.predictor.batch.bulk.BulkLoadTasklet;
+import com.perficient.predictor.batch.dto.TeamCsvInput;
+import com.perficient.predictor.batch.dto.TeamDBOutput;
+import com.perficient.predictor.batch.exception.ValidationException;
+import com.perficient.predictor.batch.logging.RejectedItemLog;
+import com.perficient.predictor.batch.processor.TeamItemProcessor;
+import com.perficient.predictor.batch.reader.MappedCsvItemReader;
+import com.perficient.predictor.batch.reject.RejectedRecordSkipListener;
+import com.perficient.predictor.batch.reject.RejectedRecordWriter;
+import com.perficient.predictor.batch.service.lookup.CountryIdLookupService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The bulk step's error file has the chunk step's layout and reason codes, so either can be fed back.
+ */
+class TeamBulkLoadRejectFileTest {
+
+    private static final String INPUT = """
+            NAME,TEAM_TYPE,STADIUM_NAME,ESTABLISHED_YEAR,NICKNAME,STADIUM_CAPACITY,COUNTRY_CODE
+            Arsenal,CLUB,Emirates Stadium,1886,Gunners,60704,ENG
+            ,CLUB,Nowhere,1900,,100,ENG
+            Leeds United,CLUB,"Elland Road, Leeds",abc,Whites,37890,ENG
+            Celtic,CLUB,Celtic Park,1887,Bhoys,60411,SCO
+            Ajax,CLUB,Johan Cruijff Arena,1900,,12345678901,NED
+            Tottenham,,Tottenham Hotspur Stadium,1882,Spurs,62850,ENG
+            """;
+    private static final int REJECT_FILE_FIELDS = TeamLoadConfig.TEAM_CSV_COLUMNS.size() + 2;
+
+    @TempDir
+    Path dir;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private Path input;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dataSource = new SingleConnectionDataSource(
+                "jdbc:h2:mem:team-bulk-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE COUNTRY (COUNTRY_ID BIGINT PRIMARY KEY, CODE VARCHAR(3) NOT NULL)");
+        jdbcTemplate.execute("""
+                CREATE TABLE TEAM (
+                    TEAM_ID BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    NAME VARCHAR(255) NOT NULL UNIQUE, TEAM_TYPE VARCHAR(20) NOT NULL, COUNTRY_ID BIGINT NOT NULL,
+                    STADIUM_NAME VARCHAR(255), ESTABLISHED_YEAR INT, NICKNAME VARCHAR(255), STADIUM_CAPACITY INT,
+                    UPDATED_BY VARCHAR(100) NOT NULL)
+                """);
+        jdbcTemplate.update("INSERT INTO COUNTRY VALUES (1, 'ENG')");
+        input = Files.writeString(dir.resolve("teams.csv"), INPUT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("SHUTDOWN");
+        dataSource.destroy();
+    }
+
+    @Test
+    void bulkRejectFileMatchesTheChunkRejectFile() throws Exception {
+        Path bulkRejects = dir.resolve("bulk.rejected.csv");
+        Path chunkRejects = dir.resolve("chunk.rejected.csv");
+
+        runBulkStep(bulkRejects);
+        runChunkProcessing(chunkRejects);
+
+        assertThat(read(bulkRejects, REJECT_FILE_FIELDS)).isEqualTo(read(chunkRejects, REJECT_FILE_FIELDS));
+        assertThat(jdbcTemplate.queryForList("SELECT NAME FROM TEAM", String.class)).containsExactly("Arsenal");
+    }
+
+    @Test
+    void rejectFileCarriesTheInputFieldsThenReasonCodeAndDetail() throws Exception {
+        Path bulkRejects = dir.resolve("bulk.rejected.csv");
+
+        runBulkStep(bulkRejects);
+
+        List<List<String>> rejects = read(bulkRejects, REJECT_FILE_FIELDS);
+        List<List<String>> inputRows = read(input, TeamLoadConfig.TEAM_CSV_COLUMNS.size());
+        assertThat(rejects.get(0)).endsWith(RejectedRecordWriter.REASON_COLUMN, RejectedRecordWriter.DETAIL_COLUMN);
+        // Dropping the last two columns gives the rejected input lines back, header included
+        assertThat(rejects.stream().map(row -> row.subList(0, row.size() - 2)).toList())
+                .containsExactly(inputRows.get(0), inputRows.get(2), inputRows.get(3), inputRows.get(4),
+                        inputRows.get(5), inputRows.get(6));
+        assertThat(rejects.subList(1, rejects.size()).stream().map(row -> row.get(row.size() - 2)).toList())
+                .containsExactly(RejectedRecordSkipListener.SKIPPED_IN_PROCESS,
+                        TeamItemProcessor.INVALID_ESTABLISHED_YEAR,
+                        TeamItemProcessor.UNKNOWN_COUNTRY,
+                        TeamItemProcessor.INVALID_STADIUM_CAPACITY,
+                        RejectedRecordSkipListener.SKIPPED_IN_PROCESS);
+        assertThat(rejects.get(2).get(REJECT_FILE_FIELDS - 1))
+                .isEqualTo("Invalid 'establishedYear' for team [Leeds United]: 'abc'");
+    }
+
+    private void runBulkStep(Path errorFile) {
+        BulkLoadTasklet tasklet = new TeamLoadConfig(null, null)
+                .teamBulkLoadTasklet(input.toString(), errorFile.toString(), jdbcTemplate);
+        StepExecution stepExecution = new StepExecution("teamBulkLoadStep", new JobExecution(1L));
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource)).executeWithoutResult(status ->
+                tasklet.execute(new StepContribution(stepExecution), new ChunkContext(new StepContext(stepExecution))));
+    }
+
+    /**
+     * What teamLoadStep does with each line: the processor filters or throws, the skip listener
+     * writes the skipped ones.
+     */
+    private void runChunkProcessing(Path errorFile) throws Exception {
+        // Looks codes up in the same COUNTRY table the bulk step joins against
+        CountryIdLookupService countryIdLookupService = new CountryIdLookupService(jdbcTemplate);
+        RejectedRecordWriter writer = new RejectedRecordWriter(errorFile, TeamLoadConfig.TEAM_CSV_COLUMNS, true);
+        writer.open(new ExecutionContext());
+        TeamItemProcessor processor = new TeamItemProcessor(countryIdLookupService,
+                new RejectedItemLog("teamLoadStep", writer));
+        RejectedRecordSkipListener<TeamCsvInput, TeamDBOutput> skipListener =
+                new RejectedRecordSkipListener<>(writer, TeamItemProcessor::fields, team -> List.of());
+
+        List<List<String>> rows = read(input, TeamLoadConfig.TEAM_CSV_COLUMNS.size());
+        for (List<String> row : rows.subList(1, rows.size())) {
+            TeamCsvInput team = new TeamCsvInput(row.get(0), row.get(1), row.get(2), row.get(3), row.get(4),
+                    row.get(5), row.get(6));
+            try {
+                processor.process(team);
+            } catch (ValidationException e) {
+                skipListener.onSkipInProcess(team, e);
+            }
+        }
+        writer.close();
+    }
+
+    private static List<List<String>> read(Path file, int fields) throws Exception {
+        MappedCsvItemReader<List<String>> reader = new MappedCsvItemReader<>("rows", file, 0, null, 0, ',', fields,
+                record -> IntStream.range(0, record.count()).mapToObj(record::get).toList());
+        reader.open(new ExecutionContext());
+        try {
+            List<List<String>> rows = new ArrayList<>();
+            List<String> row;
+            while ((row = reader.read()) != null) {
+                rows.add(row);
+            }
+            return rows;
+        } finally {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.perficient.predictor.batch.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.perficient.predictor.batch.dto.CountryRef;
+import com.perficient.predictor.batch.service.ReferenceListingService;
+import com.perficient.predictor.batch.service.lookup.ReferenceDataVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class CountryControllerTest {
+
+    private static final List<CountryRef> COUNTRIES = List.of(
+            new CountryRef(3L, "England", "ENG"),
+            new CountryRef(7L, "France", "FRA"),
+            new CountryRef(9L, "Spain", "ESP"));
+
+    private ReferenceListingService listingService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        listingService = mock(ReferenceListingService.class);
+        ReferenceDataVersionService versionService = mock(ReferenceDataVersionService.class);
+        when(versionService.current(ReferenceDataVersionService.COUNTRY)).thenReturn(12L);
+        when(versionService.refreshInterval()).thenReturn(Duration.ofSeconds(5));
+        // Behaves like the keyset query: IDs above 'after', in ID order, at most 'limit'
+        doAnswer(invocation -> {
+            long after = invocation.getArgument(0);
+            int limit = invocation.getArgument(1);
+            Consumer<CountryRef> action = invocation.getArgument(2);
+            COUNTRIES.stream().filter(c -> c.countryId() > after).limit(limit).forEach(action);
+            return null;
+        }).when(listingService).forEachCountry(anyLong(), anyInt(), any());
+
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                new CountryController(listingService, versionService, new ObjectMapper())).build();
+    }
+
+    @Test
+    void fullPageHasTheLastKeyAsNextCursor() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/countries").param("limit", "2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].code").value("ENG"))
+                .andExpect(jsonPath("$.items[1].code").value("FRA"))
+                .andExpect(jsonPath("$.nextCursor").value(7));
+    }
+
+    @Test
+    void cursorContinuesAfterThePreviousPageAndEndsWithNull() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/countries").param("after", "7").param("limit", "2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].code").value("ESP"))
+                .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+        verify(listingService).forEachCountry(eq(7L), eq(2), any());
+    }
+
+    @Test
+    void matchingETagIsNotModifiedWithoutReading() throws Exception {
+        mockMvc.perform(get("/api/v1/countries").header(HttpHeaders.IF_NONE_MATCH, "\"v12\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v12\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=5, public"));
+        verify(listingService, never()).forEachCountry(anyLong(), anyInt(), any());
+    }
+
+    @Test
+    void pageSizeAboveTheMaximumIsRejected() throws Exception {
+        mockMvc.perform(get("/api/v1/countries").param("limit", String.valueOf(KeysetPageStream.MAX_PAGE_SIZE + 1)))
+                .andExpect(status().isBadRequest());
+        verify(listingService, never()).forEachCountry(anyLong(), anyInt(), any());
+    }
+}
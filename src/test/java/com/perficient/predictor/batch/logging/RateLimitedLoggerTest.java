@@ -0,0 +1,50 @@
+package com.perficient.predictor.batch.logging;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RateLimitedLoggerTest {
+
+    @Test
+    void suppressedCountGoesBeforeATrailingThrowable() {
+        IllegalStateException failure = new IllegalStateException("boom");
+
+        Object[] arguments = RateLimitedLogger.withSuppressedCount(new Object[]{"row 7", failure}, 3);
+
+        assertThat(arguments).containsExactly("row 7", 3L, failure);
+    }
+
+    @Test
+    void suppressedCountIsAppendedWithoutAThrowable() {
+        Object[] arguments = RateLimitedLogger.withSuppressedCount(new Object[]{"row 7"}, 3);
+
+        assertThat(arguments).containsExactly("row 7", 3L);
+    }
+
+    @Test
+    void dropsMessagesBeyondThePermitsOfAWindow() {
+        Logger delegate = mock(Logger.class);
+        when(delegate.isWarnEnabled()).thenReturn(true);
+        RateLimitedLogger logger = new RateLimitedLogger(delegate, 2, 1, TimeUnit.HOURS);
+
+        for (int i = 0; i < 5; i++) {
+            logger.warn("KEY", "Rejected row {}", i);
+        }
+
+        verify(delegate, times(2)).warn(eq("Rejected row {}"), any(Object[].class));
+        verify(delegate, never()).warn(eq("Rejected row {} ({} similar messages suppressed)"), any(Object[].class));
+        verify(delegate, never()).warn(anyString());
+    }
+}
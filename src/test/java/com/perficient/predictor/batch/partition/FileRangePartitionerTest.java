@@ -0,0 +1,100 @@
+package com.perficient.predictor.batch.partition;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileRangePartitionerTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void everyRangeStartsAtALineAndTogetherTheyCoverTheFile() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            // Lines of varying length, so the even split points fall inside lines
+            content.append(i).append(",TEAM ").append("x".repeat(i % 37)).append('\n');
+        }
+        Path input = Files.writeString(dir.resolve("teams.csv"), content);
+        byte[] bytes = Files.readAllBytes(input);
+
+        List<long[]> ranges = ranges(new FileRangePartitioner(input, null).partition(4));
+
+        assertThat(ranges).hasSize(4);
+        long expectedStart = 0;
+        List<String> lines = new ArrayList<>();
+        for (long[] range : ranges) {
+            assertThat(range[0]).isEqualTo(expectedStart);
+            if (range[0] > 0) {
+                assertThat(bytes[(int) range[0] - 1]).isEqualTo((byte) '\n');
+            }
+            String text = new String(bytes, (int) range[0], (int) (range[1] - range[0]), StandardCharsets.UTF_8);
+            assertThat(text).endsWith("\n");
+            lines.addAll(text.lines().toList());
+            expectedStart = range[1];
+        }
+        assertThat(expectedStart).isEqualTo(bytes.length);
+        assertThat(lines).isEqualTo(content.toString().lines().toList());
+    }
+
+    @Test
+    void boundaryAlreadyAtALineStartIsKept() throws IOException {
+        // 4096 lines of 64 bytes: each quarter of the file starts exactly at a line
+        String line = "y".repeat(63) + "\n";
+        Path input = Files.writeString(dir.resolve("even.csv"), line.repeat(4096));
+
+        List<long[]> ranges = ranges(new FileRangePartitioner(input, null).partition(4));
+
+        assertThat(ranges).extracting(range -> range[0]).containsExactly(0L, 65_536L, 131_072L, 196_608L);
+    }
+
+    @Test
+    void lineLongerThanAPartitionYieldsFewerRanges() throws IOException {
+        Path input = Files.writeString(dir.resolve("long.csv"),
+                "z".repeat(200_000) + "\n" + "short\n".repeat(100));
+
+        List<long[]> ranges = ranges(new FileRangePartitioner(input, null).partition(3));
+
+        assertThat(ranges).hasSize(2);
+        assertThat(ranges.get(0)).containsExactly(0L, 200_001L);
+        assertThat(ranges.get(1)).containsExactly(200_001L, Files.size(input));
+    }
+
+    @Test
+    void smallFileIsNotSplit() throws IOException {
+        Path input = Files.writeString(dir.resolve("small.csv"), "a,b\nc,d\n");
+
+        List<long[]> ranges = ranges(new FileRangePartitioner(input, null).partition(8));
+
+        assertThat(ranges).hasSize(1);
+        assertThat(ranges.get(0)).containsExactly(0L, Files.size(input));
+    }
+
+    @Test
+    void requestedPartitionsOverrideTheGridSize() throws IOException {
+        Path input = Files.writeString(dir.resolve("teams.csv"), "row,of,data\n".repeat(50_000));
+
+        assertThat(new FileRangePartitioner(input, 2L).partition(8)).hasSize(2);
+    }
+
+    private static List<long[]> ranges(Map<String, ExecutionContext> partitions) {
+        List<long[]> ranges = new ArrayList<>();
+        for (int i = 0; i < partitions.size(); i++) {
+            ExecutionContext context = partitions.get("partition" + i);
+            ranges.add(new long[] {context.getLong(FileRangePartitioner.START_KEY),
+                    context.getLong(FileRangePartitioner.END_KEY)});
+        }
+        return ranges;
+    }
+}
@@ -0,0 +1,135 @@
+package com.perficient.predictor.batch.prediction;
+
+import com.perficient.predictor.batch.dto.PredictionRequest;
+import com.perficient.predictor.batch.exception.PredictionRejectedException;
+import com.perficient.predictor.batch.exception.PredictionRejectedException.Reason;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class SelectionMicroBatchWriterTest {
+
+    // Long enough that every test's picks go out in one flush, triggered by the row count
+    private static final long FLUSH_INTERVAL_MILLIS = 10_000;
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private KickoffLock kickoffLock;
+    private SelectionMicroBatchWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:selection-writer-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE PLAYER (PLAYER_ID BIGINT PRIMARY KEY)");
+        jdbcTemplate.execute("CREATE TABLE GAME (GAME_ID BIGINT PRIMARY KEY, GAME_DATE DATE NOT NULL, STATUS VARCHAR(50) NOT NULL)");
+        // The CHECK stands in for whatever else the database may refuse once the in-memory checks pass
+        jdbcTemplate.execute("""
+                CREATE TABLE SELECTION (
+                    SELECTION_ID BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    PLAYER_ID BIGINT NOT NULL REFERENCES PLAYER(PLAYER_ID),
+                    GAME_ID BIGINT NOT NULL REFERENCES GAME(GAME_ID),
+                    PREDICTED_HOME_SCORE INT NOT NULL CHECK (PREDICTED_HOME_SCORE < 50),
+                    PREDICTED_AWAY_SCORE INT NOT NULL,
+                    UPDATED_AT TIMESTAMP NOT NULL,
+                    UPDATED_BY VARCHAR(100) NOT NULL,
+                    UNIQUE (PLAYER_ID, GAME_ID))
+                """);
+        jdbcTemplate.update("INSERT INTO PLAYER VALUES (1), (2)");
+        LocalDate nextWeek = LocalDate.now(ZoneOffset.UTC).plusWeeks(1);
+        jdbcTemplate.update("INSERT INTO GAME VALUES (1, ?, 'SCHEDULED'), (2, ?, 'SCHEDULED')", nextWeek, nextWeek);
+        kickoffLock = new KickoffLock(jdbcTemplate, ZoneOffset.UTC);
+        kickoffLock.refresh();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) {
+            writer.stop();
+        }
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    void lastPickForAPlayerAndGameWinsWithinAFlush() throws Exception {
+        startWriter(3);
+
+        List<CompletableFuture<Void>> futures = List.of(
+                writer.submit(new PredictionRequest(1L, 1L, 1, 0)),
+                writer.submit(new PredictionRequest(2L, 1L, 2, 2)),
+                writer.submit(new PredictionRequest(1L, 1L, 3, 1)));
+
+        for (CompletableFuture<Void> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT PREDICTED_HOME_SCORE || '-' || PREDICTED_AWAY_SCORE FROM SELECTION ORDER BY PLAYER_ID", String.class))
+                .containsExactly("3-1", "2-2");
+        assertThat(writer.writtenRows()).isEqualTo(2);
+        assertThat(writer.flushes()).isEqualTo(1);
+    }
+
+    @Test
+    void unknownPlayersAndGamesAreTurnedAwayWithoutFailingTheBatch() throws Exception {
+        startWriter(3);
+
+        CompletableFuture<Void> known = writer.submit(new PredictionRequest(1L, 1L, 1, 0));
+        CompletableFuture<Void> unknownPlayer = writer.submit(new PredictionRequest(99L, 1L, 1, 0));
+        CompletableFuture<Void> unknownGame = writer.submit(new PredictionRequest(2L, 77L, 1, 0));
+
+        known.get(5, TimeUnit.SECONDS);
+        assertThat(rejection(unknownPlayer)).isEqualTo(Reason.UNKNOWN_PLAYER);
+        assertThat(rejection(unknownGame)).isEqualTo(Reason.UNKNOWN_GAME);
+        assertThat(writer.writtenRows()).isEqualTo(1);
+        // Written in the first transaction, no splitting
+        assertThat(writer.flushes()).isEqualTo(1);
+    }
+
+    @Test
+    void rowTheDatabaseRefusesFailsAloneAndTheRestIsWritten() throws Exception {
+        startWriter(4);
+
+        CompletableFuture<Void> first = writer.submit(new PredictionRequest(1L, 1L, 0, 0));
+        CompletableFuture<Void> refused = writer.submit(new PredictionRequest(2L, 1L, 60, 0));
+        CompletableFuture<Void> third = writer.submit(new PredictionRequest(1L, 2L, 1, 1));
+        CompletableFuture<Void> fourth = writer.submit(new PredictionRequest(2L, 2L, 2, 1));
+
+        first.get(5, TimeUnit.SECONDS);
+        third.get(5, TimeUnit.SECONDS);
+        fourth.get(5, TimeUnit.SECONDS);
+        assertThat(rejection(refused)).isEqualTo(Reason.NOT_WRITTEN);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM SELECTION", Integer.class)).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM SELECTION WHERE PLAYER_ID = 2 AND GAME_ID = 1", Integer.class)).isZero();
+        // Split into halves [1, refused] and [3, 4]; the first half again into single rows
+        assertThat(writer.flushes()).isEqualTo(2);
+    }
+
+    private void startWriter(int flushRows) {
+        writer = new SelectionMicroBatchWriter(jdbcTemplate, new DataSourceTransactionManager(dataSource),
+                kickoffLock, 100, flushRows, FLUSH_INTERVAL_MILLIS);
+        writer.start();
+    }
+
+    private static Reason rejection(CompletableFuture<Void> future) {
+        Throwable failure = catchThrowable(() -> future.get(5, TimeUnit.SECONDS));
+        assertThat(failure).isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(PredictionRejectedException.class);
+        return ((PredictionRejectedException) failure.getCause()).getReason();
+    }
+}
@@ -0,0 +1,115 @@
+package com.perficient.predictor.batch.reader;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.file.FlatFileParseException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MappedCsvItemReaderTest {
+
+    // All ASCII, so character and byte offsets are the same
+    private static final String COUNTRIES = "NAME,CODE\r\n"
+            + "England,ENG\r\n"
+            + "\r\n"
+            + "# not a record\n"
+            + "\"Bosnia, and \"\"Herz\"\"\",BIH\n"
+            + "Wales,\n"
+            + "Scotland,SCO";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsRecordsSkippingHeaderBlankAndCommentLines() throws Exception {
+        Path input = Files.writeString(dir.resolve("countries.csv"), COUNTRIES);
+
+        List<List<String>> rows = readAll(reader(input, 0, null, 1), new ExecutionContext());
+
+        assertThat(rows).containsExactly(
+                List.of("England", "ENG"),
+                List.of("Bosnia, and \"Herz\"", "BIH"),
+                List.of("Wales", ""),
+                List.of("Scotland", "SCO"));
+    }
+
+    @Test
+    void savesTheOffsetOfTheNextRecordAndResumesThereOnRestart() throws Exception {
+        Path input = Files.writeString(dir.resolve("countries.csv"), COUNTRIES);
+        ExecutionContext context = new ExecutionContext();
+
+        MappedCsvItemReader<List<String>> first = reader(input, 0, null, 1);
+        first.open(context);
+        first.read();
+        first.read();
+        first.update(context);
+        first.close();
+
+        assertThat(context.getLong("countries.offset")).isEqualTo(COUNTRIES.indexOf("Wales"));
+        assertThat(context.getInt("countries.read.count")).isEqualTo(2);
+        assertThat(context.getLong("countries.line")).isEqualTo(5);
+        // The header is not skipped again: reading carries on with the third record
+        assertThat(readAll(reader(input, 0, null, 1), context)).containsExactly(
+                List.of("Wales", ""),
+                List.of("Scotland", "SCO"));
+    }
+
+    @Test
+    void readsOnlyTheLinesOfItsByteRange() throws Exception {
+        String content = "NAME,CODE\nA,AAA\nB,BBB\nC,CCC\nD,DDD\n";
+        Path input = Files.writeString(dir.resolve("range.csv"), content);
+        long second = content.indexOf("B,");
+        long fourth = content.indexOf("D,");
+
+        assertThat(readAll(reader(input, 0, second, 1), new ExecutionContext()))
+                .containsExactly(List.of("A", "AAA"));
+        assertThat(readAll(reader(input, second, fourth, 0), new ExecutionContext()))
+                .containsExactly(List.of("B", "BBB"), List.of("C", "CCC"));
+        assertThat(readAll(reader(input, fourth, null, 0), new ExecutionContext()))
+                .containsExactly(List.of("D", "DDD"));
+    }
+
+    @Test
+    void recordWithTheWrongNumberOfFieldsFailsWithItsLineNumber() throws Exception {
+        Path input = Files.writeString(dir.resolve("bad.csv"), "NAME,CODE\nEngland,ENG\nWales,WAL,extra\n");
+        MappedCsvItemReader<List<String>> reader = reader(input, 0, null, 1);
+        reader.open(new ExecutionContext());
+        try {
+            reader.read();
+
+            assertThatThrownBy(reader::read).isInstanceOfSatisfying(FlatFileParseException.class, e -> {
+                assertThat(e.getLineNumber()).isEqualTo(3);
+                assertThat(e.getInput()).isEqualTo("Wales,WAL,extra");
+            });
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static MappedCsvItemReader<List<String>> reader(Path input, long start, Long end, int linesToSkip) {
+        return new MappedCsvItemReader<>("countries", input, start, end, linesToSkip, ',', 2,
+                record -> IntStream.range(0, record.count()).mapToObj(record::get).toList());
+    }
+
+    private static List<List<String>> readAll(MappedCsvItemReader<List<String>> reader, ExecutionContext context) throws Exception {
+        reader.open(context);
+        try {
+            List<List<String>> rows = new ArrayList<>();
+            List<String> row;
+            while ((row = reader.read()) != null) {
+                rows.add(row);
+            }
+            return rows;
+        } finally {
+            reader.close();
+        }
+    }
+}
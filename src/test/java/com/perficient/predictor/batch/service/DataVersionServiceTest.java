@@ -0,0 +1,131 @@
+package com.perficient.predictor.batch.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DataVersionServiceTest {
+
+    private static final int BLOCK_SIZE = 10;
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:data-version-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                CREATE TABLE DATA_VERSION (
+                    ENTITY_NAME VARCHAR(100) NOT NULL PRIMARY KEY,
+                    VERSION_COUNT BIGINT NOT NULL,
+                    LAST_UPDATED TIMESTAMP NOT NULL)
+                """);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    void handsOutABlockWithOneReservation() {
+        DataVersionService service = newService();
+
+        List<Long> versions = new ArrayList<>();
+        for (int i = 0; i < BLOCK_SIZE; i++) {
+            versions.add(service.getAndIncrementVersion("TEAM"));
+        }
+
+        assertThat(versions).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+        assertThat(versionCount("TEAM")).isEqualTo(BLOCK_SIZE);
+    }
+
+    @Test
+    void reservesTheNextBlockOnceExhausted() {
+        DataVersionService service = newService();
+        for (int i = 0; i < BLOCK_SIZE; i++) {
+            service.getAndIncrementVersion("TEAM");
+        }
+
+        assertThat(service.getAndIncrementVersion("TEAM")).isEqualTo(BLOCK_SIZE + 1);
+        assertThat(versionCount("TEAM")).isEqualTo(2L * BLOCK_SIZE);
+    }
+
+    @Test
+    void continuesAboveTheStoredHighWaterMark() {
+        jdbcTemplate.update("INSERT INTO DATA_VERSION VALUES ('TEAM', 25, NOW())");
+
+        assertThat(newService().getAndIncrementVersion("TEAM")).isEqualTo(26L);
+    }
+
+    @Test
+    void instancesSharingTheDatabaseGetDisjointBlocks() {
+        DataVersionService first = newService();
+        DataVersionService second = newService();
+
+        assertThat(first.getAndIncrementVersion("TEAM")).isEqualTo(1L);
+        assertThat(second.getAndIncrementVersion("TEAM")).isEqualTo(BLOCK_SIZE + 1);
+        // Unique, but not ordered in time across instances
+        assertThat(first.getAndIncrementVersion("TEAM")).isEqualTo(2L);
+    }
+
+    @Test
+    void reserveVersionMovesTheHighWaterMarkPastTheCurrentBlock() {
+        DataVersionService service = newService();
+        assertThat(service.getAndIncrementVersion("TEAM")).isEqualTo(1L);
+
+        assertThat(service.reserveVersion("TEAM")).isEqualTo(BLOCK_SIZE + 1);
+        assertThat(versionCount("TEAM")).isEqualTo(BLOCK_SIZE + 1);
+        // The block already reserved is still handed out
+        assertThat(service.getAndIncrementVersion("TEAM")).isEqualTo(2L);
+    }
+
+    @Test
+    void concurrentCallersNeverShareAVersion() throws Exception {
+        DataVersionService service = newService();
+        Set<Long> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 100; i++) {
+                        seen.add(service.getAndIncrementVersion("TEAM"));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(seen).hasSize(400);
+    }
+
+    private DataVersionService newService() {
+        return new DataVersionService(jdbcTemplate, new DataSourceTransactionManager(dataSource), BLOCK_SIZE);
+    }
+
+    private long versionCount(String entityName) {
+        return jdbcTemplate.queryForObject("SELECT VERSION_COUNT FROM DATA_VERSION WHERE ENTITY_NAME = ?",
+                Long.class, entityName);
+    }
+}
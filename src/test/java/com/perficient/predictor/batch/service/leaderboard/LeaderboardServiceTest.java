@@ -0,0 +1,128 @@
+package com.perficient.predictor.batch.service.leaderboard;
+
+import com.perficient.predictor.batch.service.DataVersionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two services on one database stand for two instances.
+ */
+class LeaderboardServiceTest {
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private LeaderboardService here;
+    private LeaderboardService elsewhere;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:leaderboard-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE PLAYER (PLAYER_ID BIGINT PRIMARY KEY, TOTAL_POINTS INT NOT NULL)");
+        jdbcTemplate.execute("""
+                CREATE TABLE PLAYER_WEEKLY_SCORE (
+                    PLAYER_ID BIGINT NOT NULL, COMPETITION_ID BIGINT NOT NULL, SEASON_START_YEAR INT NOT NULL,
+                    GAME_WEEK INT NOT NULL, WEEKLY_POINTS INT NOT NULL)
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE DATA_VERSION (
+                    ENTITY_NAME VARCHAR(100) NOT NULL PRIMARY KEY,
+                    VERSION_COUNT BIGINT NOT NULL,
+                    LAST_UPDATED TIMESTAMP NOT NULL)
+                """);
+        jdbcTemplate.update("INSERT INTO PLAYER VALUES (1, 10), (2, 5)");
+        here = newService();
+        elsewhere = newService();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    void reloadsOnceScoringHasFinishedOnAnotherInstance() {
+        score(2, 8);
+
+        here.refresh();
+        assertThat(overall(here)).containsExactly("1:10", "2:5");
+
+        elsewhere.scoringFinished();
+        here.refresh();
+        assertThat(overall(here)).containsExactly("2:13", "1:10");
+    }
+
+    @Test
+    void keepsItsBoardsAfterItsOwnScoring() {
+        score(2, 8);
+        here.apply(update(here.generation(), 2, 8));
+
+        here.scoringFinished();
+        // Changed behind its back, without a new version: only a reload would see this
+        jdbcTemplate.update("UPDATE PLAYER SET TOTAL_POINTS = 0 WHERE PLAYER_ID = 1");
+        here.refresh();
+
+        assertThat(overall(here)).containsExactly("2:13", "1:10");
+    }
+
+    @Test
+    void reloadsAfterItsOwnScoringIfAnotherInstanceScoredToo() {
+        score(1, 1);
+        elsewhere.scoringFinished();
+        score(2, 8);
+        here.apply(update(here.generation(), 2, 8));
+
+        here.scoringFinished();
+        here.refresh();
+
+        assertThat(overall(here)).containsExactly("2:13", "1:11");
+    }
+
+    @Test
+    void updateStartedBeforeAReloadIsNotAddedTwice() {
+        long generation = here.generation();
+        score(2, 8);
+        here.reload();
+
+        here.apply(update(generation, 2, 8));
+        assertThat(overall(here)).containsExactly("2:13", "1:10");
+
+        // The reload may not have seen the update's points, so the next refresh reloads regardless
+        score(1, 5);
+        here.refresh();
+        assertThat(overall(here)).containsExactly("1:15", "2:13");
+    }
+
+    private LeaderboardService newService() {
+        LeaderboardService service = new LeaderboardService(jdbcTemplate,
+                new DataVersionService(jdbcTemplate, new DataSourceTransactionManager(dataSource), 1));
+        service.afterSingletonsInstantiated();
+        return service;
+    }
+
+    private void score(long playerId, int points) {
+        jdbcTemplate.update("UPDATE PLAYER SET TOTAL_POINTS = TOTAL_POINTS + ? WHERE PLAYER_ID = ?", points, playerId);
+    }
+
+    private static LeaderboardUpdate update(long generation, long playerId, int points) {
+        LeaderboardUpdate update = new LeaderboardUpdate(generation);
+        update.addTotal(playerId, points);
+        return update;
+    }
+
+    private static List<String> overall(LeaderboardService service) {
+        return service.page(LeaderboardKey.overall(), 0, 10).entries().stream()
+                .map(entry -> entry.playerId() + ":" + entry.points())
+                .toList();
+    }
+}
@@ -0,0 +1,89 @@
+package com.perficient.predictor.batch.service.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RankedScoresTest {
+
+    @Test
+    void ordersByPointsThenPlayerIdAndTiesShareARank() {
+        RankedScores scores = RankedScores.of(new long[] {5, 3, 9, 1}, new int[] {10, 12, 10, 7});
+
+        assertThat(table(scores)).containsExactly("3:12#1", "5:10#2", "9:10#2", "1:7#4");
+        assertThat(scores.positionOf(9)).isEqualTo(2);
+        assertThat(scores.positionOf(4)).isEqualTo(RankedScores.NOT_RANKED);
+    }
+
+    @Test
+    void deltasMovePlayersAndAddNewOnes() {
+        RankedScores before = RankedScores.of(new long[] {1, 2, 3, 4}, new int[] {40, 30, 20, 10});
+
+        RankedScores after = before.withDeltas(new long[] {4, 7, 2}, new int[] {25, 30, 0});
+
+        assertThat(table(after)).containsExactly("1:40#1", "4:35#2", "2:30#3", "7:30#3", "3:20#5");
+        assertThat(after.positionOf(7)).isEqualTo(3);
+        // Copy-on-write: the earlier table is untouched
+        assertThat(table(before)).containsExactly("1:40#1", "2:30#2", "3:20#3", "4:10#4");
+    }
+
+    @Test
+    void playerDroppingBelowOthersWithTheSamePointsIsPlacedByPlayerId() {
+        RankedScores before = RankedScores.of(new long[] {1, 2, 3}, new int[] {50, 20, 20});
+
+        RankedScores after = before.withDeltas(new long[] {1}, new int[] {-30});
+
+        assertThat(table(after)).containsExactly("1:20#1", "2:20#1", "3:20#1");
+    }
+
+    @Test
+    void noDeltasReturnTheSameTable() {
+        RankedScores scores = RankedScores.of(new long[] {1}, new int[] {3});
+
+        assertThat(scores.withDeltas(new long[0], new int[0])).isSameAs(scores);
+    }
+
+    @Test
+    void manyDeltasGiveTheSameTableAsBuildingItFromScratch() {
+        Random random = new Random(42);
+        Map<Long, Integer> points = new HashMap<>();
+        RankedScores scores = RankedScores.empty();
+        for (int round = 0; round < 50; round++) {
+            Map<Long, Integer> deltas = new HashMap<>();
+            for (int i = 0; i < 40; i++) {
+                deltas.merge((long) random.nextInt(300), random.nextInt(7) - 1, Integer::sum);
+            }
+            long[] ids = deltas.keySet().stream().mapToLong(Long::longValue).toArray();
+            int[] values = new int[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                values[i] = deltas.get(ids[i]);
+                points.merge(ids[i], values[i], Integer::sum);
+            }
+            scores = scores.withDeltas(ids, values);
+        }
+
+        long[] ids = points.keySet().stream().mapToLong(Long::longValue).toArray();
+        int[] values = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            values[i] = points.get(ids[i]);
+        }
+        assertThat(table(scores)).isEqualTo(table(RankedScores.of(ids, values)));
+        for (long id : ids) {
+            assertThat(scores.pointsAt(scores.positionOf(id))).isEqualTo(points.get(id));
+        }
+    }
+
+    private static List<String> table(RankedScores scores) {
+        List<String> rows = new ArrayList<>(scores.size());
+        for (int position = 0; position < scores.size(); position++) {
+            rows.add(scores.playerIdAt(position) + ":" + scores.pointsAt(position) + "#" + scores.rankAt(position));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,75 @@
+package com.perficient.predictor.batch.service.lookup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CountryCodeIndexTest {
+
+    @Test
+    void resolvesEveryCodeItWasBuiltFrom() {
+        // Every 3-letter code from AAA to AJZ, enough to fill probe sequences and collide
+        Map<String, Long> codeToId = new HashMap<>();
+        long id = 1;
+        for (char second = 'A'; second <= 'J'; second++) {
+            for (char third = 'A'; third <= 'Z'; third++) {
+                codeToId.put("A" + second + third, id++);
+            }
+        }
+
+        CountryCodeIndex index = CountryCodeIndex.of(codeToId);
+
+        assertThat(index.size()).isEqualTo(codeToId.size());
+        codeToId.forEach((code, countryId) -> assertThat(index.idOf(code)).as(code).isEqualTo(countryId));
+    }
+
+    @Test
+    void unknownAndMalformedCodesHaveNoId() {
+        CountryCodeIndex index = CountryCodeIndex.of(Map.of("ENG", 1L, "FR", 2L));
+
+        assertThat(index.idOf("SCO")).isEqualTo(CountryCodeIndex.NO_ID);
+        // Codes are expected normalized; the index does not fold case
+        assertThat(index.idOf("eng")).isEqualTo(CountryCodeIndex.NO_ID);
+        assertThat(index.idOf("FRA")).isEqualTo(CountryCodeIndex.NO_ID);
+        assertThat(index.idOf("ENGL")).isEqualTo(CountryCodeIndex.NO_ID);
+        assertThat(index.idOf("")).isEqualTo(CountryCodeIndex.NO_ID);
+        assertThat(index.idOf(null)).isEqualTo(CountryCodeIndex.NO_ID);
+    }
+
+    @Test
+    void ignoresCodesThatCannotBeInTheCountryTable() {
+        Map<String, Long> codeToId = new HashMap<>();
+        codeToId.put("ENG", 1L);
+        codeToId.put("ENGLAND", 2L);
+        codeToId.put("", 3L);
+        codeToId.put("WAL", null);
+
+        CountryCodeIndex index = CountryCodeIndex.of(codeToId);
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.idOf("ENG")).isEqualTo(1L);
+        assertThat(index.idOf("WAL")).isEqualTo(CountryCodeIndex.NO_ID);
+    }
+
+    @Test
+    void reverseLookupGivesBackCodesOfEveryLength() {
+        CountryCodeIndex index = CountryCodeIndex.of(Map.of("E", 1L, "FR", 2L, "999", 3L));
+
+        assertThat(index.codeOf(1L)).isEqualTo("E");
+        assertThat(index.codeOf(2L)).isEqualTo("FR");
+        assertThat(index.codeOf(3L)).isEqualTo("999");
+        assertThat(index.codeOf(4L)).isNull();
+    }
+
+    @Test
+    void emptyIndexFindsNothing() {
+        CountryCodeIndex index = CountryCodeIndex.empty();
+
+        assertThat(index.size()).isZero();
+        assertThat(index.idOf("ENG")).isEqualTo(CountryCodeIndex.NO_ID);
+        assertThat(index.codeOf(1L)).isNull();
+    }
+}
@@ -0,0 +1,123 @@
+package com.perficient.predictor.batch.upload;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UploadPipeTest {
+
+    private static final long LONG_TIMEOUT_MILLIS = 10_000;
+
+    private final ExecutorService producer = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        producer.shutdownNow();
+    }
+
+    @Test
+    void carriesTheBodyAcrossTheRingThenEndOfStream() throws Exception {
+        UploadPipe pipe = new UploadPipe(8, LONG_TIMEOUT_MILLIS, LONG_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        byte[] body = new byte[100];
+        IntStream.range(0, body.length).forEach(i -> body[i] = (byte) i);
+
+        Future<?> sent = producer.submit(() -> {
+            pipe.write(body, 0, body.length);
+            pipe.finish();
+            return null;
+        });
+
+        assertThat(pipe.inputStream().readAllBytes()).isEqualTo(body);
+        sent.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void producerWaitsWhileTheRingIsFull() throws Exception {
+        UploadPipe pipe = new UploadPipe(4, LONG_TIMEOUT_MILLIS, LONG_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        InputStream in = pipe.inputStream();
+
+        Future<?> sent = producer.submit(() -> {
+            pipe.write(new byte[8], 0, 8);
+            return null;
+        });
+
+        TimeUnit.MILLISECONDS.sleep(200);
+        assertThat(sent).isNotDone();
+        assertThat(in.available()).isEqualTo(4);
+
+        assertThat(in.read(new byte[4])).isEqualTo(4);
+        sent.get(5, TimeUnit.SECONDS);
+        assertThat(in.available()).isEqualTo(4);
+    }
+
+    @Test
+    void failedUploadIsAnErrorForTheReaderNotEndOfFile() throws Exception {
+        UploadPipe pipe = new UploadPipe(16, LONG_TIMEOUT_MILLIS, LONG_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        pipe.write(new byte[3], 0, 3);
+
+        pipe.fail(new IOException("checksum mismatch"));
+
+        assertThatThrownBy(() -> pipe.inputStream().read(new byte[3]))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("checksum mismatch");
+    }
+
+    @Test
+    void failAfterFinishLeavesTheUploadComplete() throws Exception {
+        UploadPipe pipe = new UploadPipe(16, LONG_TIMEOUT_MILLIS, LONG_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        pipe.write(new byte[3], 0, 3);
+        pipe.finish();
+
+        pipe.fail(new IOException("too late"));
+
+        assertThat(pipe.inputStream().readAllBytes()).hasSize(3);
+    }
+
+    @Test
+    void producerFailsOnceTheReaderClosesItsStream() throws Exception {
+        UploadPipe pipe = new UploadPipe(4, LONG_TIMEOUT_MILLIS, LONG_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+
+        Future<?> sent = producer.submit(() -> {
+            pipe.write(new byte[8], 0, 8);
+            return null;
+        });
+        TimeUnit.MILLISECONDS.sleep(100);
+        pipe.inputStream().close();
+
+        assertThatThrownBy(() -> sent.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IOException.class)
+                .hasMessageContaining("stopped reading");
+    }
+
+    @Test
+    void producerGivesUpWhenTheReaderDoesNotStartWithinTheStartTimeout() {
+        UploadPipe pipe = new UploadPipe(4, 100, LONG_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+
+        assertThatThrownBy(() -> pipe.write(new byte[8], 0, 8))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("did not start reading");
+        assertThat(pipe.isStarted()).isFalse();
+    }
+
+    @Test
+    void stallTimeoutAppliesOnceTheReaderHasStarted() throws Exception {
+        UploadPipe pipe = new UploadPipe(4, LONG_TIMEOUT_MILLIS, 100, TimeUnit.MILLISECONDS);
+        pipe.write(new byte[4], 0, 4);
+        assertThat(pipe.inputStream().read()).isEqualTo(0);
+
+        assertThat(pipe.isStarted()).isTrue();
+        assertThatThrownBy(() -> pipe.write(new byte[8], 0, 8))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("did not read the upload");
+    }
+}
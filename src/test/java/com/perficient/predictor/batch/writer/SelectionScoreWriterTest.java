@@ -0,0 +1,115 @@
+package com.perficient.predictor.batch.writer;
+
+import com.perficient.predictor.batch.dto.SelectionScoreDBOutput;
+import com.perficient.predictor.batch.service.leaderboard.LeaderboardService;
+import com.perficient.predictor.batch.service.leaderboard.LeaderboardUpdate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.Chunk;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class SelectionScoreWriterTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private LeaderboardService leaderboardService;
+    private SelectionScoreWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:selection-score-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("""
+                CREATE TABLE PLAYER (
+                    PLAYER_ID BIGINT PRIMARY KEY, TOTAL_POINTS INT DEFAULT 0 NOT NULL,
+                    UPDATED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL, UPDATED_BY VARCHAR(100) NOT NULL)
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE SELECTION (
+                    SELECTION_ID BIGINT PRIMARY KEY, POINTS_AWARDED INT DEFAULT 0 NOT NULL,
+                    SELECTION_PROCESSED_FLAG BOOLEAN DEFAULT FALSE NOT NULL,
+                    UPDATED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL, UPDATED_BY VARCHAR(100) NOT NULL)
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE PLAYER_WEEKLY_SCORE (
+                    PLAYER_WEEKLY_SCORE_ID BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    PLAYER_ID BIGINT NOT NULL, COMPETITION_ID BIGINT NOT NULL, SEASON_START_YEAR INT NOT NULL,
+                    GAME_WEEK INT NOT NULL, WEEKLY_POINTS INT DEFAULT 0 NOT NULL,
+                    UPDATED_AT TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL, UPDATED_BY VARCHAR(100) NOT NULL,
+                    UNIQUE (PLAYER_ID, COMPETITION_ID, SEASON_START_YEAR, GAME_WEEK))
+                """);
+        jdbcTemplate.update("INSERT INTO PLAYER (PLAYER_ID, UPDATED_BY) VALUES (1, 'test'), (2, 'test')");
+        jdbcTemplate.update("INSERT INTO SELECTION (SELECTION_ID, UPDATED_BY) VALUES (10, 'test'), (11, 'test'), (12, 'test'), (13, 'test')");
+        leaderboardService = mock(LeaderboardService.class);
+        writer = new SelectionScoreWriter(jdbcTemplate, leaderboardService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    void aggregatesPointsPerWeekAndPlayer() {
+        writer.write(Chunk.of(
+                score(10, 1, 3, 3),
+                score(11, 1, 4, 1),
+                score(12, 2, 3, 0)));
+
+        assertThat(weeklyPoints()).containsExactly("1/3=3", "1/4=1", "2/3=0");
+        assertThat(totalPoints()).containsExactly("1=4", "2=0");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM SELECTION WHERE SELECTION_PROCESSED_FLAG", Integer.class)).isEqualTo(3);
+        verify(leaderboardService).apply(any(LeaderboardUpdate.class));
+    }
+
+    @Test
+    void writingTheSameChunkAgainAddsNothing() {
+        Chunk<SelectionScoreDBOutput> chunk = Chunk.of(score(10, 1, 3, 3), score(11, 2, 3, 1));
+        writer.write(chunk);
+
+        writer.write(chunk);
+
+        assertThat(weeklyPoints()).containsExactly("1/3=3", "2/3=1");
+        assertThat(totalPoints()).containsExactly("1=3", "2=1");
+        // The re-run scored nothing, so the leaderboards were not touched again
+        verify(leaderboardService, times(1)).apply(any(LeaderboardUpdate.class));
+    }
+
+    @Test
+    void overlappingChunkOnlyCountsTheSelectionsNotScoredYet() {
+        writer.write(Chunk.of(score(10, 1, 3, 3), score(11, 1, 3, 1)));
+
+        writer.write(Chunk.of(score(11, 1, 3, 1), score(13, 1, 3, 2)));
+
+        assertThat(weeklyPoints()).containsExactly("1/3=6");
+        assertThat(totalPoints()).containsExactly("1=6", "2=0");
+        verify(leaderboardService, times(2)).apply(any(LeaderboardUpdate.class));
+    }
+
+    private static SelectionScoreDBOutput score(long selectionId, long playerId, int gameWeek, int points) {
+        return new SelectionScoreDBOutput(selectionId, playerId, 100L, 2025, gameWeek, points);
+    }
+
+    private List<String> weeklyPoints() {
+        return jdbcTemplate.queryForList("""
+                SELECT PLAYER_ID || '/' || GAME_WEEK || '=' || WEEKLY_POINTS FROM PLAYER_WEEKLY_SCORE
+                ORDER BY PLAYER_ID, GAME_WEEK
+                """, String.class);
+    }
+
+    private List<String> totalPoints() {
+        return jdbcTemplate.queryForList(
+                "SELECT PLAYER_ID || '=' || TOTAL_POINTS FROM PLAYER ORDER BY PLAYER_ID", String.class);
+    }
+}